@@ -0,0 +1,103 @@
+package com.brainbooster.config;
+
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of validating a bearer token.
+ * <ul>
+ *     <li>{@code parsePerCall} is the validation before the verified-token cache: the key and parser
+ *     are rebuilt and the token is parsed three times (subject, then subject and expiration again).</li>
+ *     <li>{@code verifyWithPrebuiltParser} parses once with a reusable parser, which is what a token
+ *     seen for the first time costs now.</li>
+ *     <li>{@code verifyCached} and {@code isTokenValidCached} repeat a token already verified,
+ *     as a client firing a burst of requests does.</li>
+ * </ul>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY =
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final UserPrincipal principal = new UserPrincipal(
+            1L,
+            "johndoe@example.com",
+            "encoded_password",
+            Role.USER,
+            0
+    );
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 24, 10_000, 300);
+        parser = Jwts.parser().verifyWith(signInKey()).build();
+        token = jwtService.generateToken(principal);
+
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public boolean parsePerCall() {
+        String subject = parseWithNewParser().getSubject();
+
+        return subject.equals(parseWithNewParser().getSubject())
+                && !parseWithNewParser().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims verifyWithPrebuiltParser() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValidCached() {
+        return jwtService.isTokenValid(token, principal);
+    }
+
+    private Claims parseWithNewParser() {
+        return Jwts.parser()
+                .verifyWith(signInKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static SecretKey signInKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    }
+}
@@ -0,0 +1,145 @@
+package com.brainbooster.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads, so that a burst of requests for the same data runs one load.
+ * <p>
+ * The first caller for a key runs the loader on its own thread; callers arriving while it runs wait
+ * for its result instead of loading again, and receive the same value or exception. Nothing is kept
+ * once the load completes, so a caller may receive a value whose load started shortly before its
+ * call; reads that must observe a specific version include it in the key.
+ * <p>
+ * A waiting caller gives up after {@code REQUEST_COALESCING_TIMEOUT_MILLIS} and runs the loader
+ * itself. Loaders should not hold a database connection while waiting, so callers coalesce outside
+ * their transactions. Leading, coalesced and timed-out calls are published as
+ * {@code request.coalescing.calls} meters tagged with the group of the key. With
+ * {@code REQUEST_COALESCING_ENABLED=false} every call runs its loader.
+ */
+@Component
+public class RequestCoalescer {
+
+    static final String CALLS_METRIC = "request.coalescing.calls";
+    static final String IN_FLIGHT_METRIC = "request.coalescing.in.flight";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    private final Map<FlightKey, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final Map<String, GroupMeters> metersByGroup = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${REQUEST_COALESCING_ENABLED:true}") boolean enabled,
+            @Value("${REQUEST_COALESCING_TIMEOUT_MILLIS:5000}") long timeoutMillis
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+
+        Gauge.builder(IN_FLIGHT_METRIC, flights, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the value of the given key, joining a load of the same key that is already running.
+     * <p>
+     * All loaders of a key must return the same type.
+     *
+     * @param group  kind of the loaded data, e.g. {@code "folder"}; also used as the meter tag.
+     * @param key    identifies the data within the group; must implement {@code equals} and {@code hashCode}.
+     * @param loader loads the value; exceptions are propagated to every coalesced caller.
+     */
+    public <T> T execute(String group, Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        GroupMeters meters = meters(group);
+        FlightKey flightKey = new FlightKey(group, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> runningFlight = flights.putIfAbsent(flightKey, flight);
+
+        if (runningFlight == null) {
+            meters.leading().increment();
+            return lead(flightKey, flight, loader);
+        }
+
+        meters.coalesced().increment();
+        return await(runningFlight, loader, meters);
+    }
+
+    private <T> T lead(FlightKey flightKey, CompletableFuture<Object> flight, Supplier<T> loader) {
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(CompletableFuture<Object> flight, Supplier<T> loader, GroupMeters meters) {
+        try {
+            return (T) flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            meters.timedOut().increment();
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced load", e);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    private GroupMeters meters(String group) {
+        return metersByGroup.computeIfAbsent(group, _ -> new GroupMeters(
+                counter(group, "leading"),
+                counter(group, "coalesced"),
+                counter(group, "timeout")));
+    }
+
+    private Counter counter(String group, String result) {
+        return Counter.builder(CALLS_METRIC)
+                .tag("group", group)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+
+        if (cause instanceof Error error) {
+            throw error;
+        }
+
+        return new IllegalStateException(cause);
+    }
+
+    private record FlightKey(String group, Object key) {
+    }
+
+    private record GroupMeters(Counter leading, Counter coalesced, Counter timedOut) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.brainbooster.concurrency;
+
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent parts of one request concurrently, each on its own virtual thread.
+ * <p>
+ * Follows the shape of {@code StructuredTaskScope}, which is still a preview API: subtasks are
+ * forked inside a try-with-resources block, {@link #join()} waits for all of them and fails as soon
+ * as one fails, cancelling the rest, and closing the scope waits until no subtask is running.
+ * Subtasks run with the security context of the forking thread, so services resolve the current
+ * user as usual. Each subtask opens its own transaction, if any, and holds a pooled connection
+ * only while it queries. A scope opened with a {@link Semaphore} shared by all requests runs a
+ * subtask only while it holds a permit, so forked subtasks cannot take more pooled connections
+ * than there are permits, however many requests fork at once.
+ */
+public final class VirtualThreadTaskScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final CompletionService<Object> completionService;
+    private final List<Future<Object>> subtasks = new ArrayList<>();
+    private final Semaphore permits;
+
+    private VirtualThreadTaskScope(String name, Semaphore permits) {
+        this.permits = permits;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                .name(name + "-", 0)
+                .factory());
+        this.completionService = new ExecutorCompletionService<>(
+                new DelegatingSecurityContextExecutorService(executor));
+    }
+
+    /**
+     * Opens a scope whose threads are named after the given name.
+     */
+    public static VirtualThreadTaskScope open(String name) {
+        return new VirtualThreadTaskScope(name, null);
+    }
+
+    /**
+     * Opens a scope whose subtasks run only while holding one of the given permits.
+     */
+    public static VirtualThreadTaskScope open(String name, Semaphore permits) {
+        return new VirtualThreadTaskScope(name, permits);
+    }
+
+    /**
+     * Starts a subtask on a new virtual thread.
+     *
+     * @return the result of the subtask, available once {@link #join()} returned.
+     */
+    public <T> Supplier<T> fork(Supplier<? extends T> task) {
+        Future<Object> subtask = completionService.submit(() -> run(task));
+        subtasks.add(subtask);
+
+        return () -> {
+            @SuppressWarnings("unchecked")
+            T result = (T) subtask.resultNow();
+            return result;
+        };
+    }
+
+    /**
+     * Waits for all forked subtasks.
+     *
+     * @throws RuntimeException the exception of the first subtask that failed; the other subtasks
+     *                          are cancelled then.
+     */
+    public void join() {
+        try {
+            for (int completed = 0; completed < subtasks.size(); completed++) {
+                completionService.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll();
+            throw new IllegalStateException("Interrupted while waiting for subtasks", e);
+        } catch (ExecutionException e) {
+            cancelAll();
+            throw propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Cancels subtasks that are still running and waits for their threads to finish.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+        executor.close();
+    }
+
+    private Object run(Supplier<?> task) throws InterruptedException {
+        if (permits == null) {
+            return task.get();
+        }
+
+        // waits on the virtual thread, so a cancelled subtask stops waiting
+        permits.acquire();
+
+        try {
+            return task.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void cancelAll() {
+        for (Future<Object> subtask : subtasks) {
+            subtask.cancel(true);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+
+        if (cause instanceof Error error) {
+            throw error;
+        }
+
+        return new IllegalStateException(cause);
+    }
+}
@@ -1,10 +1,14 @@
 package com.brainbooster.config;
 
 
+import com.brainbooster.security.BoundedPasswordEncoder;
+import com.brainbooster.security.LoginAttemptThrottle;
 import com.brainbooster.security.UserPrincipal;
 import com.brainbooster.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +20,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
@@ -30,10 +36,13 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(
+            PasswordEncoder passwordEncoder,
+            LoginAttemptThrottle loginAttemptThrottle
+    ) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+        authProvider.setPasswordEncoder(passwordEncoder);
+        return new ThrottledAuthenticationProvider(authProvider, loginAttemptThrottle);
     }
 
     @Bean
@@ -45,8 +54,25 @@ public class ApplicationConfig {
         }
     }
 
+    /**
+     * BCrypt encoder running on a dedicated pool, so login and registration storms
+     * cannot starve request threads of CPU. A thread count of {@code 0} means one
+     * thread per available processor. A request waits for its hash at most
+     * {@code PASSWORD_HASHING_TIMEOUT_MS}, queueing included.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${PASSWORD_HASHING_THREADS:0}") int threads,
+            @Value("${PASSWORD_HASHING_QUEUE_CAPACITY:64}") int queueCapacity,
+            @Value("${PASSWORD_HASHING_TIMEOUT_MS:5000}") long timeoutMillis
+    ) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                Duration.ofMillis(timeoutMillis),
+                meterRegistry
+        );
     }
 }
\ No newline at end of file
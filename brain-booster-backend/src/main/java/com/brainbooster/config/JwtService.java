@@ -1,8 +1,14 @@
 package com.brainbooster.config;
 
 import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,8 +16,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -20,26 +31,85 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    @Value("${JWT_SECRET_KEY}")
-    private String secretKey;
-
-    @Value("${JWT_EXPIRATION_HOURS}")
-    private int expirationHours;
+    private static final String USER_ID_CLAIM = "id";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+    private final int expirationHours;
+
+    /**
+     * Recently verified tokens keyed by the SHA-256 hash of the compact token,
+     * so bursts of requests carrying the same token skip HMAC verification.
+     * An entry expires after the cache TTL or when its token expires, whichever comes first,
+     * and the least recently used entries are evicted once the cache is full.
+     */
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(
+            @Value("${JWT_SECRET_KEY}") String secretKey,
+            @Value("${JWT_EXPIRATION_HOURS}") int expirationHours,
+            @Value("${JWT_VERIFIED_TOKEN_CACHE_MAX_ENTRIES:10000}") int verifiedTokenCacheMaxEntries,
+            @Value("${JWT_VERIFIED_TOKEN_CACHE_TTL_SECONDS:300}") long verifiedTokenCacheTtlSeconds
+    ) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.expirationHours = expirationHours;
+
+        Duration ttl = Duration.ofSeconds(verifiedTokenCacheTtlSeconds);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheMaxEntries)
+                .expireAfter(Expiry.creating((String _, Claims claims) -> {
+                    Duration untilExpiration = Duration.between(Instant.now(), claims.getExpiration().toInstant());
+                    return untilExpiration.compareTo(ttl) < 0 ? untilExpiration : ttl;
+                }))
+                .build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verifies the signature and expiration of a token once and returns its claims.
+     * <p>
+     * Successfully verified tokens are cached for {@code JWT_VERIFIED_TOKEN_CACHE_TTL_SECONDS}
+     * at most and never past their expiration, so repeated calls with the same token only cost
+     * a hash lookup.
+     *
+     * @param token signed JWT.
+     * @return verified claims of the token.
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired.
+     */
+    public Claims verify(String token) {
+        String tokenHash = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(tokenHash);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(tokenHash, claims);
+        }
+
+        return claims;
+    }
+
     public String generateToken(UserPrincipal principal) {
         Map<String, Object> extraClaims = new HashMap<>();
 
-        extraClaims.put("id", principal.userId());
-        extraClaims.put("role", principal.role());
+        extraClaims.put(USER_ID_CLAIM, principal.userId());
+        extraClaims.put(ROLE_CLAIM, principal.role());
+        extraClaims.put(TOKEN_VERSION_CLAIM, principal.tokenVersion());
 
         return generateToken(extraClaims, principal);
     }
@@ -57,36 +127,56 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(Date.from(issuedAt))
                 .expiration(Date.from(expiration))
-                .signWith(getSignInKey(), Jwts.SIG.HS256)
+                .signWith(signInKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
+        final Claims claims = verify(token);
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).isBefore(Instant.now());
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    private Instant extractExpiration(String token) {
-        return extractClaim(token, claims -> claims.getExpiration().toInstant());
+    /**
+     * Builds a principal directly from the verified claims of a token, without loading the user.
+     * Tokens issued before token versions were introduced are treated as version {@code 0}.
+     *
+     * @param token signed JWT.
+     * @return principal with the user ID, email, role and token version taken from the token.
+     * @throws io.jsonwebtoken.JwtException if the token is invalid, expired or lacks the required claims.
+     */
+    public UserPrincipal extractPrincipal(String token) {
+        Claims claims = verify(token);
+
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+
+        if (userId == null || role == null || claims.getSubject() == null) {
+            throw new MalformedJwtException("JWT token is missing required claims");
+        }
+
+        return new UserPrincipal(
+                userId,
+                claims.getSubject(),
+                null,
+                Role.valueOf(role),
+                tokenVersion == null ? 0 : tokenVersion
+        );
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().toInstant().isBefore(Instant.now());
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
 
-        return Keys.hmacShaKeyFor(keyBytes);
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
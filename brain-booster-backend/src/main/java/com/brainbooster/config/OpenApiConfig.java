@@ -91,7 +91,7 @@ public class OpenApiConfig {
     public GroupedOpenApi gameResultsApi() {
         return GroupedOpenApi.builder()
                 .group("game-results")
-                .pathsToMatch("/game-results/**")
+                .pathsToMatch("/game-results/**", "/game-results:batch")
                 .build();
     }
 
@@ -0,0 +1,90 @@
+package com.brainbooster.config;
+
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcardset.FlashcardSet;
+import com.brainbooster.user.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for users, flashcards and flashcard sets, kept in process in
+ * Caffeine-backed JCache regions. Every region is bounded by its own maximum number of entries
+ * and by a shared TTL, all read from the environment.
+ * <p>
+ * Hibernate statistics are enabled together with the cache, so hits, misses and puts of every
+ * region are published as {@code hibernate.second.level.cache.*} meters. The cache can be disabled
+ * with {@code HIBERNATE_SECOND_LEVEL_CACHE_ENABLED=false}.
+ */
+@Configuration
+class SecondLevelCacheConfig {
+
+    @Value("${HIBERNATE_SECOND_LEVEL_CACHE_ENABLED:true}")
+    private boolean enabled;
+
+    @Value("${HIBERNATE_CACHE_TTL_SECONDS:600}")
+    private long ttlSeconds;
+
+    @Value("${HIBERNATE_CACHE_USERS_MAX_ENTRIES:10000}")
+    private long usersMaxEntries;
+
+    @Value("${HIBERNATE_CACHE_USER_EMAILS_MAX_ENTRIES:10000}")
+    private long userEmailsMaxEntries;
+
+    @Value("${HIBERNATE_CACHE_FLASHCARD_SETS_MAX_ENTRIES:10000}")
+    private long flashcardSetsMaxEntries;
+
+    @Value("${HIBERNATE_CACHE_FLASHCARDS_MAX_ENTRIES:100000}")
+    private long flashcardsMaxEntries;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            if (!enabled) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+
+            // the default manager is shared by every application context in the JVM and is never closed here,
+            // so regions are only created when missing
+            CacheManager cacheManager = Caching
+                    .getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager();
+
+            createRegionIfMissing(cacheManager, User.CACHE_REGION, usersMaxEntries);
+            createRegionIfMissing(cacheManager, User.EMAIL_CACHE_REGION, userEmailsMaxEntries);
+            createRegionIfMissing(cacheManager, FlashcardSet.CACHE_REGION, flashcardSetsMaxEntries);
+            createRegionIfMissing(cacheManager, Flashcard.CACHE_REGION, flashcardsMaxEntries);
+
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            // every region is sized above, an unknown region is a mapping mistake
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private void createRegionIfMissing(CacheManager cacheManager, String region, long maxEntries) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        configuration.setStatisticsEnabled(true);
+
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,26 @@
+package com.brainbooster.config;
+
+import com.brainbooster.user.UserChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Clears the second-level cache after a user is deleted. The sets of the user are tombstoned and,
+ * like its flashcards and folders, later purged by native statements that Hibernate does not track
+ * per entity, so their cached copies would otherwise survive until they expire.
+ */
+@Component
+@RequiredArgsConstructor
+class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.deleted()) {
+            entityManagerFactory.getCache().evictAll();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.brainbooster.config;
 
 import com.brainbooster.user.Role;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -26,9 +27,11 @@ public class SecurityConfiguration {
     private static final String USER_BY_ID = "/users/*";
     private static final String FLASHCARD_BY_ID = "/flashcards/*";
     private static final String FLASHCARD_STARRED = "/flashcards/*/starred";
+    private static final String FLASHCARDS_STARRED_BATCH = "/flashcards/starred:batch";
     private static final String FLASHCARD_SET_BY_ID = "/flashcard-sets/*";
     private static final String FOLDER_BY_ID = "/folders/*";
     private static final String FOLDER_SET_BY_ID = "/folders/*/sets/*";
+    private static final String GAME_RESULTS_BATCH = "/game-results:batch";
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) {
@@ -37,6 +40,9 @@ public class SecurityConfiguration {
                 .cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // async dispatch of a streamed response - the request was authorized before streaming began
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // swagger / openapi
                         .requestMatchers(
                                 "/v3/api-docs",
@@ -49,6 +55,11 @@ public class SecurityConfiguration {
                         .requestMatchers(HttpMethod.POST, "/auth/authenticate").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
 
+                        // unpaged list endpoints - only admin
+                        .requestMatchers(request -> HttpMethod.GET.matches(request.getMethod())
+                                && Boolean.parseBoolean(request.getParameter("unpaged"))
+                        ).hasAuthority(Role.ADMIN.name())
+
                         // users - public
                         .requestMatchers(HttpMethod.GET, "/users/*/flashcard-sets").permitAll()
                         .requestMatchers(HttpMethod.GET, "/users/nickname/*/flashcard-sets").permitAll()
@@ -71,19 +82,29 @@ public class SecurityConfiguration {
 
                         // flashcards - authenticated
                         .requestMatchers(HttpMethod.POST, "/flashcards").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/flashcards/starred/me").authenticated()
                         .requestMatchers(HttpMethod.PATCH, FLASHCARD_BY_ID).authenticated()
                         .requestMatchers(HttpMethod.POST, FLASHCARD_STARRED).authenticated()
                         .requestMatchers(HttpMethod.DELETE, FLASHCARD_BY_ID).authenticated()
                         .requestMatchers(HttpMethod.DELETE, FLASHCARD_STARRED).authenticated()
+                        .requestMatchers(HttpMethod.POST, FLASHCARDS_STARRED_BATCH).authenticated()
+                        .requestMatchers(HttpMethod.DELETE, FLASHCARDS_STARRED_BATCH).authenticated()
+
+                        // flashcardSets - export of own sets (before the public export pattern)
+                        .requestMatchers(HttpMethod.GET, "/flashcard-sets/me/export").authenticated()
 
                         // flashcardSets - public
                         .requestMatchers(HttpMethod.GET, "/flashcard-sets").permitAll()
                         .requestMatchers(HttpMethod.GET, FLASHCARD_SET_BY_ID).permitAll()
                         .requestMatchers(HttpMethod.GET, "/flashcard-sets/*/flashcards").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/flashcard-sets/*/export").permitAll()
 
                         // flashcardSets - authenticated
                         .requestMatchers(HttpMethod.POST, "/flashcard-sets").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/flashcard-sets/*/study-view").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/flashcard-sets/*/import").authenticated()
                         .requestMatchers(HttpMethod.PATCH, FLASHCARD_SET_BY_ID).authenticated()
+                        .requestMatchers(HttpMethod.PATCH, "/flashcard-sets/*/flashcards").authenticated()
                         .requestMatchers(HttpMethod.DELETE, FLASHCARD_SET_BY_ID).authenticated()
 
                         // folders - public
@@ -102,6 +123,7 @@ public class SecurityConfiguration {
 
                         // game results
                         .requestMatchers("/game-results/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, GAME_RESULTS_BATCH).authenticated()
 
                         // game attempts
                         .requestMatchers("/game-attempts/**").authenticated()
@@ -0,0 +1,59 @@
+package com.brainbooster.config;
+
+import com.brainbooster.exception.ServiceUnavailableException;
+import com.brainbooster.exception.TooManyRequestsException;
+import com.brainbooster.security.LoginAttemptThrottle;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * {@link AuthenticationProvider} that applies per-account and per-address
+ * login throttling before delegating to the wrapped provider.
+ * <p>
+ * The wrapped provider reports unexpected errors as {@link InternalAuthenticationServiceException},
+ * which would turn a busy or slow password hashing pool into a failed login. Such errors caused by
+ * {@link TooManyRequestsException} or {@link ServiceUnavailableException} are unwrapped, so the
+ * client gets 429 or 503 and knows to retry.
+ */
+@RequiredArgsConstructor
+public class ThrottledAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        loginAttemptThrottle.acquire(authentication.getName(), currentClientAddress());
+
+        try {
+            return delegate.authenticate(authentication);
+        } catch (InternalAuthenticationServiceException ex) {
+            if (ex.getCause() instanceof TooManyRequestsException
+                    || ex.getCause() instanceof ServiceUnavailableException) {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw ex;
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private static String currentClientAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+
+        return null;
+    }
+}
@@ -4,6 +4,7 @@ import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -24,6 +25,8 @@ class WebConfig {
                         .allowedOrigins(clientUrl, FRONTEND_LOCAL)
                         .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        // validators for conditional GET and If-Match updates
+                        .exposedHeaders(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED)
                         .allowCredentials(true)
                         .maxAge(3600);
             }
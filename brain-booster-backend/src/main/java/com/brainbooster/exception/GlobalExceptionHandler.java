@@ -1,6 +1,7 @@
 package com.brainbooster.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -9,6 +10,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.Instant;
 import java.util.stream.Collectors;
@@ -74,6 +76,33 @@ public class GlobalExceptionHandler {
         return createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorDTO> handleTooManyRequests(TooManyRequestsException ex) {
+        return createErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorDTO> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return createErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ErrorDTO> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException ex) {
+        return createErrorResponse("Uploaded file is too large", HttpStatus.CONTENT_TOO_LARGE);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDTO> handlePreconditionFailed(PreconditionFailedException ex) {
+        return createErrorResponse(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDTO> handleConcurrentModification(OptimisticLockingFailureException ex) {
+        return createErrorResponse(
+                "The resource was modified concurrently, fetch it again and retry",
+                HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler({AccessDeniedException.class, SelfDeletionException.class})
     public ResponseEntity<ErrorDTO> handleForbidden(RuntimeException ex) {
         return createErrorResponse(ex.getMessage(), HttpStatus.FORBIDDEN);
@@ -3,6 +3,8 @@ package com.brainbooster.flashcard;
 import com.brainbooster.flashcardset.FlashcardSet;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Builder
 @Getter
@@ -11,10 +13,19 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "flashcard")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Flashcard.CACHE_REGION)
 public class Flashcard {
 
+    public static final String CACHE_REGION = "flashcards";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flashcard_id_seq")
+    @SequenceGenerator(
+            name = "flashcard_id_seq",
+            sequenceName = "flashcard_flashcard_id_seq",
+            allocationSize = 50
+    )
     private Long flashcardId;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "set_id")
@@ -3,7 +3,10 @@ package com.brainbooster.flashcard;
 import com.brainbooster.flashcard.dto.FlashcardCreationDTO;
 import com.brainbooster.flashcard.dto.FlashcardDTO;
 import com.brainbooster.flashcard.dto.FlashcardUpdateDTO;
+import com.brainbooster.flashcard.dto.StarredFlashcardBatchDTO;
+import com.brainbooster.flashcard.dto.StarredFlashcardsDTO;
 import com.brainbooster.flashcard.starred.StarredFlashcardService;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -41,16 +44,61 @@ public class FlashcardController {
     }
 
     @Operation(
-            summary = "Get all flashcards",
-            description = "Fetches all flashcards from the database."
+            summary = "Get flashcards page",
+            description = "Fetches a page of flashcards using keyset pagination. "
+                    + "Pass the returned nextCursor to fetch the following page."
     )
-    @ApiResponse(responseCode = "200", description = "Flashcards fetched successfully")
+    @ApiResponse(responseCode = "200", description = "Page fetched successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
     @GetMapping
+    public CursorPageDTO<FlashcardDTO> getFlashcardsPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        return flashcardService.getFlashcardsPage(cursor, size);
+    }
+
+    @Operation(
+            summary = "Get all flashcards (unpaged)",
+            description = "Fetches all flashcards at once. Requires the unpaged=true flag "
+                    + "and administrator rights; other users list the flashcards page by page with GET /flashcards.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Flashcards fetched successfully")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "403", description = "User is not an administrator")
+    @GetMapping(params = "unpaged=true")
     public List<FlashcardDTO> getAllFlashcards() {
         return flashcardService.getAllFlashcards();
 
     }
 
+    @Operation(
+            summary = "Get my starred flashcards page",
+            description = "Fetches a page of the flashcards starred by the currently authenticated user across "
+                    + "all sets, most recently starred first, using keyset pagination. Pass setId to limit "
+                    + "the page to one set, or seed to get the flashcards in a random order fixed by the seed.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Page fetched successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @GetMapping("/starred/me")
+    public CursorPageDTO<FlashcardDTO> getMyStarredFlashcardsPage(
+            @Parameter(description = "Only include flashcards of this set", example = "1")
+            @RequestParam(required = false) Long setId,
+            @Parameter(description = "Seed of the random order; the same seed gives the same order", example = "42")
+            @RequestParam(required = false) Long seed,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        return starredFlashcardService.getStarredFlashcardsPage(setId, seed, cursor, size);
+    }
+
     @Operation(
             summary = "Get flashcard by ID",
             description = "Fetches a single flashcard by its ID."
@@ -110,6 +158,36 @@ public class FlashcardController {
         return starredFlashcardService.unstarFlashcard(flashcardId);
     }
 
+    @Operation(
+            summary = "Star many flashcards",
+            description = "Marks all given flashcards as starred for the currently authenticated user "
+                    + "and returns every flashcard the user has starred. Flashcards already starred are skipped.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Flashcards starred successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid request body or validation error")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "404", description = "At least one flashcard not found, nothing was starred")
+    @PostMapping("/starred:batch")
+    public StarredFlashcardsDTO starFlashcards(@Valid @RequestBody StarredFlashcardBatchDTO starredFlashcardBatchDTO) {
+        return starredFlashcardService.starFlashcards(starredFlashcardBatchDTO.flashcardIds());
+    }
+
+    @Operation(
+            summary = "Unstar many flashcards",
+            description = "Removes starred status from all given flashcards for the currently authenticated user "
+                    + "and returns every flashcard the user still has starred.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Flashcards unstarred successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid request body or validation error")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "404", description = "At least one flashcard not found, nothing was unstarred")
+    @DeleteMapping("/starred:batch")
+    public StarredFlashcardsDTO unstarFlashcards(@Valid @RequestBody StarredFlashcardBatchDTO starredFlashcardBatchDTO) {
+        return starredFlashcardService.unstarFlashcards(starredFlashcardBatchDTO.flashcardIds());
+    }
+
     @Operation(
             summary = "Delete flashcard",
             description = "Deletes an existing flashcard by its ID.",
@@ -0,0 +1,17 @@
+package com.brainbooster.flashcard;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Batch lookups of flashcards by primary key that consult the persistence context
+ * and the second-level cache before going to the database.
+ */
+public interface FlashcardMultiLoadRepository {
+
+    /**
+     * Loads the flashcards with the given IDs. Only IDs that are neither managed nor cached
+     * are fetched, in a single query. Unknown IDs are left out of the result.
+     */
+    List<Flashcard> loadAllById(Collection<Long> flashcardIds);
+}
@@ -0,0 +1,32 @@
+package com.brainbooster.flashcard;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@Transactional(readOnly = true) // the Session can only be unwrapped from a transactional EntityManager
+class FlashcardMultiLoadRepositoryImpl implements FlashcardMultiLoadRepository {
+
+    // no EntityManager bean exists for constructor injection; the container injects a shared, transaction-bound one
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Flashcard> loadAllById(Collection<Long> flashcardIds) {
+        if (flashcardIds.isEmpty()) {
+            return List.of();
+        }
+
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Flashcard.class)
+                .multiLoad(List.copyOf(flashcardIds))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -1,18 +1,74 @@
 package com.brainbooster.flashcard;
 
+import com.brainbooster.flashcardset.exporting.FlashcardExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FlashcardRepository extends JpaRepository<Flashcard, Long> {
+public interface FlashcardRepository extends JpaRepository<Flashcard, Long>, FlashcardMultiLoadRepository {
+
+    String EXPORT_FETCH_SIZE = "500";
 
     List<Flashcard> findAllByFlashcardSet_SetId(Long setId);
 
+    List<Flashcard> findAllByFlashcardSet_SetIdAndFlashcardIdIn(Long setId, Collection<Long> flashcardIds);
+
+    @Query("SELECT f.flashcardId FROM Flashcard f WHERE f.flashcardId IN :flashcardIds")
+    List<Long> findExistingIds(@Param("flashcardIds") Collection<Long> flashcardIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Flashcard f WHERE f.flashcardSet.setId = :setId AND f.flashcardId IN :flashcardIds")
+    int deleteAllInSetByIds(@Param("setId") Long setId, @Param("flashcardIds") Collection<Long> flashcardIds);
+
+    List<Flashcard> findByFlashcardIdGreaterThanOrderByFlashcardIdAsc(Long afterFlashcardId, Pageable pageable);
+
+    /**
+     * Finds a flashcard unless its set is tombstoned; the join applies the restriction hiding tombstoned sets,
+     * which a lookup by ID alone does not.
+     */
+    @Query("SELECT f FROM Flashcard f JOIN f.flashcardSet fs WHERE f.flashcardId = :flashcardId")
+    Optional<Flashcard> findVisibleById(@Param("flashcardId") Long flashcardId);
+
     @Query("SELECT f FROM Flashcard f JOIN FETCH f.flashcardSet fs JOIN FETCH fs.user WHERE f.flashcardId = :flashcardId")
     Optional<Flashcard> findByIdWithSetAndUser(@Param("flashcardId") Long flashcardId);
+
+    /**
+     * Streams the flashcards of a set in creation order.
+     * Must be consumed and closed inside a transaction; rows are read from a database cursor in chunks.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT new com.brainbooster.flashcardset.exporting.FlashcardExportRow(
+                fs.setId, fs.setName, f.term, f.definition)
+            FROM Flashcard f JOIN f.flashcardSet fs
+            WHERE fs.setId = :setId
+            ORDER BY f.flashcardId
+            """)
+    Stream<FlashcardExportRow> streamExportRowsBySetId(@Param("setId") Long setId);
+
+    /**
+     * Streams the flashcards of all sets owned by a user, grouped by set.
+     * Must be consumed and closed inside a transaction; rows are read from a database cursor in chunks.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT new com.brainbooster.flashcardset.exporting.FlashcardExportRow(
+                fs.setId, fs.setName, f.term, f.definition)
+            FROM Flashcard f JOIN f.flashcardSet fs
+            WHERE fs.user.userId = :userId
+            ORDER BY fs.setId, f.flashcardId
+            """)
+    Stream<FlashcardExportRow> streamExportRowsByUserId(@Param("userId") Long userId);
 }
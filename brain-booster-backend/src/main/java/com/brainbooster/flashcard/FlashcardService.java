@@ -6,7 +6,11 @@ import com.brainbooster.flashcard.dto.FlashcardDTO;
 import com.brainbooster.flashcard.dto.FlashcardUpdateDTO;
 import com.brainbooster.flashcard.mapper.FlashcardDTOMapper;
 import com.brainbooster.flashcardset.FlashcardSet;
+import com.brainbooster.flashcardset.FlashcardSetCatalogCache;
 import com.brainbooster.flashcardset.FlashcardSetRepository;
+import com.brainbooster.pagination.KeysetCursor;
+import com.brainbooster.pagination.KeysetPagination;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
 import com.brainbooster.security.authorization.OwnerOrAdminPolicy;
@@ -30,6 +34,7 @@ public class FlashcardService {
     private final FlashcardDTOMapper flashcardDTOMapper;
     private final OwnerOrAdminPolicy ownerOrAdminPolicy;
     private final CurrentUserProvider currentUserProvider;
+    private final FlashcardSetCatalogCache catalogCache;
 
     @Transactional
     public FlashcardDTO addFlashcard(FlashcardCreationDTO flashcardCreationDTO) {
@@ -47,6 +52,9 @@ public class FlashcardService {
                 .build();
 
         Flashcard savedFlashcard = flashcardRepository.save(flashcardToSave);
+        flashcardSetRepository.adjustTermCount(flashcardSetFromDB.getSetId(), 1);
+        catalogCache.evictSetAfterCommit(flashcardSetFromDB.getSetId(), flashcardSetFromDB.getUser().getUserId());
+
         return flashcardDTOMapper.apply(savedFlashcard);
     }
 
@@ -57,8 +65,23 @@ public class FlashcardService {
                 .toList();
     }
 
+    public CursorPageDTO<FlashcardDTO> getFlashcardsPage(String cursor, Integer size) {
+        int pageSize = KeysetPagination.resolvePageSize(size);
+        long afterFlashcardId = KeysetPagination.afterId(KeysetCursor.decode(cursor));
+
+        List<Flashcard> flashcards = flashcardRepository.findByFlashcardIdGreaterThanOrderByFlashcardIdAsc(
+                afterFlashcardId,
+                KeysetPagination.fetchLimit(pageSize));
+
+        return KeysetPagination.toPage(
+                flashcards,
+                pageSize,
+                flashcardDTOMapper,
+                flashcard -> KeysetCursor.ofId(flashcard.getFlashcardId()));
+    }
+
     public FlashcardDTO getFlashcardById(Long flashcardId) {
-        return flashcardRepository.findById(flashcardId)
+        return flashcardRepository.findVisibleById(flashcardId)
                 .map(flashcardDTOMapper)
                 .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardNotFoundMessage(flashcardId)));
     }
@@ -74,16 +97,21 @@ public class FlashcardService {
         existingFlashcardFromDB.setDefinition(updatedFlashcard.definition());
 
         Flashcard savedFlashcard = flashcardRepository.save(existingFlashcardFromDB);
+        flashcardSetRepository.incrementVersion(existingFlashcardFromDB.getFlashcardSet().getSetId());
         return flashcardDTOMapper.apply(savedFlashcard);
     }
 
-
+    @Transactional
     public void deleteFlashcardById(Long flashcardId) {
         Flashcard existingFlashcard = flashcardRepository.findByIdWithSetAndUser(flashcardId)
                 .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardNotFoundMessage(flashcardId)));
 
         verifyFlashcardSetAccess(existingFlashcard.getFlashcardSet(), "You are not allowed to delete this flashcard!");
         flashcardRepository.delete(existingFlashcard);
+        flashcardSetRepository.adjustTermCount(existingFlashcard.getFlashcardSet().getSetId(), -1);
+        catalogCache.evictSetAfterCommit(
+                existingFlashcard.getFlashcardSet().getSetId(),
+                existingFlashcard.getFlashcardSet().getUser().getUserId());
     }
 
     private void verifyFlashcardSetAccess(FlashcardSet flashcardSetFromDB, String errorMessage) {
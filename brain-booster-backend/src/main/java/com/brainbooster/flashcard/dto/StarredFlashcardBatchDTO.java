@@ -0,0 +1,21 @@
+package com.brainbooster.flashcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request body used to star or unstar many flashcards at once")
+public record StarredFlashcardBatchDTO(
+
+        @Schema(
+                description = "IDs of the flashcards to star or unstar",
+                example = "[1, 2, 3]"
+        )
+        @NotEmpty(message = "At least one flashcard id is required")
+        @Size(max = 1000, message = "At most 1000 flashcards can be starred or unstarred at once")
+        List<@NotNull(message = "Flashcard id cannot be null") Long> flashcardIds
+) {
+}
@@ -0,0 +1,17 @@
+package com.brainbooster.flashcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Flashcards starred by the current user")
+public record StarredFlashcardsDTO(
+
+        @Schema(
+                description = "IDs of all flashcards starred by the user, in ascending order",
+                example = "[1, 3]",
+                accessMode = Schema.AccessMode.READ_ONLY
+        )
+        List<Long> flashcardIds
+) {
+}
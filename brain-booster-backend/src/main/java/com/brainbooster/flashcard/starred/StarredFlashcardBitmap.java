@@ -0,0 +1,468 @@
+package com.brainbooster.flashcard.starred;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable compressed bitmap of the flashcard IDs starred by one user, organised like a roaring bitmap.
+ * <p>
+ * An ID is split into its high bits, which select a container, and its low 16 bits, which are stored
+ * in it. A container keeps up to 4096 values as a sorted {@code char} array and switches to a fixed
+ * 8 KiB bit set above that, so both scattered and clustered IDs stay compact and a membership test
+ * is a binary search over the containers followed by an array search or a bit lookup.
+ * <p>
+ * Updates return a new bitmap sharing every container except the changed one, so readers never
+ * need to lock.
+ */
+public final class StarredFlashcardBitmap {
+
+    public static final StarredFlashcardBitmap EMPTY =
+            new StarredFlashcardBitmap(new long[0], new Container[0]);
+
+    private static final int CONTAINER_BITS = 16;
+    private static final int ARRAY_CONTAINER_MAX_SIZE = 4096;
+    private static final int BITMAP_CONTAINER_WORDS = (1 << CONTAINER_BITS) / Long.SIZE;
+    private static final long OBJECT_OVERHEAD_BYTES = 16;
+    private static final long FINGERPRINT_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final long[] keys;
+    private final Container[] containers;
+    private final long fingerprint;
+
+    private StarredFlashcardBitmap(long[] keys, Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+
+        long hash = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            hash = hash * FINGERPRINT_MULTIPLIER + mix(keys[i]);
+            hash = hash * FINGERPRINT_MULTIPLIER + containers[i].fingerprint();
+        }
+
+        this.fingerprint = mix(hash);
+    }
+
+    /**
+     * Creates a bitmap of the given flashcard IDs.
+     */
+    public static StarredFlashcardBitmap of(Collection<Long> flashcardIds) {
+        if (flashcardIds.isEmpty()) {
+            return EMPTY;
+        }
+
+        long[] sortedIds = flashcardIds.stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+
+        long[] keys = new long[sortedIds.length];
+        Container[] containers = new Container[sortedIds.length];
+        int containerCount = 0;
+        int start = 0;
+
+        while (start < sortedIds.length) {
+            long key = sortedIds[start] >>> CONTAINER_BITS;
+            int end = start;
+
+            while (end < sortedIds.length && sortedIds[end] >>> CONTAINER_BITS == key) {
+                end++;
+            }
+
+            char[] values = new char[end - start];
+
+            for (int i = start; i < end; i++) {
+                values[i - start] = (char) sortedIds[i];
+            }
+
+            keys[containerCount] = key;
+            containers[containerCount] = values.length > ARRAY_CONTAINER_MAX_SIZE
+                    ? BitmapContainer.of(values)
+                    : new ArrayContainer(values);
+            containerCount++;
+            start = end;
+        }
+
+        return new StarredFlashcardBitmap(
+                Arrays.copyOf(keys, containerCount),
+                Arrays.copyOf(containers, containerCount));
+    }
+
+    public boolean contains(long flashcardId) {
+        int index = Arrays.binarySearch(keys, flashcardId >>> CONTAINER_BITS);
+
+        return index >= 0 && containers[index].contains((char) flashcardId);
+    }
+
+    /**
+     * Returns a bitmap that also contains the given ID, or this bitmap if it already does.
+     */
+    public StarredFlashcardBitmap with(long flashcardId) {
+        long key = flashcardId >>> CONTAINER_BITS;
+        int index = Arrays.binarySearch(keys, key);
+
+        if (index >= 0) {
+            Container updated = containers[index].add((char) flashcardId);
+
+            return updated == containers[index] ? this : replaceContainer(index, updated);
+        }
+
+        int insertionPoint = -index - 1;
+        long[] updatedKeys = new long[keys.length + 1];
+        Container[] updatedContainers = new Container[containers.length + 1];
+
+        System.arraycopy(keys, 0, updatedKeys, 0, insertionPoint);
+        System.arraycopy(keys, insertionPoint, updatedKeys, insertionPoint + 1, keys.length - insertionPoint);
+        System.arraycopy(containers, 0, updatedContainers, 0, insertionPoint);
+        System.arraycopy(
+                containers,
+                insertionPoint,
+                updatedContainers,
+                insertionPoint + 1,
+                containers.length - insertionPoint);
+
+        updatedKeys[insertionPoint] = key;
+        updatedContainers[insertionPoint] = new ArrayContainer(new char[]{(char) flashcardId});
+
+        return new StarredFlashcardBitmap(updatedKeys, updatedContainers);
+    }
+
+    /**
+     * Returns a bitmap without the given ID, or this bitmap if it does not contain it.
+     */
+    public StarredFlashcardBitmap without(long flashcardId) {
+        int index = Arrays.binarySearch(keys, flashcardId >>> CONTAINER_BITS);
+
+        if (index < 0) {
+            return this;
+        }
+
+        Container updated = containers[index].remove((char) flashcardId);
+
+        if (updated == containers[index]) {
+            return this;
+        }
+
+        if (updated != null) {
+            return replaceContainer(index, updated);
+        }
+
+        long[] updatedKeys = new long[keys.length - 1];
+        Container[] updatedContainers = new Container[containers.length - 1];
+
+        System.arraycopy(keys, 0, updatedKeys, 0, index);
+        System.arraycopy(keys, index + 1, updatedKeys, index, keys.length - index - 1);
+        System.arraycopy(containers, 0, updatedContainers, 0, index);
+        System.arraycopy(containers, index + 1, updatedContainers, index, containers.length - index - 1);
+
+        return new StarredFlashcardBitmap(updatedKeys, updatedContainers);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+
+        for (Container container : containers) {
+            cardinality += container.cardinality();
+        }
+
+        return cardinality;
+    }
+
+    /**
+     * Returns the contained IDs in ascending order.
+     */
+    public long[] toArray() {
+        long[] flashcardIds = new long[cardinality()];
+        int count = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            count = containers[i].copyTo(flashcardIds, count, keys[i] << CONTAINER_BITS);
+        }
+
+        return flashcardIds;
+    }
+
+    /**
+     * Approximate heap size of the bitmap.
+     */
+    public long byteSize() {
+        long byteSize = 2 * OBJECT_OVERHEAD_BYTES + (long) keys.length * Long.BYTES;
+
+        for (Container container : containers) {
+            byteSize += Long.BYTES + container.byteSize();
+        }
+
+        return byteSize;
+    }
+
+    /**
+     * Hash of the contained IDs. Equal contents always have the same fingerprint, so it can stand
+     * for the starred flashcards of a user in an entity tag.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Hash of the contained IDs among the given ones, e.g. the flashcards of one set in a fixed order.
+     * Stars outside the given IDs do not change it, so every user without stars among them gets
+     * the same value.
+     */
+    public long fingerprintWithin(LongStream flashcardIds) {
+        long hash = flashcardIds
+                .filter(this::contains)
+                .reduce(0, (accumulated, flashcardId) -> accumulated * FINGERPRINT_MULTIPLIER + mix(flashcardId));
+
+        return mix(hash);
+    }
+
+    private StarredFlashcardBitmap replaceContainer(int index, Container container) {
+        Container[] updatedContainers = containers.clone();
+        updatedContainers[index] = container;
+
+        return new StarredFlashcardBitmap(keys, updatedContainers);
+    }
+
+    /**
+     * Finalizer of the 64-bit MurmurHash3, spreading every input bit over the whole result.
+     * A bijection, so distinct inputs never collide.
+     */
+    static long mix(long value) {
+        long mixed = value;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xFF51AFD7ED558CCDL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+        return mixed ^ (mixed >>> 33);
+    }
+
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+
+        boolean contains(char value);
+
+        /**
+         * @return the container with the value, or this container if it already contains it.
+         */
+        Container add(char value);
+
+        /**
+         * @return the container without the value, this container if it does not contain it,
+         * or {@code null} if the container would be empty.
+         */
+        Container remove(char value);
+
+        int cardinality();
+
+        /**
+         * Writes the values in ascending order, each added to {@code high}, starting at {@code offset}.
+         *
+         * @return the offset after the last written value.
+         */
+        int copyTo(long[] target, int offset, long high);
+
+        long byteSize();
+
+        /**
+         * Hash of the values in ascending order, independent of the container type.
+         */
+        long fingerprint();
+    }
+
+    private static final class ArrayContainer implements Container {
+
+        private final char[] values;
+        private final long fingerprint;
+
+        private ArrayContainer(char[] values) {
+            this.values = values;
+
+            long hash = 0;
+
+            for (char value : values) {
+                hash = hash * FINGERPRINT_MULTIPLIER + mix(value);
+            }
+
+            this.fingerprint = hash;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, value) >= 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, value);
+
+            if (index >= 0) {
+                return this;
+            }
+
+            int insertionPoint = -index - 1;
+            char[] updated = new char[values.length + 1];
+
+            System.arraycopy(values, 0, updated, 0, insertionPoint);
+            System.arraycopy(values, insertionPoint, updated, insertionPoint + 1, values.length - insertionPoint);
+            updated[insertionPoint] = value;
+
+            return updated.length > ARRAY_CONTAINER_MAX_SIZE
+                    ? BitmapContainer.of(updated)
+                    : new ArrayContainer(updated);
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, value);
+
+            if (index < 0) {
+                return this;
+            }
+
+            if (values.length == 1) {
+                return null;
+            }
+
+            char[] updated = new char[values.length - 1];
+
+            System.arraycopy(values, 0, updated, 0, index);
+            System.arraycopy(values, index + 1, updated, index, values.length - index - 1);
+
+            return new ArrayContainer(updated);
+        }
+
+        @Override
+        public int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        public int copyTo(long[] target, int offset, long high) {
+            for (char value : values) {
+                target[offset++] = high | value;
+            }
+
+            return offset;
+        }
+
+        @Override
+        public long byteSize() {
+            return 2 * OBJECT_OVERHEAD_BYTES + (long) values.length * Character.BYTES;
+        }
+
+        @Override
+        public long fingerprint() {
+            return fingerprint;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+
+        private final long[] words;
+        private final int cardinality;
+        private final long fingerprint;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+
+            long hash = 0;
+
+            for (int word = 0; word < words.length; word++) {
+                long remaining = words[word];
+
+                while (remaining != 0) {
+                    int value = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+                    hash = hash * FINGERPRINT_MULTIPLIER + mix(value);
+                    remaining &= remaining - 1;
+                }
+            }
+
+            this.fingerprint = hash;
+        }
+
+        private static BitmapContainer of(char[] values) {
+            long[] words = new long[BITMAP_CONTAINER_WORDS];
+
+            for (char value : values) {
+                words[value >>> 6] |= 1L << value;
+            }
+
+            return new BitmapContainer(words, values.length);
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            if (contains(value)) {
+                return this;
+            }
+
+            long[] updated = words.clone();
+            updated[value >>> 6] |= 1L << value;
+
+            return new BitmapContainer(updated, cardinality + 1);
+        }
+
+        @Override
+        public Container remove(char value) {
+            if (!contains(value)) {
+                return this;
+            }
+
+            long[] updated = words.clone();
+            updated[value >>> 6] &= ~(1L << value);
+
+            if (cardinality - 1 > ARRAY_CONTAINER_MAX_SIZE) {
+                return new BitmapContainer(updated, cardinality - 1);
+            }
+
+            char[] values = new char[cardinality - 1];
+            int count = 0;
+
+            for (int word = 0; word < updated.length; word++) {
+                long remaining = updated[word];
+
+                while (remaining != 0) {
+                    values[count++] = (char) (word * Long.SIZE + Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+
+            return new ArrayContainer(values);
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int copyTo(long[] target, int offset, long high) {
+            for (int word = 0; word < words.length; word++) {
+                long remaining = words[word];
+
+                while (remaining != 0) {
+                    target[offset++] = high | (word * Long.SIZE + Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+
+            return offset;
+        }
+
+        @Override
+        public long byteSize() {
+            return 2 * OBJECT_OVERHEAD_BYTES + (long) words.length * Long.BYTES;
+        }
+
+        @Override
+        public long fingerprint() {
+            return fingerprint;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.brainbooster.flashcard.starred;
+
+import com.brainbooster.user.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-user cache of starred flashcards, kept as {@link StarredFlashcardBitmap}s.
+ * <p>
+ * A bitmap is loaded on the first read for a user and then updated in place by star and unstar
+ * operations once their transaction commits, so reads never go back to the database while the
+ * user stays cached. A bitmap loaded while any starred flashcard changed is returned to the caller
+ * but not stored, since its query may have missed the change. Bitmaps are held in a Caffeine cache
+ * weighed by their size, so the least used ones are evicted once the total exceeds
+ * {@code STARRED_BITMAP_CACHE_MAX_BYTES}.
+ * <p>
+ * Deleting a flashcard, a set or a user removes starred rows through foreign key cascades, which
+ * the cache does not see. Bitmaps therefore expire {@code STARRED_BITMAP_CACHE_TTL_SECONDS} after
+ * they were loaded, however often they were updated since, and IDs of deleted flashcards are
+ * dropped on the next load.
+ * <p>
+ * Hits, misses, evictions and the bytes held are published as {@code starred.bitmap.*} meters.
+ * With {@code STARRED_BITMAP_CACHE_ENABLED=false} every read loads the bitmap.
+ */
+@Component
+public class StarredFlashcardBitmapCache {
+
+    static final String GETS_METRIC = "starred.bitmap.gets";
+    static final String EVICTIONS_METRIC = "starred.bitmap.evictions";
+    static final String BYTES_METRIC = "starred.bitmap.bytes";
+
+    private final boolean enabled;
+    private final Cache<Long, StarredFlashcardBitmap> bitmaps;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public StarredFlashcardBitmapCache(
+            MeterRegistry meterRegistry,
+            @Value("${STARRED_BITMAP_CACHE_ENABLED:true}") boolean enabled,
+            @Value("${STARRED_BITMAP_CACHE_MAX_BYTES:33554432}") long maxBytes,
+            @Value("${STARRED_BITMAP_CACHE_TTL_SECONDS:600}") long ttlSeconds
+    ) {
+        this.enabled = enabled;
+
+        this.hits = Counter.builder(GETS_METRIC)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(GETS_METRIC)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder(EVICTIONS_METRIC)
+                .register(meterRegistry);
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+
+        // maintenance runs on the writing thread, so the byte bound holds when a write returns
+        this.bitmaps = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long _, StarredFlashcardBitmap bitmap) -> weight(bitmap))
+                .expireAfter(Expiry.creating((Long _, StarredFlashcardBitmap _) -> ttl))
+                .executor(Runnable::run)
+                .evictionListener((_, _, cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+
+        Gauge.builder(BYTES_METRIC, this, StarredFlashcardBitmapCache::usedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the starred flashcards of a user, loading them on a miss.
+     *
+     * @param loader loads the IDs of all flashcards starred by the user; exceptions are propagated.
+     */
+    public StarredFlashcardBitmap get(Long userId, Supplier<? extends Collection<Long>> loader) {
+        if (!enabled) {
+            return StarredFlashcardBitmap.of(loader.get());
+        }
+
+        StarredFlashcardBitmap cached = bitmaps.getIfPresent(userId);
+
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+
+        long loadedGeneration = generation.get();
+        StarredFlashcardBitmap loaded = StarredFlashcardBitmap.of(loader.get());
+
+        // skipped when starred flashcards changed during the load, the loaded IDs may be stale
+        bitmaps.asMap().compute(userId, (_, current) -> generation.get() == loadedGeneration
+                ? loaded
+                : current);
+
+        return loaded;
+    }
+
+    /**
+     * Adds a starred flashcard to the cached bitmap of a user once the surrounding transaction
+     * commits, or immediately when no transaction is active.
+     */
+    public void starAfterCommit(Long userId, Long flashcardId) {
+        afterCommit(() -> update(userId, bitmap -> bitmap.with(flashcardId)));
+    }
+
+    /**
+     * Removes a starred flashcard from the cached bitmap of a user once the surrounding transaction
+     * commits, or immediately when no transaction is active.
+     */
+    public void unstarAfterCommit(Long userId, Long flashcardId) {
+        afterCommit(() -> update(userId, bitmap -> bitmap.without(flashcardId)));
+    }
+
+    /**
+     * Adds many starred flashcards to the cached bitmap of a user in one update, once the surrounding
+     * transaction commits.
+     */
+    public void starAllAfterCommit(Long userId, Collection<Long> flashcardIds) {
+        afterCommit(() -> update(userId, bitmap -> {
+            StarredFlashcardBitmap updated = bitmap;
+
+            for (Long flashcardId : flashcardIds) {
+                updated = updated.with(flashcardId);
+            }
+
+            return updated;
+        }));
+    }
+
+    /**
+     * Removes many starred flashcards from the cached bitmap of a user in one update, once the
+     * surrounding transaction commits.
+     */
+    public void unstarAllAfterCommit(Long userId, Collection<Long> flashcardIds) {
+        afterCommit(() -> update(userId, bitmap -> {
+            StarredFlashcardBitmap updated = bitmap;
+
+            for (Long flashcardId : flashcardIds) {
+                updated = updated.without(flashcardId);
+            }
+
+            return updated;
+        }));
+    }
+
+    /**
+     * Drops the bitmap of a deleted user. Runs after the publishing transaction commits.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.deleted()) {
+            update(event.userId(), _ -> null);
+        }
+    }
+
+    /**
+     * Replaces the cached bitmap of a user; a {@code null} result removes it.
+     */
+    private void update(Long userId, UnaryOperator<StarredFlashcardBitmap> change) {
+        generation.incrementAndGet();
+        bitmaps.asMap().computeIfPresent(userId, (_, current) -> change.apply(current));
+    }
+
+    private long usedBytes() {
+        return bitmaps.policy()
+                .eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    private static int weight(StarredFlashcardBitmap bitmap) {
+        return (int) Math.min(bitmap.byteSize(), Integer.MAX_VALUE);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
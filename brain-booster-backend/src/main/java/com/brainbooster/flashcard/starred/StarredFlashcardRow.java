@@ -0,0 +1,15 @@
+package com.brainbooster.flashcard.starred;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of a flashcard starred by a user, together with the time it was starred.
+ */
+public record StarredFlashcardRow(
+        Long flashcardId,
+        Long setId,
+        String term,
+        String definition,
+        Instant starredAt
+) {
+}
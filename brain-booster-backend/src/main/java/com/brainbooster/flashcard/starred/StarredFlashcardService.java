@@ -4,59 +4,69 @@ import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcard.Flashcard;
 import com.brainbooster.flashcard.FlashcardRepository;
 import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.flashcard.dto.StarredFlashcardsDTO;
 import com.brainbooster.flashcard.mapper.FlashcardDTOMapper;
+import com.brainbooster.pagination.KeysetCursor;
+import com.brainbooster.pagination.KeysetPagination;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
-import com.brainbooster.user.User;
-import com.brainbooster.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class StarredFlashcardService {
 
     private static final String FLASHCARD_WITH_ID_MESSAGE_PREFIX = "Flashcard with id ";
+    private static final String FLASHCARDS_WITH_IDS_MESSAGE_PREFIX = "Flashcards with ids ";
     private static final String NOT_FOUND_MESSAGE_SUFFIX = " not found";
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid pagination cursor";
 
     private final FlashcardRepository flashcardRepository;
     private final UserStarredFlashcardRepository starredFlashcardRepository;
-    private final UserRepository userRepository;
     private final FlashcardDTOMapper flashcardDTOMapper;
     private final CurrentUserProvider currentUserProvider;
+    private final StarredFlashcardBitmapCache starredFlashcardBitmapCache;
 
+    /**
+     * Stars a flashcard for the current user with a single upsert, so repeating the request has no
+     * further effect. A missing flashcard is reported by the foreign key of the starred row instead
+     * of a lookup before the write; the returned content comes from the second-level cache.
+     *
+     * @throws ResourceNotFoundException if the flashcard does not exist.
+     */
     @Transactional
     public FlashcardDTO starFlashcard(Long flashcardId) {
         AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
 
+        try {
+            starredFlashcardRepository.insertStarredFlashcards(
+                    authenticatedUser.userId(),
+                    new Long[]{flashcardId});
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException(buildFlashcardNotFoundMessage(flashcardId));
+        }
+
+        starredFlashcardBitmapCache.starAfterCommit(authenticatedUser.userId(), flashcardId);
+
         Flashcard flashcard = flashcardRepository.findById(flashcardId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         buildFlashcardNotFoundMessage(flashcardId)));
 
-        boolean alreadyStarred = starredFlashcardRepository
-                .existsByUser_UserIdAndFlashcard_FlashcardId(
-                        authenticatedUser.userId(),
-                        flashcardId
-                );
-
-        if (!alreadyStarred) {
-            User userReference = userRepository.getReferenceById(authenticatedUser.userId());
-
-            UserStarredFlashcard starredFlashcard = UserStarredFlashcard.builder()
-                    .id(new UserStarredFlashcardId(
-                            authenticatedUser.userId(),
-                            flashcardId
-                    ))
-                    .user(userReference)
-                    .flashcard(flashcard)
-                    .build();
-
-            starredFlashcardRepository.save(starredFlashcard);
-        }
-
         return flashcardDTOMapper.toDto(flashcard, true);
     }
 
@@ -72,21 +82,211 @@ public class StarredFlashcardService {
                 .deleteByUser_UserIdAndFlashcard_FlashcardId(
                         authenticatedUser.userId(),
                         flashcardId);
+        starredFlashcardBitmapCache.unstarAfterCommit(authenticatedUser.userId(), flashcardId);
 
         return flashcardDTOMapper.toDto(flashcard, false);
     }
 
-    public Set<Long> getStarredFlashcardIdsForCurrentUserInSet(Long setId) {
+    /**
+     * Returns all flashcards starred by the current user, or an empty bitmap for anonymous requests.
+     * <p>
+     * The bitmap is cached per user and kept up to date by {@link #starFlashcard(Long)} and
+     * {@link #unstarFlashcard(Long)}, so starred flags of a set view are resolved without a query.
+     */
+    public StarredFlashcardBitmap getStarredFlashcardsForCurrentUser() {
         AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUserOrNull();
 
         if (authenticatedUser == null) {
-            return Set.of();
+            return StarredFlashcardBitmap.EMPTY;
         }
 
-        return starredFlashcardRepository
-                .findStarredFlashcardIdsByUserIdAndSetId(
-                        authenticatedUser.userId(),
-                        setId);
+        return getStarredFlashcards(authenticatedUser.userId());
+    }
+
+    /**
+     * Stars many flashcards for the current user with a single upsert; flashcards already starred are
+     * left as they are, so repeating a request has no further effect.
+     *
+     * @return all flashcards starred by the user afterwards.
+     * @throws ResourceNotFoundException if any of the flashcards does not exist; nothing is starred then.
+     */
+    @Transactional
+    public StarredFlashcardsDTO starFlashcards(Collection<Long> flashcardIds) {
+        AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
+        List<Long> existingIds = requireExistingFlashcards(flashcardIds);
+
+        StarredFlashcardBitmap starredFlashcards = getStarredFlashcards(authenticatedUser.userId());
+
+        starredFlashcardRepository.insertStarredFlashcards(
+                authenticatedUser.userId(),
+                existingIds.toArray(Long[]::new));
+        starredFlashcardBitmapCache.starAllAfterCommit(authenticatedUser.userId(), existingIds);
+
+        for (Long flashcardId : existingIds) {
+            starredFlashcards = starredFlashcards.with(flashcardId);
+        }
+
+        return toStarredFlashcardsDTO(starredFlashcards);
+    }
+
+    /**
+     * Unstars many flashcards for the current user with a single delete; flashcards that are not
+     * starred are ignored, so repeating a request has no further effect.
+     *
+     * @return all flashcards starred by the user afterwards.
+     * @throws ResourceNotFoundException if any of the flashcards does not exist; nothing is unstarred then.
+     */
+    @Transactional
+    public StarredFlashcardsDTO unstarFlashcards(Collection<Long> flashcardIds) {
+        AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
+        List<Long> existingIds = requireExistingFlashcards(flashcardIds);
+
+        StarredFlashcardBitmap starredFlashcards = getStarredFlashcards(authenticatedUser.userId());
+
+        starredFlashcardRepository.deleteStarredFlashcards(
+                authenticatedUser.userId(),
+                existingIds.toArray(Long[]::new));
+        starredFlashcardBitmapCache.unstarAllAfterCommit(authenticatedUser.userId(), existingIds);
+
+        for (Long flashcardId : existingIds) {
+            starredFlashcards = starredFlashcards.without(flashcardId);
+        }
+
+        return toStarredFlashcardsDTO(starredFlashcards);
+    }
+
+    /**
+     * Returns a page of the flashcards starred by the current user, across all sets or within one set.
+     * <p>
+     * Without a seed the most recently starred flashcards come first, read together with their content
+     * by one keyset query over the {@code (user_id, created_at, flashcard_id)} index. With a seed the
+     * flashcards come in a random order fixed by the seed, so paging with the same seed walks through
+     * one shuffled deck and its first page is a random sample.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to the other ordering.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FlashcardDTO> getStarredFlashcardsPage(Long setId, Long seed, String cursor, Integer size) {
+        AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
+
+        int pageSize = KeysetPagination.resolvePageSize(size);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+
+        return seed == null
+                ? getRecentlyStarredPage(authenticatedUser.userId(), setId, keysetCursor, pageSize)
+                : getShuffledStarredPage(authenticatedUser.userId(), setId, seed, keysetCursor, pageSize);
+    }
+
+    /**
+     * Loaded before the batch is written, so a bitmap cached on a miss never contains uncommitted rows.
+     */
+    private StarredFlashcardBitmap getStarredFlashcards(Long userId) {
+        return starredFlashcardBitmapCache.get(
+                userId,
+                () -> starredFlashcardRepository.findStarredFlashcardIdsByUserId(userId));
+    }
+
+    /**
+     * Checks with one query that all flashcards exist.
+     *
+     * @return the distinct IDs in ascending order, so concurrent batches lock rows in the same order.
+     */
+    private List<Long> requireExistingFlashcards(Collection<Long> flashcardIds) {
+        List<Long> distinctIds = flashcardIds.stream()
+                .distinct()
+                .sorted()
+                .toList();
+
+        Set<Long> existingIds = new HashSet<>(flashcardRepository.findExistingIds(distinctIds));
+
+        List<Long> missingIds = distinctIds.stream()
+                .filter(flashcardId -> !existingIds.contains(flashcardId))
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            throw new ResourceNotFoundException(
+                    FLASHCARDS_WITH_IDS_MESSAGE_PREFIX + missingIds + NOT_FOUND_MESSAGE_SUFFIX);
+        }
+
+        return distinctIds;
+    }
+
+    private CursorPageDTO<FlashcardDTO> getRecentlyStarredPage(
+            Long userId,
+            Long setId,
+            KeysetCursor cursor,
+            int pageSize
+    ) {
+        if (cursor != null && cursor.sortKey() == null) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+        }
+
+        Pageable limit = KeysetPagination.fetchLimit(pageSize);
+        List<StarredFlashcardRow> rows;
+
+        if (cursor == null) {
+            rows = setId == null
+                    ? starredFlashcardRepository.findStarredPage(userId, limit)
+                    : starredFlashcardRepository.findStarredPageBySetId(userId, setId, limit);
+        } else {
+            rows = setId == null
+                    ? starredFlashcardRepository.findStarredPageBefore(
+                            userId, cursor.sortKey(), cursor.id(), limit)
+                    : starredFlashcardRepository.findStarredPageBeforeBySetId(
+                            userId, setId, cursor.sortKey(), cursor.id(), limit);
+        }
+
+        return KeysetPagination.toPage(
+                rows,
+                pageSize,
+                row -> new FlashcardDTO(row.flashcardId(), row.setId(), row.term(), row.definition(), true),
+                row -> new KeysetCursor(row.starredAt(), row.flashcardId()));
+    }
+
+    /**
+     * Orders the starred flashcards by a seeded hash of their IDs in the database. The ID breaks ties,
+     * so the ID of the last flashcard is enough to continue from; only the page itself is loaded,
+     * through the second-level cache.
+     */
+    private CursorPageDTO<FlashcardDTO> getShuffledStarredPage(
+            Long userId,
+            Long setId,
+            long seed,
+            KeysetCursor cursor,
+            int pageSize
+    ) {
+        if (cursor != null && cursor.sortKey() != null) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+        }
+
+        Pageable limit = KeysetPagination.fetchLimit(pageSize);
+        Long afterFlashcardId = cursor == null ? null : cursor.id();
+
+        List<Long> pageIds = setId == null
+                ? starredFlashcardRepository.findShuffledStarredFlashcardIds(userId, seed, afterFlashcardId, limit)
+                : starredFlashcardRepository.findShuffledStarredFlashcardIdsBySetId(
+                        userId, setId, seed, afterFlashcardId, limit);
+
+        Map<Long, Flashcard> flashcards = flashcardRepository.loadAllById(pageIds)
+                .stream()
+                .collect(Collectors.toMap(Flashcard::getFlashcardId, Function.identity()));
+
+        List<Flashcard> rows = pageIds.stream()
+                .map(flashcards::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return KeysetPagination.toPage(
+                rows,
+                pageSize,
+                flashcard -> flashcardDTOMapper.toDto(flashcard, true),
+                flashcard -> KeysetCursor.ofId(flashcard.getFlashcardId()));
+    }
+
+    private static StarredFlashcardsDTO toStarredFlashcardsDTO(StarredFlashcardBitmap starredFlashcards) {
+        return new StarredFlashcardsDTO(Arrays.stream(starredFlashcards.toArray())
+                .boxed()
+                .toList());
     }
 
     private String buildFlashcardNotFoundMessage(Long flashcardId) {
@@ -1,18 +1,56 @@
 package com.brainbooster.flashcard.starred;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 
 public interface UserStarredFlashcardRepository
         extends JpaRepository<UserStarredFlashcard, UserStarredFlashcardId> {
 
+    String USER_STARRED_FLASHCARD_TABLE = "user_starred_flashcard";
+
     boolean existsByUser_UserIdAndFlashcard_FlashcardId(Long userId, Long flashcardId);
 
     void deleteByUser_UserIdAndFlashcard_FlashcardId(Long userId, Long flashcardId);
 
+    /**
+     * Stars all given flashcards for a user in one statement; flashcards already starred are skipped.
+     *
+     * @return the number of newly starred flashcards.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = USER_STARRED_FLASHCARD_TABLE))
+    @Query(value = """
+            INSERT INTO user_starred_flashcard (user_id, flashcard_id, created_at)
+            SELECT :userId, ids.flashcard_id, now()
+            FROM unnest(CAST(:flashcardIds AS bigint[])) AS ids(flashcard_id)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertStarredFlashcards(@Param("userId") Long userId, @Param("flashcardIds") Long[] flashcardIds);
+
+    /**
+     * Unstars all given flashcards for a user in one statement.
+     *
+     * @return the number of unstarred flashcards.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = USER_STARRED_FLASHCARD_TABLE))
+    @Query(value = """
+            DELETE FROM user_starred_flashcard
+            WHERE user_id = :userId
+              AND flashcard_id = ANY(CAST(:flashcardIds AS bigint[]))
+            """, nativeQuery = true)
+    int deleteStarredFlashcards(@Param("userId") Long userId, @Param("flashcardIds") Long[] flashcardIds);
+
     @Query("""
             SELECT usf.flashcard.flashcardId
             FROM UserStarredFlashcard usf
@@ -30,4 +68,117 @@ public interface UserStarredFlashcardRepository
             @Param("userId") Long userId,
             @Param("setId") Long setId
     );
+
+    /*
+     * The page queries below join the set of every flashcard, so stars on flashcards of a tombstoned set
+     * are left out until TombstonePurger removes them.
+     */
+
+    /**
+     * Returns the IDs of a page of the flashcards starred by a user, in a random order fixed by the seed.
+     * <p>
+     * Flashcards are ordered by a seeded 64-bit hash of their ID, with the ID breaking ties, so the page
+     * is picked by a top-N sort in the database and only its IDs are returned.
+     *
+     * @param afterFlashcardId ID of the last flashcard of the previous page, or {@code null} for the first page.
+     */
+    @Query(value = """
+            SELECT usf.flashcard_id
+            FROM user_starred_flashcard usf
+            JOIN flashcard f ON f.flashcard_id = usf.flashcard_id
+            JOIN flashcard_set fs ON fs.set_id = f.set_id
+            WHERE usf.user_id = :userId
+              AND fs.deleted_at IS NULL
+              AND (CAST(:afterFlashcardId AS bigint) IS NULL
+                   OR (hashint8extended(usf.flashcard_id, :seed), usf.flashcard_id)
+                      > (hashint8extended(CAST(:afterFlashcardId AS bigint), :seed), CAST(:afterFlashcardId AS bigint)))
+            ORDER BY hashint8extended(usf.flashcard_id, :seed), usf.flashcard_id
+            """, nativeQuery = true)
+    List<Long> findShuffledStarredFlashcardIds(
+            @Param("userId") Long userId,
+            @Param("seed") long seed,
+            @Param("afterFlashcardId") Long afterFlashcardId,
+            Pageable pageable
+    );
+
+    /**
+     * Like {@link #findShuffledStarredFlashcardIds(Long, long, Long, Pageable)}, limited to one set.
+     */
+    @Query(value = """
+            SELECT usf.flashcard_id
+            FROM user_starred_flashcard usf
+            JOIN flashcard f ON f.flashcard_id = usf.flashcard_id
+            JOIN flashcard_set fs ON fs.set_id = f.set_id
+            WHERE usf.user_id = :userId
+              AND f.set_id = :setId
+              AND fs.deleted_at IS NULL
+              AND (CAST(:afterFlashcardId AS bigint) IS NULL
+                   OR (hashint8extended(usf.flashcard_id, :seed), usf.flashcard_id)
+                      > (hashint8extended(CAST(:afterFlashcardId AS bigint), :seed), CAST(:afterFlashcardId AS bigint)))
+            ORDER BY hashint8extended(usf.flashcard_id, :seed), usf.flashcard_id
+            """, nativeQuery = true)
+    List<Long> findShuffledStarredFlashcardIdsBySetId(
+            @Param("userId") Long userId,
+            @Param("setId") Long setId,
+            @Param("seed") long seed,
+            @Param("afterFlashcardId") Long afterFlashcardId,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT new com.brainbooster.flashcard.starred.StarredFlashcardRow(
+                f.flashcardId, fs.setId, f.term, f.definition, usf.createdAt)
+            FROM UserStarredFlashcard usf JOIN usf.flashcard f JOIN f.flashcardSet fs
+            WHERE usf.user.userId = :userId
+            ORDER BY usf.createdAt DESC, usf.id.flashcardId DESC
+            """)
+    List<StarredFlashcardRow> findStarredPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.brainbooster.flashcard.starred.StarredFlashcardRow(
+                f.flashcardId, fs.setId, f.term, f.definition, usf.createdAt)
+            FROM UserStarredFlashcard usf JOIN usf.flashcard f JOIN f.flashcardSet fs
+            WHERE usf.user.userId = :userId
+              AND (usf.createdAt < :createdAt
+                   OR (usf.createdAt = :createdAt AND usf.id.flashcardId < :flashcardId))
+            ORDER BY usf.createdAt DESC, usf.id.flashcardId DESC
+            """)
+    List<StarredFlashcardRow> findStarredPageBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("flashcardId") Long flashcardId,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT new com.brainbooster.flashcard.starred.StarredFlashcardRow(
+                f.flashcardId, fs.setId, f.term, f.definition, usf.createdAt)
+            FROM UserStarredFlashcard usf JOIN usf.flashcard f JOIN f.flashcardSet fs
+            WHERE usf.user.userId = :userId
+              AND fs.setId = :setId
+            ORDER BY usf.createdAt DESC, usf.id.flashcardId DESC
+            """)
+    List<StarredFlashcardRow> findStarredPageBySetId(
+            @Param("userId") Long userId,
+            @Param("setId") Long setId,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT new com.brainbooster.flashcard.starred.StarredFlashcardRow(
+                f.flashcardId, fs.setId, f.term, f.definition, usf.createdAt)
+            FROM UserStarredFlashcard usf JOIN usf.flashcard f JOIN f.flashcardSet fs
+            WHERE usf.user.userId = :userId
+              AND fs.setId = :setId
+              AND (usf.createdAt < :createdAt
+                   OR (usf.createdAt = :createdAt AND usf.id.flashcardId < :flashcardId))
+            ORDER BY usf.createdAt DESC, usf.id.flashcardId DESC
+            """)
+    List<StarredFlashcardRow> findStarredPageBeforeBySetId(
+            @Param("userId") Long userId,
+            @Param("setId") Long setId,
+            @Param("createdAt") Instant createdAt,
+            @Param("flashcardId") Long flashcardId,
+            Pageable pageable
+    );
 }
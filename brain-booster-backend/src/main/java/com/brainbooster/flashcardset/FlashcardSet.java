@@ -3,7 +3,10 @@ package com.brainbooster.flashcardset;
 import com.brainbooster.user.User;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 
@@ -14,8 +17,13 @@ import java.time.Instant;
 @Setter
 @Entity
 @Table(name = "flashcard_set")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = FlashcardSet.CACHE_REGION)
+@SQLRestriction("deleted_at IS NULL") // tombstoned sets are hidden until TombstonePurger removes them
 public class FlashcardSet {
 
+    public static final String CACHE_REGION = "flashcard-sets";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long setId;
@@ -27,7 +35,26 @@ public class FlashcardSet {
     private String description;
     @Column(name = "created_at")
     private Instant createdAt;
-    @Formula("(SELECT COUNT(*) FROM flashcard f WHERE f.set_id = set_id)")
-    private Long termCount;
+    /**
+     * Denormalized number of flashcards in the set. Never written by entity updates;
+     * changed only through {@link FlashcardSetRepository#adjustTermCount(Long, long)}
+     * so concurrent changes cannot overwrite each other.
+     */
+    @Builder.Default
+    @Column(name = "term_count", nullable = false, updatable = false)
+    private Long termCount = 0L;
+
+    /**
+     * Incremented by every change of the set, including changes of its flashcards,
+     * which bump it through {@link FlashcardSetRepository#incrementVersion(Long)}.
+     * Backs ETags and If-Match checks.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 
 }
@@ -0,0 +1,273 @@
+package com.brainbooster.flashcardset;
+
+import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
+import com.brainbooster.user.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Read-through in-memory cache of public flashcard set listings and of nickname to user ID resolution.
+ * <p>
+ * Every region is a Caffeine cache bounded by a maximum number of entries and a TTL, so a full region
+ * drops its least used entries instead of being cleared. Write paths evict the affected
+ * entries once their transaction commits. A value loaded while an eviction of its region happens
+ * is returned to the caller but not stored, so data read before a commit cannot outlive the eviction.
+ * <p>
+ * Hits, misses and evictions of every region are published as {@code catalog.cache.*} meters
+ * tagged with the region name. The cache can be disabled with {@code CATALOG_CACHE_ENABLED=false},
+ * in which case every call goes to the loader.
+ */
+@Component
+public class FlashcardSetCatalogCache {
+
+    static final String GETS_METRIC = "catalog.cache.gets";
+    static final String EVICTIONS_METRIC = "catalog.cache.evictions";
+    static final String SIZE_METRIC = "catalog.cache.size";
+
+    private static final String ALL_SETS_KEY = "all";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Duration ttl;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Region<Long, FlashcardSetDTO> setsById;
+    private final Region<Long, List<FlashcardSetDTO>> setsByUserId;
+    private final Region<String, List<FlashcardSetDTO>> allSets;
+    private final Region<String, Long> userIdsByNickname;
+
+    public FlashcardSetCatalogCache(
+            MeterRegistry meterRegistry,
+            @Value("${CATALOG_CACHE_ENABLED:true}") boolean enabled,
+            @Value("${CATALOG_CACHE_MAX_ENTRIES:10000}") int maxEntries,
+            @Value("${CATALOG_CACHE_TTL_SECONDS:300}") long ttlSeconds
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+
+        this.setsById = new Region<>("flashcard-sets");
+        this.setsByUserId = new Region<>("user-flashcard-sets");
+        this.allSets = new Region<>("all-flashcard-sets");
+        this.userIdsByNickname = new Region<>("user-ids-by-nickname");
+    }
+
+    /**
+     * Returns a flashcard set, loading it on a miss.
+     *
+     * @param loader loads the set; exceptions are propagated and nothing is cached.
+     */
+    public FlashcardSetDTO getSet(Long setId, Supplier<FlashcardSetDTO> loader) {
+        return setsById.get(setId, loader);
+    }
+
+    /**
+     * Returns all flashcard sets of a user, loading them on a miss.
+     *
+     * @param loader loads the sets; exceptions are propagated and nothing is cached.
+     */
+    public List<FlashcardSetDTO> getSetsByUserId(Long userId, Supplier<List<FlashcardSetDTO>> loader) {
+        return setsByUserId.get(userId, loader);
+    }
+
+    /**
+     * Returns all flashcard sets, loading them on a miss.
+     */
+    public List<FlashcardSetDTO> getAllSets(Supplier<List<FlashcardSetDTO>> loader) {
+        return allSets.get(ALL_SETS_KEY, loader);
+    }
+
+    /**
+     * Resolves the ID of the user with the given nickname, loading it on a miss.
+     * Unknown nicknames are not cached, so the loader should throw for them.
+     */
+    public Long getUserIdByNickname(String nickname, Supplier<Long> loader) {
+        return userIdsByNickname.get(nickname, loader);
+    }
+
+    /**
+     * Returns a counter that grows with every eviction. Loads keyed by it are not shared
+     * between callers arriving before and after an eviction.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Evicts a flashcard set and the listings containing it once the surrounding
+     * transaction commits, or immediately when no transaction is active.
+     *
+     * @param setId   ID of the created, changed or deleted set.
+     * @param ownerId ID of the owner of the set.
+     */
+    public void evictSetAfterCommit(Long setId, Long ownerId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            setsById.evict(setId);
+            setsByUserId.evict(ownerId);
+            allSets.evict(ALL_SETS_KEY);
+        });
+    }
+
+    /**
+     * Evicts every cached entry once the surrounding transaction commits,
+     * or immediately when no transaction is active.
+     */
+    public void evictAllAfterCommit() {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            setsById.evictAll();
+            setsByUserId.evictAll();
+            allSets.evictAll();
+            userIdsByNickname.evictAll();
+        });
+    }
+
+    /**
+     * Evicts the nickname of a changed or deleted user and every listing showing it.
+     * Runs after the publishing transaction commits.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        generation.incrementAndGet();
+        userIdsByNickname.evict(event.nickname());
+        setsByUserId.evict(event.userId());
+        allSets.evict(ALL_SETS_KEY);
+        setsById.evictWhere(flashcardSet -> event.nickname().equals(flashcardSet.user().nickname()));
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private final class Region<K, V> {
+
+        private final Cache<K, V> entries;
+        private final AtomicLong generation = new AtomicLong();
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter capacityEvictions;
+        private final Counter invalidations;
+
+        private Region(String name) {
+            this.hits = Counter.builder(GETS_METRIC)
+                    .tag("cache", name)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder(GETS_METRIC)
+                    .tag("cache", name)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            this.capacityEvictions = Counter.builder(EVICTIONS_METRIC)
+                    .tag("cache", name)
+                    .tag("cause", "capacity")
+                    .register(meterRegistry);
+            this.invalidations = Counter.builder(EVICTIONS_METRIC)
+                    .tag("cache", name)
+                    .tag("cause", "invalidation")
+                    .register(meterRegistry);
+
+            // maintenance runs on the writing thread, so a full region evicts before the write returns
+            this.entries = Caffeine.newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfterWrite(ttl)
+                    .executor(Runnable::run)
+                    .evictionListener((_, _, cause) -> {
+                        if (cause == RemovalCause.SIZE) {
+                            capacityEvictions.increment();
+                        }
+                    })
+                    .build();
+
+            Gauge.builder(SIZE_METRIC, entries, Cache::estimatedSize)
+                    .tag("cache", name)
+                    .register(meterRegistry);
+        }
+
+        private V get(K key, Supplier<V> loader) {
+            if (!enabled) {
+                return loader.get();
+            }
+
+            V cached = entries.getIfPresent(key);
+
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+
+            misses.increment();
+
+            long loadedGeneration = generation.get();
+            V value = loader.get();
+
+            // skipped when the region was evicted during the load, the value may already be stale
+            entries.asMap().compute(key, (_, current) -> generation.get() == loadedGeneration
+                    ? value
+                    : current);
+
+            return value;
+        }
+
+        private void evict(K key) {
+            generation.incrementAndGet();
+
+            if (entries.asMap().remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+
+        private void evictWhere(Predicate<V> predicate) {
+            generation.incrementAndGet();
+            invalidations.increment(removeWhere(predicate));
+        }
+
+        private void evictAll() {
+            generation.incrementAndGet();
+            invalidations.increment(removeWhere(_ -> true));
+        }
+
+        private int removeWhere(Predicate<V> predicate) {
+            int removed = 0;
+            Iterator<V> iterator = entries.asMap().values().iterator();
+
+            while (iterator.hasNext()) {
+                if (predicate.test(iterator.next())) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+
+            return removed;
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.brainbooster.flashcardset;
 
 import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.flashcardset.content.FlashcardsJson;
+import com.brainbooster.flashcardset.dto.FlashcardBatchUpdateDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetStudyViewDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetUpdateDTO;
+import com.brainbooster.pagination.dto.CursorPageDTO;
+import com.brainbooster.versioning.Representation;
+import com.brainbooster.versioning.RepresentationCache;
+import com.brainbooster.versioning.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,6 +38,8 @@ import java.util.List;
 public class FlashcardSetController {
 
     private final FlashcardSetService flashcardSetService;
+    private final FlashcardSetStudyViewService flashcardSetStudyViewService;
+    private final RepresentationCache representationCache;
 
     @Operation(
             summary = "Create a new flashcard set",
@@ -42,45 +59,165 @@ public class FlashcardSetController {
     }
 
     @Operation(
-            summary = "Get all flashcard sets",
-            description = "Fetches all public flashcard sets from the database."
+            summary = "Get flashcard sets page",
+            description = "Fetches a page of flashcard sets using keyset pagination. "
+                    + "Pass the returned nextCursor to fetch the following page."
     )
-    @ApiResponse(responseCode = "200", description = "Flashcard sets fetched successfully")
+    @ApiResponse(responseCode = "200", description = "Page fetched successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
     @GetMapping
+    public CursorPageDTO<FlashcardSetDTO> getFlashcardSetsPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        return flashcardSetService.getFlashcardSetsPage(cursor, size);
+    }
+
+    @Operation(
+            summary = "Get all flashcard sets (unpaged)",
+            description = "Fetches all public flashcard sets at once. Requires the unpaged=true flag "
+                    + "and administrator rights; other users list the flashcard sets page by page with GET /flashcard-sets.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Flashcard sets fetched successfully")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "403", description = "User is not an administrator")
+    @GetMapping(params = "unpaged=true")
     public List<FlashcardSetDTO> getAllFlashcardSets() {
         return flashcardSetService.getAllFlashcardSets();
     }
 
     @Operation(
             summary = "Get flashcard set by ID",
-            description = "Fetches a single flashcard set by its ID."
+            description = "Fetches a single flashcard set by its ID. Responses carry ETag and Last-Modified; "
+                    + "a matching If-None-Match or If-Modified-Since returns 304 without the body. "
+                    + "The body is gzip-compressed when the client accepts it."
     )
-    @ApiResponse(responseCode = "200", description = "Flashcard set fetched successfully")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Flashcard set fetched successfully",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = FlashcardSetDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Flashcard set not modified")
     @ApiResponse(responseCode = "404", description = "Flashcard set not found")
     @GetMapping("/{setId}")
-    public FlashcardSetDTO getFlashcardSetById(
+    public ResponseEntity<byte[]> getFlashcardSetById(
             @Parameter(description = "ID of the flashcard set", example = "1")
-            @PathVariable Long setId) {
+            @PathVariable Long setId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
 
-        return flashcardSetService.getFlashcardSetById(setId);
+        ResourceVersion version = flashcardSetService.getFlashcardSetVersion(setId);
+
+        if (isNotModified(version, acceptEncoding, webRequest)) {
+            return null;
+        }
+
+        return representationCache
+                .get(version, () -> flashcardSetService.getVersionedFlashcardSetById(setId))
+                .toResponse(acceptEncoding);
     }
 
     @Operation(
             summary = "Get all flashcards in a set",
-            description = "Fetches all flashcards that belong to a specific flashcard set."
+            description = "Fetches all flashcards that belong to a specific flashcard set. Responses carry ETag "
+                    + "and Last-Modified; a matching If-None-Match or If-Modified-Since returns 304 without the body. "
+                    + "The body is gzip-compressed when the client accepts it."
     )
-    @ApiResponse(responseCode = "200", description = "Flashcards fetched successfully")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Flashcards fetched successfully",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = FlashcardDTO.class))))
+    @ApiResponse(responseCode = "304", description = "Flashcards not modified")
     @ApiResponse(responseCode = "404", description = "Flashcard set not found")
     @GetMapping("/{setId}/flashcards")
-    public List<FlashcardDTO> getAllFlashcardsInSet(
+    public ResponseEntity<StreamingResponseBody> getAllFlashcardsInSet(
+            @Parameter(description = "ID of the flashcard set", example = "1")
+            @PathVariable Long setId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+
+        ResourceVersion version = flashcardSetService.getFlashcardsInSetVersion(setId);
+
+        if (isNotModified(version, acceptEncoding, webRequest)) {
+            return null;
+        }
+
+        // only anonymous lists are stored, personalized ones would just push them out
+        if (webRequest.getUserPrincipal() == null) {
+            return representationCache
+                    .getOrWrite(version, outputStream -> flashcardSetService
+                            .getAllFlashcardsInSetJson(setId)
+                            .writeTo(outputStream))
+                    .toStreamingResponse(acceptEncoding);
+        }
+
+        // the tag covers the starred flags, so a user without stars in the set gets the anonymous entry
+        Representation cached = representationCache.find(version);
+
+        if (cached != null) {
+            return cached.toStreamingResponse(acceptEncoding);
+        }
+
+        FlashcardsJson flashcards = flashcardSetService.getAllFlashcardsInSetJson(setId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .body(flashcards::writeTo);
+    }
+
+    @Operation(
+            summary = "Get study view of a set",
+            description = "Fetches everything the study page of a set shows in one response: the set, its "
+                    + "flashcards with starred flags, the latest game result of the current user in each mode "
+                    + "and the summary of the user's attempts.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Study view fetched successfully")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "404", description = "Flashcard set not found")
+    @GetMapping("/{setId}/study-view")
+    public FlashcardSetStudyViewDTO getStudyView(
             @Parameter(description = "ID of the flashcard set", example = "1")
             @PathVariable Long setId) {
-        return flashcardSetService.getAllFlashcardsInSet(setId);
+
+        return flashcardSetStudyViewService.getStudyView(setId);
+    }
+
+    @Operation(
+            summary = "Edit flashcards in set",
+            description = "Creates, updates and deletes many flashcards of a set in one transaction "
+                    + "and returns all flashcards of the set after the changes. An optional If-Match header "
+                    + "must match the ETag of the flashcard list.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Flashcards updated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid request body, validation error or repeated flashcard ID")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "403", description = "User does not have permission to edit this flashcard set")
+    @ApiResponse(responseCode = "404", description = "Flashcard set or one of the flashcards not found")
+    @ApiResponse(responseCode = "412", description = "Flashcards were modified since they were fetched")
+    @PatchMapping("/{setId}/flashcards")
+    public List<FlashcardDTO> updateFlashcardsInSet(
+            @Parameter(description = "ID of the flashcard set", example = "1")
+            @PathVariable Long setId,
+            @Parameter(description = "ETag of the flashcard list the changes are based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody FlashcardBatchUpdateDTO changesDTO) {
+        return flashcardSetService.updateFlashcardsInSet(setId, changesDTO, ifMatch);
     }
 
     @Operation(
             summary = "Update flashcard set",
-            description = "Updates an existing flashcard set by its ID.",
+            description = "Updates an existing flashcard set by its ID. An optional If-Match header "
+                    + "must match the ETag of the flashcard set.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponse(responseCode = "200", description = "Flashcard set updated successfully")
@@ -88,12 +225,16 @@ public class FlashcardSetController {
     @ApiResponse(responseCode = "401", description = "User is not authenticated")
     @ApiResponse(responseCode = "403", description = "User does not have permission to update this flashcard set")
     @ApiResponse(responseCode = "404", description = "Flashcard set not found")
+    @ApiResponse(responseCode = "412", description = "Flashcard set was modified since it was fetched")
     @PatchMapping("/{setId}")
     public FlashcardSetDTO updateFlashcardSetById(@Valid @RequestBody FlashcardSetUpdateDTO updatedFlashcardSet,
                                                   @Parameter(description = "ID of the flashcard set", example = "1")
-                                                  @PathVariable Long setId) {
+                                                  @PathVariable Long setId,
+                                                  @Parameter(description = "ETag of the flashcard set the update is based on")
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                  String ifMatch) {
 
-        return flashcardSetService.updateFlashcardSet(updatedFlashcardSet, setId);
+        return flashcardSetService.updateFlashcardSet(updatedFlashcardSet, setId, ifMatch);
     }
 
     @Operation(
@@ -113,4 +254,14 @@ public class FlashcardSetController {
         flashcardSetService.deleteFlashcardSetById(setId);
         return "FlashcardSet with id: " + setId + " has been deleted.";
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the ETag and Last-Modified response headers and checks the conditional request headers.
+     * Returning {@code null} after a positive check makes Spring MVC answer 304 without a body.
+     */
+    private static boolean isNotModified(ResourceVersion version, String acceptEncoding, WebRequest webRequest) {
+        return webRequest.checkNotModified(
+                Representation.etagFor(version, acceptEncoding),
+                version.lastModified().toEpochMilli());
+    }
+}
@@ -1,7 +1,12 @@
 package com.brainbooster.flashcardset;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +15,12 @@ import java.util.Optional;
 @Repository
 public interface FlashcardSetRepository extends JpaRepository<FlashcardSet, Long> {
 
+    /**
+     * Table touched by the native updates below. Declaring it limits second-level cache invalidation
+     * to flashcard sets; without it Hibernate evicts every cached entity after a native update.
+     */
+    String FLASHCARD_SET_TABLE = "flashcard_set";
+
     @Query("SELECT fs FROM FlashcardSet fs JOIN FETCH fs.user WHERE fs.user.userId = :userId")
     List<FlashcardSet> findByUserId(Long userId);
 
@@ -22,4 +33,93 @@ public interface FlashcardSetRepository extends JpaRepository<FlashcardSet, Long
     @Query("SELECT fs FROM FlashcardSet fs JOIN FETCH fs.user ORDER BY fs.setId")
     List<FlashcardSet> findAllWithUsers();
 
+    @Query("SELECT fs FROM FlashcardSet fs JOIN FETCH fs.user WHERE fs.setId > :afterSetId ORDER BY fs.setId")
+    List<FlashcardSet> findPageWithUsers(Long afterSetId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.brainbooster.flashcardset.FlashcardSetVersion(fs.version, fs.updatedAt, u.nickname)
+            FROM FlashcardSet fs JOIN fs.user u
+            WHERE fs.setId = :setId
+            """)
+    Optional<FlashcardSetVersion> findVersionById(Long setId);
+
+    /**
+     * Changes the term count and bumps the version of the set, as its flashcards were added or removed.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FLASHCARD_SET_TABLE))
+    @Query(value = """
+            UPDATE flashcard_set
+            SET term_count = term_count + :delta, version = version + 1, updated_at = now()
+            WHERE set_id = :setId
+            """, nativeQuery = true)
+    void adjustTermCount(Long setId, long delta);
+
+    /**
+     * Bumps the version of the set after one of its flashcards changed.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FLASHCARD_SET_TABLE))
+    @Query(value = "UPDATE flashcard_set SET version = version + 1, updated_at = now() WHERE set_id = :setId",
+            nativeQuery = true)
+    void incrementVersion(Long setId);
+
+    /**
+     * Changes the term count and bumps the version of the set only if the version still equals
+     * the expected version. The updated row stays locked until the end of the transaction.
+     *
+     * @param delta change of the term count, {@code 0} to only bump the version.
+     * @return 1 if the set was updated, 0 if it was changed in the meantime.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FLASHCARD_SET_TABLE))
+    @Query(value = """
+            UPDATE flashcard_set
+            SET term_count = term_count + :delta, version = version + 1, updated_at = now()
+            WHERE set_id = :setId AND version = :expectedVersion
+            """, nativeQuery = true)
+    int adjustTermCountIfCurrent(Long setId, long expectedVersion, long delta);
+
+    /**
+     * Tombstones the set, which hides it from every query at once. The set and everything referencing
+     * it are deleted later by the {@code TombstonePurger}.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FLASHCARD_SET_TABLE))
+    @Query(value = "UPDATE flashcard_set SET deleted_at = now() WHERE set_id = :setId AND deleted_at IS NULL",
+            nativeQuery = true)
+    void markDeleted(Long setId);
+
+    /**
+     * Locks the sets whose term count differs from the number of their flashcards, in ID order.
+     * A concurrent {@link #adjustTermCount(Long, long)} of a locked set waits until the repair commits.
+     */
+    @Query(value = """
+            SELECT fs.set_id
+            FROM flashcard_set fs
+            WHERE fs.term_count <> (SELECT COUNT(*) FROM flashcard f WHERE f.set_id = fs.set_id)
+            ORDER BY fs.set_id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockSetIdsWithDriftedTermCounts();
+
+    /**
+     * Recounts the flashcards of the given sets, which must be locked by the current transaction,
+     * so the count is taken after every concurrent adjustment of these sets has committed.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FLASHCARD_SET_TABLE))
+    @Query(value = """
+            UPDATE flashcard_set fs
+            SET term_count = counts.actual_count, version = fs.version + 1, updated_at = now()
+            FROM (SELECT s.set_id, COUNT(f.flashcard_id) AS actual_count
+                  FROM flashcard_set s
+                  LEFT JOIN flashcard f ON f.set_id = s.set_id
+                  WHERE s.set_id IN (:setIds)
+                  GROUP BY s.set_id) counts
+            WHERE counts.set_id = fs.set_id
+              AND fs.term_count <> counts.actual_count
+            """, nativeQuery = true)
+    int repairTermCounts(List<Long> setIds);
+
 }
@@ -1,27 +1,47 @@
 package com.brainbooster.flashcardset;
 
+import com.brainbooster.concurrency.RequestCoalescer;
+import com.brainbooster.exception.PreconditionFailedException;
 import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcard.Flashcard;
 import com.brainbooster.flashcard.FlashcardRepository;
 import com.brainbooster.flashcard.dto.FlashcardDTO;
 import com.brainbooster.flashcard.mapper.FlashcardDTOMapper;
+import com.brainbooster.flashcard.starred.StarredFlashcardBitmap;
 import com.brainbooster.flashcard.starred.StarredFlashcardService;
+import com.brainbooster.flashcardset.content.FlashcardsJson;
+import com.brainbooster.flashcardset.content.OffHeapFlashcardStore;
+import com.brainbooster.flashcardset.dto.FlashcardBatchItemDTO;
+import com.brainbooster.flashcardset.dto.FlashcardBatchUpdateDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetUpdateDTO;
 import com.brainbooster.flashcardset.mapper.FlashcardSetCreationDTOMapper;
 import com.brainbooster.flashcardset.mapper.FlashcardSetDTOMapper;
+import com.brainbooster.pagination.KeysetCursor;
+import com.brainbooster.pagination.KeysetPagination;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
 import com.brainbooster.security.authorization.OwnerOrAdminPolicy;
 import com.brainbooster.user.User;
 import com.brainbooster.user.UserRepository;
+import com.brainbooster.versioning.ResourceVersion;
+import com.brainbooster.versioning.Versioned;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +55,9 @@ public class FlashcardSetService {
             "You are not allowed to edit this flashcard set!";
     private static final String DELETE_FLASHCARD_SET_ACCESS_DENIED_MESSAGE =
             "You are not allowed to delete this flashcard set!";
+    private static final String EDIT_FLASHCARDS_ACCESS_DENIED_MESSAGE =
+            "You are not allowed to edit flashcards in this set!";
+    private static final String MODIFIED_MESSAGE_SUFFIX = " has been modified since it was fetched";
 
     private final UserRepository userRepository;
     private final FlashcardSetRepository flashcardSetRepository;
@@ -44,6 +67,9 @@ public class FlashcardSetService {
     private final FlashcardDTOMapper flashcardDTOMapper;
     private final OwnerOrAdminPolicy ownerOrAdminPolicy;
     private final CurrentUserProvider currentUserProvider;
+    private final FlashcardSetCatalogCache catalogCache;
+    private final OffHeapFlashcardStore offHeapFlashcardStore;
+    private final RequestCoalescer requestCoalescer;
 
     @Transactional
     public FlashcardSetDTO addFlashcardSet(FlashcardSetCreationDTO flashcardSetCreationDTO) {
@@ -56,6 +82,7 @@ public class FlashcardSetService {
         FlashcardSet flashcardSet = FlashcardSetCreationDTOMapper.toEntity(flashcardSetCreationDTO);
 
         flashcardSet.setUser(setOwner);
+        flashcardSet.setTermCount((long) flashcardSetCreationDTO.flashcards().size());
 
         FlashcardSet savedFlashcardSet = flashcardSetRepository.save(flashcardSet);
 
@@ -69,82 +96,283 @@ public class FlashcardSetService {
                 .toList();
 
         flashcardRepository.saveAll(flashcards);
+        catalogCache.evictSetAfterCommit(savedFlashcardSet.getSetId(), setOwner.getUserId());
 
         return flashcardSetDTOMapper.apply(savedFlashcardSet);
     }
 
     public List<FlashcardSetDTO> getAllFlashcardSets() {
-        return flashcardSetRepository.findAllWithUsers()
-                .stream()
-                .map(flashcardSetDTOMapper)
-                .toList();
+        return requestCoalescer.execute("all-flashcard-sets", catalogCache.generation(), () -> catalogCache.getAllSets(
+                () -> flashcardSetRepository.findAllWithUsers()
+                        .stream()
+                        .map(flashcardSetDTOMapper)
+                        .toList()));
     }
 
-    public List<FlashcardSetDTO> getAllFlashcardSetsByUserId(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException(
-                    buildUserNotFoundMessage(userId)
-            );
-        }
+    public CursorPageDTO<FlashcardSetDTO> getFlashcardSetsPage(String cursor, Integer size) {
+        int pageSize = KeysetPagination.resolvePageSize(size);
+        long afterSetId = KeysetPagination.afterId(KeysetCursor.decode(cursor));
 
-        return flashcardSetRepository.findByUserId(userId)
-                .stream()
-                .map(flashcardSetDTOMapper)
-                .toList();
+        List<FlashcardSet> flashcardSets = flashcardSetRepository.findPageWithUsers(
+                afterSetId,
+                KeysetPagination.fetchLimit(pageSize));
+
+        return KeysetPagination.toPage(
+                flashcardSets,
+                pageSize,
+                flashcardSetDTOMapper,
+                flashcardSet -> KeysetCursor.ofId(flashcardSet.getSetId()));
     }
 
-    public List<FlashcardSetDTO> getAllFlashcardSetsByUserNickname(String nickname) {
-        if (!userRepository.existsByNickname(nickname)) {
-            throw new ResourceNotFoundException(
-                    buildUserNotFoundMessage(nickname)
-            );
-        }
+    public List<FlashcardSetDTO> getAllFlashcardSetsByUserId(Long userId) {
+        List<Long> key = List.of(userId, catalogCache.generation());
+
+        return requestCoalescer.execute("user-flashcard-sets", key, () -> catalogCache.getSetsByUserId(
+                userId,
+                () -> {
+                    if (!userRepository.existsById(userId)) {
+                        throw new ResourceNotFoundException(
+                                buildUserNotFoundMessage(userId)
+                        );
+                    }
+
+                    return findFlashcardSetDTOsByUserId(userId);
+                }));
+    }
 
-        return flashcardSetRepository.findAllByUserNickname(nickname)
-                .stream()
-                .map(flashcardSetDTOMapper)
-                .toList();
+    public List<FlashcardSetDTO> getAllFlashcardSetsByUserNickname(String nickname) {
+        return requestCoalescer.execute("nickname-flashcard-sets", List.of(nickname, catalogCache.generation()), () -> {
+            Long userId = catalogCache.getUserIdByNickname(nickname, () -> userRepository
+                    .findUserIdByNickname(nickname)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            buildUserNotFoundMessage(nickname)
+                    )));
+
+            return catalogCache.getSetsByUserId(userId, () -> findFlashcardSetDTOsByUserId(userId));
+        });
     }
 
+    /**
+     * Concurrent reads of the same set share one load. Loads are keyed by the eviction generation
+     * of the catalog cache, so a caller arriving after an eviction never joins a load started before it.
+     */
     public FlashcardSetDTO getFlashcardSetById(Long setId) {
-        return flashcardSetRepository.findByIdWithUser(setId)
-                .map(flashcardSetDTOMapper)
+        List<Long> key = List.of(setId, catalogCache.generation());
+
+        return requestCoalescer.execute("flashcard-set", key, () -> catalogCache.getSet(
+                setId,
+                () -> flashcardSetRepository.findByIdWithUser(setId)
+                        .map(flashcardSetDTOMapper)
+                        .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(setId)))));
+    }
+
+    /**
+     * Loads a flashcard set together with the validators of the row it was read from, for callers
+     * that cache the result under its entity tag. The catalog cache is bypassed, as its entries are
+     * not tied to a version; concurrent loads still share one query.
+     *
+     * @throws ResourceNotFoundException if the set does not exist.
+     */
+    public Versioned<FlashcardSetDTO> getVersionedFlashcardSetById(Long setId) {
+        return requestCoalescer.execute("versioned-flashcard-set", setId, () -> {
+            FlashcardSet flashcardSet = flashcardSetRepository.findByIdWithUser(setId)
+                    .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(setId)));
+
+            return new Versioned<>(
+                    flashcardSetDTOMapper.apply(flashcardSet),
+                    buildFlashcardSetVersion(
+                            setId,
+                            flashcardSet.getVersion(),
+                            flashcardSet.getUpdatedAt(),
+                            flashcardSet.getUser().getNickname()));
+        });
+    }
+
+    /**
+     * Returns the validators of a flashcard set representation using a version-only query.
+     *
+     * @throws ResourceNotFoundException if the set does not exist.
+     */
+    public ResourceVersion getFlashcardSetVersion(Long setId) {
+        FlashcardSetVersion version = flashcardSetRepository.findVersionById(setId)
                 .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(setId)));
+
+        return buildFlashcardSetVersion(setId, version.version(), version.updatedAt(), version.ownerNickname());
     }
 
-    public List<FlashcardDTO> getAllFlashcardsInSet(Long setId) {
+    /**
+     * Returns the validators of the flashcard list of a set without reading the flashcard content.
+     * The list contains starred flags of the current user, so the entity tag is a variant of the set
+     * version keyed by the user's starred flashcards in this set; stars in other sets do not change it.
+     * The flashcard IDs are taken from the off-heap store, and not read at all for a user without stars.
+     *
+     * @throws ResourceNotFoundException if the set does not exist.
+     */
+    public ResourceVersion getFlashcardsInSetVersion(Long setId) {
+        FlashcardSetVersion version = flashcardSetRepository.findVersionById(setId)
+                .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(setId)));
+
+        StarredFlashcardBitmap starredFlashcards = starredFlashcardService.getStarredFlashcardsForCurrentUser();
 
-        if (!flashcardSetRepository.existsById(setId)) {
-            throw new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(setId));
+        long starredFingerprint = starredFlashcards.cardinality() == 0
+                ? starredFlashcards.fingerprintWithin(LongStream.empty())
+                : offHeapFlashcardStore.reduceFlashcardIds(
+                        setId,
+                        version.version(),
+                        flashcardLoader(setId, version.version()),
+                        starredFlashcards::fingerprintWithin);
+
+        return buildFlashcardsInSetVersion(setId, version.version(), version.updatedAt())
+                .variant(starredFingerprint);
+    }
+
+    /**
+     * Prepares all flashcards of a set for streaming as JSON, with the starred flags of the current user.
+     * <p>
+     * The content is written from the off-heap store, keyed by the current version of the set,
+     * so repeated reads of large sets do not create an entity and a DTO per flashcard.
+     * Concurrent misses of the same version share a single flashcard query.
+     *
+     * @throws ResourceNotFoundException if the set does not exist.
+     */
+    public FlashcardsJson getAllFlashcardsInSetJson(Long setId) {
+        // read before the flashcards, so a concurrent change can only make the stored content newer than its tag
+        FlashcardSetVersion version = flashcardSetRepository.findVersionById(setId)
+                .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(setId)));
+
+        StarredFlashcardBitmap starredFlashcards = starredFlashcardService.getStarredFlashcardsForCurrentUser();
+
+        return outputStream -> offHeapFlashcardStore.writeJson(
+                setId,
+                version.version(),
+                flashcardLoader(setId, version.version()),
+                starredFlashcards::contains,
+                outputStream);
+    }
+
+    /**
+     * Applies many flashcard changes to a set in one transaction if the flashcard list
+     * still matches the given {@code If-Match} entity tags.
+     * <p>
+     * Set ownership is verified once, the edited flashcards are loaded with a single query,
+     * and inserts, updates and deletes are sent as JDBC batches. The term count and the version
+     * of the set are changed with one compare-and-set update, so the changes are rejected
+     * if the set was modified concurrently, even without an {@code If-Match} header.
+     *
+     * @param setId      ID of the edited flashcard set.
+     * @param changesDTO flashcards to create, update and delete.
+     * @param ifMatch    {@code If-Match} header value, or {@code null} to skip the precondition.
+     * @return all flashcards of the set after the changes.
+     * @throws IllegalArgumentException          if a flashcard ID is repeated or both updated and deleted.
+     * @throws ResourceNotFoundException         if the set or one of the flashcards does not exist in it.
+     * @throws PreconditionFailedException       if the flashcard list no longer matches {@code ifMatch}.
+     * @throws OptimisticLockingFailureException if the set was modified concurrently.
+     */
+    @Transactional
+    public List<FlashcardDTO> updateFlashcardsInSet(Long setId, FlashcardBatchUpdateDTO changesDTO, String ifMatch) {
+        FlashcardSet flashcardSet = flashcardSetRepository.findByIdWithUser(setId)
+                .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(setId)));
+
+        verifySetAccess(flashcardSet, EDIT_FLASHCARDS_ACCESS_DENIED_MESSAGE);
+
+        if (ifMatch != null) {
+            verifyPrecondition(
+                    buildFlashcardsInSetVersion(setId, flashcardSet.getVersion(), flashcardSet.getUpdatedAt()),
+                    ifMatch,
+                    setId);
         }
 
-        Set<Long> starredFlashcardIds = starredFlashcardService
-                .getStarredFlashcardIdsForCurrentUserInSet(setId);
+        Set<Long> targetedFlashcardIds = collectTargetedFlashcardIds(changesDTO);
 
-        return flashcardRepository.findAllByFlashcardSet_SetId(setId)
+        if (!targetedFlashcardIds.isEmpty()) {
+            Map<Long, Flashcard> flashcardsById = flashcardRepository
+                    .findAllByFlashcardSet_SetIdAndFlashcardIdIn(setId, targetedFlashcardIds)
+                    .stream()
+                    .collect(Collectors.toMap(Flashcard::getFlashcardId, Function.identity()));
+
+            if (flashcardsById.size() != targetedFlashcardIds.size()) {
+                Set<Long> missingFlashcardIds = new HashSet<>(targetedFlashcardIds);
+                missingFlashcardIds.removeAll(flashcardsById.keySet());
+
+                throw new ResourceNotFoundException(
+                        "Flashcards with ids " + missingFlashcardIds + " not found in set " + setId);
+            }
+
+            // managed entities, written as batched UPDATEs on flush
+            for (FlashcardBatchItemDTO item : changesDTO.update()) {
+                Flashcard flashcard = flashcardsById.get(item.flashcardId());
+                flashcard.setTerm(item.term());
+                flashcard.setDefinition(item.definition());
+            }
+        }
+
+        long termCountDelta = (long) changesDTO.create().size() - changesDTO.delete().size();
+
+        if (flashcardSetRepository.adjustTermCountIfCurrent(setId, flashcardSet.getVersion(), termCountDelta) == 0) {
+            throw new OptimisticLockingFailureException(
+                    FLASHCARD_SET_WITH_ID_MESSAGE_PREFIX + setId + MODIFIED_MESSAGE_SUFFIX);
+        }
+
+        flashcardRepository.saveAll(changesDTO.create()
                 .stream()
-                .map(flashcard -> flashcardDTOMapper.toDto(
-                        flashcard,
-                        starredFlashcardIds.contains(flashcard.getFlashcardId())
-                ))
-                .toList();
+                .map(content -> Flashcard.builder()
+                        .flashcardSet(flashcardSet)
+                        .term(content.term())
+                        .definition(content.definition())
+                        .build())
+                .toList());
+
+        if (!changesDTO.delete().isEmpty()) {
+            flashcardRepository.deleteAllInSetByIds(setId, changesDTO.delete());
+        }
+
+        if (termCountDelta != 0) {
+            catalogCache.evictSetAfterCommit(setId, flashcardSet.getUser().getUserId());
+        }
+
+        return getFlashcardDTOsInSet(setId);
     }
 
+    /**
+     * Updates a flashcard set if it still matches the given {@code If-Match} entity tags.
+     * Concurrent updates after the check are detected by the version column.
+     *
+     * @param ifMatch {@code If-Match} header value, or {@code null} to skip the precondition.
+     * @throws PreconditionFailedException if the set no longer matches {@code ifMatch}.
+     */
     @Transactional
-    public FlashcardSetDTO updateFlashcardSet(FlashcardSetUpdateDTO updateDTO, Long setId) {
+    public FlashcardSetDTO updateFlashcardSet(FlashcardSetUpdateDTO updateDTO, Long setId, String ifMatch) {
         FlashcardSet existingSet = flashcardSetRepository.findById(setId)
                 .orElseThrow(() -> new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(setId)));
 
         // verify if the user is admin or owner of set
         verifySetAccess(existingSet, EDIT_FLASHCARD_SET_ACCESS_DENIED_MESSAGE);
 
+        if (ifMatch != null) {
+            verifyPrecondition(
+                    buildFlashcardSetVersion(
+                            setId,
+                            existingSet.getVersion(),
+                            existingSet.getUpdatedAt(),
+                            existingSet.getUser().getNickname()),
+                    ifMatch,
+                    setId);
+        }
+
         existingSet.setSetName(updateDTO.setName());
         existingSet.setDescription(updateDTO.description());
 
         flashcardSetRepository.save(existingSet);
+        catalogCache.evictSetAfterCommit(setId, existingSet.getUser().getUserId());
+
         return flashcardSetDTOMapper.apply(existingSet);
     }
 
+    /**
+     * Deletes a set by tombstoning it: the set disappears at once, while its flashcards and everything
+     * else referencing it are removed in the background by the {@code TombstonePurger}.
+     */
+    @Transactional
     public void deleteFlashcardSetById(Long setId) {
 
         FlashcardSet existingSet = flashcardSetRepository.findById(setId)
@@ -152,7 +380,9 @@ public class FlashcardSetService {
 
         verifySetAccess(existingSet, DELETE_FLASHCARD_SET_ACCESS_DENIED_MESSAGE);
 
-        flashcardSetRepository.delete(existingSet);
+        flashcardSetRepository.markDeleted(setId);
+        catalogCache.evictSetAfterCommit(setId, existingSet.getUser().getUserId());
+        offHeapFlashcardStore.evict(setId);
     }
 
     /**
@@ -166,6 +396,83 @@ public class FlashcardSetService {
                 errorMessage);
     }
 
+    private static ResourceVersion buildFlashcardSetVersion(
+            Long setId,
+            Long version,
+            Instant updatedAt,
+            String ownerNickname
+    ) {
+        return ResourceVersion.of(updatedAt, "flashcard-set", setId, version, ownerNickname);
+    }
+
+    /**
+     * Validators of the flashcard list shared by all users; {@code If-Match} is evaluated against them.
+     */
+    private static ResourceVersion buildFlashcardsInSetVersion(Long setId, Long version, Instant updatedAt) {
+        return ResourceVersion.of(updatedAt, "flashcards", setId, version);
+    }
+
+    /**
+     * Loads the flashcards of a set for the off-heap store; concurrent misses of the same version share
+     * a single query.
+     */
+    private Supplier<List<Flashcard>> flashcardLoader(Long setId, long version) {
+        return () -> requestCoalescer.execute(
+                "set-flashcards",
+                List.of(setId, version),
+                () -> flashcardRepository.findAllByFlashcardSet_SetId(setId));
+    }
+
+    private static void verifyPrecondition(ResourceVersion currentVersion, String ifMatch, Long setId) {
+        if (!currentVersion.matches(ifMatch)) {
+            throw new PreconditionFailedException(
+                    FLASHCARD_SET_WITH_ID_MESSAGE_PREFIX + setId + MODIFIED_MESSAGE_SUFFIX);
+        }
+    }
+
+    private List<FlashcardSetDTO> findFlashcardSetDTOsByUserId(Long userId) {
+        return flashcardSetRepository.findByUserId(userId)
+                .stream()
+                .map(flashcardSetDTOMapper)
+                .toList();
+    }
+
+    /**
+     * Returns the flashcards of a set with the starred flags of the current user, without checking
+     * that the set exists; an unknown set has no flashcards.
+     */
+    public List<FlashcardDTO> getFlashcardDTOsInSet(Long setId) {
+        StarredFlashcardBitmap starredFlashcards = starredFlashcardService.getStarredFlashcardsForCurrentUser();
+
+        return flashcardRepository.findAllByFlashcardSet_SetId(setId)
+                .stream()
+                .map(flashcard -> flashcardDTOMapper.toDto(
+                        flashcard,
+                        starredFlashcards.contains(flashcard.getFlashcardId())
+                ))
+                .toList();
+    }
+
+    private static Set<Long> collectTargetedFlashcardIds(FlashcardBatchUpdateDTO changesDTO) {
+        Set<Long> targetedFlashcardIds = new HashSet<>();
+
+        for (FlashcardBatchItemDTO item : changesDTO.update()) {
+            if (!targetedFlashcardIds.add(item.flashcardId())) {
+                throw new IllegalArgumentException(
+                        "Flashcard with id " + item.flashcardId() + " is changed more than once");
+            }
+        }
+
+        for (Long flashcardId : changesDTO.delete()) {
+            if (!targetedFlashcardIds.add(flashcardId)) {
+                throw new IllegalArgumentException(
+                        "Flashcard with id " + flashcardId + " is changed more than once");
+            }
+        }
+
+        return targetedFlashcardIds;
+    }
+
     private String buildUserNotFoundMessage(Long userId) {
         return USER_WITH_ID_MESSAGE_PREFIX + userId + NOT_FOUND_MESSAGE_SUFFIX;
     }
@@ -0,0 +1,78 @@
+package com.brainbooster.flashcardset;
+
+import com.brainbooster.concurrency.VirtualThreadTaskScope;
+import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetStudyViewDTO;
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.analytics.GameAnalyticsService;
+import com.brainbooster.gameresult.analytics.dto.GameAnalyticsSummaryDTO;
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.brainbooster.security.CurrentUserProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the study page of a flashcard set: the set, its flashcards with starred flags, the latest
+ * game result per mode and the attempt summary of the current user.
+ * <p>
+ * The parts do not depend on each other, so they are loaded concurrently on virtual threads and the
+ * response takes about as long as the slowest part. Every part may hold a pooled connection, so all
+ * study views share {@code STUDY_VIEW_MAX_CONCURRENT_SUBTASKS} permits and a part waits for one before
+ * it runs; a burst of study views then leaves the rest of the pool to other requests. The set lookup
+ * doubles as the existence check; if the set is missing, the other parts are cancelled and the request
+ * fails with 404.
+ */
+@Service
+public class FlashcardSetStudyViewService {
+
+    private static final String SCOPE_NAME = "study-view";
+
+    private final FlashcardSetService flashcardSetService;
+    private final GameResultService gameResultService;
+    private final GameAnalyticsService gameAnalyticsService;
+    private final CurrentUserProvider currentUserProvider;
+    private final Semaphore subtaskPermits;
+
+    public FlashcardSetStudyViewService(
+            FlashcardSetService flashcardSetService,
+            GameResultService gameResultService,
+            GameAnalyticsService gameAnalyticsService,
+            CurrentUserProvider currentUserProvider,
+            @Value("${STUDY_VIEW_MAX_CONCURRENT_SUBTASKS:5}") int maxConcurrentSubtasks
+    ) {
+        this.flashcardSetService = flashcardSetService;
+        this.gameResultService = gameResultService;
+        this.gameAnalyticsService = gameAnalyticsService;
+        this.currentUserProvider = currentUserProvider;
+        this.subtaskPermits = new Semaphore(maxConcurrentSubtasks, true);
+    }
+
+    public FlashcardSetStudyViewDTO getStudyView(Long setId) {
+        // rejects anonymous requests before any subtask is started
+        currentUserProvider.getCurrentUser();
+
+        try (VirtualThreadTaskScope scope = VirtualThreadTaskScope.open(SCOPE_NAME, subtaskPermits)) {
+            Supplier<FlashcardSetDTO> flashcardSet =
+                    scope.fork(() -> flashcardSetService.getFlashcardSetById(setId));
+            Supplier<List<FlashcardDTO>> flashcards =
+                    scope.fork(() -> flashcardSetService.getFlashcardDTOsInSet(setId));
+            Supplier<List<GameResultDTO>> latestGameResults =
+                    scope.fork(() -> gameResultService.getMyGameResults(setId));
+            Supplier<GameAnalyticsSummaryDTO> summary =
+                    scope.fork(() -> gameAnalyticsService.getMySetSummary(setId));
+
+            scope.join();
+
+            return new FlashcardSetStudyViewDTO(
+                    flashcardSet.get(),
+                    flashcards.get(),
+                    latestGameResults.get(),
+                    summary.get());
+        }
+    }
+}
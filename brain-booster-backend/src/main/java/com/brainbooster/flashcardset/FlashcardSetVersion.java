@@ -0,0 +1,13 @@
+package com.brainbooster.flashcardset;
+
+import java.time.Instant;
+
+/**
+ * Version columns of a flashcard set and the owner data embedded in its representation.
+ */
+public record FlashcardSetVersion(
+        Long version,
+        Instant updatedAt,
+        String ownerNickname
+) {
+}
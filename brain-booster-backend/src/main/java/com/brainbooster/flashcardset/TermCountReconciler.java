@@ -0,0 +1,48 @@
+package com.brainbooster.flashcardset;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically verifies the denormalized {@code flashcard_set.term_count} column
+ * against the actual number of flashcards and repairs any drift
+ * (e.g. caused by manual SQL changes).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TermCountReconciler {
+
+    private final FlashcardSetRepository flashcardSetRepository;
+    private final FlashcardSetCatalogCache catalogCache;
+
+    /**
+     * Recalculates term counts of all sets whose stored value is out of date. The sets are locked
+     * before they are recounted, so an adjustment committed in between is not overwritten.
+     *
+     * @return number of repaired sets.
+     */
+    @Transactional
+    @Scheduled(cron = "${TERM_COUNT_RECONCILIATION_CRON:0 30 3 * * *}")
+    public int reconcileTermCounts() {
+        List<Long> driftedSetIds = flashcardSetRepository.lockSetIdsWithDriftedTermCounts();
+
+        if (driftedSetIds.isEmpty()) {
+            return 0;
+        }
+
+        int repairedSets = flashcardSetRepository.repairTermCounts(driftedSetIds);
+
+        if (repairedSets > 0) {
+            log.warn("Repaired term_count of {} flashcard set(s)", repairedSets);
+            catalogCache.evictAllAfterCommit();
+        }
+
+        return repairedSets;
+    }
+}
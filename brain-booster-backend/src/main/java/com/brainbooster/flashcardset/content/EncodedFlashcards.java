@@ -0,0 +1,329 @@
+package com.brainbooster.flashcardset.content;
+
+import com.brainbooster.flashcard.Flashcard;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Flashcards of one version of a set, encoded into a single off-heap memory segment.
+ * <p>
+ * The segment starts with the number of flashcards, followed by one fixed-size index record per
+ * flashcard (its ID and the offset and length of its term and definition) and a data block holding
+ * all terms and definitions as JSON-escaped UTF-8. The JSON written from it matches the serialized
+ * {@link com.brainbooster.flashcard.dto.FlashcardDTO} list without creating per-flashcard objects.
+ * <p>
+ * The memory is reference counted: it is freed when the store and every reader have released it.
+ */
+final class EncodedFlashcards {
+
+    private static final long HEADER_SIZE = Long.BYTES;
+    private static final long INDEX_RECORD_SIZE = Long.BYTES + 4L * Integer.BYTES;
+    private static final long TERM_OFFSET = Long.BYTES;
+    private static final long DEFINITION_OFFSET = Long.BYTES + 2L * Integer.BYTES;
+    private static final int NULL_LENGTH = -1;
+
+    private static final byte[] FLASHCARD_ID_FIELD = ascii("{\"flashcardId\":");
+    private static final byte[] SET_ID_FIELD = ascii(",\"setId\":");
+    private static final byte[] TERM_FIELD = ascii(",\"term\":");
+    private static final byte[] DEFINITION_FIELD = ascii(",\"definition\":");
+    private static final byte[] STARRED_FIELD = ascii(",\"starred\":");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+
+    private final long version;
+    private final int count;
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private EncodedFlashcards(long version, int count, Arena arena, MemorySegment segment) {
+        this.version = version;
+        this.count = count;
+        this.arena = arena;
+        this.segment = segment;
+    }
+
+    /**
+     * Encodes flashcards into a new segment. The caller holds the only reference and must release it.
+     */
+    static EncodedFlashcards encode(long version, List<Flashcard> flashcards) {
+        int count = flashcards.size();
+        byte[][] terms = new byte[count][];
+        byte[][] definitions = new byte[count][];
+        long dataSize = 0;
+
+        for (int i = 0; i < count; i++) {
+            terms[i] = escape(flashcards.get(i).getTerm());
+            definitions[i] = escape(flashcards.get(i).getDefinition());
+            dataSize += byteLength(terms[i]) + byteLength(definitions[i]);
+        }
+
+        long dataOffset = HEADER_SIZE + count * INDEX_RECORD_SIZE;
+
+        Arena arena = Arena.ofShared();
+        MemorySegment segment = arena.allocate(dataOffset + dataSize, Long.BYTES);
+        segment.set(ValueLayout.JAVA_LONG, 0, count);
+
+        for (int i = 0; i < count; i++) {
+            long record = indexRecord(i);
+
+            segment.set(ValueLayout.JAVA_LONG, record, flashcards.get(i).getFlashcardId());
+            dataOffset = putText(segment, record + TERM_OFFSET, dataOffset, terms[i]);
+            dataOffset = putText(segment, record + DEFINITION_OFFSET, dataOffset, definitions[i]);
+        }
+
+        return new EncodedFlashcards(version, count, arena, segment);
+    }
+
+    long version() {
+        return version;
+    }
+
+    long byteSize() {
+        return segment.byteSize();
+    }
+
+    /**
+     * Takes another reference to the segment.
+     *
+     * @return false if the segment was already freed and must not be read.
+     */
+    boolean retain() {
+        int current;
+
+        do {
+            current = references.get();
+
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    /**
+     * Drops a reference to the segment and frees it when it was the last one.
+     */
+    void release() {
+        if (references.decrementAndGet() == 0) {
+            arena.close();
+        }
+    }
+
+    /**
+     * Returns the flashcard IDs in the order they are written. The stream reads the segment,
+     * so it must be consumed while a reference is held.
+     */
+    LongStream flashcardIds() {
+        return IntStream.range(0, count)
+                .mapToLong(i -> segment.get(ValueLayout.JAVA_LONG, indexRecord(i)));
+    }
+
+    /**
+     * Writes the flashcards as a JSON array of flashcard objects.
+     *
+     * @param setId   ID of the set, repeated in every flashcard.
+     * @param starred tells whether a flashcard ID is starred by the current user.
+     */
+    void writeJson(OutputStream outputStream, Long setId, LongPredicate starred) throws IOException {
+        JsonOutput json = new JsonOutput(outputStream);
+
+        json.write('[');
+
+        for (int i = 0; i < count; i++) {
+            long record = indexRecord(i);
+            long flashcardId = segment.get(ValueLayout.JAVA_LONG, record);
+
+            if (i > 0) {
+                json.write(',');
+            }
+
+            json.write(FLASHCARD_ID_FIELD);
+            json.write(flashcardId);
+            json.write(SET_ID_FIELD);
+            json.write(setId);
+            json.write(TERM_FIELD);
+            writeText(json, record + TERM_OFFSET);
+            json.write(DEFINITION_FIELD);
+            writeText(json, record + DEFINITION_OFFSET);
+            json.write(STARRED_FIELD);
+            json.write(starred.test(flashcardId) ? TRUE : FALSE);
+            json.write('}');
+        }
+
+        json.write(']');
+        json.flush();
+    }
+
+    private void writeText(JsonOutput json, long textRecord) throws IOException {
+        int offset = segment.get(ValueLayout.JAVA_INT, textRecord);
+        int length = segment.get(ValueLayout.JAVA_INT, textRecord + Integer.BYTES);
+
+        if (length == NULL_LENGTH) {
+            json.write(NULL);
+            return;
+        }
+
+        json.write('"');
+        json.write(segment, offset, length);
+        json.write('"');
+    }
+
+    private static long indexRecord(int index) {
+        return HEADER_SIZE + index * INDEX_RECORD_SIZE;
+    }
+
+    private static long putText(MemorySegment segment, long textRecord, long dataOffset, byte[] text) {
+        if (text == null) {
+            segment.set(ValueLayout.JAVA_INT, textRecord, 0);
+            segment.set(ValueLayout.JAVA_INT, textRecord + Integer.BYTES, NULL_LENGTH);
+            return dataOffset;
+        }
+
+        segment.set(ValueLayout.JAVA_INT, textRecord, Math.toIntExact(dataOffset));
+        segment.set(ValueLayout.JAVA_INT, textRecord + Integer.BYTES, text.length);
+        MemorySegment.copy(text, 0, segment, ValueLayout.JAVA_BYTE, dataOffset, text.length);
+
+        return dataOffset + text.length;
+    }
+
+    private static int byteLength(byte[] text) {
+        return text == null ? 0 : text.length;
+    }
+
+    /**
+     * Escapes a string the way Jackson writes JSON string values, without the surrounding quotes.
+     */
+    private static byte[] escape(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        StringBuilder escaped = null;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                case '\b' -> "\\b";
+                case '\f' -> "\\f";
+                default -> c < 0x20 ? String.format("\\u%04X", (int) c) : null;
+            };
+
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+
+        return (escaped != null ? escaped.toString() : text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Buffered output writing numbers and segment slices without intermediate objects.
+     */
+    private static final class JsonOutput {
+
+        private static final int BUFFER_SIZE = 16 * 1024;
+
+        private final OutputStream outputStream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        private JsonOutput(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        private void write(char c) throws IOException {
+            ensureCapacity(1);
+            buffer[position++] = (byte) c;
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void write(long value) throws IOException {
+            // 20 characters fit any long, including the sign
+            ensureCapacity(20);
+
+            if (value < 0) {
+                buffer[position++] = '-';
+            }
+
+            int start = position;
+            long remaining = value;
+
+            do {
+                buffer[position++] = (byte) ('0' + Math.abs(remaining % 10));
+                remaining /= 10;
+            } while (remaining != 0);
+
+            for (int left = start, right = position - 1; left < right; left++, right--) {
+                byte digit = buffer[left];
+                buffer[left] = buffer[right];
+                buffer[right] = digit;
+            }
+        }
+
+        private void write(MemorySegment segment, long offset, int length) throws IOException {
+            int written = 0;
+
+            while (written < length) {
+                if (position == buffer.length) {
+                    flushBuffer();
+                }
+
+                int chunk = Math.min(length - written, buffer.length - position);
+                MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset + written, buffer, position, chunk);
+                position += chunk;
+                written += chunk;
+            }
+        }
+
+        private void flush() throws IOException {
+            flushBuffer();
+            outputStream.flush();
+        }
+
+        private void ensureCapacity(int length) throws IOException {
+            if (buffer.length - position < length) {
+                flushBuffer();
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            outputStream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.brainbooster.flashcardset.content;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Flashcard list prepared for streaming as a JSON array.
+ * <p>
+ * Existence and the starred flags of the current user are resolved when it is created;
+ * the flashcards themselves are read only when {@link #writeTo(OutputStream)} is called.
+ */
+@FunctionalInterface
+public interface FlashcardsJson {
+
+    void writeTo(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,195 @@
+package com.brainbooster.flashcardset.content;
+
+import com.brainbooster.flashcard.Flashcard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+
+/**
+ * Off-heap store of flashcard set contents, used to serve flashcard lists of large sets
+ * without allocating entities and DTOs for every request.
+ * <p>
+ * Each set is kept as one {@link EncodedFlashcards} segment tagged with the set version it was
+ * loaded for; a request for another version loads and replaces it. Segments are evicted in
+ * least-recently-used order once their total size exceeds {@code OFFHEAP_FLASHCARD_STORE_MAX_BYTES},
+ * and a segment is freed as soon as no response is still writing from it.
+ * <p>
+ * Hits, misses, evictions and the bytes held are published as {@code flashcard.offheap.*} meters.
+ * With {@code OFFHEAP_FLASHCARD_STORE_ENABLED=false} every request encodes its own segment.
+ */
+@Component
+public class OffHeapFlashcardStore {
+
+    static final String GETS_METRIC = "flashcard.offheap.gets";
+    static final String EVICTIONS_METRIC = "flashcard.offheap.evictions";
+    static final String BYTES_METRIC = "flashcard.offheap.bytes";
+
+    private final boolean enabled;
+    private final long maxBytes;
+
+    private final Map<Long, EncodedFlashcards> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public OffHeapFlashcardStore(
+            MeterRegistry meterRegistry,
+            @Value("${OFFHEAP_FLASHCARD_STORE_ENABLED:true}") boolean enabled,
+            @Value("${OFFHEAP_FLASHCARD_STORE_MAX_BYTES:268435456}") long maxBytes
+    ) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+
+        this.hits = Counter.builder(GETS_METRIC)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(GETS_METRIC)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder(EVICTIONS_METRIC)
+                .register(meterRegistry);
+
+        Gauge.builder(BYTES_METRIC, this, OffHeapFlashcardStore::usedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes the flashcards of a set as a JSON array of flashcard objects.
+     *
+     * @param setId               ID of the set.
+     * @param version             current version of the set; a stored segment of another version is not used.
+     * @param loader              loads the flashcards of the set on a miss.
+     * @param starred             tells whether a flashcard ID is starred by the current user.
+     */
+    public void writeJson(
+            Long setId,
+            long version,
+            Supplier<List<Flashcard>> loader,
+            LongPredicate starred,
+            OutputStream outputStream
+    ) throws IOException {
+        EncodedFlashcards flashcards = acquire(setId, version, loader);
+
+        try {
+            flashcards.writeJson(outputStream, setId, starred);
+        } finally {
+            flashcards.release();
+        }
+    }
+
+    /**
+     * Reduces the IDs of the flashcards of a set, in the order they are written, without reading
+     * their content.
+     *
+     * @param setId   ID of the set.
+     * @param version current version of the set; a stored segment of another version is not used.
+     * @param loader  loads the flashcards of the set on a miss.
+     * @param reducer consumes the IDs; the stream must not be kept after it returns.
+     */
+    public long reduceFlashcardIds(
+            Long setId,
+            long version,
+            Supplier<List<Flashcard>> loader,
+            ToLongFunction<LongStream> reducer
+    ) {
+        EncodedFlashcards flashcards = acquire(setId, version, loader);
+
+        try {
+            return reducer.applyAsLong(flashcards.flashcardIds());
+        } finally {
+            flashcards.release();
+        }
+    }
+
+    /**
+     * Drops the stored segment of a set, e.g. after the set was deleted.
+     */
+    public synchronized void evict(Long setId) {
+        EncodedFlashcards removed = entries.remove(setId);
+
+        if (removed != null) {
+            usedBytes -= removed.byteSize();
+            removed.release();
+        }
+    }
+
+    private EncodedFlashcards acquire(Long setId, long version, Supplier<List<Flashcard>> loader) {
+        if (enabled) {
+            EncodedFlashcards cached = retainStored(setId, version);
+
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        misses.increment();
+
+        EncodedFlashcards encoded = EncodedFlashcards.encode(version, loader.get());
+
+        if (enabled) {
+            store(setId, encoded);
+        }
+
+        return encoded;
+    }
+
+    private synchronized EncodedFlashcards retainStored(Long setId, long version) {
+        EncodedFlashcards stored = entries.get(setId);
+
+        // segments in the map hold the store's reference, so retaining them cannot fail
+        return stored != null && stored.version() == version && stored.retain() ? stored : null;
+    }
+
+    private synchronized void store(Long setId, EncodedFlashcards encoded) {
+        if (encoded.byteSize() > maxBytes) {
+            return;
+        }
+
+        EncodedFlashcards stored = entries.get(setId);
+
+        // a concurrent request may already have stored this or a newer version
+        if (stored != null && stored.version() >= encoded.version()) {
+            return;
+        }
+
+        encoded.retain();
+        entries.put(setId, encoded);
+        usedBytes += encoded.byteSize();
+
+        if (stored != null) {
+            usedBytes -= stored.byteSize();
+            stored.release();
+        }
+
+        Iterator<EncodedFlashcards> leastRecentlyUsed = entries.values().iterator();
+
+        while (usedBytes > maxBytes) {
+            EncodedFlashcards evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            usedBytes -= evicted.byteSize();
+            evicted.release();
+            evictions.increment();
+        }
+    }
+
+    private synchronized long usedBytes() {
+        return usedBytes;
+    }
+}
@@ -0,0 +1,31 @@
+package com.brainbooster.flashcardset.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "New content of an existing flashcard in a batch update")
+public record FlashcardBatchItemDTO(
+
+        @Schema(
+                description = "ID of the updated flashcard",
+                example = "1"
+        )
+        @NotNull(message = "Flashcard id cannot be null")
+        Long flashcardId,
+
+        @Schema(
+                description = "Updated flashcard term or question",
+                example = "to be"
+        )
+        @NotBlank(message = "Term cannot be empty")
+        String term,
+
+        @Schema(
+                description = "Updated flashcard definition or answer",
+                example = "was / were - been"
+        )
+        @NotBlank(message = "Definition cannot be empty")
+        String definition
+) {
+}
@@ -0,0 +1,41 @@
+package com.brainbooster.flashcardset.dto;
+
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request body used to create, update and delete many flashcards of a set at once")
+public record FlashcardBatchUpdateDTO(
+
+        @Schema(
+                description = "Flashcards added to the set"
+        )
+        @Size(max = 1000, message = "At most 1000 flashcards can be created at once")
+        @Valid
+        List<FlashcardContentDTO> create,
+
+        @Schema(
+                description = "Existing flashcards of the set with their new content"
+        )
+        @Size(max = 1000, message = "At most 1000 flashcards can be updated at once")
+        @Valid
+        List<FlashcardBatchItemDTO> update,
+
+        @Schema(
+                description = "IDs of flashcards removed from the set",
+                example = "[3, 4]"
+        )
+        @Size(max = 1000, message = "At most 1000 flashcards can be deleted at once")
+        List<@NotNull(message = "Flashcard id cannot be null") Long> delete
+) {
+
+    public FlashcardBatchUpdateDTO {
+        create = create == null ? List.of() : create;
+        update = update == null ? List.of() : update;
+        delete = delete == null ? List.of() : delete;
+    }
+}
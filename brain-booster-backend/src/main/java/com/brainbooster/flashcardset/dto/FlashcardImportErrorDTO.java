@@ -0,0 +1,20 @@
+package com.brainbooster.flashcardset.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Rejected record of a flashcard import")
+public record FlashcardImportErrorDTO(
+
+        @Schema(
+                description = "Line of the uploaded file on which the rejected record starts",
+                example = "42"
+        )
+        long line,
+
+        @Schema(
+                description = "Reason why the record was rejected",
+                example = "definition cannot be empty"
+        )
+        String message
+) {
+}
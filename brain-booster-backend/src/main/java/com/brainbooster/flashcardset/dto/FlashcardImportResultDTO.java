@@ -0,0 +1,19 @@
+package com.brainbooster.flashcardset.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Summary of a flashcard import")
+public record FlashcardImportResultDTO(
+
+        @Schema(description = "Number of flashcards added to the set", example = "1250")
+        long importedCount,
+
+        @Schema(description = "Number of rejected records", example = "2")
+        long rejectedCount,
+
+        @Schema(description = "Rejected records; only the first 100 errors are reported")
+        List<FlashcardImportErrorDTO> errors
+) {
+}
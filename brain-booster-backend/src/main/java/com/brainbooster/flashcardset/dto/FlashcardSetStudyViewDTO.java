@@ -0,0 +1,25 @@
+package com.brainbooster.flashcardset.dto;
+
+import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.gameresult.analytics.dto.GameAnalyticsSummaryDTO;
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Everything the study page of a flashcard set shows, returned in one response")
+public record FlashcardSetStudyViewDTO(
+
+        @Schema(description = "The flashcard set")
+        FlashcardSetDTO flashcardSet,
+
+        @Schema(description = "All flashcards of the set with the starred flags of the current user")
+        List<FlashcardDTO> flashcards,
+
+        @Schema(description = "Latest game result of the current user in each game mode, most recent first")
+        List<GameResultDTO> latestGameResults,
+
+        @Schema(description = "Summary of the current user's game attempts in the set")
+        GameAnalyticsSummaryDTO summary
+) {
+}
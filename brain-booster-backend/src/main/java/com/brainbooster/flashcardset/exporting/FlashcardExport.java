@@ -0,0 +1,27 @@
+package com.brainbooster.flashcardset.exporting;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Export prepared for streaming.
+ * <p>
+ * Access checks are done when the export is created; flashcards are read from the
+ * database only when {@link Body#writeTo(OutputStream)} is called.
+ *
+ * @param fileName    suggested name of the downloaded file.
+ * @param contentType media type of the written content.
+ * @param body        writes the exported flashcards to the given stream.
+ */
+public record FlashcardExport(
+        String fileName,
+        String contentType,
+        Body body
+) {
+
+    @FunctionalInterface
+    public interface Body {
+
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
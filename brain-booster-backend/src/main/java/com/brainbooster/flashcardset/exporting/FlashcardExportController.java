@@ -0,0 +1,76 @@
+package com.brainbooster.flashcardset.exporting;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Tag(name = "Flashcard Sets", description = "Endpoints for managing flashcard sets")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/flashcard-sets")
+public class FlashcardExportController {
+
+    private final FlashcardExportService flashcardExportService;
+
+    @Operation(
+            summary = "Export flashcards of the current user",
+            description = """
+                    Streams the flashcards of all sets owned by the authenticated user as a file download.
+                    Every row also contains the name of its set (a deck column in the anki format).
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @GetMapping("/me/export")
+    public ResponseEntity<StreamingResponseBody> exportMyFlashcardSets(
+            @Parameter(description = "File format: csv, ndjson or anki", example = "csv")
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        return toResponse(flashcardExportService.exportMyFlashcardSets(format));
+    }
+
+    @Operation(
+            summary = "Export a flashcard set",
+            description = """
+                    Streams all flashcards of a set as a file download.
+                    Supported formats are csv (term, definition columns with a header row),
+                    ndjson (one {"term": "...", "definition": "..."} object per line)
+                    and anki (tab-separated text accepted by the Anki import).
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    @ApiResponse(responseCode = "404", description = "Flashcard set not found")
+    @GetMapping("/{setId}/export")
+    public ResponseEntity<StreamingResponseBody> exportFlashcardSet(
+            @Parameter(description = "ID of the flashcard set", example = "1")
+            @PathVariable Long setId,
+            @Parameter(description = "File format: csv, ndjson or anki", example = "csv")
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        return toResponse(flashcardExportService.exportFlashcardSet(setId, format));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> toResponse(FlashcardExport export) {
+        FlashcardExport.Body body = export.body();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(export.fileName())
+                        .build()
+                        .toString())
+                .body(body::writeTo);
+    }
+}
@@ -0,0 +1,62 @@
+package com.brainbooster.flashcardset.exporting;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Supported formats of flashcard export files.
+ */
+public enum FlashcardExportFormat {
+
+    /**
+     * Comma-separated values with a header row, RFC 4180 quoting.
+     */
+    CSV("text/csv;charset=UTF-8", ".csv"),
+
+    /**
+     * One JSON object per line ({@code {"term": "...", "definition": "..."}}).
+     */
+    NDJSON("application/x-ndjson", ".ndjson"),
+
+    /**
+     * Anki plain text import format: tab-separated fields preceded by {@code #separator} and
+     * {@code #html} file headers. Exports of several sets put the set name into a deck column.
+     */
+    ANKI("text/plain;charset=UTF-8", ".txt");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    FlashcardExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolves a format from its case-insensitive name.
+     *
+     * @param value format name, e.g. {@code csv}.
+     * @return matching format.
+     * @throws IllegalArgumentException if the format is not supported.
+     */
+    public static FlashcardExportFormat from(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unsupported export format: " + value + ". Supported formats: "
+                                + Arrays.stream(values())
+                                .map(format -> format.name().toLowerCase(Locale.ROOT))
+                                .collect(Collectors.joining(", "))
+                ));
+    }
+}
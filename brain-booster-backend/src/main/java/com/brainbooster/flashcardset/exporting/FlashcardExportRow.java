@@ -0,0 +1,14 @@
+package com.brainbooster.flashcardset.exporting;
+
+/**
+ * Read-only projection of a single exported flashcard.
+ * <p>
+ * Rows are not managed entities, so streaming them does not grow the persistence context.
+ */
+public record FlashcardExportRow(
+        Long setId,
+        String setName,
+        String term,
+        String definition
+) {
+}
@@ -0,0 +1,145 @@
+package com.brainbooster.flashcardset.exporting;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcardset.FlashcardSetRepository;
+import com.brainbooster.security.CurrentUserProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exports flashcards of a single set or of all sets of the current user.
+ * <p>
+ * Flashcards are streamed from a database cursor (read in chunks of a fixed fetch size)
+ * as read-only projections and written straight to the output, so memory use
+ * does not depend on the size of the export.
+ */
+@Slf4j
+@Service
+public class FlashcardExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String FLASHCARD_SET_WITH_ID_MESSAGE_PREFIX = "FlashcardSet with id: ";
+    private static final String NOT_FOUND_MESSAGE_SUFFIX = " not found";
+
+    private final FlashcardSetRepository flashcardSetRepository;
+    private final FlashcardRepository flashcardRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public FlashcardExportService(
+            FlashcardSetRepository flashcardSetRepository,
+            FlashcardRepository flashcardRepository,
+            CurrentUserProvider currentUserProvider,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        this.flashcardSetRepository = flashcardSetRepository;
+        this.flashcardRepository = flashcardRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Prepares an export of all flashcards in a set.
+     *
+     * @param setId  ID of the exported flashcard set.
+     * @param format format name (csv, ndjson or anki).
+     * @return export whose body streams the flashcards in creation order.
+     * @throws ResourceNotFoundException if the set does not exist.
+     */
+    public FlashcardExport exportFlashcardSet(Long setId, String format) {
+        FlashcardExportFormat exportFormat = FlashcardExportFormat.from(format);
+
+        if (!flashcardSetRepository.existsById(setId)) {
+            throw new ResourceNotFoundException(
+                    FLASHCARD_SET_WITH_ID_MESSAGE_PREFIX + setId + NOT_FOUND_MESSAGE_SUFFIX);
+        }
+
+        return new FlashcardExport(
+                "flashcard-set-" + setId + exportFormat.fileExtension(),
+                exportFormat.contentType(),
+                outputStream -> writeRows(
+                        outputStream,
+                        exportFormat,
+                        false,
+                        () -> flashcardRepository.streamExportRowsBySetId(setId))
+        );
+    }
+
+    /**
+     * Prepares an export of the flashcards in all sets owned by the current user.
+     *
+     * @param format format name (csv, ndjson or anki).
+     * @return export whose body streams the flashcards grouped by set.
+     */
+    public FlashcardExport exportMyFlashcardSets(String format) {
+        FlashcardExportFormat exportFormat = FlashcardExportFormat.from(format);
+        Long userId = currentUserProvider.getCurrentUser().userId();
+
+        return new FlashcardExport(
+                "my-flashcard-sets" + exportFormat.fileExtension(),
+                exportFormat.contentType(),
+                outputStream -> writeRows(
+                        outputStream,
+                        exportFormat,
+                        true,
+                        () -> flashcardRepository.streamExportRowsByUserId(userId))
+        );
+    }
+
+    private void writeRows(
+            OutputStream outputStream,
+            FlashcardExportFormat format,
+            boolean includeSet,
+            Supplier<Stream<FlashcardExportRow>> rows
+    ) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        FlashcardExportWriter exportWriter = new FlashcardExportWriter(writer, format, includeSet, objectMapper);
+
+        try {
+            // the cursor is only open inside a transaction
+            Long exportedCount = readOnlyTransactionTemplate.execute(_ -> {
+                try (Stream<FlashcardExportRow> stream = rows.get()) {
+                    exportWriter.writeHeader();
+
+                    long count = 0;
+                    Iterator<FlashcardExportRow> iterator = stream.iterator();
+
+                    while (iterator.hasNext()) {
+                        exportWriter.writeRow(iterator.next());
+                        count++;
+                    }
+
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            writer.flush();
+
+            log.debug("Exported {} flashcards as {}", exportedCount, format);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
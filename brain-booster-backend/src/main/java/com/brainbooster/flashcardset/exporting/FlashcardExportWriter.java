@@ -0,0 +1,101 @@
+package com.brainbooster.flashcardset.exporting;
+
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes exported flashcards row by row in one of the {@link FlashcardExportFormat}s.
+ * <p>
+ * When {@code includeSet} is set, every row also carries the set it belongs to
+ * (set name column for csv, deck column for anki, set ID and name for ndjson).
+ */
+final class FlashcardExportWriter {
+
+    private final Writer writer;
+    private final FlashcardExportFormat format;
+    private final boolean includeSet;
+    private final ObjectMapper objectMapper;
+
+    FlashcardExportWriter(
+            Writer writer,
+            FlashcardExportFormat format,
+            boolean includeSet,
+            ObjectMapper objectMapper
+    ) {
+        this.writer = writer;
+        this.format = format;
+        this.includeSet = includeSet;
+        this.objectMapper = objectMapper;
+    }
+
+    void writeHeader() throws IOException {
+        switch (format) {
+            case CSV -> writer.write(includeSet ? "set,term,definition\n" : "term,definition\n");
+            case ANKI -> {
+                writer.write("#separator:tab\n");
+                writer.write("#html:false\n");
+
+                if (includeSet) {
+                    writer.write("#deck column:1\n");
+                }
+            }
+            case NDJSON -> {
+                // no header
+            }
+        }
+    }
+
+    void writeRow(FlashcardExportRow row) throws IOException {
+        switch (format) {
+            case CSV -> writeDelimited(row, ',');
+            case ANKI -> writeDelimited(row, '\t');
+            case NDJSON -> {
+                Object value = includeSet ? row : new FlashcardContentDTO(row.term(), row.definition());
+                writer.write(objectMapper.writeValueAsString(value));
+                writer.write('\n');
+            }
+        }
+    }
+
+    private void writeDelimited(FlashcardExportRow row, char delimiter) throws IOException {
+        if (includeSet) {
+            writeField(row.setName(), delimiter);
+            writer.write(delimiter);
+        }
+
+        writeField(row.term(), delimiter);
+        writer.write(delimiter);
+        writeField(row.definition(), delimiter);
+        writer.write('\n');
+    }
+
+    private void writeField(String value, char delimiter) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        if (!requiresQuoting(value, delimiter)) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean requiresQuoting(String value, char delimiter) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
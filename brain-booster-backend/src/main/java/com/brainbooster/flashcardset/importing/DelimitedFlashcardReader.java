@@ -0,0 +1,123 @@
+package com.brainbooster.flashcardset.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {@code term<delimiter>definition} records with RFC 4180 quoting:
+ * fields may be enclosed in double quotes, which allows delimiters and line breaks
+ * inside a field, and a double quote inside a quoted field is escaped as {@code ""}.
+ */
+final class DelimitedFlashcardReader implements FlashcardRecordReader {
+
+    private static final int EOF = -1;
+    private static final char QUOTE = '"';
+    private static final int EXPECTED_COLUMNS = 2;
+
+    private final Reader reader;
+    private final char delimiter;
+    private long line = 1;
+
+    DelimitedFlashcardReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public ParsedFlashcard next() throws IOException {
+        int c = read();
+
+        while (c == '\n' || c == '\r') {
+            c = read();
+        }
+
+        if (c == EOF) {
+            return null;
+        }
+
+        long startLine = line;
+        List<String> fields = new ArrayList<>(EXPECTED_COLUMNS);
+        StringBuilder field = new StringBuilder();
+        int fieldLength = 0;
+        boolean quoted = false;
+        boolean fieldWasQuoted = false;
+        int recordLength = 0;
+        boolean tooLong = false;
+
+        // a record over the maximum length is still tokenized to its end, only its content is dropped,
+        // so a line break inside one of its quoted fields does not start the next record
+        while (c != EOF) {
+            if (quoted) {
+                if (c == QUOTE) {
+                    int next = read();
+
+                    if (next != QUOTE) {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+
+                fieldLength++;
+                append(field, c, tooLong);
+            } else if (c == QUOTE && fieldLength == 0 && !fieldWasQuoted) {
+                quoted = true;
+                fieldWasQuoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldLength = 0;
+                fieldWasQuoted = false;
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                fieldLength++;
+                append(field, c, tooLong);
+            }
+
+            if (!tooLong && ++recordLength > MAX_RECORD_LENGTH) {
+                tooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+
+            c = read();
+        }
+
+        if (tooLong) {
+            return ParsedFlashcard.invalid(startLine,
+                    "Record exceeds the maximum length of " + MAX_RECORD_LENGTH + " characters");
+        }
+
+        if (quoted) {
+            return ParsedFlashcard.invalid(startLine, "Unterminated quoted field");
+        }
+
+        fields.add(field.toString());
+
+        if (fields.size() != EXPECTED_COLUMNS) {
+            return ParsedFlashcard.invalid(startLine,
+                    "Expected 2 columns (term, definition) but found " + fields.size());
+        }
+
+        return ParsedFlashcard.of(startLine, fields.get(0), fields.get(1));
+    }
+
+    private int read() throws IOException {
+        int c = reader.read();
+
+        if (c == '\n') {
+            line++;
+        }
+
+        return c;
+    }
+
+    private static void append(StringBuilder field, int c, boolean discard) {
+        if (!discard) {
+            field.append((char) c);
+        }
+    }
+}
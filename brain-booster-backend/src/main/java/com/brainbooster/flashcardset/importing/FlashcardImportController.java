@@ -0,0 +1,58 @@
+package com.brainbooster.flashcardset.importing;
+
+import com.brainbooster.flashcardset.dto.FlashcardImportResultDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Tag(name = "Flashcard Sets", description = "Endpoints for managing flashcard sets")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/flashcard-sets")
+public class FlashcardImportController {
+
+    private final FlashcardImportService flashcardImportService;
+
+    @Operation(
+            summary = "Import flashcards into a set",
+            description = """
+                    Streams flashcards from an uploaded file into an existing flashcard set.
+                    Supported formats are csv and tsv (term, definition columns with RFC 4180 quoting)
+                    and ndjson (one {"term": "...", "definition": "..."} object per line).
+                    Invalid records are skipped and reported with their line number.
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "File processed, see the result for rejected records")
+    @ApiResponse(responseCode = "400", description = "Unsupported format or invalid delimiter")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "403", description = "User does not have permission to access this resource")
+    @ApiResponse(responseCode = "404", description = "Flashcard set not found")
+    @ApiResponse(responseCode = "413", description = "Uploaded file is too large")
+    @PostMapping(value = "/{setId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public FlashcardImportResultDTO importFlashcards(
+            @Parameter(description = "ID of the flashcard set", example = "1")
+            @PathVariable Long setId,
+            @Parameter(description = "UTF-8 encoded file with flashcards")
+            @RequestPart("file") MultipartFile file,
+            @Parameter(description = "File format: csv, tsv or ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Column delimiter of csv/tsv files (defaults to ',' for csv and tab for tsv)")
+            @RequestParam(required = false) String delimiter,
+            @Parameter(description = "Whether the first row of a csv/tsv file is a header")
+            @RequestParam(defaultValue = "false") boolean header
+    ) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return flashcardImportService.importFlashcards(setId, content, format, delimiter, header);
+        }
+    }
+}
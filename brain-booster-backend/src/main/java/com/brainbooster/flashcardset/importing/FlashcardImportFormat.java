@@ -0,0 +1,45 @@
+package com.brainbooster.flashcardset.importing;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Supported formats of flashcard import files.
+ */
+public enum FlashcardImportFormat {
+
+    /**
+     * Comma-separated values ({@code term,definition}), RFC 4180 quoting.
+     */
+    CSV,
+
+    /**
+     * Tab-separated values ({@code term<TAB>definition}), RFC 4180 quoting.
+     */
+    TSV,
+
+    /**
+     * One JSON object per line ({@code {"term": "...", "definition": "..."}}).
+     */
+    NDJSON;
+
+    /**
+     * Resolves a format from its case-insensitive name.
+     *
+     * @param value format name, e.g. {@code csv}.
+     * @return matching format.
+     * @throws IllegalArgumentException if the format is not supported.
+     */
+    public static FlashcardImportFormat from(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unsupported import format: " + value + ". Supported formats: "
+                                + Arrays.stream(values())
+                                .map(format -> format.name().toLowerCase(Locale.ROOT))
+                                .collect(Collectors.joining(", "))
+                ));
+    }
+}
@@ -0,0 +1,230 @@
+package com.brainbooster.flashcardset.importing;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcardset.FlashcardSet;
+import com.brainbooster.flashcardset.FlashcardSetCatalogCache;
+import com.brainbooster.flashcardset.FlashcardSetRepository;
+import com.brainbooster.flashcardset.dto.FlashcardImportErrorDTO;
+import com.brainbooster.flashcardset.dto.FlashcardImportResultDTO;
+import com.brainbooster.security.CurrentUserProvider;
+import com.brainbooster.security.authorization.OwnerOrAdminPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports large numbers of flashcards from an uploaded file into an existing set.
+ * <p>
+ * The file is parsed record by record and flashcards are written in chunks,
+ * each chunk in its own transaction (inserted in JDBC batches), so memory use does not
+ * depend on the size of the file. Invalid records are skipped and reported with their line number.
+ * If the import fails midway, flashcards from already committed chunks remain in the set.
+ */
+@Slf4j
+@Service
+public class FlashcardImportService {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final String ESCAPED_TAB = "\\t";
+    private static final String FLASHCARD_SET_WITH_ID_MESSAGE_PREFIX = "FlashcardSet with id: ";
+    private static final String NOT_FOUND_MESSAGE_SUFFIX = " not found";
+    private static final String IMPORT_ACCESS_DENIED_MESSAGE =
+            "You can only import flashcards into your own sets!";
+
+    private final FlashcardSetRepository flashcardSetRepository;
+    private final FlashcardRepository flashcardRepository;
+    private final OwnerOrAdminPolicy ownerOrAdminPolicy;
+    private final CurrentUserProvider currentUserProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final FlashcardSetCatalogCache catalogCache;
+    private final int chunkSize;
+
+    public FlashcardImportService(
+            FlashcardSetRepository flashcardSetRepository,
+            FlashcardRepository flashcardRepository,
+            OwnerOrAdminPolicy ownerOrAdminPolicy,
+            CurrentUserProvider currentUserProvider,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            FlashcardSetCatalogCache catalogCache,
+            @Value("${FLASHCARD_IMPORT_CHUNK_SIZE:1000}") int chunkSize
+    ) {
+        this.flashcardSetRepository = flashcardSetRepository;
+        this.flashcardRepository = flashcardRepository;
+        this.ownerOrAdminPolicy = ownerOrAdminPolicy;
+        this.currentUserProvider = currentUserProvider;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.catalogCache = catalogCache;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports flashcards from the given content into a set owned by the current user.
+     *
+     * @param setId      ID of the target flashcard set.
+     * @param content    UTF-8 encoded file content.
+     * @param format     file format name (csv, tsv or ndjson).
+     * @param delimiter  optional column delimiter of csv/tsv files ({@code \t} is accepted for a tab).
+     * @param skipHeader whether the first record is a header row.
+     * @return number of imported and rejected records with the first rejected records.
+     */
+    public FlashcardImportResultDTO importFlashcards(
+            Long setId,
+            InputStream content,
+            String format,
+            String delimiter,
+            boolean skipHeader
+    ) {
+        FlashcardImportFormat importFormat = FlashcardImportFormat.from(format);
+
+        FlashcardSet flashcardSet = flashcardSetRepository.findByIdWithUser(setId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        FLASHCARD_SET_WITH_ID_MESSAGE_PREFIX + setId + NOT_FOUND_MESSAGE_SUFFIX));
+
+        ownerOrAdminPolicy.verify(
+                currentUserProvider.getCurrentUser(),
+                flashcardSet.getUser().getUserId(),
+                IMPORT_ACCESS_DENIED_MESSAGE);
+
+        long importedCount = 0;
+        long rejectedCount = 0;
+        List<FlashcardImportErrorDTO> errors = new ArrayList<>();
+        List<Flashcard> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader bufferedReader = new BufferedReader(
+                new InputStreamReader(content, StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+
+            skipByteOrderMark(bufferedReader);
+            FlashcardRecordReader reader = createReader(importFormat, delimiter, bufferedReader);
+
+            if (skipHeader) {
+                reader.next();
+            }
+
+            ParsedFlashcard parsedFlashcard;
+
+            while ((parsedFlashcard = reader.next()) != null) {
+                String error = validate(parsedFlashcard);
+
+                if (error != null) {
+                    rejectedCount++;
+
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new FlashcardImportErrorDTO(parsedFlashcard.line(), error));
+                    }
+
+                    continue;
+                }
+
+                chunk.add(Flashcard.builder()
+                        .flashcardSet(flashcardSet)
+                        .term(parsedFlashcard.term())
+                        .definition(parsedFlashcard.definition())
+                        .build());
+
+                if (chunk.size() == chunkSize) {
+                    importedCount += writeChunk(flashcardSet, chunk);
+                }
+            }
+
+            importedCount += writeChunk(flashcardSet, chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the uploaded file", e);
+        }
+
+        log.info("Imported {} flashcards into set {} ({} rejected)", importedCount, setId, rejectedCount);
+
+        return new FlashcardImportResultDTO(importedCount, rejectedCount, errors);
+    }
+
+    private FlashcardRecordReader createReader(
+            FlashcardImportFormat format,
+            String delimiter,
+            BufferedReader reader
+    ) {
+        return switch (format) {
+            case CSV -> new DelimitedFlashcardReader(reader, resolveDelimiter(delimiter, ','));
+            case TSV -> new DelimitedFlashcardReader(reader, resolveDelimiter(delimiter, '\t'));
+            case NDJSON -> new NdjsonFlashcardReader(reader, objectMapper);
+        };
+    }
+
+    private int writeChunk(FlashcardSet flashcardSet, List<Flashcard> chunk) {
+        int chunkLength = chunk.size();
+
+        if (chunkLength == 0) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(_ -> {
+            flashcardRepository.saveAll(chunk);
+            flashcardSetRepository.adjustTermCount(flashcardSet.getSetId(), chunkLength);
+            catalogCache.evictSetAfterCommit(flashcardSet.getSetId(), flashcardSet.getUser().getUserId());
+        });
+
+        chunk.clear();
+
+        return chunkLength;
+    }
+
+    private static String validate(ParsedFlashcard parsedFlashcard) {
+        if (parsedFlashcard.error() != null) {
+            return parsedFlashcard.error();
+        }
+
+        if (parsedFlashcard.term() == null || parsedFlashcard.term().isEmpty()) {
+            return "term cannot be empty";
+        }
+
+        if (parsedFlashcard.definition() == null || parsedFlashcard.definition().isEmpty()) {
+            return "definition cannot be empty";
+        }
+
+        return null;
+    }
+
+    private static char resolveDelimiter(String delimiter, char defaultDelimiter) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            return defaultDelimiter;
+        }
+
+        if (ESCAPED_TAB.equals(delimiter)) {
+            return '\t';
+        }
+
+        char resolved = delimiter.charAt(0);
+
+        if (delimiter.length() != 1 || resolved == '"' || resolved == '\n' || resolved == '\r') {
+            throw new IllegalArgumentException(
+                    "Delimiter must be a single character other than a quote or a line break");
+        }
+
+        return resolved;
+    }
+
+    private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+
+        if (reader.read() != BYTE_ORDER_MARK) {
+            reader.reset();
+        }
+    }
+}
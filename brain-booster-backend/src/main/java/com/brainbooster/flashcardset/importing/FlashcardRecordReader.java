@@ -0,0 +1,24 @@
+package com.brainbooster.flashcardset.importing;
+
+import java.io.IOException;
+
+/**
+ * Reads flashcard records from an import file one at a time,
+ * so the whole file never has to be held in memory.
+ */
+interface FlashcardRecordReader {
+
+    /**
+     * Maximum number of characters of a single record. Longer records are rejected,
+     * which also bounds the memory used by a malformed file (e.g. an unterminated quote).
+     */
+    int MAX_RECORD_LENGTH = 20_000;
+
+    /**
+     * Reads the next record, skipping blank lines.
+     *
+     * @return next record, or {@code null} at the end of the input.
+     * @throws IOException if the input cannot be read.
+     */
+    ParsedFlashcard next() throws IOException;
+}
@@ -0,0 +1,88 @@
+package com.brainbooster.flashcardset.importing;
+
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads newline-delimited JSON, one {@code {"term": "...", "definition": "..."}} object per line.
+ */
+final class NdjsonFlashcardReader implements FlashcardRecordReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+    private boolean endOfInput;
+
+    NdjsonFlashcardReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ParsedFlashcard next() throws IOException {
+        while (!endOfInput) {
+            boolean tooLong = readLine();
+            line++;
+
+            if (tooLong) {
+                return ParsedFlashcard.invalid(line,
+                        "Record exceeds the maximum length of " + MAX_RECORD_LENGTH + " characters");
+            }
+
+            String json = buffer.toString().strip();
+
+            if (!json.isEmpty()) {
+                return parse(json);
+            }
+        }
+
+        return null;
+    }
+
+    private ParsedFlashcard parse(String json) {
+        try {
+            FlashcardContentDTO content = objectMapper.readValue(json, FlashcardContentDTO.class);
+
+            if (content == null) {
+                return ParsedFlashcard.invalid(line, "Expected a JSON object");
+            }
+
+            return ParsedFlashcard.of(line, content.term(), content.definition());
+        } catch (JacksonException _) {
+            return ParsedFlashcard.invalid(line, "Invalid JSON object");
+        }
+    }
+
+    /**
+     * Reads the next physical line into the buffer, keeping at most {@link #MAX_RECORD_LENGTH} characters.
+     *
+     * @return {@code true} if the line was longer than the limit.
+     */
+    private boolean readLine() throws IOException {
+        buffer.setLength(0);
+        boolean tooLong = false;
+        int c;
+
+        while ((c = reader.read()) != '\n') {
+            if (c == EOF) {
+                endOfInput = true;
+                break;
+            }
+
+            if (buffer.length() < MAX_RECORD_LENGTH) {
+                buffer.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+
+        return tooLong;
+    }
+}
@@ -0,0 +1,24 @@
+package com.brainbooster.flashcardset.importing;
+
+/**
+ * Single record read from an import file.
+ *
+ * @param line       line on which the record starts.
+ * @param term       term of the flashcard, {@code null} if the record could not be parsed.
+ * @param definition definition of the flashcard, {@code null} if the record could not be parsed.
+ * @param error      reason why the record could not be parsed, {@code null} for parsed records.
+ */
+record ParsedFlashcard(long line, String term, String definition, String error) {
+
+    static ParsedFlashcard of(long line, String term, String definition) {
+        return new ParsedFlashcard(line, strip(term), strip(definition), null);
+    }
+
+    static ParsedFlashcard invalid(long line, String error) {
+        return new ParsedFlashcard(line, null, null, error);
+    }
+
+    private static String strip(String value) {
+        return value == null ? null : value.strip();
+    }
+}
@@ -4,6 +4,7 @@ import com.brainbooster.flashcardset.FlashcardSet;
 import com.brainbooster.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -36,6 +37,18 @@ public class Folder {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    /**
+     * Incremented by every change of the folder, including adding and removing sets.
+     * Backs ETags and If-Match checks.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     @Builder.Default
     @ManyToMany
     @JoinTable(
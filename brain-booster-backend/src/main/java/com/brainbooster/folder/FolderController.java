@@ -3,14 +3,25 @@ package com.brainbooster.folder;
 import com.brainbooster.folder.dto.FolderCreationDTO;
 import com.brainbooster.folder.dto.FolderDTO;
 import com.brainbooster.folder.dto.FolderUpdateDTO;
+import com.brainbooster.pagination.dto.CursorPageDTO;
+import com.brainbooster.versioning.Representation;
+import com.brainbooster.versioning.RepresentationCache;
+import com.brainbooster.versioning.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,6 +32,7 @@ import java.util.List;
 public class FolderController {
 
     private final FolderService folderService;
+    private final RepresentationCache representationCache;
 
     @Operation(
             summary = "Create a new folder",
@@ -37,11 +49,32 @@ public class FolderController {
     }
 
     @Operation(
-            summary = "Get all folders",
-            description = "Fetches all users' folders from the database."
+            summary = "Get folders page",
+            description = "Fetches a page of folders using keyset pagination. "
+                    + "Pass the returned nextCursor to fetch the following page."
     )
-    @ApiResponse(responseCode = "200", description = "Folders fetched successfully")
+    @ApiResponse(responseCode = "200", description = "Page fetched successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
     @GetMapping
+    public CursorPageDTO<FolderDTO> getFoldersPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        return folderService.getFoldersPage(cursor, size);
+    }
+
+    @Operation(
+            summary = "Get all folders (unpaged)",
+            description = "Fetches all users' folders at once. Requires the unpaged=true flag "
+                    + "and administrator rights; other users list the folders page by page with GET /folders.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Folders fetched successfully")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "403", description = "User is not an administrator")
+    @GetMapping(params = "unpaged=true")
     public List<FolderDTO> getAllFolders() {
         return folderService.getAllFolders();
     }
@@ -61,33 +94,59 @@ public class FolderController {
 
     @Operation(
             summary = "Get folder by ID",
-            description = "Fetches a single folder by its ID."
+            description = "Fetches a single folder by its ID. Responses carry ETag and Last-Modified; "
+                    + "a matching If-None-Match or If-Modified-Since returns 304 without the body. "
+                    + "The body is gzip-compressed when the client accepts it."
     )
-    @ApiResponse(responseCode = "200", description = "Folder fetched successfully")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Folder fetched successfully",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = FolderDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Folder not modified")
     @ApiResponse(responseCode = "404", description = "Folder not found")
     @GetMapping("/{folderId}")
-    public FolderDTO getFolderById(
+    public ResponseEntity<byte[]> getFolderById(
             @Parameter(description = "ID of the folder", example = "1")
-            @PathVariable Long folderId) {
-        return folderService.getFolderById(folderId);
+            @PathVariable Long folderId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+
+        ResourceVersion version = folderService.getFolderVersion(folderId);
+
+        // returning null after a positive check makes Spring MVC answer 304 without a body
+        if (webRequest.checkNotModified(
+                Representation.etagFor(version, acceptEncoding),
+                version.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        return representationCache
+                .get(version, () -> folderService.getVersionedFolderById(folderId))
+                .toResponse(acceptEncoding);
     }
 
     @Operation(
             summary = "Update folder",
-            description = "Updates an existing folder by its ID."
+            description = "Updates an existing folder by its ID. An optional If-Match header "
+                    + "must match the ETag of the folder."
     )
     @ApiResponse(responseCode = "200", description = "Folder updated successfully")
     @ApiResponse(responseCode = "400", description = "Invalid request body or validation error")
     @ApiResponse(responseCode = "401", description = "User is not authenticated")
     @ApiResponse(responseCode = "403", description = "User does not have permission to update this folder")
     @ApiResponse(responseCode = "404", description = "Folder not found")
+    @ApiResponse(responseCode = "412", description = "Folder was modified since it was fetched")
     @PatchMapping("/{folderId}")
     public FolderDTO updateFolder(
             @Parameter(description = "ID of the folder", example = "1")
             @PathVariable Long folderId,
+            @Parameter(description = "ETag of the folder the update is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody FolderUpdateDTO folderUpdateDTO
     ) {
-        return folderService.updateFolder(folderId, folderUpdateDTO);
+        return folderService.updateFolder(folderId, folderUpdateDTO, ifMatch);
     }
 
     @Operation(
@@ -1,22 +1,52 @@
 package com.brainbooster.folder;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FolderRepository extends JpaRepository<Folder, Long> {
 
+    /*
+     * Folders are not tombstoned together with their owner, and the tombstone restriction of User is not
+     * reliably applied to an owner reached through f.user. The listings below therefore skip folders
+     * of tombstoned users with a subquery on User itself, which the restriction does apply to.
+     */
+
     @Query("""
             SELECT DISTINCT f FROM Folder f
-            JOIN FETCH f.user
+            JOIN FETCH f.user u
             LEFT JOIN FETCH f.flashcardSets fs
+            WHERE EXISTS (SELECT 1 FROM User owner WHERE owner.userId = u.userId)
             """)
     List<Folder> findAllWithSetsAndUser();
 
+    /**
+     * Pages folder IDs first, so the collection fetch join below
+     * does not force Hibernate to paginate in memory.
+     */
+    @Query("""
+            SELECT f.folderId FROM Folder f
+            WHERE f.folderId > :afterFolderId
+              AND EXISTS (SELECT 1 FROM User owner WHERE owner.userId = f.user.userId)
+            ORDER BY f.folderId
+            """)
+    List<Long> findIdPage(Long afterFolderId, Pageable pageable);
+
+    @Query("""
+            SELECT DISTINCT f FROM Folder f
+            JOIN FETCH f.user
+            LEFT JOIN FETCH f.flashcardSets fs
+            WHERE f.folderId IN :folderIds
+            ORDER BY f.folderId
+            """)
+    List<Folder> findAllWithSetsAndUserByIdIn(Collection<Long> folderIds);
+
     @Query("""
             SELECT DISTINCT f FROM Folder f
             JOIN FETCH f.user
@@ -48,4 +78,21 @@ public interface FolderRepository extends JpaRepository<Folder, Long> {
             WHERE f.folderId = :folderId
             """)
     Optional<Folder> findByIdWithUser(Long folderId);
+
+    /**
+     * Lists every set of the folder as {@code setId:version}, ordered by set ID, so the list changes
+     * whenever a set is added, removed or changed, including sets removed without touching the folder.
+     */
+    @Query("""
+            SELECT new com.brainbooster.folder.FolderVersion(
+                f.version, f.updatedAt, u.nickname,
+                LISTAGG(CONCAT(str(fs.setId), ':', str(fs.version)), ',') WITHIN GROUP (ORDER BY fs.setId),
+                MAX(fs.updatedAt))
+            FROM Folder f
+            JOIN f.user u
+            LEFT JOIN f.flashcardSets fs
+            WHERE f.folderId = :folderId
+            GROUP BY f.folderId, f.version, f.updatedAt, u.nickname
+            """)
+    Optional<FolderVersion> findVersionById(Long folderId);
 }
@@ -1,5 +1,7 @@
 package com.brainbooster.folder;
 
+import com.brainbooster.concurrency.RequestCoalescer;
+import com.brainbooster.exception.PreconditionFailedException;
 import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcardset.FlashcardSet;
 import com.brainbooster.flashcardset.FlashcardSetRepository;
@@ -7,17 +9,25 @@ import com.brainbooster.folder.dto.FolderCreationDTO;
 import com.brainbooster.folder.dto.FolderDTO;
 import com.brainbooster.folder.dto.FolderUpdateDTO;
 import com.brainbooster.folder.mapper.FolderDTOMapper;
+import com.brainbooster.pagination.KeysetCursor;
+import com.brainbooster.pagination.KeysetPagination;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
 import com.brainbooster.security.authorization.OwnerOrAdminPolicy;
 import com.brainbooster.user.User;
 import com.brainbooster.user.UserRepository;
+import com.brainbooster.versioning.ResourceVersion;
+import com.brainbooster.versioning.Versioned;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +46,7 @@ public class FolderService {
     private final OwnerOrAdminPolicy ownerOrAdminPolicy;
     private final CurrentUserProvider currentUserProvider;
     private final UserRepository userRepository;
+    private final RequestCoalescer requestCoalescer;
 
     @Transactional
     public FolderDTO createFolder(FolderCreationDTO dto) {
@@ -64,6 +75,29 @@ public class FolderService {
                 .toList();
     }
 
+    /**
+     * Folder IDs are paged first and the folders with their sets are fetched in a second query,
+     * because a row limit cannot be applied to a query that fetch-joins a collection.
+     */
+    public CursorPageDTO<FolderDTO> getFoldersPage(String cursor, Integer size) {
+        int pageSize = KeysetPagination.resolvePageSize(size);
+        long afterFolderId = KeysetPagination.afterId(KeysetCursor.decode(cursor));
+
+        List<Long> folderIds = folderRepository.findIdPage(
+                afterFolderId,
+                KeysetPagination.fetchLimit(pageSize));
+
+        List<Folder> folders = folderIds.isEmpty()
+                ? List.of()
+                : folderRepository.findAllWithSetsAndUserByIdIn(folderIds);
+
+        return KeysetPagination.toPage(
+                folders,
+                pageSize,
+                folderDTOMapper,
+                folder -> KeysetCursor.ofId(folder.getFolderId()));
+    }
+
     public List<FolderDTO> getMyFolders() {
         AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
 
@@ -81,22 +115,61 @@ public class FolderService {
                 .toList();
     }
 
-    public FolderDTO getFolderById(Long folderId) {
-        Folder folder = folderRepository
-                .findByIdWithSetsAndUser(folderId)
+    /**
+     * Loads a folder together with the validators of the rows it was read from, for callers
+     * that cache the result under its entity tag. Concurrent loads of the same folder share one query.
+     *
+     * @throws ResourceNotFoundException if the folder does not exist.
+     */
+    public Versioned<FolderDTO> getVersionedFolderById(Long folderId) {
+        return requestCoalescer.execute("folder", folderId, () -> {
+            Folder folder = folderRepository
+                    .findByIdWithSetsAndUser(folderId)
+                    .orElseThrow(() -> new ResourceNotFoundException(buildFolderNotFoundMessage(folderId)));
+
+            return new Versioned<>(folderDTOMapper.apply(folder), buildFolderVersion(folderId, versionOf(folder)));
+        });
+    }
+
+    /**
+     * Returns the validators of a folder representation using a version-only query.
+     * <p>
+     * The folder lists names and term counts of its sets, so their versions are part of the entity tag.
+     *
+     * @throws ResourceNotFoundException if the folder does not exist.
+     */
+    public ResourceVersion getFolderVersion(Long folderId) {
+        FolderVersion version = folderRepository.findVersionById(folderId)
                 .orElseThrow(() -> new ResourceNotFoundException(buildFolderNotFoundMessage(folderId)));
 
-        return folderDTOMapper.apply(folder);
+        return buildFolderVersion(folderId, version);
     }
 
     @Transactional
     public FolderDTO updateFolder(Long folderId, FolderUpdateDTO dto) {
+        return updateFolder(folderId, dto, null);
+    }
+
+    /**
+     * Updates a folder if it still matches the given {@code If-Match} entity tags.
+     * Concurrent updates after the check are detected by the version column.
+     *
+     * @param ifMatch {@code If-Match} header value, or {@code null} to skip the precondition.
+     * @throws PreconditionFailedException if the folder no longer matches {@code ifMatch}.
+     */
+    @Transactional
+    public FolderDTO updateFolder(Long folderId, FolderUpdateDTO dto, String ifMatch) {
         Folder folder = folderRepository
                 .findByIdWithSetsAndUser(folderId)
                 .orElseThrow(() -> new ResourceNotFoundException(buildFolderNotFoundMessage(folderId)));
 
         verifyFolderAccess(folder, EDIT_FOLDER_ACCESS_DENIED_MSG);
 
+        if (ifMatch != null && !getFolderVersion(folderId).matches(ifMatch)) {
+            throw new PreconditionFailedException(
+                    FOLDER_WITH_ID_MSG_PREFIX + folderId + " has been modified since it was fetched");
+        }
+
         folder.setName(dto.name());
         folder.setDescription(dto.description());
         return folderDTOMapper.apply(folder);
@@ -172,6 +245,38 @@ public class FolderService {
         );
     }
 
+    private static ResourceVersion buildFolderVersion(Long folderId, FolderVersion version) {
+        Instant lastModified = version.setsUpdatedAt() != null && version.setsUpdatedAt().isAfter(version.updatedAt())
+                ? version.setsUpdatedAt()
+                : version.updatedAt();
+
+        return ResourceVersion.of(
+                lastModified,
+                "folder",
+                folderId,
+                version.version(),
+                version.ownerNickname(),
+                version.setVersions());
+    }
+
+    /**
+     * Aggregates a loaded folder the way {@link FolderRepository#findVersionById(Long)} does,
+     * including its nulls for a folder without sets.
+     */
+    private static FolderVersion versionOf(Folder folder) {
+        Set<FlashcardSet> flashcardSets = folder.getFlashcardSets();
+
+        return new FolderVersion(
+                folder.getVersion(),
+                folder.getUpdatedAt(),
+                folder.getUser().getNickname(),
+                flashcardSets.isEmpty() ? null : flashcardSets.stream()
+                        .sorted(Comparator.comparing(FlashcardSet::getSetId))
+                        .map(flashcardSet -> flashcardSet.getSetId() + ":" + flashcardSet.getVersion())
+                        .collect(Collectors.joining(",")),
+                flashcardSets.stream().map(FlashcardSet::getUpdatedAt).max(Comparator.naturalOrder()).orElse(null));
+    }
+
     private String buildFolderNotFoundMessage(Long folderId) {
         return FOLDER_WITH_ID_MSG_PREFIX + folderId + NOT_FOUND_MSG_SUFFIX;
     }
@@ -0,0 +1,17 @@
+package com.brainbooster.folder;
+
+import java.time.Instant;
+
+/**
+ * Version columns of a folder together with the versions of the sets listed in it.
+ * {@code setVersions} lists the sets as {@code setId:version}, comma-separated and ordered by set ID,
+ * or is {@code null} for a folder without sets.
+ */
+public record FolderVersion(
+        Long version,
+        Instant updatedAt,
+        String ownerNickname,
+        String setVersions,
+        Instant setsUpdatedAt
+) {
+}
@@ -0,0 +1,150 @@
+package com.brainbooster.gameresult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Encodes rows in the binary format of Postgres {@code COPY ... FROM STDIN (FORMAT BINARY)}.
+ * <p>
+ * Every row starts with {@link #startRow(int)} followed by exactly that many values, in the column order
+ * of the {@code COPY} statement. A {@code null} value is written as SQL NULL. Large data can be sent in
+ * chunks by taking the bytes written so far with {@link #drain()} whenever {@link #size()} grows too big.
+ */
+final class BinaryCopyEncoder {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short END_OF_DATA = -1;
+    private static final int NULL_LENGTH = -1;
+
+    // Postgres timestamps count microseconds from 2000-01-01T00:00:00Z
+    private static final Instant POSTGRES_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(buffer);
+
+    BinaryCopyEncoder() {
+        write(() -> {
+            out.write(SIGNATURE);
+            out.writeInt(0); // flags
+            out.writeInt(0); // header extension length
+        });
+    }
+
+    BinaryCopyEncoder startRow(int columnCount) {
+        write(() -> out.writeShort(columnCount));
+        return this;
+    }
+
+    BinaryCopyEncoder writeBigint(Long value) {
+        if (value == null) {
+            return writeNull();
+        }
+
+        write(() -> {
+            out.writeInt(Long.BYTES);
+            out.writeLong(value);
+        });
+        return this;
+    }
+
+    BinaryCopyEncoder writeInteger(Integer value) {
+        if (value == null) {
+            return writeNull();
+        }
+
+        write(() -> {
+            out.writeInt(Integer.BYTES);
+            out.writeInt(value);
+        });
+        return this;
+    }
+
+    BinaryCopyEncoder writeBoolean(Boolean value) {
+        if (value == null) {
+            return writeNull();
+        }
+
+        write(() -> {
+            out.writeInt(1);
+            out.writeByte(value ? 1 : 0);
+        });
+        return this;
+    }
+
+    BinaryCopyEncoder writeText(String value) {
+        if (value == null) {
+            return writeNull();
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        write(() -> {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        });
+        return this;
+    }
+
+    BinaryCopyEncoder writeTimestamp(Instant value) {
+        if (value == null) {
+            return writeNull();
+        }
+
+        write(() -> {
+            out.writeInt(Long.BYTES);
+            out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+        });
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes written since the last {@link #drain()}.
+     */
+    int size() {
+        return buffer.size();
+    }
+
+    /**
+     * Returns the bytes written since the last drain and forgets them.
+     */
+    byte[] drain() {
+        byte[] bytes = buffer.toByteArray();
+        buffer.reset();
+        return bytes;
+    }
+
+    /**
+     * Ends the data and returns everything written since the last {@link #drain()}.
+     */
+    byte[] finish() {
+        write(() -> {
+            out.writeShort(END_OF_DATA);
+            out.flush();
+        });
+        return drain();
+    }
+
+    private BinaryCopyEncoder writeNull() {
+        write(() -> out.writeInt(NULL_LENGTH));
+        return this;
+    }
+
+    private void write(IOAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            // a ByteArrayOutputStream never fails
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
+    }
+}
@@ -4,26 +4,29 @@ import com.brainbooster.flashcardset.FlashcardSet;
 import com.brainbooster.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
 
 import java.time.Instant;
 
+/**
+ * Latest game of a user for a set and mode, read from the {@code latest_game_results} view over
+ * {@code game_attempts}. The result id comes from {@code game_result_ids} and stays the same while new
+ * games of the set and mode are played; results are saved by recording attempts and deleted by marking
+ * them with {@code latest_result_deleted} and removing their id.
+ */
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 @Entity
-@Table(name = "game_results", uniqueConstraints = {
-        @UniqueConstraint(
-                name = "uq_game_results_user_set_mode",
-                columnNames = {"user_id", "set_id", "mode"}
-        )
-}
-)
+@Immutable
+@Synchronize({"game_attempts", "game_result_ids"})
+@Table(name = "latest_game_results")
 public class GameResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long resultId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -49,11 +52,4 @@ public class GameResult {
 
     @Column(name = "completed_at", nullable = false)
     private Instant completedAt;
-
-    @PrePersist
-    void prePersist() {
-        if (completedAt == null) {
-            completedAt = Instant.now();
-        }
-    }
 }
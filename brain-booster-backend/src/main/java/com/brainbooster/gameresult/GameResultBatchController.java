@@ -0,0 +1,54 @@
+package com.brainbooster.gameresult;
+
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Game Results",
+        description = "Endpoints for saving and retrieving latest game results for each user, study set, and game mode."
+)
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/game-results:batch")
+public class GameResultBatchController {
+
+    private final GameResultService gameResultService;
+
+    @Operation(
+            summary = "Save many game results at once",
+            description = """
+                    Saves games completed by the authenticated user, e.g. while offline, in one transaction.
+                    Every game is recorded with its own completion time, and the latest result of each
+                    study set and game mode is updated only with its most recently completed game.
+                    Games repeating the idempotency key of a saved game are not recorded again.
+                    The games may hold at most 10000 question results in total.
+                    If any game is invalid, nothing is saved.
+                    Results are returned in the order of the request.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Game results saved successfully.",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = GameResultDTO.class)))
+    )
+    @ApiResponse(responseCode = "400", description = "Invalid request body.", content = @Content)
+    @ApiResponse(responseCode = "401", description = "User is not authenticated.", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Study set or flashcard not found.", content = @Content)
+    @PostMapping
+    public List<GameResultDTO> saveGameResults(@Valid @RequestBody SaveGameResultBatchRequest request) {
+        return gameResultService.saveGameResults(request);
+    }
+}
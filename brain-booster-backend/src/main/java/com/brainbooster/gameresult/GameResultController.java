@@ -2,6 +2,7 @@ package com.brainbooster.gameresult;
 
 import com.brainbooster.gameresult.dto.GameResultDTO;
 import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -26,6 +27,8 @@ import java.util.List;
 @RequestMapping("/game-results")
 public class GameResultController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final GameResultService gameResultService;
 
     @Operation(
@@ -34,6 +37,8 @@ public class GameResultController {
                     Saves the latest result for the authenticated user.
                     If a result already exists for the same user, study set, and game mode,
                     it will be updated instead of creating a duplicate record.
+                    Retries sent with the same Idempotency-Key are answered with the result
+                    saved by the first request, without recording the game again.
                     """
     )
     @ApiResponse(
@@ -46,9 +51,11 @@ public class GameResultController {
     @PostMapping
     @ResponseStatus(HttpStatus.OK)
     public GameResultDTO saveGameResult(
+            @Parameter(description = "Client-generated key identifying this game, e.g. a UUID, reused on every retry.")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody SaveGameResultRequest request
     ) {
-        return gameResultService.saveGameResult(request);
+        return gameResultService.saveGameResult(request, idempotencyKey);
     }
 
     @Operation(
@@ -71,9 +78,34 @@ public class GameResultController {
     }
 
     @Operation(
-            summary = "Get all game results",
+            summary = "Get game results page",
+            description = """
+                    Returns a page of game results ordered from the most recent,
+                    using keyset pagination. This endpoint is available only for administrators.
+                    Pass the returned nextCursor to fetch the following page.
+                    If setId is provided, only results for that study set are returned.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Page fetched successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content)
+    @ApiResponse(responseCode = "401", description = "User is not authenticated.", content = @Content)
+    @ApiResponse(responseCode = "403", description = "Only administrators can access this endpoint.", content = @Content)
+    @GetMapping
+    public CursorPageDTO<GameResultDTO> getGameResultsPage(
+            @Parameter(description = "Optional study set ID used to filter results.", example = "12")
+            @RequestParam(required = false) Long setId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        return gameResultService.getGameResultsPage(setId, cursor, size);
+    }
+
+    @Operation(
+            summary = "Get all game results (unpaged)",
             description = """
-                    Returns all game results in the system.
+                    Returns all game results in the system at once. Requires the unpaged=true flag.
                     This endpoint is available only for administrators.
                     If setId is provided, only results for that study set are returned.
                     """
@@ -83,7 +115,7 @@ public class GameResultController {
     )
     @ApiResponse(responseCode = "401", description = "User is not authenticated.", content = @Content)
     @ApiResponse(responseCode = "403", description = "Only administrators can access this endpoint.", content = @Content)
-    @GetMapping
+    @GetMapping(params = "unpaged=true")
     public List<GameResultDTO> getAllGameResults(
             @Parameter(description = "Optional study set ID used to filter results.", example = "12")
             @RequestParam(required = false) Long setId
@@ -0,0 +1,154 @@
+package com.brainbooster.gameresult;
+
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of game results saved with an idempotency key, so that a client retrying a
+ * submission is answered without touching the database.
+ * <p>
+ * Results are stored once the transaction that saved them commits and expire
+ * {@code GAME_RESULT_REPLAY_CACHE_TTL_SECONDS} after being stored; a retry arriving later is answered from
+ * the unique index on {@code game_attempts}. At most {@code GAME_RESULT_REPLAY_CACHE_MAX_ENTRIES} results
+ * are kept. Deleting a game result evicts the results of its user, set and mode, whose result ID is gone.
+ * <p>
+ * Hits, misses and evictions are published as {@code game.result.replay.*} meters.
+ * With {@code GAME_RESULT_REPLAY_CACHE_ENABLED=false} every retry is looked up in the database.
+ */
+@Component
+public class GameResultReplayCache {
+
+    static final String GETS_METRIC = "game.result.replay.gets";
+    static final String EVICTIONS_METRIC = "game.result.replay.evictions";
+    static final String SIZE_METRIC = "game.result.replay.size";
+
+    private final boolean enabled;
+    private final Cache<Key, GameResultDTO> entries;
+
+    // bumped by every eviction, so a result stored after it cannot bring back a deleted result ID
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public GameResultReplayCache(
+            MeterRegistry meterRegistry,
+            @Value("${GAME_RESULT_REPLAY_CACHE_ENABLED:true}") boolean enabled,
+            @Value("${GAME_RESULT_REPLAY_CACHE_TTL_SECONDS:600}") long ttlSeconds,
+            @Value("${GAME_RESULT_REPLAY_CACHE_MAX_ENTRIES:10000}") int maxEntries
+    ) {
+        this.enabled = enabled;
+
+        this.hits = Counter.builder(GETS_METRIC)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(GETS_METRIC)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder(EVICTIONS_METRIC)
+                .register(meterRegistry);
+
+        // maintenance runs on the writing thread, so a full cache evicts before the write returns
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .executor(Runnable::run)
+                .evictionListener((_, _, cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+
+        Gauge.builder(SIZE_METRIC, entries, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Looks up the result saved by an earlier submission with the same key.
+     *
+     * @return the result, or {@code null} on a miss.
+     */
+    public GameResultDTO find(Long userId, String idempotencyKey) {
+        if (!enabled) {
+            return null;
+        }
+
+        GameResultDTO cached = entries.getIfPresent(new Key(userId, idempotencyKey));
+
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+
+        return cached;
+    }
+
+    /**
+     * Stores a result saved with an idempotency key once the surrounding transaction commits,
+     * or immediately when no transaction is active.
+     */
+    public void putAfterCommit(Long userId, String idempotencyKey, GameResultDTO result) {
+        if (!enabled) {
+            return;
+        }
+
+        Key key = new Key(userId, idempotencyKey);
+        long savedGeneration = generation.get();
+
+        // skipped when a result was deleted in the meantime, it may have been this one
+        Runnable put = () -> entries.asMap().compute(key, (_, current) -> generation.get() == savedGeneration
+                ? result
+                : current);
+
+        runAfterCommit(put);
+    }
+
+    /**
+     * Evicts the results of a user's games in the given set and mode once the surrounding transaction
+     * commits, as deleting their latest result leaves them without a result ID.
+     */
+    public void evictAfterCommit(Long userId, Long setId, GameMode mode) {
+        if (!enabled) {
+            return;
+        }
+
+        runAfterCommit(() -> {
+            generation.incrementAndGet();
+            entries.asMap().entrySet().removeIf(entry -> entry.getKey().userId().equals(userId)
+                    && entry.getValue().setId().equals(setId)
+                    && entry.getValue().mode() == mode);
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Key(Long userId, String idempotencyKey) {
+    }
+}
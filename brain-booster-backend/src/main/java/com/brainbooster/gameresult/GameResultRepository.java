@@ -1,16 +1,59 @@
 package com.brainbooster.gameresult;
 
-import org.jspecify.annotations.NonNull;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GameResultRepository extends JpaRepository<GameResult, Long> {
 
+    /**
+     * Latest results read straight from {@code game_attempts}: the attempts not marked as deleted that
+     * no newer attempt of the same user, set and mode replaces, with the id of their result from
+     * {@code game_result_ids}, exactly the rows of the {@code latest_game_results} view. Ordered by
+     * completion time, the attempts are walked through {@code idx_game_attempts_latest_completed_at},
+     * or {@code idx_game_attempts_latest_set_id_completed_at} for one set, one page at a time, while
+     * ordering the view means picking the latest attempt of every user, set and mode first.
+     * <p>
+     * The index leaves out attempts marked as {@code superseded}; the check for a newer attempt stays,
+     * as a game saved concurrently can leave the attempt it replaced unmarked for a while. Results of
+     * tombstoned sets are left out, as in the view.
+     */
+    String LATEST_RESULTS_FROM_ATTEMPTS_SQL = """
+            SELECT ids.result_id,
+                   ga.user_id,
+                   ga.set_id,
+                   ga.mode,
+                   ga.score,
+                   ga.total_questions,
+                   ga.duration_seconds,
+                   ga.completed_at
+            FROM game_attempts ga
+            JOIN game_result_ids ids
+              ON ids.user_id = ga.user_id
+             AND ids.set_id = ga.set_id
+             AND ids.mode = ga.mode
+            JOIN flashcard_set fs
+              ON fs.set_id = ga.set_id
+             AND fs.deleted_at IS NULL
+            WHERE NOT ga.latest_result_deleted
+              AND NOT ga.superseded
+              AND NOT EXISTS (
+                  SELECT 1
+                  FROM game_attempts newer
+                  WHERE newer.user_id = ga.user_id
+                    AND newer.set_id = ga.set_id
+                    AND newer.mode = ga.mode
+                    AND NOT newer.latest_result_deleted
+                    AND (newer.completed_at, newer.attempt_id) > (ga.completed_at, ga.attempt_id))
+            """;
+
     @EntityGraph(attributePaths = {"user", "set"})
     Optional<GameResult> findByUser_UserIdAndSet_SetIdAndMode(
             Long userId,
@@ -33,7 +76,43 @@ public interface GameResultRepository extends JpaRepository<GameResult, Long> {
     @EntityGraph(attributePaths = {"user", "set"})
     List<GameResult> findAllByOrderByCompletedAtDesc();
 
-    @Override
+    @Query(value = LATEST_RESULTS_FROM_ATTEMPTS_SQL + """
+            ORDER BY ga.completed_at DESC, ids.result_id DESC
+            """, nativeQuery = true)
+    List<GameResult> findFirstPage(Pageable pageable);
+
+    @Query(value = LATEST_RESULTS_FROM_ATTEMPTS_SQL + """
+              AND ga.set_id = :setId
+            ORDER BY ga.completed_at DESC, ids.result_id DESC
+            """, nativeQuery = true)
+    List<GameResult> findFirstPageBySetId(Long setId, Pageable pageable);
+
+    // the redundant completed_at bound lets the index scan start at the cursor
+    @Query(value = LATEST_RESULTS_FROM_ATTEMPTS_SQL + """
+              AND ga.completed_at <= :completedAt
+              AND (ga.completed_at < :completedAt
+                   OR ids.result_id < :resultId)
+            ORDER BY ga.completed_at DESC, ids.result_id DESC
+            """, nativeQuery = true)
+    List<GameResult> findPageBefore(Instant completedAt, Long resultId, Pageable pageable);
+
+    @Query(value = LATEST_RESULTS_FROM_ATTEMPTS_SQL + """
+              AND ga.set_id = :setId
+              AND ga.completed_at <= :completedAt
+              AND (ga.completed_at < :completedAt
+                   OR ids.result_id < :resultId)
+            ORDER BY ga.completed_at DESC, ids.result_id DESC
+            """, nativeQuery = true)
+    List<GameResult> findPageBeforeBySetId(Long setId, Instant completedAt, Long resultId, Pageable pageable);
+
+    /**
+     * Finds the latest result with the given id. A result keeps its id while new games of the same user,
+     * set and mode are played, until it is deleted.
+     */
     @EntityGraph(attributePaths = {"user", "set"})
-    Optional<GameResult> findById(@NonNull Long resultId);
+    @Query("""
+            SELECT gr FROM GameResult gr
+            WHERE gr.resultId = :resultId
+            """)
+    Optional<GameResult> findLatestByResultId(Long resultId);
 }
@@ -1,85 +1,199 @@
 package com.brainbooster.gameresult;
 
 import com.brainbooster.exception.ResourceNotFoundException;
-import com.brainbooster.flashcardset.FlashcardSet;
 import com.brainbooster.flashcardset.FlashcardSetRepository;
-import com.brainbooster.gameresult.attempt.GameAttemptRecorder;
+import com.brainbooster.gameresult.attempt.GameAttemptRepository;
 import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchItemRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchRequest;
 import com.brainbooster.gameresult.dto.SaveGameResultRequest;
 import com.brainbooster.gameresult.mapper.GameResultMapper;
+import com.brainbooster.pagination.KeysetCursor;
+import com.brainbooster.pagination.KeysetPagination;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
 import com.brainbooster.security.authorization.AdminPolicy;
 import com.brainbooster.security.authorization.OwnerOrAdminPolicy;
-import com.brainbooster.user.User;
-import com.brainbooster.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class GameResultService {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+    private static final int MAX_QUESTION_RESULTS_PER_BATCH = 10_000;
+
     private static final String NOT_FOUND_MSG_SUFFIX = " not found";
     private static final String FLASHCARD_SET_WITH_ID_MSG_PREFIX = "FlashcardSet with id: ";
     private static final String GAME_RESULT_WITH_ID_MSG_PREFIX = "GameResult with id: ";
     private static final String ACCESS_GAME_RESULT_DENIED_MSG = "You are not allowed to access this game result.";
     private static final String DELETE_GAME_RESULT_DENIED_MSG = "You are not allowed to delete this game result.";
     private static final String SCORE_GREATER_THAN_TOTAL_QUESTIONS_MSG = "Score cannot be greater than total questions.";
+    private static final String TOO_MANY_QUESTION_RESULTS_MSG =
+            "At most " + MAX_QUESTION_RESULTS_PER_BATCH + " question results can be saved at once.";
+    private static final String INVALID_IDEMPOTENCY_KEY_MSG =
+            "Idempotency-Key must not be blank and at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters long.";
 
     private final GameResultRepository gameResultRepository;
+    private final GameAttemptRepository gameAttemptRepository;
     private final FlashcardSetRepository flashcardSetRepository;
-    private final GameAttemptRecorder gameAttemptRecorder;
+    private final GameResultWriter gameResultWriter;
+    private final GameResultReplayCache gameResultReplayCache;
     private final GameResultMapper gameResultMapper;
     private final CurrentUserProvider currentUserProvider;
     private final OwnerOrAdminPolicy ownerOrAdminPolicy;
     private final AdminPolicy adminPolicy;
-    private final UserRepository userRepository;
 
     @Transactional
-    public GameResultDTO saveGameResult(SaveGameResultRequest request) {
+    public GameResultDTO saveGameResult(SaveGameResultRequest request, String idempotencyKey) {
         AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
 
-        User userReference = userRepository.getReferenceById(authenticatedUser.userId());
+        return recordGameResult(
+                authenticatedUser.userId(),
+                request,
+                Instant.now(),
+                idempotencyKey);
+    }
 
+    /**
+     * Checks what can be checked before a game result is recorded: the score, the idempotency key
+     * and the existence of the set.
+     */
+    @Transactional(readOnly = true)
+    public void validateGameResult(SaveGameResultRequest request, String idempotencyKey) {
         validateScore(request.score(), request.totalQuestions());
+        validateIdempotencyKey(idempotencyKey);
 
-        FlashcardSet flashcardSet = flashcardSetRepository.findById(request.setId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        buildFlashcardSetNotFoundMessage(request.setId())
-                ));
+        if (!flashcardSetRepository.existsById(request.setId())) {
+            throw new ResourceNotFoundException(buildFlashcardSetNotFoundMessage(request.setId()));
+        }
+    }
+
+    /**
+     * Records the attempt completed at the given time, which becomes the latest result of the user
+     * for the set and mode of the request unless a later game of theirs was recorded already.
+     * <p>
+     * A submission repeating the idempotency key of a saved game is not recorded again;
+     * the result of that game is returned instead.
+     *
+     * @param idempotencyKey key sent by the client with the submission, or {@code null}.
+     */
+    @Transactional
+    public GameResultDTO recordGameResult(
+            Long userId,
+            SaveGameResultRequest request,
+            Instant completedAt,
+            String idempotencyKey
+    ) {
+        validateScore(request.score(), request.totalQuestions());
+        validateIdempotencyKey(idempotencyKey);
+
+        if (idempotencyKey == null) {
+            return gameResultWriter.write(userId, request, completedAt, null);
+        }
 
-        Instant completedAt = Instant.now();
+        GameResultDTO cached = gameResultReplayCache.find(userId, idempotencyKey);
 
-        GameResult gameResult = gameResultRepository
-                .findByUser_UserIdAndSet_SetIdAndMode(
+        if (cached != null) {
+            return cached;
+        }
+
+        GameResultDTO result = gameResultWriter.write(userId, request, completedAt, idempotencyKey);
+        gameResultReplayCache.putAfterCommit(userId, idempotencyKey, result);
+
+        return result;
+    }
+
+    /**
+     * Records the games of any number of users at once and returns their results in the given order,
+     * like {@link #recordGameResult} does for one game.
+     */
+    @Transactional
+    public List<GameResultDTO> recordGameResults(List<GameResultWriter.UserGame> games) {
+        games.forEach(game -> {
+            validateScore(game.request().score(), game.request().totalQuestions());
+            validateIdempotencyKey(game.idempotencyKey());
+        });
+
+        List<GameResultDTO> results = gameResultWriter.writeAll(games);
+
+        for (int i = 0; i < games.size(); i++) {
+            GameResultWriter.UserGame game = games.get(i);
+            if (game.idempotencyKey() != null) {
+                gameResultReplayCache.putAfterCommit(game.userId(), game.idempotencyKey(), results.get(i));
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the result of the game a user has saved with the given idempotency key, if any.
+     * The result ID is {@code null} if the user has deleted the result since.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GameResultDTO> findSavedGameResult(Long userId, String idempotencyKey) {
+        GameResultDTO cached = gameResultReplayCache.find(userId, idempotencyKey);
+
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return gameResultWriter.findByIdempotencyKey(userId, idempotencyKey);
+    }
+
+    /**
+     * Records many games of the current user at once, each completed at its own time, and returns
+     * their results in the order of the request. Completion times in the future are replaced by now.
+     * The games may hold at most {@value #MAX_QUESTION_RESULTS_PER_BATCH} question results in total.
+     */
+    @Transactional
+    public List<GameResultDTO> saveGameResults(SaveGameResultBatchRequest request) {
+        AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
+        Instant now = Instant.now();
+
+        long questionResultCount = request.games().stream()
+                .map(game -> game.game().questionResults())
+                .filter(Objects::nonNull)
+                .mapToLong(List::size)
+                .sum();
+
+        if (questionResultCount > MAX_QUESTION_RESULTS_PER_BATCH) {
+            throw new IllegalArgumentException(TOO_MANY_QUESTION_RESULTS_MSG);
+        }
+
+        List<SaveGameResultBatchItemRequest> games = request.games().stream()
+                .map(game -> {
+                    validateScore(game.game().score(), game.game().totalQuestions());
+                    validateIdempotencyKey(game.idempotencyKey());
+
+                    return game.completedAt().isAfter(now)
+                            ? new SaveGameResultBatchItemRequest(now, game.idempotencyKey(), game.game())
+                            : game;
+                })
+                .toList();
+
+        List<GameResultDTO> results = gameResultWriter.writeAll(authenticatedUser.userId(), games);
+
+        for (int i = 0; i < games.size(); i++) {
+            if (games.get(i).idempotencyKey() != null) {
+                gameResultReplayCache.putAfterCommit(
                         authenticatedUser.userId(),
-                        request.setId(),
-                        request.mode())
-                .orElseGet(() -> GameResult.builder()
-                        .user(userReference)
-                        .set(flashcardSet)
-                        .mode(request.mode())
-                        .build());
-
-        gameResult.setScore(request.score());
-        gameResult.setTotalQuestions(request.totalQuestions());
-        gameResult.setDurationSeconds(request.durationSeconds());
-        gameResult.setCompletedAt(completedAt);
-
-        GameResult savedGameResult = gameResultRepository.save(gameResult);
-
-        gameAttemptRecorder.recordAttempt(
-                userReference,
-                flashcardSet,
-                request,
-                completedAt);
+                        games.get(i).idempotencyKey(),
+                        results.get(i));
+            }
+        }
 
-        return gameResultMapper.toDto(savedGameResult);
+        return results;
     }
 
     @Transactional(readOnly = true)
@@ -113,6 +227,40 @@ public class GameResultService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<GameResultDTO> getGameResultsPage(Long setId, String cursor, Integer size) {
+        AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
+        adminPolicy.verify(authenticatedUser);
+
+        int pageSize = KeysetPagination.resolvePageSize(size);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        Pageable limit = KeysetPagination.fetchLimit(pageSize);
+
+        if (keysetCursor != null && keysetCursor.sortKey() == null) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+
+        List<GameResult> gameResults;
+
+        if (keysetCursor == null) {
+            gameResults = setId == null
+                    ? gameResultRepository.findFirstPage(limit)
+                    : gameResultRepository.findFirstPageBySetId(setId, limit);
+        } else {
+            gameResults = setId == null
+                    ? gameResultRepository.findPageBefore(
+                            keysetCursor.sortKey(), keysetCursor.id(), limit)
+                    : gameResultRepository.findPageBeforeBySetId(
+                            setId, keysetCursor.sortKey(), keysetCursor.id(), limit);
+        }
+
+        return KeysetPagination.toPage(
+                gameResults,
+                pageSize,
+                gameResultMapper::toDto,
+                gameResult -> new KeysetCursor(gameResult.getCompletedAt(), gameResult.getResultId()));
+    }
+
     @Transactional(readOnly = true)
     public GameResultDTO getGameResultById(Long resultId) {
         GameResult gameResult = getAccessibleGameResult(
@@ -122,6 +270,10 @@ public class GameResultService {
         return gameResultMapper.toDto(gameResult);
     }
 
+    /**
+     * Deletes the latest result of the user, set and mode the given result belongs to.
+     * The attempts behind it are kept, so the game history and analytics are not affected.
+     */
     @Transactional
     public void deleteGameResult(Long resultId) {
         GameResult gameResult = getAccessibleGameResult(
@@ -129,7 +281,14 @@ public class GameResultService {
                 DELETE_GAME_RESULT_DENIED_MSG
         );
 
-        gameResultRepository.delete(gameResult);
+        gameAttemptRepository.markLatestResultDeleted(
+                gameResult.getUser().getUserId(),
+                gameResult.getSet().getSetId(),
+                gameResult.getMode().name());
+        gameResultReplayCache.evictAfterCommit(
+                gameResult.getUser().getUserId(),
+                gameResult.getSet().getSetId(),
+                gameResult.getMode());
     }
 
     private void validateScore(Integer score, Integer totalQuestions) {
@@ -140,6 +299,13 @@ public class GameResultService {
         }
     }
 
+    private void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null
+                && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new IllegalArgumentException(INVALID_IDEMPOTENCY_KEY_MSG);
+        }
+    }
+
     private GameResult getAccessibleGameResult(
             Long resultId,
             String accessDeniedMessage
@@ -157,7 +323,7 @@ public class GameResultService {
     }
 
     private GameResult findGameResultById(Long resultId) {
-        return gameResultRepository.findById(resultId)
+        return gameResultRepository.findLatestByResultId(resultId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         buildGameResultNotFoundMessage(resultId)
                 ));
@@ -0,0 +1,602 @@
+package com.brainbooster.gameresult;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.brainbooster.gameresult.dto.SaveGameQuestionResultRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchItemRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes completed games straight through JDBC, in two statements whatever the number of games, users
+ * and questions.
+ * <ol>
+ *     <li>One statement checks that the sets exist and that every answered flashcard belongs to its set,
+ *     reserves the attempt IDs, inserts the attempts, marks the attempts they replace as superseded and
+ *     claims the result IDs of sets and modes played for the first time, each step a common table
+ *     expression feeding the next. The attempts are only inserted if the check finds nothing, so
+ *     a failed check writes nothing. The latest results are derived from the attempts by the
+ *     {@code latest_game_results} view, so no row is shared by concurrent finishes of the same game.</li>
+ *     <li>One binary {@code COPY} loads all question results, streamed in chunks as they are encoded.</li>
+ * </ol>
+ * The result ID of a written game is the ID of the latest result of its user, set and mode, kept in
+ * {@code game_result_ids}; the first game of a set and mode gives the result the ID of its attempt.
+ * A game replaying a saved idempotency key is not checked or written again; its saved result is read
+ * with one more query. Runs on the connection of the surrounding transaction, which must be open.
+ */
+@Component
+public class GameResultWriter {
+
+    private static final String NOT_FOUND_MSG_SUFFIX = " not found";
+    private static final String FLASHCARD_SET_WITH_ID_MSG_PREFIX = "FlashcardSet with id: ";
+    private static final String FLASHCARD_WITH_ID_MSG_PREFIX = "Flashcard with id: ";
+
+    // matches the increment of game_attempts_attempt_id_seq and allocationSize of GameAttempt
+    private static final int ATTEMPT_ID_BLOCK_SIZE = 50;
+
+    /*
+     * The games come as one array per column and the answered flashcards as two arrays, the flashcard and
+     * the position of its game. All parts of a statement see the database as it was when the statement
+     * started, so the attempts inserted by it are compared with each other from the game CTE, and the result
+     * IDs claimed by it come from the claimed CTE rather than game_result_ids. A game saved concurrently in
+     * the same set and mode is not visible either and may leave an attempt unmarked as superseded until the
+     * next game of that set and mode, so readers must not rely on the flag alone.
+     */
+    private static final String WRITE_SQL = """
+            WITH game AS (
+                SELECT g.ord, g.user_id, g.set_id, g.mode, g.score, g.total_questions, g.duration_seconds,
+                       CAST(g.completed_at AS TIMESTAMPTZ) AS completed_at, g.idempotency_key,
+                       EXISTS (SELECT 1
+                               FROM game_attempts saved
+                               WHERE saved.user_id = g.user_id
+                                 AND saved.idempotency_key = g.idempotency_key) AS replayed
+                FROM unnest(:userIds, :setIds, :modes, :scores, :totalQuestions, :durationSeconds, :completedAts,
+                            :idempotencyKeys)
+                         WITH ORDINALITY AS g(user_id, set_id, mode, score, total_questions, duration_seconds,
+                                              completed_at, idempotency_key, ord)
+            ), answered AS (
+                SELECT DISTINCT requested.flashcard_id, game.set_id, f.set_id AS actual_set_id
+                FROM unnest(:flashcardIds, :flashcardGames) AS requested(flashcard_id, ord)
+                JOIN game ON game.ord = requested.ord AND NOT game.replayed
+                LEFT JOIN flashcard f ON f.flashcard_id = requested.flashcard_id
+            ), validation AS (
+                SELECT
+                    ARRAY (SELECT DISTINCT game.set_id
+                           FROM game
+                           WHERE NOT game.replayed
+                             AND NOT EXISTS (SELECT 1
+                                             FROM flashcard_set s
+                                             WHERE s.set_id = game.set_id
+                                               AND s.deleted_at IS NULL)
+                           ORDER BY game.set_id) AS missing_set_ids,
+                    ARRAY (SELECT DISTINCT flashcard_id
+                           FROM answered
+                           WHERE actual_set_id IS NULL
+                           ORDER BY flashcard_id) AS missing_flashcard_ids,
+                    ARRAY (SELECT flashcard_id
+                           FROM answered
+                           WHERE actual_set_id <> set_id
+                           ORDER BY flashcard_id, set_id) AS foreign_flashcard_ids,
+                    ARRAY (SELECT set_id
+                           FROM answered
+                           WHERE actual_set_id <> set_id
+                           ORDER BY flashcard_id, set_id) AS foreign_flashcard_set_ids
+            ), block AS (
+                -- every value returned by nextval is the first ID of a block reserved for this transaction
+                SELECT b.n, nextval(pg_get_serial_sequence('game_attempts', 'attempt_id')) AS first_id
+                FROM generate_series(0, :blocks - 1) AS b(n)
+            ), new_game AS (
+                SELECT game.*,
+                       block.first_id + (game.ord - 1) % :blockSize AS attempt_id
+                FROM game
+                JOIN block ON block.n = (game.ord - 1) / :blockSize
+                WHERE NOT game.replayed
+                  AND (SELECT cardinality(missing_set_ids) + cardinality(missing_flashcard_ids)
+                                  + cardinality(foreign_flashcard_ids)
+                       FROM validation) = 0
+            ), inserted AS (
+                INSERT INTO game_attempts (attempt_id, user_id, set_id, mode, score, total_questions,
+                                           duration_seconds, completed_at, idempotency_key, superseded)
+                SELECT g.attempt_id, g.user_id, g.set_id, g.mode, g.score, g.total_questions, g.duration_seconds,
+                       g.completed_at, g.idempotency_key,
+                       EXISTS (SELECT 1
+                               FROM game_attempts newer
+                               WHERE newer.user_id = g.user_id
+                                 AND newer.set_id = g.set_id
+                                 AND newer.mode = g.mode
+                                 AND NOT newer.latest_result_deleted
+                                 AND newer.completed_at > g.completed_at)
+                           OR EXISTS (SELECT 1
+                                      FROM new_game newer
+                                      WHERE newer.user_id = g.user_id
+                                        AND newer.set_id = g.set_id
+                                        AND newer.mode = g.mode
+                                        AND (newer.completed_at, newer.attempt_id) > (g.completed_at, g.attempt_id))
+                FROM new_game g
+                ON CONFLICT (user_id, idempotency_key) WHERE idempotency_key IS NOT NULL DO NOTHING
+                RETURNING attempt_id, user_id, set_id, mode, completed_at
+            ), superseded AS (
+                UPDATE game_attempts ga
+                SET superseded = TRUE
+                FROM inserted
+                WHERE ga.user_id = inserted.user_id
+                  AND ga.set_id = inserted.set_id
+                  AND ga.mode = inserted.mode
+                  AND NOT ga.superseded
+                  AND NOT ga.latest_result_deleted
+                  AND ga.completed_at <= inserted.completed_at
+                RETURNING ga.attempt_id
+            ), claimed AS (
+                -- the first game of a set and mode gives the result its ID, which later games keep
+                INSERT INTO game_result_ids (result_id, user_id, set_id, mode)
+                SELECT MIN(attempt_id), user_id, set_id, mode
+                FROM inserted
+                GROUP BY user_id, set_id, mode
+                ON CONFLICT (user_id, set_id, mode) DO NOTHING
+                RETURNING result_id, user_id, set_id, mode
+            )
+            SELECT game.ord,
+                   inserted.attempt_id,
+                   COALESCE(claimed.result_id, ids.result_id) AS result_id,
+                   validation.*
+            FROM game
+            CROSS JOIN validation
+            LEFT JOIN new_game ON new_game.ord = game.ord
+            LEFT JOIN inserted ON inserted.attempt_id = new_game.attempt_id
+            LEFT JOIN claimed
+                   ON claimed.user_id = game.user_id
+                  AND claimed.set_id = game.set_id
+                  AND claimed.mode = game.mode
+            LEFT JOIN game_result_ids ids
+                   ON ids.user_id = game.user_id
+                  AND ids.set_id = game.set_id
+                  AND ids.mode = game.mode
+            ORDER BY game.ord
+            """;
+
+    private static final String FIND_RESULT_IDS_SQL = """
+            SELECT ids.result_id, ids.user_id, ids.set_id, ids.mode
+            FROM game_result_ids ids
+            JOIN unnest(:userIds, :setIds, :modes) AS game(user_id, set_id, mode)
+              ON game.user_id = ids.user_id AND game.set_id = ids.set_id AND game.mode = ids.mode
+            """;
+
+    private static final String FIND_BY_IDEMPOTENCY_KEYS_SQL = """
+            SELECT ga.user_id,
+                   ga.idempotency_key,
+                   CASE WHEN ga.latest_result_deleted THEN NULL ELSE ids.result_id END AS result_id,
+                   ga.set_id, ga.mode, ga.score, ga.total_questions, ga.duration_seconds, ga.completed_at
+            FROM game_attempts ga
+            JOIN unnest(:userIds, :idempotencyKeys) AS saved(user_id, idempotency_key)
+              ON saved.user_id = ga.user_id AND saved.idempotency_key = ga.idempotency_key
+            LEFT JOIN game_result_ids ids
+                   ON ids.user_id = ga.user_id
+                  AND ids.set_id = ga.set_id
+                  AND ids.mode = ga.mode
+            """;
+
+    private static final String COPY_QUESTION_RESULTS_SQL = """
+            COPY game_question_results (attempt_id, flashcard_id, question_key, question_order, question_type,
+                                        answer_with, prompt, user_answer, correct_answer, was_correct,
+                                        mistakes_count, answered_at)
+            FROM STDIN (FORMAT BINARY)
+            """;
+    private static final int QUESTION_RESULT_COLUMN_COUNT = 12;
+    // question results are sent to the server in chunks of about this size, so no batch is encoded whole
+    private static final int COPY_CHUNK_BYTES = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcClient jdbcClient;
+
+    public GameResultWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcClient = JdbcClient.create(jdbcTemplate);
+    }
+
+    /**
+     * Records the attempt with its question results, all completed at the given time. The attempt
+     * becomes the latest result of the user for the set and mode of the request, unless a game
+     * completed later has already been saved.
+     * <p>
+     * With an idempotency key that already saved a game of the user, nothing is written and the result
+     * of that game is returned, even if another submission with the same key is in progress.
+     *
+     * @param idempotencyKey key sent by the client, or {@code null}.
+     * @throws ResourceNotFoundException if the set or an answered flashcard does not exist.
+     * @throws IllegalArgumentException  if an answered flashcard belongs to another set.
+     */
+    public GameResultDTO write(
+            Long userId,
+            SaveGameResultRequest request,
+            Instant completedAt,
+            String idempotencyKey
+    ) {
+        return writeAll(List.of(new UserGame(userId, request, completedAt, idempotencyKey))).getFirst();
+    }
+
+    /**
+     * Records many games of a user at once, e.g. games played offline, each completed at its own time,
+     * and returns their results in the given order.
+     *
+     * @see #writeAll(List)
+     */
+    public List<GameResultDTO> writeAll(Long userId, List<SaveGameResultBatchItemRequest> games) {
+        return writeAll(games.stream()
+                .map(game -> new UserGame(userId, game.game(), game.completedAt(), game.idempotencyKey()))
+                .toList());
+    }
+
+    /**
+     * Records the games of any number of users at once and returns their results in the given order.
+     * <p>
+     * The latest result of every user, set and mode becomes the most recently completed of these games,
+     * unless a game completed later has already been saved. A game repeating the idempotency key of a saved
+     * game of its user, or of an earlier game of its user in the list, is not recorded again and gets
+     * the result of that game.
+     *
+     * @throws ResourceNotFoundException if a set or an answered flashcard does not exist; nothing is written then.
+     * @throws IllegalArgumentException  if an answered flashcard belongs to another set than its game.
+     */
+    public List<GameResultDTO> writeAll(List<UserGame> games) {
+        Set<SavedKey> keysToWrite = new HashSet<>();
+        List<UserGame> newGames = new ArrayList<>();
+
+        for (UserGame game : games) {
+            if (game.idempotencyKey() == null || keysToWrite.add(SavedKey.of(game))) {
+                newGames.add(game);
+            }
+        }
+
+        List<WrittenGame> writtenGames = insertAttempts(newGames);
+
+        Map<UserGame, GameResultDTO> writtenResults = new IdentityHashMap<>();
+        List<PlayedGame> playedGames = new ArrayList<>();
+        List<SavedKey> savedKeys = new ArrayList<>();
+
+        for (int i = 0; i < newGames.size(); i++) {
+            UserGame game = newGames.get(i);
+            WrittenGame written = writtenGames.get(i);
+
+            if (written.attemptId() == null) {
+                // replays a saved game, or a concurrent submission with the same key committed first
+                savedKeys.add(SavedKey.of(game));
+                continue;
+            }
+
+            playedGames.add(new PlayedGame(written.attemptId(), game));
+        }
+
+        Map<ResultKey, Long> resultIds = findConcurrentlyClaimedResultIds(newGames, writtenGames);
+
+        for (int i = 0; i < newGames.size(); i++) {
+            UserGame game = newGames.get(i);
+            WrittenGame written = writtenGames.get(i);
+
+            if (written.attemptId() != null) {
+                Long resultId = written.resultId() != null
+                        ? written.resultId()
+                        : resultIds.get(ResultKey.of(game));
+
+                writtenResults.put(game, toDto(resultId, game));
+            }
+        }
+
+        copyQuestionResults(playedGames);
+
+        Map<SavedKey, GameResultDTO> resultsByKey = new HashMap<>(findByIdempotencyKeys(savedKeys));
+
+        writtenResults.forEach((game, result) -> {
+            if (game.idempotencyKey() != null) {
+                resultsByKey.put(SavedKey.of(game), result);
+            }
+        });
+
+        return games.stream()
+                .map(game -> writtenResults.containsKey(game)
+                        ? writtenResults.get(game)
+                        : resultsByKey.get(SavedKey.of(game)))
+                .toList();
+    }
+
+    /**
+     * Returns the result of the game a user saved with the given idempotency key, as it was saved.
+     * The result ID is {@code null} if the user has deleted the result since.
+     */
+    public Optional<GameResultDTO> findByIdempotencyKey(Long userId, String idempotencyKey) {
+        SavedKey key = new SavedKey(userId, idempotencyKey);
+
+        return Optional.ofNullable(findByIdempotencyKeys(List.of(key)).get(key));
+    }
+
+    private Map<SavedKey, GameResultDTO> findByIdempotencyKeys(List<SavedKey> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+
+        return jdbcClient.sql(FIND_BY_IDEMPOTENCY_KEYS_SQL)
+                .param("userIds", bigintArray(keys, SavedKey::userId))
+                .param("idempotencyKeys", textArray(keys, SavedKey::idempotencyKey))
+                .query((rs, _) -> Map.entry(
+                        new SavedKey(rs.getLong("user_id"), rs.getString("idempotency_key")),
+                        new GameResultDTO(
+                                rs.getObject("result_id", Long.class),
+                                rs.getLong("user_id"),
+                                rs.getLong("set_id"),
+                                GameMode.valueOf(rs.getString("mode")),
+                                rs.getInt("score"),
+                                rs.getInt("total_questions"),
+                                rs.getObject("duration_seconds", Integer.class),
+                                rs.getObject("completed_at", OffsetDateTime.class).toInstant())))
+                .list()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * Runs {@link #WRITE_SQL} for the given games and returns what became of each of them, in the same order.
+     *
+     * @throws ResourceNotFoundException if a set or an answered flashcard does not exist.
+     * @throws IllegalArgumentException  if an answered flashcard belongs to another set than its game.
+     */
+    private List<WrittenGame> insertAttempts(List<UserGame> games) {
+        if (games.isEmpty()) {
+            return List.of();
+        }
+
+        List<AnsweredFlashcard> answeredFlashcards = new ArrayList<>();
+
+        for (int i = 0; i < games.size(); i++) {
+            for (SaveGameQuestionResultRequest questionResult : questionResults(games.get(i).request())) {
+                // positions are 1-based, like the ordinality of the games in the statement
+                answeredFlashcards.add(new AnsweredFlashcard(questionResult.flashcardId(), i + 1L));
+            }
+        }
+
+        int blocks = (games.size() + ATTEMPT_ID_BLOCK_SIZE - 1) / ATTEMPT_ID_BLOCK_SIZE;
+        AtomicReference<Validation> validation = new AtomicReference<>();
+
+        List<WrittenGame> writtenGames = jdbcClient.sql(WRITE_SQL)
+                .param("userIds", bigintArray(games, UserGame::userId))
+                .param("setIds", bigintArray(games, game -> game.request().setId()))
+                .param("modes", textArray(games, game -> game.request().mode().name()))
+                .param("scores", integerArray(games, game -> game.request().score()))
+                .param("totalQuestions", integerArray(games, game -> game.request().totalQuestions()))
+                .param("durationSeconds", integerArray(games, game -> game.request().durationSeconds()))
+                .param("completedAts", textArray(games, game -> game.completedAt().toString()))
+                .param("idempotencyKeys", textArray(games, UserGame::idempotencyKey))
+                .param("flashcardIds", bigintArray(answeredFlashcards, AnsweredFlashcard::flashcardId))
+                .param("flashcardGames", bigintArray(answeredFlashcards, AnsweredFlashcard::game))
+                .param("blocks", blocks)
+                .param("blockSize", ATTEMPT_ID_BLOCK_SIZE)
+                .query((rs, _) -> {
+                    validation.compareAndSet(null, new Validation(
+                            longs(rs, "missing_set_ids"),
+                            longs(rs, "missing_flashcard_ids"),
+                            longs(rs, "foreign_flashcard_ids"),
+                            longs(rs, "foreign_flashcard_set_ids")));
+
+                    return new WrittenGame(
+                            rs.getObject("attempt_id", Long.class),
+                            rs.getObject("result_id", Long.class));
+                })
+                .list();
+
+        validation.get().throwIfInvalid();
+
+        return writtenGames;
+    }
+
+    /**
+     * Returns the result IDs of the written games whose set and mode was played for the first time by
+     * a concurrent write, which committed after the write statement started and so was not visible to it.
+     */
+    private Map<ResultKey, Long> findConcurrentlyClaimedResultIds(
+            List<UserGame> games,
+            List<WrittenGame> writtenGames
+    ) {
+        List<ResultKey> keys = new ArrayList<>();
+
+        for (int i = 0; i < games.size(); i++) {
+            if (writtenGames.get(i).attemptId() != null && writtenGames.get(i).resultId() == null) {
+                keys.add(ResultKey.of(games.get(i)));
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+
+        List<ResultKey> distinctKeys = keys.stream().distinct().toList();
+
+        return jdbcClient.sql(FIND_RESULT_IDS_SQL)
+                .param("userIds", bigintArray(distinctKeys, ResultKey::userId))
+                .param("setIds", bigintArray(distinctKeys, ResultKey::setId))
+                .param("modes", textArray(distinctKeys, key -> key.mode().name()))
+                .query(ResultKey::mapRow)
+                .list()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private void copyQuestionResults(List<PlayedGame> games) {
+        if (games.stream().allMatch(game -> questionResults(game.game().request()).isEmpty())) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_QUESTION_RESULTS_SQL);
+
+            try {
+                BinaryCopyEncoder encoder = new BinaryCopyEncoder();
+
+                for (PlayedGame game : games) {
+                    for (SaveGameQuestionResultRequest questionResult : questionResults(game.game().request())) {
+                        encoder.startRow(QUESTION_RESULT_COLUMN_COUNT)
+                                .writeBigint(game.attemptId())
+                                .writeBigint(questionResult.flashcardId())
+                                .writeText(questionResult.questionKey())
+                                .writeInteger(questionResult.questionOrder())
+                                .writeText(questionResult.questionType().name())
+                                .writeText(questionResult.answerWith() == null
+                                        ? null
+                                        : questionResult.answerWith().name())
+                                .writeText(questionResult.prompt())
+                                .writeText(questionResult.userAnswer())
+                                .writeText(questionResult.correctAnswer())
+                                .writeBoolean(questionResult.wasCorrect())
+                                .writeInteger(questionResult.mistakesCount() == null
+                                        ? 0
+                                        : questionResult.mistakesCount())
+                                .writeTimestamp(game.game().completedAt());
+
+                        if (encoder.size() >= COPY_CHUNK_BYTES) {
+                            writeToCopy(copyIn, encoder.drain());
+                        }
+                    }
+                }
+
+                writeToCopy(copyIn, encoder.finish());
+
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+    }
+
+    private static void writeToCopy(CopyIn copyIn, byte[] bytes) throws SQLException {
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+    }
+
+    private static List<SaveGameQuestionResultRequest> questionResults(SaveGameResultRequest request) {
+        return request.questionResults() == null
+                ? List.of()
+                : request.questionResults();
+    }
+
+    private static GameResultDTO toDto(Long resultId, UserGame game) {
+        return new GameResultDTO(
+                resultId,
+                game.userId(),
+                game.request().setId(),
+                game.request().mode(),
+                game.request().score(),
+                game.request().totalQuestions(),
+                game.request().durationSeconds(),
+                game.completedAt());
+    }
+
+    private static <T> SqlArrayValue bigintArray(List<T> rows, Function<T, Long> column) {
+        return new SqlArrayValue("int8", rows.stream().map(column).toArray(Long[]::new));
+    }
+
+    private static <T> SqlArrayValue integerArray(List<T> rows, Function<T, Integer> column) {
+        return new SqlArrayValue("int4", rows.stream().map(column).toArray(Integer[]::new));
+    }
+
+    private static <T> SqlArrayValue textArray(List<T> rows, Function<T, String> column) {
+        return new SqlArrayValue("text", rows.stream().map(column).toArray(String[]::new));
+    }
+
+    private static Long[] longs(ResultSet rs, String column) throws SQLException {
+        return (Long[]) rs.getArray(column).getArray();
+    }
+
+    /**
+     * A completed game of a user.
+     *
+     * @param idempotencyKey key sent by the client with the game, or {@code null}.
+     */
+    public record UserGame(Long userId, SaveGameResultRequest request, Instant completedAt, String idempotencyKey) {
+    }
+
+    private record PlayedGame(Long attemptId, UserGame game) {
+    }
+
+    /**
+     * What the write statement did with a game: the attempt it inserted and the ID of the result, or no attempt
+     * if the game replays a saved one.
+     */
+    private record WrittenGame(Long attemptId, Long resultId) {
+    }
+
+    private record SavedKey(Long userId, String idempotencyKey) {
+
+        static SavedKey of(UserGame game) {
+            return new SavedKey(game.userId(), game.idempotencyKey());
+        }
+    }
+
+    private record ResultKey(Long userId, Long setId, GameMode mode) {
+
+        static ResultKey of(UserGame game) {
+            return new ResultKey(game.userId(), game.request().setId(), game.request().mode());
+        }
+
+        static Map.Entry<ResultKey, Long> mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return Map.entry(
+                    new ResultKey(rs.getLong("user_id"), rs.getLong("set_id"), GameMode.valueOf(rs.getString("mode"))),
+                    rs.getLong("result_id"));
+        }
+    }
+
+    /**
+     * A flashcard answered in the game at the given 1-based position of a write.
+     */
+    private record AnsweredFlashcard(Long flashcardId, Long game) {
+    }
+
+    private record Validation(
+            Long[] missingSetIds,
+            Long[] missingFlashcardIds,
+            Long[] foreignFlashcardIds,
+            Long[] foreignFlashcardSetIds
+    ) {
+
+        void throwIfInvalid() {
+            if (missingSetIds.length > 0) {
+                throw new ResourceNotFoundException(
+                        FLASHCARD_SET_WITH_ID_MSG_PREFIX + missingSetIds[0] + NOT_FOUND_MSG_SUFFIX);
+            }
+
+            if (missingFlashcardIds.length > 0) {
+                throw new ResourceNotFoundException(
+                        FLASHCARD_WITH_ID_MSG_PREFIX + missingFlashcardIds[0] + NOT_FOUND_MSG_SUFFIX);
+            }
+
+            if (foreignFlashcardIds.length > 0) {
+                throw new IllegalArgumentException(
+                        FLASHCARD_WITH_ID_MSG_PREFIX
+                                + foreignFlashcardIds[0]
+                                + " does not belong to set: "
+                                + foreignFlashcardSetIds[0]);
+            }
+        }
+    }
+}
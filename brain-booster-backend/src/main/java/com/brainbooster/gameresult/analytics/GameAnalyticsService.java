@@ -1,5 +1,6 @@
 package com.brainbooster.gameresult.analytics;
 
+import com.brainbooster.concurrency.RequestCoalescer;
 import com.brainbooster.gameresult.WeakFlashcardDTO;
 import com.brainbooster.gameresult.analytics.dto.GameAnalyticsSummaryDTO;
 import com.brainbooster.gameresult.analytics.dto.GameProgressPointDTO;
@@ -12,11 +13,18 @@ import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
 
+/**
+ * Game analytics of the current user in a flashcard set.
+ * <p>
+ * A dashboard requests several analytics of a set at once and they share two queries, so concurrent
+ * identical queries are coalesced per user and set. The queries fetch everything the analytics read
+ * and run in their own read-only transactions, so callers waiting for a coalesced query do not
+ * hold a pooled connection.
+ */
 @Service
 @RequiredArgsConstructor
 public class GameAnalyticsService {
@@ -26,15 +34,12 @@ public class GameAnalyticsService {
     private final CurrentUserProvider currentUserProvider;
     private final WeakFlashcardAnalyzer weakFlashcardAnalyzer;
     private final QuestionTypeAnalyzer questionTypeAnalyzer;
+    private final RequestCoalescer requestCoalescer;
 
-    @Transactional(readOnly = true)
     public GameAnalyticsSummaryDTO getMySetSummary(Long setId) {
         AuthenticatedUser currentUser = currentUserProvider.getCurrentUser();
 
-        List<GameAttempt> attempts = gameAttemptRepository
-                .findByUserIdAndSetIdOrderByCompletedAtAsc(
-                        currentUser.userId(),
-                        setId);
+        List<GameAttempt> attempts = findAttempts(currentUser, setId);
 
         long totalAttempts = attempts.size();
 
@@ -91,48 +96,51 @@ public class GameAnalyticsService {
         );
     }
 
-    @Transactional(readOnly = true)
     public List<GameProgressPointDTO> getMySetProgress(Long setId) {
         AuthenticatedUser currentUser = currentUserProvider.getCurrentUser();
 
-        return gameAttemptRepository
-                .findByUserIdAndSetIdOrderByCompletedAtAsc(
-                        currentUser.userId(),
-                        setId
-                )
+        return findAttempts(currentUser, setId)
                 .stream()
                 .map(this::mapToProgressPoint)
                 .toList();
     }
 
-    @Transactional(readOnly = true)
     public List<WeakFlashcardDTO> getMySetWeakFlashcards(Long setId) {
         AuthenticatedUser currentUser = currentUserProvider.getCurrentUser();
 
-        List<GameQuestionResult> questionResults = gameQuestionResultRepository
-                .findByUserIdAndSetIdOrderByAnsweredAtDesc(
-                        currentUser.userId(),
-                        setId
-                );
+        List<GameQuestionResult> questionResults = findQuestionResults(currentUser, setId);
 
         return weakFlashcardAnalyzer.analyze(questionResults);
     }
 
-    @Transactional(readOnly = true)
     public List<QuestionTypeAnalyticsDTO> getMySetQuestionTypeAnalytics(
             Long setId
     ) {
         AuthenticatedUser currentUser = currentUserProvider.getCurrentUser();
 
-        List<GameQuestionResult> questionResults = gameQuestionResultRepository
-                .findByUserIdAndSetIdOrderByAnsweredAtDesc(
-                        currentUser.userId(),
-                        setId
-                );
+        List<GameQuestionResult> questionResults = findQuestionResults(currentUser, setId);
 
         return questionTypeAnalyzer.analyze(questionResults);
     }
 
+    private List<GameAttempt> findAttempts(AuthenticatedUser currentUser, Long setId) {
+        return requestCoalescer.execute(
+                "game-attempts",
+                List.of(currentUser.userId(), setId),
+                () -> gameAttemptRepository.findByUserIdAndSetIdOrderByCompletedAtAsc(
+                        currentUser.userId(),
+                        setId));
+    }
+
+    private List<GameQuestionResult> findQuestionResults(AuthenticatedUser currentUser, Long setId) {
+        return requestCoalescer.execute(
+                "game-question-results",
+                List.of(currentUser.userId(), setId),
+                () -> gameQuestionResultRepository.findByUserIdAndSetIdOrderByAnsweredAtDesc(
+                        currentUser.userId(),
+                        setId));
+    }
+
     private GameProgressPointDTO mapToProgressPoint(GameAttempt attempt) {
         return new GameProgressPointDTO(
                 attempt.getAttemptId(),
@@ -28,7 +28,12 @@ import java.util.List;
 public class GameAttempt {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_attempts_id_seq")
+    @SequenceGenerator(
+            name = "game_attempts_id_seq",
+            sequenceName = "game_attempts_attempt_id_seq",
+            allocationSize = 50
+    )
     private Long attemptId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -55,6 +60,19 @@ public class GameAttempt {
     @Column(name = "completed_at", nullable = false)
     private Instant completedAt;
 
+    /**
+     * Key sent by the client with the submission, unique per user; {@code null} when none was sent.
+     */
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    /**
+     * Set when the game result this attempt stands for was deleted; hides the attempt
+     * from {@code latest_game_results} without losing it for analytics.
+     */
+    @Column(name = "latest_result_deleted", nullable = false)
+    private boolean latestResultDeleted;
+
     @Builder.Default
     @OneToMany(mappedBy = "attempt", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<GameQuestionResult> questionResults = new ArrayList<>();
@@ -1,12 +1,16 @@
 package com.brainbooster.gameresult.attempt;
 
 import com.brainbooster.gameresult.GameMode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -65,4 +69,33 @@ public interface GameAttemptRepository extends JpaRepository<GameAttempt, Long>
             @Param("userId") Long userId,
             @Param("setId") Long setId
     );
-}
\ No newline at end of file
+
+    /**
+     * Hides every attempt of a user, set and mode from {@code latest_game_results} and removes the id of
+     * their result, which deletes their latest game result while keeping the attempts. The next game of
+     * the set and mode starts a new result with a new id.
+     *
+     * @return the number of attempts marked.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "game_attempts"))
+    @Query(value = """
+            WITH deleted_result AS (
+                DELETE FROM game_result_ids
+                WHERE user_id = :userId
+                  AND set_id = :setId
+                  AND mode = :mode
+            )
+            UPDATE game_attempts
+            SET latest_result_deleted = TRUE
+            WHERE user_id = :userId
+              AND set_id = :setId
+              AND mode = :mode
+              AND NOT latest_result_deleted
+            """, nativeQuery = true)
+    int markLatestResultDeleted(
+            @Param("userId") Long userId,
+            @Param("setId") Long setId,
+            @Param("mode") String mode
+    );
+}
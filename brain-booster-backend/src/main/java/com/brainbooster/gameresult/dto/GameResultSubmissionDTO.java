@@ -0,0 +1,33 @@
+package com.brainbooster.gameresult.dto;
+
+import com.brainbooster.gameresult.submission.SubmissionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Game result submitted for asynchronous saving that has not been applied yet.")
+public record GameResultSubmissionDTO(
+
+        @Schema(description = "Unique ID of the submission, null once it has been applied.", example = "1",
+                nullable = true)
+        Long submissionId,
+
+        @Schema(description = "ID of the related flashcard set.", example = "12")
+        Long setId,
+
+        @Schema(
+                description = """
+                        PENDING while waiting to be saved, FAILED if it could not be saved, APPLIED if a retried
+                        submission has been saved already.""",
+                example = "PENDING"
+        )
+        SubmissionStatus status,
+
+        @Schema(description = "Reason why the submission could not be saved.", nullable = true)
+        String error,
+
+        @Schema(description = "Date and time when the game result was submitted.")
+        Instant submittedAt
+
+) {
+}
@@ -0,0 +1,31 @@
+package com.brainbooster.gameresult.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+@Schema(description = "Game completed by the user, e.g. while offline, sent in a batch together with other games.")
+public record SaveGameResultBatchItemRequest(
+
+        @Schema(
+                description = "Time at which the game was completed. A time in the future is replaced by the time of saving.",
+                example = "2026-01-10T10:15:30Z",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Instant completedAt,
+
+        @Schema(
+                description = "Optional client-generated key identifying this game, e.g. a UUID, reused on every retry.",
+                example = "3f1c2a9e-5b7d-4d1e-9a63-0c8f2b4e7d11"
+        )
+        String idempotencyKey,
+
+        @Schema(description = "Result of the game.", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull
+        @Valid
+        SaveGameResultRequest game
+) {
+}
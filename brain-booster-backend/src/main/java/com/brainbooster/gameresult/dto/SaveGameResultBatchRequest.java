@@ -0,0 +1,20 @@
+package com.brainbooster.gameresult.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request used to save many completed games at once, e.g. games queued while offline.")
+public record SaveGameResultBatchRequest(
+
+        @Schema(description = "Completed games, in any order.")
+        @NotEmpty(message = "At least one game is required")
+        @Size(max = 500, message = "At most 500 games can be saved at once")
+        @Valid
+        List<@NotNull(message = "Game cannot be null") SaveGameResultBatchItemRequest> games
+) {
+}
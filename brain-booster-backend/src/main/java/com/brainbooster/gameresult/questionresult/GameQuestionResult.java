@@ -41,7 +41,12 @@ import java.time.Instant;
 public class GameQuestionResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_question_results_id_seq")
+    @SequenceGenerator(
+            name = "game_question_results_id_seq",
+            sequenceName = "game_question_results_question_result_id_seq",
+            allocationSize = 50
+    )
     private Long questionResultId;
 
     @ManyToOne(fetch = FetchType.LAZY)
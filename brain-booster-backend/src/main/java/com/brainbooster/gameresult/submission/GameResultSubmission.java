@@ -0,0 +1,57 @@
+package com.brainbooster.gameresult.submission;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Game result waiting in the queue to be saved by the {@link GameResultSubmissionWriter}.
+ * Deleted once applied, so only pending and failed submissions exist.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "game_result_submission")
+public class GameResultSubmission {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "submission_id")
+    private Long submissionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "set_id", nullable = false)
+    private Long setId;
+
+    /**
+     * The submitted {@code SaveGameResultRequest} as JSON.
+     */
+    @Column(nullable = false)
+    private String payload;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SubmissionStatus status = SubmissionStatus.PENDING;
+
+    private String error;
+
+    /**
+     * Attempts to apply the submission that failed with a transient error so far.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "submitted_at", nullable = false)
+    private Instant submittedAt;
+}
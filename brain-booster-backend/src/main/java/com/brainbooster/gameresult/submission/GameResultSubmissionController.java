@@ -0,0 +1,76 @@
+package com.brainbooster.gameresult.submission;
+
+import com.brainbooster.gameresult.GameResultController;
+import com.brainbooster.gameresult.dto.GameResultSubmissionDTO;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Game Results",
+        description = "Endpoints for saving and retrieving latest game results for each user, study set, and game mode."
+)
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/game-results/submissions")
+public class GameResultSubmissionController {
+
+    private final GameResultSubmissionService gameResultSubmissionService;
+
+    @Operation(
+            summary = "Submit a game result for asynchronous saving",
+            description = """
+                    Validates the game result of the authenticated user and queues it for saving.
+                    The result is saved shortly afterwards in the same way as by POST /game-results.
+                    Submissions of a user are saved in the order they were accepted.
+                    A submission repeating the Idempotency-Key of a saved game is not saved again.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "202", description = "Game result accepted for saving.",
+            content = @Content(schema = @Schema(implementation = GameResultSubmissionDTO.class))
+    )
+    @ApiResponse(responseCode = "400", description = "Invalid request body.", content = @Content)
+    @ApiResponse(responseCode = "401", description = "User is not authenticated.", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Study set not found.", content = @Content)
+    @ApiResponse(responseCode = "429", description = "Too many game results of the user are waiting to be saved.",
+            content = @Content)
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public GameResultSubmissionDTO submitGameResult(
+            @Parameter(description = "Client-generated key identifying this game, e.g. a UUID, reused on every retry.")
+            @RequestHeader(value = GameResultController.IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey,
+            @Valid @RequestBody SaveGameResultRequest request
+    ) {
+        return gameResultSubmissionService.submitGameResult(request, idempotencyKey);
+    }
+
+    @Operation(
+            summary = "Get my unsaved game result submissions",
+            description = """
+                    Returns the submissions of the authenticated user that are still waiting to be saved
+                    or could not be saved. Saved submissions are not listed.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Submissions returned successfully.",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = GameResultSubmissionDTO.class)))
+    )
+    @ApiResponse(responseCode = "401", description = "User is not authenticated.", content = @Content)
+    @GetMapping("/me")
+    public List<GameResultSubmissionDTO> getMySubmissions() {
+        return gameResultSubmissionService.getMySubmissions();
+    }
+}
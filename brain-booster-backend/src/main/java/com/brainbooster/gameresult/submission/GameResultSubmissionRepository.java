@@ -0,0 +1,106 @@
+package com.brainbooster.gameresult.submission;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GameResultSubmissionRepository extends JpaRepository<GameResultSubmission, Long> {
+
+    /**
+     * Table touched by the native delete below. Declaring it limits second-level cache invalidation
+     * to submissions; without it Hibernate evicts every cached entity after a native update.
+     */
+    String GAME_RESULT_SUBMISSION_TABLE = "game_result_submission";
+
+    List<GameResultSubmission> findByUserIdOrderBySubmissionIdAsc(Long userId);
+
+    Optional<GameResultSubmission> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    /**
+     * Returns the oldest pending submissions, in submission order.
+     */
+    @Query("""
+            SELECT s FROM GameResultSubmission s
+            WHERE s.status = com.brainbooster.gameresult.submission.SubmissionStatus.PENDING
+            ORDER BY s.submissionId
+            """)
+    List<GameResultSubmission> findPending(Pageable pageable);
+
+    /**
+     * Counts pending submissions, but stops counting at {@code limit}, so the cost of the check does not
+     * grow with the backlog.
+     */
+    @Query(value = """
+            SELECT count(*) FROM (
+                SELECT 1 FROM game_result_submission WHERE status = 'PENDING' LIMIT :limit
+            ) pending
+            """, nativeQuery = true)
+    long countPendingUpTo(@Param("limit") long limit);
+
+    /**
+     * Counts pending submissions of a user, but stops counting at {@code limit}.
+     */
+    @Query(value = """
+            SELECT count(*) FROM (
+                SELECT 1 FROM game_result_submission
+                WHERE user_id = :userId AND status = 'PENDING'
+                LIMIT :limit
+            ) pending
+            """, nativeQuery = true)
+    long countPendingByUserIdUpTo(@Param("userId") Long userId, @Param("limit") long limit);
+
+    /**
+     * Takes the writer lock until the end of the transaction, so only one application instance applies
+     * submissions at a time and submissions of a user are applied in order.
+     *
+     * @return whether the lock was taken; {@code false} if another instance holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('game_result_submission'))", nativeQuery = true)
+    boolean tryLockWriter();
+
+    /**
+     * Counts a failed attempt to apply a submission, which stays pending to be retried.
+     */
+    @Modifying
+    @Query("""
+            UPDATE GameResultSubmission s
+            SET s.attempts = s.attempts + 1, s.error = :error
+            WHERE s.submissionId = :submissionId
+            """)
+    int recordFailedAttempt(@Param("submissionId") Long submissionId, @Param("error") String error);
+
+    @Modifying
+    @Query("""
+            UPDATE GameResultSubmission s
+            SET s.status = com.brainbooster.gameresult.submission.SubmissionStatus.FAILED, s.error = :error
+            WHERE s.submissionId = :submissionId
+            """)
+    int markFailed(@Param("submissionId") Long submissionId, @Param("error") String error);
+
+    /**
+     * Deletes at most {@code limit} FAILED submissions submitted before {@code cutoff}.
+     *
+     * @return number of deleted submissions.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = GAME_RESULT_SUBMISSION_TABLE))
+    @Query(value = """
+            DELETE FROM game_result_submission
+            WHERE submission_id IN (
+                SELECT submission_id FROM game_result_submission
+                WHERE status = 'FAILED' AND submitted_at < :cutoff
+                LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteFailedSubmittedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,139 @@
+package com.brainbooster.gameresult.submission;
+
+import com.brainbooster.exception.ServiceUnavailableException;
+import com.brainbooster.exception.TooManyRequestsException;
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.dto.GameResultSubmissionDTO;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import com.brainbooster.security.AuthenticatedUser;
+import com.brainbooster.security.CurrentUserProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Accepts game results for asynchronous saving.
+ * <p>
+ * A submission is validated as far as possible without writing anything, appended to the
+ * {@code game_result_submission} queue and acknowledged; the {@link GameResultSubmissionWriter} saves it
+ * later. Once {@code GAME_RESULT_SUBMISSION_MAX_PENDING_PER_USER} submissions of a user are waiting, further
+ * ones of that user are rejected with 429 until the writer catches up, so one client cannot fill the queue.
+ * Once {@code GAME_RESULT_SUBMISSION_MAX_PENDING} submissions of all users are waiting, every submission is
+ * rejected with 503, so a stalled writer does not let the queue grow without bound. Both checks count at
+ * most up to their limit.
+ * <p>
+ * A retry repeating the idempotency key of an earlier submission is not queued again; it is answered with
+ * that submission while it is queued, or as APPLIED once its game has been saved.
+ */
+@Service
+public class GameResultSubmissionService {
+
+    private static final String BACKLOG_FULL_MSG =
+            "Too many of your game results are waiting to be saved, try again later.";
+    private static final String QUEUE_FULL_MSG =
+            "Too many game results are waiting to be saved, try again later.";
+
+    private final GameResultSubmissionRepository submissionRepository;
+    private final GameResultService gameResultService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ObjectMapper objectMapper;
+    private final long maxPendingPerUser;
+    private final long maxPending;
+
+    public GameResultSubmissionService(
+            GameResultSubmissionRepository submissionRepository,
+            GameResultService gameResultService,
+            CurrentUserProvider currentUserProvider,
+            ObjectMapper objectMapper,
+            @Value("${GAME_RESULT_SUBMISSION_MAX_PENDING_PER_USER:100}") long maxPendingPerUser,
+            @Value("${GAME_RESULT_SUBMISSION_MAX_PENDING:10000}") long maxPending
+    ) {
+        this.submissionRepository = submissionRepository;
+        this.gameResultService = gameResultService;
+        this.currentUserProvider = currentUserProvider;
+        this.objectMapper = objectMapper;
+        this.maxPendingPerUser = maxPendingPerUser;
+        this.maxPending = maxPending;
+    }
+
+    @Transactional
+    public GameResultSubmissionDTO submitGameResult(SaveGameResultRequest request, String idempotencyKey) {
+        AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
+
+        gameResultService.validateGameResult(request, idempotencyKey);
+
+        if (idempotencyKey != null) {
+            GameResultSubmissionDTO earlier = findEarlierSubmission(authenticatedUser.userId(), idempotencyKey);
+
+            if (earlier != null) {
+                return earlier;
+            }
+        }
+
+        long pending = submissionRepository.countPendingByUserIdUpTo(authenticatedUser.userId(), maxPendingPerUser);
+
+        if (pending >= maxPendingPerUser) {
+            throw new TooManyRequestsException(BACKLOG_FULL_MSG);
+        }
+
+        if (submissionRepository.countPendingUpTo(maxPending) >= maxPending) {
+            throw new ServiceUnavailableException(QUEUE_FULL_MSG);
+        }
+
+        GameResultSubmission submission = submissionRepository.save(GameResultSubmission.builder()
+                .userId(authenticatedUser.userId())
+                .setId(request.setId())
+                .payload(objectMapper.writeValueAsString(request))
+                .submittedAt(Instant.now())
+                .idempotencyKey(idempotencyKey)
+                .build());
+
+        return toDto(submission);
+    }
+
+    /**
+     * Returns the submissions of the current user that have not been applied yet, oldest first.
+     * A submission missing from the list has been saved.
+     */
+    @Transactional(readOnly = true)
+    public List<GameResultSubmissionDTO> getMySubmissions() {
+        AuthenticatedUser authenticatedUser = currentUserProvider.getCurrentUser();
+
+        return submissionRepository.findByUserIdOrderBySubmissionIdAsc(authenticatedUser.userId())
+                .stream()
+                .map(GameResultSubmissionService::toDto)
+                .toList();
+    }
+
+    /**
+     * Looks up the submission with the same key among the queued ones first, so a submission applied
+     * in between is found among the saved games.
+     *
+     * @return the earlier submission, or {@code null} if there is none.
+     */
+    private GameResultSubmissionDTO findEarlierSubmission(Long userId, String idempotencyKey) {
+        return submissionRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .map(GameResultSubmissionService::toDto)
+                .or(() -> gameResultService.findSavedGameResult(userId, idempotencyKey)
+                        .map(saved -> new GameResultSubmissionDTO(
+                                null,
+                                saved.setId(),
+                                SubmissionStatus.APPLIED,
+                                null,
+                                saved.completedAt())))
+                .orElse(null);
+    }
+
+    private static GameResultSubmissionDTO toDto(GameResultSubmission submission) {
+        return new GameResultSubmissionDTO(
+                submission.getSubmissionId(),
+                submission.getSetId(),
+                submission.getStatus(),
+                submission.getError(),
+                submission.getSubmittedAt());
+    }
+}
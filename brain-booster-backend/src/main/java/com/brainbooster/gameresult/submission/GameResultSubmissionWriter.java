@@ -0,0 +1,284 @@
+package com.brainbooster.gameresult.submission;
+
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.GameResultWriter;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Saves the game results queued by the {@link GameResultSubmissionService}.
+ * <p>
+ * Pending submissions are applied in batches of {@code GAME_RESULT_SUBMISSION_BATCH_SIZE}, in submission
+ * order. Each batch runs in one transaction that saves the games of all its submissions through
+ * {@link GameResultService#recordGameResults}, with one statement for the attempts and one COPY for their
+ * answers, and deletes the applied submissions, so a submission is applied exactly once even if the
+ * application stops mid-batch. The transaction also holds the writer lock, so with several instances only
+ * one of them writes at a time.
+ * <p>
+ * When a batch fails, it is rolled back and its submissions are applied one at a time. A transient error,
+ * such as a deadlock, a lost connection or a timeout, counts an attempt against the submission and ends the
+ * run, leaving it pending for the next one; after {@code GAME_RESULT_SUBMISSION_MAX_ATTEMPTS} attempts it
+ * is marked as FAILED. Any other error, e.g. because the set has been deleted in the meantime, marks it as
+ * FAILED right away, so one bad submission cannot hold up the queue. FAILED submissions stay visible to
+ * their user for {@code GAME_RESULT_SUBMISSION_FAILED_RETENTION_HOURS} after submission and are deleted
+ * afterward.
+ * <p>
+ * Progress is published as meters: {@code game.result.submissions} counts applied, retried and failed
+ * submissions
+ * and {@code game.result.submissions.pending} gauges the backlog, counted up to {@value #PENDING_GAUGE_LIMIT}
+ * so that a large backlog does not make every run scan it. With
+ * {@code GAME_RESULT_SUBMISSION_WRITER_ENABLED=false} scheduled runs do nothing.
+ */
+@Slf4j
+@Component
+public class GameResultSubmissionWriter {
+
+    static final String SUBMISSIONS_METRIC = "game.result.submissions";
+    static final String PENDING_METRIC = "game.result.submissions.pending";
+    static final long PENDING_GAUGE_LIMIT = 10_000;
+
+    private final GameResultSubmissionRepository submissionRepository;
+    private final GameResultService gameResultService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration failedRetention;
+
+    private final Counter appliedSubmissions;
+    private final Counter retriedSubmissions;
+    private final Counter failedSubmissions;
+    private final AtomicLong pendingSubmissions = new AtomicLong();
+
+    public GameResultSubmissionWriter(
+            GameResultSubmissionRepository submissionRepository,
+            GameResultService gameResultService,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${GAME_RESULT_SUBMISSION_WRITER_ENABLED:true}") boolean enabled,
+            @Value("${GAME_RESULT_SUBMISSION_BATCH_SIZE:500}") int batchSize,
+            @Value("${GAME_RESULT_SUBMISSION_MAX_ATTEMPTS:5}") int maxAttempts,
+            @Value("${GAME_RESULT_SUBMISSION_FAILED_RETENTION_HOURS:168}") long failedRetentionHours
+    ) {
+        this.submissionRepository = submissionRepository;
+        this.gameResultService = gameResultService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.failedRetention = Duration.ofHours(failedRetentionHours);
+
+        appliedSubmissions = Counter.builder(SUBMISSIONS_METRIC)
+                .tag("result", "applied")
+                .register(meterRegistry);
+        retriedSubmissions = Counter.builder(SUBMISSIONS_METRIC)
+                .tag("result", "retried")
+                .register(meterRegistry);
+        failedSubmissions = Counter.builder(SUBMISSIONS_METRIC)
+                .tag("result", "failed")
+                .register(meterRegistry);
+        Gauge.builder(PENDING_METRIC, pendingSubmissions, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${GAME_RESULT_SUBMISSION_POLL_MS:500}")
+    public void drainOnSchedule() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    /**
+     * Applies pending submissions until none are left or another instance holds the writer lock.
+     *
+     * @return number of processed submissions, applied or failed.
+     */
+    public long drain() {
+        long processed = 0;
+        int processedInBatch;
+
+        do {
+            processedInBatch = processNextBatch();
+            processed += processedInBatch;
+        } while (processedInBatch == batchSize);
+
+        pendingSubmissions.set(submissionRepository.countPendingUpTo(PENDING_GAUGE_LIMIT));
+
+        return processed;
+    }
+
+    @Scheduled(
+            initialDelayString = "${GAME_RESULT_SUBMISSION_FAILED_PURGE_INTERVAL_MS:3600000}",
+            fixedDelayString = "${GAME_RESULT_SUBMISSION_FAILED_PURGE_INTERVAL_MS:3600000}")
+    public void purgeFailedOnSchedule() {
+        if (enabled) {
+            purgeFailed();
+        }
+    }
+
+    /**
+     * Deletes FAILED submissions older than the retention period, one batch per transaction.
+     *
+     * @return number of deleted submissions.
+     */
+    public long purgeFailed() {
+        Instant cutoff = Instant.now().minus(failedRetention);
+        long deleted = 0;
+        int deletedInBatch;
+
+        do {
+            Integer deletedCount = transactionTemplate.execute(_ ->
+                    submissionRepository.deleteFailedSubmittedBefore(cutoff, batchSize));
+            deletedInBatch = deletedCount != null ? deletedCount : 0;
+            deleted += deletedInBatch;
+        } while (deletedInBatch == batchSize);
+
+        if (deleted > 0) {
+            log.info("Deleted {} failed game result submissions submitted before {}", deleted, cutoff);
+        }
+
+        return deleted;
+    }
+
+    private int processNextBatch() {
+        try {
+            Integer applied = transactionTemplate.execute(_ -> {
+                if (!submissionRepository.tryLockWriter()) {
+                    return 0;
+                }
+
+                List<GameResultSubmission> batch = submissionRepository.findPending(PageRequest.ofSize(batchSize));
+                apply(batch);
+
+                return batch.size();
+            });
+            int appliedCount = applied != null ? applied : 0;
+
+            appliedSubmissions.increment(appliedCount);
+
+            return appliedCount;
+        } catch (RuntimeException e) {
+            log.warn("Applying a batch of game result submissions failed, applying them one at a time", e);
+            return processOneAtATime();
+        }
+    }
+
+    private int processOneAtATime() {
+        int processed = 0;
+
+        while (processed < batchSize && processNext()) {
+            processed++;
+        }
+
+        return processed;
+    }
+
+    /**
+     * Applies the oldest pending submission in its own transaction. If it cannot be applied, it is marked
+     * as FAILED, or counts an attempt if the error is transient.
+     *
+     * @return whether a submission was processed; {@code false} also ends the run after a transient error.
+     */
+    private boolean processNext() {
+        AtomicReference<GameResultSubmission> submission = new AtomicReference<>();
+
+        try {
+            Boolean applied = transactionTemplate.execute(_ -> {
+                if (!submissionRepository.tryLockWriter()) {
+                    return false;
+                }
+
+                List<GameResultSubmission> next = submissionRepository.findPending(PageRequest.ofSize(1));
+
+                if (next.isEmpty()) {
+                    return false;
+                }
+
+                submission.set(next.getFirst());
+                apply(next);
+
+                return true;
+            });
+
+            if (Boolean.TRUE.equals(applied)) {
+                appliedSubmissions.increment();
+                return true;
+            }
+
+            return false;
+        } catch (RuntimeException e) {
+            if (submission.get() == null) {
+                throw e;
+            }
+
+            Long submissionId = submission.get().getSubmissionId();
+
+            if (isTransient(e) && submission.get().getAttempts() + 1 < maxAttempts) {
+                transactionTemplate.executeWithoutResult(_ ->
+                        submissionRepository.recordFailedAttempt(submissionId, e.getMessage()));
+                retriedSubmissions.increment();
+                log.warn("Game result submission {} failed with a transient error, retrying in the next run: {}",
+                        submissionId, e.getMessage());
+
+                return false;
+            }
+
+            transactionTemplate.executeWithoutResult(_ ->
+                    submissionRepository.markFailed(submissionId, e.getMessage()));
+            failedSubmissions.increment();
+            log.warn("Game result submission {} could not be applied: {}", submissionId, e.getMessage());
+
+            return true;
+        }
+    }
+
+    private void apply(List<GameResultSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return;
+        }
+
+        gameResultService.recordGameResults(submissions.stream()
+                .map(submission -> new GameResultWriter.UserGame(
+                        submission.getUserId(),
+                        objectMapper.readValue(submission.getPayload(), SaveGameResultRequest.class),
+                        submission.getSubmittedAt(),
+                        submission.getIdempotencyKey()))
+                .toList());
+        submissionRepository.deleteAllByIdInBatch(submissions.stream()
+                .map(GameResultSubmission::getSubmissionId)
+                .toList());
+    }
+
+    /**
+     * Whether the error may go away when the submission is applied again. Lost connections count as
+     * transient too, although Spring files them under non-transient errors.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionException;
+    }
+}
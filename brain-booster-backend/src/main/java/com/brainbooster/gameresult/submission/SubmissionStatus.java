@@ -0,0 +1,10 @@
+package com.brainbooster.gameresult.submission;
+
+public enum SubmissionStatus {
+    PENDING,
+    FAILED,
+    /**
+     * Only reported to a retried submission whose game has been saved already; never stored.
+     */
+    APPLIED
+}
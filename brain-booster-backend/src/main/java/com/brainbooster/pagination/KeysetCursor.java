@@ -0,0 +1,64 @@
+package com.brainbooster.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, encoded as an opaque, URL-safe cursor.
+ * <p>
+ * The position consists of an optional sort key and the row ID used as a tie-breaker.
+ * Lists ordered only by ID leave the sort key empty.
+ *
+ * @param sortKey sort key of the last row, or {@code null} for ID-ordered lists.
+ * @param id      ID of the last row.
+ */
+public record KeysetCursor(Instant sortKey, long id) {
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid pagination cursor";
+
+    public static KeysetCursor ofId(long id) {
+        return new KeysetCursor(null, id);
+    }
+
+    /**
+     * Decodes a cursor received from a client.
+     *
+     * @param cursor encoded cursor, may be {@code null} or blank for the first page.
+     * @return decoded cursor, or {@code null} for the first page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+
+            if (separatorIndex < 0) {
+                return ofId(Long.parseLong(raw));
+            }
+
+            return new KeysetCursor(
+                    Instant.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException _) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey == null
+                ? String.valueOf(id)
+                : sortKey + SEPARATOR + id;
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package com.brainbooster.pagination;
+
+import com.brainbooster.pagination.dto.CursorPageDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by keyset (cursor) paginated list endpoints.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPagination() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Resolves the requested page size, applying the default and the upper bound.
+     *
+     * @param size requested page size, may be {@code null}.
+     * @return page size between 1 and {@link #MAX_PAGE_SIZE}.
+     * @throws IllegalArgumentException if the requested size is not positive.
+     */
+    public static int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Limit for the page query: one row more than the page size,
+     * so the presence of a next page can be detected without a count query.
+     */
+    public static Pageable fetchLimit(int pageSize) {
+        return PageRequest.ofSize(pageSize + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #fetchLimit(int)}.
+     *
+     * @param rows     fetched rows, at most {@code pageSize + 1}.
+     * @param pageSize resolved page size.
+     * @param mapper   maps a row to its DTO.
+     * @param cursorOf extracts the keyset position of a row.
+     * @return page of DTOs with the cursor of the next page, if any.
+     */
+    public static <E, D> CursorPageDTO<D> toPage(
+            List<E> rows,
+            int pageSize,
+            Function<? super E, D> mapper,
+            Function<? super E, KeysetCursor> cursorOf
+    ) {
+        boolean hasNextPage = rows.size() > pageSize;
+        List<E> pageRows = hasNextPage ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasNextPage
+                ? cursorOf.apply(pageRows.getLast()).encode()
+                : null;
+
+        return new CursorPageDTO<>(
+                pageRows.stream().map(mapper).toList(),
+                nextCursor
+        );
+    }
+
+    /**
+     * Returns the ID after which the next page starts, or {@code 0} for the first page.
+     */
+    public static long afterId(KeysetCursor cursor) {
+        return cursor == null ? 0L : cursor.id();
+    }
+}
@@ -0,0 +1,19 @@
+package com.brainbooster.pagination.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Single page of a keyset (cursor) paginated list")
+public record CursorPageDTO<T>(
+
+        @Schema(description = "Items of the current page")
+        List<T> items,
+
+        @Schema(
+                description = "Opaque cursor of the next page, or null when this is the last page",
+                example = "MTI"
+        )
+        String nextCursor
+) {
+}
@@ -9,12 +9,15 @@ import com.brainbooster.profile.dto.UserEmailUpdateResponseDTO;
 import com.brainbooster.profile.dto.UserNicknameUpdateDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
+import com.brainbooster.security.TokenVersionCache;
 import com.brainbooster.security.UserPrincipal;
 import com.brainbooster.user.User;
+import com.brainbooster.user.UserChangedEvent;
 import com.brainbooster.user.UserDTOMapper;
 import com.brainbooster.user.UserRepository;
 import com.brainbooster.user.dto.UserDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +31,8 @@ public class ProfileSettingsService {
     private final UserDTOMapper userDTOMapper;
     private final JwtService jwtService;
     private final CurrentUserProvider currentUserProvider;
+    private final TokenVersionCache tokenVersionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserDTO updateNickname(UserNicknameUpdateDTO request) {
@@ -45,6 +50,7 @@ public class ProfileSettingsService {
             );
         }
 
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUserId(), user.getNickname(), false));
         user.setNickname(newNickname);
 
         return userDTOMapper.apply(user);
@@ -74,6 +80,7 @@ public class ProfileSettingsService {
         }
 
         user.setEmail(newEmail);
+        tokenVersionCache.revokeTokens(user);
 
         return new UserEmailUpdateResponseDTO(
                 user.getEmail(),
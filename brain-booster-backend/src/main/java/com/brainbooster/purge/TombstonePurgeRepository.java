@@ -0,0 +1,240 @@
+package com.brainbooster.purge;
+
+import com.brainbooster.flashcardset.FlashcardSet;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Native statements removing tombstoned flashcard sets and users together with the rows referencing them.
+ * <p>
+ * Tombstoned rows are hidden from entity queries, so they are only reachable from here. Every batch
+ * delete removes at most {@code batchSize} rows and returns how many it removed. Rows are deleted
+ * before the rows they reference, so the {@code ON DELETE CASCADE} constraints only remove rows written
+ * after their table was purged, e.g. a star added to a flashcard of a tombstoned set meanwhile. Those
+ * cascades run inside the final delete of the set or user, unbatched, but they are expected to be small.
+ */
+public interface TombstonePurgeRepository extends Repository<FlashcardSet, Long> {
+
+    /*
+     * Tables touched by the statements below. Declaring them limits second-level cache invalidation
+     * to the entities mapped to each table.
+     */
+    String GAME_QUESTION_RESULTS_TABLE = "game_question_results";
+    String GAME_ATTEMPTS_TABLE = "game_attempts";
+    String USER_STARRED_FLASHCARD_TABLE = "user_starred_flashcard";
+    String FOLDER_FLASHCARD_SET_TABLE = "folder_flashcard_set";
+    String FOLDER_TABLE = "folder";
+    String GAME_RESULT_SUBMISSION_TABLE = "game_result_submission";
+    String FLASHCARD_TABLE = "flashcard";
+    String FLASHCARD_SET_TABLE = "flashcard_set";
+    String USER_TABLE = "user";
+    String JOB_LEASE_TABLE = "job_lease";
+
+    /**
+     * Takes or renews the purger lease for the given holder until {@code leaseMillis} from now, unless
+     * another holder has a lease that has not expired yet.
+     *
+     * @return {@code 1} if the holder has the lease now, {@code 0} otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = JOB_LEASE_TABLE))
+    @Query(value = """
+            INSERT INTO job_lease (job_name, holder, expires_at)
+            VALUES ('tombstone_purge', :holder, now() + CAST(:leaseMillis AS bigint) * INTERVAL '1 millisecond')
+            ON CONFLICT (job_name) DO UPDATE
+                SET holder = EXCLUDED.holder,
+                    expires_at = EXCLUDED.expires_at
+                WHERE job_lease.holder = EXCLUDED.holder
+                   OR job_lease.expires_at < now()
+            """, nativeQuery = true)
+    int acquirePurgerLease(@Param("holder") String holder, @Param("leaseMillis") long leaseMillis);
+
+    /**
+     * Gives up the purger lease if the given holder has it.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = JOB_LEASE_TABLE))
+    @Query(value = "DELETE FROM job_lease WHERE job_name = 'tombstone_purge' AND holder = :holder",
+            nativeQuery = true)
+    int releasePurgerLease(@Param("holder") String holder);
+
+    @Query(value = "SELECT count(*) FROM flashcard_set WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countDeletedFlashcardSets();
+
+    @Query(value = "SELECT count(*) FROM \"user\" WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countDeletedUsers();
+
+    /**
+     * Returns tombstoned sets, oldest tombstone first.
+     */
+    @Query(value = """
+            SELECT set_id FROM flashcard_set
+            WHERE deleted_at IS NOT NULL
+            ORDER BY deleted_at, set_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findDeletedFlashcardSetIds(@Param("limit") int limit);
+
+    /**
+     * Returns tombstoned users, oldest tombstone first.
+     */
+    @Query(value = """
+            SELECT user_id FROM "user"
+            WHERE deleted_at IS NOT NULL
+            ORDER BY deleted_at, user_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findDeletedUserIds(@Param("limit") int limit);
+
+    /**
+     * Returns all sets of a user, including tombstoned ones.
+     */
+    @Query(value = "SELECT set_id FROM flashcard_set WHERE user_id = :userId ORDER BY set_id", nativeQuery = true)
+    List<Long> findFlashcardSetIdsByUserId(@Param("userId") Long userId);
+
+    // --- rows referencing a flashcard set ---
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = GAME_QUESTION_RESULTS_TABLE))
+    @Query(value = """
+            DELETE FROM game_question_results
+            WHERE question_result_id IN (
+                SELECT gqr.question_result_id
+                FROM game_question_results gqr
+                JOIN game_attempts ga ON ga.attempt_id = gqr.attempt_id
+                WHERE ga.set_id = :setId
+                LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteQuestionResultsBySetId(@Param("setId") Long setId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = GAME_ATTEMPTS_TABLE))
+    @Query(value = """
+            DELETE FROM game_attempts
+            WHERE attempt_id IN (
+                SELECT attempt_id FROM game_attempts WHERE set_id = :setId LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteAttemptsBySetId(@Param("setId") Long setId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = USER_STARRED_FLASHCARD_TABLE))
+    @Query(value = """
+            DELETE FROM user_starred_flashcard
+            WHERE (user_id, flashcard_id) IN (
+                SELECT usf.user_id, usf.flashcard_id
+                FROM user_starred_flashcard usf
+                JOIN flashcard f ON f.flashcard_id = usf.flashcard_id
+                WHERE f.set_id = :setId
+                LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteStarsBySetId(@Param("setId") Long setId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FOLDER_FLASHCARD_SET_TABLE))
+    @Query(value = """
+            DELETE FROM folder_flashcard_set
+            WHERE set_id = :setId
+              AND folder_id IN (
+                SELECT folder_id FROM folder_flashcard_set WHERE set_id = :setId LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteFolderEntriesBySetId(@Param("setId") Long setId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FLASHCARD_TABLE))
+    @Query(value = """
+            DELETE FROM flashcard
+            WHERE flashcard_id IN (
+                SELECT flashcard_id FROM flashcard WHERE set_id = :setId LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteFlashcardsBySetId(@Param("setId") Long setId, @Param("batchSize") int batchSize);
+
+    /**
+     * Removes the tombstone of a set; a set that is not tombstoned is left untouched.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FLASHCARD_SET_TABLE))
+    @Query(value = "DELETE FROM flashcard_set WHERE set_id = :setId AND deleted_at IS NOT NULL",
+            nativeQuery = true)
+    int deleteFlashcardSet(@Param("setId") Long setId);
+
+    // --- rows referencing a user ---
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = GAME_QUESTION_RESULTS_TABLE))
+    @Query(value = """
+            DELETE FROM game_question_results
+            WHERE question_result_id IN (
+                SELECT gqr.question_result_id
+                FROM game_question_results gqr
+                JOIN game_attempts ga ON ga.attempt_id = gqr.attempt_id
+                WHERE ga.user_id = :userId
+                LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteQuestionResultsByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = GAME_ATTEMPTS_TABLE))
+    @Query(value = """
+            DELETE FROM game_attempts
+            WHERE attempt_id IN (
+                SELECT attempt_id FROM game_attempts WHERE user_id = :userId LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteAttemptsByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = USER_STARRED_FLASHCARD_TABLE))
+    @Query(value = """
+            DELETE FROM user_starred_flashcard
+            WHERE user_id = :userId
+              AND flashcard_id IN (
+                SELECT flashcard_id FROM user_starred_flashcard WHERE user_id = :userId LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteStarsByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FOLDER_FLASHCARD_SET_TABLE))
+    @Query(value = """
+            DELETE FROM folder_flashcard_set
+            WHERE (folder_id, set_id) IN (
+                SELECT ffs.folder_id, ffs.set_id
+                FROM folder_flashcard_set ffs
+                JOIN folder f ON f.folder_id = ffs.folder_id
+                WHERE f.user_id = :userId
+                LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteFolderEntriesByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FOLDER_TABLE))
+    @Query(value = """
+            DELETE FROM folder
+            WHERE folder_id IN (
+                SELECT folder_id FROM folder WHERE user_id = :userId LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteFoldersByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = GAME_RESULT_SUBMISSION_TABLE))
+    @Query(value = """
+            DELETE FROM game_result_submission
+            WHERE submission_id IN (
+                SELECT submission_id FROM game_result_submission WHERE user_id = :userId LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteSubmissionsByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    /**
+     * Removes the tombstone of a user; a user that is not tombstoned is left untouched.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = USER_TABLE))
+    @Query(value = "DELETE FROM \"user\" WHERE user_id = :userId AND deleted_at IS NOT NULL",
+            nativeQuery = true)
+    int deleteUser(@Param("userId") Long userId);
+}
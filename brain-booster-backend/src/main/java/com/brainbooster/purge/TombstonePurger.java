@@ -0,0 +1,272 @@
+package com.brainbooster.purge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import static com.brainbooster.purge.TombstonePurgeRepository.FLASHCARD_SET_TABLE;
+import static com.brainbooster.purge.TombstonePurgeRepository.FLASHCARD_TABLE;
+import static com.brainbooster.purge.TombstonePurgeRepository.FOLDER_FLASHCARD_SET_TABLE;
+import static com.brainbooster.purge.TombstonePurgeRepository.FOLDER_TABLE;
+import static com.brainbooster.purge.TombstonePurgeRepository.GAME_ATTEMPTS_TABLE;
+import static com.brainbooster.purge.TombstonePurgeRepository.GAME_QUESTION_RESULTS_TABLE;
+import static com.brainbooster.purge.TombstonePurgeRepository.GAME_RESULT_SUBMISSION_TABLE;
+import static com.brainbooster.purge.TombstonePurgeRepository.USER_STARRED_FLASHCARD_TABLE;
+import static com.brainbooster.purge.TombstonePurgeRepository.USER_TABLE;
+
+/**
+ * Deletes tombstoned flashcard sets and users together with everything referencing them.
+ * <p>
+ * Deleting a set or a user only tombstones it. This job then removes the referencing rows table by
+ * table in batches of {@code TOMBSTONE_PURGE_BATCH_SIZE} rows, each batch in its own transaction and
+ * followed by a pause of {@code TOMBSTONE_PURGE_BATCH_PAUSE_MS}, so a large purge never holds locks for
+ * long or crowds out other queries. The tombstone is removed last, so a purge interrupted by a restart
+ * continues where it stopped on the next run.
+ * <p>
+ * A run holds the purger lease in {@code job_lease}, so with several instances only one of them purges
+ * at a time and the others skip the run. Every batch renews the lease for {@code TOMBSTONE_PURGE_LEASE_MS}
+ * in its own transaction and stops the run if another instance has taken it over, so no connection is
+ * held between batches or during the pauses. A lease left behind by a crashed instance expires on its own.
+ * <p>
+ * Progress is published as meters: {@code purge.pending} gauges the tombstones left per entity and
+ * {@code purge.rows} counts the deleted rows per table. With {@code TOMBSTONE_PURGE_ENABLED=false}
+ * scheduled runs do nothing.
+ */
+@Slf4j
+@Component
+public class TombstonePurger {
+
+    static final String PENDING_METRIC = "purge.pending";
+    static final String ROWS_METRIC = "purge.rows";
+
+    private static final int TOMBSTONES_PER_QUERY = 100;
+
+    private final TombstonePurgeRepository purgeRepository;
+    private final TransactionTemplate batchTransactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final long leaseMillis;
+
+    // identifies this instance as the holder of the purger lease
+    private final String leaseHolder = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong pendingFlashcardSets = new AtomicLong();
+    private final AtomicLong pendingUsers = new AtomicLong();
+    private final Map<String, Counter> deletedRows = new ConcurrentHashMap<>();
+
+    public TombstonePurger(
+            TombstonePurgeRepository purgeRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${TOMBSTONE_PURGE_ENABLED:true}") boolean enabled,
+            @Value("${TOMBSTONE_PURGE_BATCH_SIZE:1000}") int batchSize,
+            @Value("${TOMBSTONE_PURGE_BATCH_PAUSE_MS:100}") long batchPauseMillis,
+            @Value("${TOMBSTONE_PURGE_LEASE_MS:300000}") long leaseMillis
+    ) {
+        this.purgeRepository = purgeRepository;
+        this.batchTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.batchTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.leaseMillis = leaseMillis;
+
+        Gauge.builder(PENDING_METRIC, pendingFlashcardSets, AtomicLong::get)
+                .tag("entity", "flashcard-set")
+                .register(meterRegistry);
+        Gauge.builder(PENDING_METRIC, pendingUsers, AtomicLong::get)
+                .tag("entity", "user")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${TOMBSTONE_PURGE_INTERVAL_MS:60000}",
+            fixedDelayString = "${TOMBSTONE_PURGE_INTERVAL_MS:60000}")
+    public void purgeOnSchedule() {
+        if (enabled) {
+            purgeTombstones();
+        }
+    }
+
+    /**
+     * Purges all tombstoned flashcard sets, then all tombstoned users, unless another instance is purging.
+     *
+     * @return number of deleted rows.
+     */
+    public long purgeTombstones() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Tombstones are already being purged, skipping this run");
+            return 0;
+        }
+
+        try {
+            if (!acquireLease()) {
+                log.debug("Another instance is purging tombstones, skipping this run");
+                return 0;
+            }
+
+            try {
+                return purgeAll();
+            } finally {
+                batchTransactionTemplate.executeWithoutResult(_ -> purgeRepository.releasePurgerLease(leaseHolder));
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long purgeAll() {
+        pendingFlashcardSets.set(purgeRepository.countDeletedFlashcardSets());
+        pendingUsers.set(purgeRepository.countDeletedUsers());
+
+        long deleted = 0;
+        List<Long> setIds;
+        List<Long> userIds;
+
+        while (!(setIds = purgeRepository.findDeletedFlashcardSetIds(TOMBSTONES_PER_QUERY)).isEmpty()) {
+            for (Long setId : setIds) {
+                deleted += purgeFlashcardSet(setId);
+            }
+        }
+
+        while (!(userIds = purgeRepository.findDeletedUserIds(TOMBSTONES_PER_QUERY)).isEmpty()) {
+            for (Long userId : userIds) {
+                deleted += purgeUser(userId);
+            }
+        }
+
+        return deleted;
+    }
+
+    private long purgeFlashcardSet(Long setId) {
+        long deleted = 0;
+
+        deleted += deleteInBatches(GAME_QUESTION_RESULTS_TABLE,
+                () -> purgeRepository.deleteQuestionResultsBySetId(setId, batchSize));
+        deleted += deleteInBatches(GAME_ATTEMPTS_TABLE,
+                () -> purgeRepository.deleteAttemptsBySetId(setId, batchSize));
+        deleted += deleteInBatches(USER_STARRED_FLASHCARD_TABLE,
+                () -> purgeRepository.deleteStarsBySetId(setId, batchSize));
+        deleted += deleteInBatches(FOLDER_FLASHCARD_SET_TABLE,
+                () -> purgeRepository.deleteFolderEntriesBySetId(setId, batchSize));
+        deleted += deleteInBatches(FLASHCARD_TABLE,
+                () -> purgeRepository.deleteFlashcardsBySetId(setId, batchSize));
+        int deletedSets = delete(FLASHCARD_SET_TABLE, () -> purgeRepository.deleteFlashcardSet(setId));
+
+        if (deletedSets > 0) {
+            pendingFlashcardSets.updateAndGet(pending -> Math.max(pending - 1, 0));
+        }
+
+        deleted += deletedSets;
+        log.info("Purged flashcard set {} ({} rows)", setId, deleted);
+
+        return deleted;
+    }
+
+    private long purgeUser(Long userId) {
+        long deleted = 0;
+
+        // tombstoned sets are purged before users, so this only finds a set created concurrently with the deletion
+        for (Long setId : purgeRepository.findFlashcardSetIdsByUserId(userId)) {
+            deleted += purgeFlashcardSet(setId);
+        }
+
+        deleted += deleteInBatches(GAME_QUESTION_RESULTS_TABLE,
+                () -> purgeRepository.deleteQuestionResultsByUserId(userId, batchSize));
+        deleted += deleteInBatches(GAME_ATTEMPTS_TABLE,
+                () -> purgeRepository.deleteAttemptsByUserId(userId, batchSize));
+        deleted += deleteInBatches(USER_STARRED_FLASHCARD_TABLE,
+                () -> purgeRepository.deleteStarsByUserId(userId, batchSize));
+        deleted += deleteInBatches(FOLDER_FLASHCARD_SET_TABLE,
+                () -> purgeRepository.deleteFolderEntriesByUserId(userId, batchSize));
+        deleted += deleteInBatches(FOLDER_TABLE,
+                () -> purgeRepository.deleteFoldersByUserId(userId, batchSize));
+        deleted += deleteInBatches(GAME_RESULT_SUBMISSION_TABLE,
+                () -> purgeRepository.deleteSubmissionsByUserId(userId, batchSize));
+        deleted += delete(USER_TABLE, () -> purgeRepository.deleteUser(userId));
+
+        pendingUsers.updateAndGet(pending -> Math.max(pending - 1, 0));
+        log.info("Purged user {} ({} rows)", userId, deleted);
+
+        return deleted;
+    }
+
+    /**
+     * Runs a batch delete until it removes fewer rows than the batch size, pausing after every full batch.
+     */
+    private long deleteInBatches(String table, IntSupplier batchDelete) {
+        long deleted = 0;
+        int deletedInBatch;
+
+        do {
+            deletedInBatch = delete(table, batchDelete);
+            deleted += deletedInBatch;
+
+            if (deletedInBatch == batchSize) {
+                pause();
+            }
+        } while (deletedInBatch == batchSize);
+
+        return deleted;
+    }
+
+    /**
+     * Runs one delete in its own transaction, together with the renewal of the purger lease.
+     *
+     * @throws IllegalStateException if another instance has taken the lease over; the delete is not run then.
+     */
+    private int delete(String table, IntSupplier statement) {
+        Integer deleted = batchTransactionTemplate.execute(_ -> {
+            if (purgeRepository.acquirePurgerLease(leaseHolder, leaseMillis) == 0) {
+                throw new IllegalStateException("Another instance has taken over purging tombstones");
+            }
+
+            return statement.getAsInt();
+        });
+        int deletedRowCount = deleted != null ? deleted : 0;
+
+        deletedRows.computeIfAbsent(table, _ -> Counter.builder(ROWS_METRIC)
+                        .tag("table", table)
+                        .register(meterRegistry))
+                .increment(deletedRowCount);
+
+        return deletedRowCount;
+    }
+
+    private boolean acquireLease() {
+        Integer acquired = batchTransactionTemplate.execute(
+                _ -> purgeRepository.acquirePurgerLease(leaseHolder, leaseMillis));
+
+        return acquired != null && acquired > 0;
+    }
+
+    private void pause() {
+        if (batchPauseMillis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while purging tombstones", e);
+        }
+    }
+}
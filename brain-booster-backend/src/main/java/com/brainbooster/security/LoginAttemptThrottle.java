@@ -0,0 +1,122 @@
+package com.brainbooster.security;
+
+import com.brainbooster.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles login attempts per account and per client address.
+ * <p>
+ * Each key owns a token bucket refilled continuously at the configured rate per minute.
+ * Buckets are kept in lock-striped, size-bounded LRU maps, so concurrent logins for
+ * different keys rarely contend and memory use stays constant under credential-stuffing bursts.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private static final String THROTTLED_MESSAGE = "Too many login attempts, please try again later";
+    private static final int STRIPE_COUNT = 16;
+    private static final int MAX_BUCKETS_PER_STRIPE = 4096;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final BucketStripes accountBuckets;
+    private final BucketStripes addressBuckets;
+    private final Counter accountThrottledCounter;
+    private final Counter addressThrottledCounter;
+
+    public LoginAttemptThrottle(
+            @Value("${LOGIN_ATTEMPTS_PER_ACCOUNT_PER_MINUTE:5}") int attemptsPerAccount,
+            @Value("${LOGIN_ATTEMPTS_PER_ADDRESS_PER_MINUTE:20}") int attemptsPerAddress,
+            MeterRegistry meterRegistry
+    ) {
+        this.accountBuckets = new BucketStripes(attemptsPerAccount);
+        this.addressBuckets = new BucketStripes(attemptsPerAddress);
+        this.accountThrottledCounter = Counter.builder("auth.login.throttled")
+                .tag("key", "account")
+                .register(meterRegistry);
+        this.addressThrottledCounter = Counter.builder("auth.login.throttled")
+                .tag("key", "address")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consumes one login attempt for the given account and client address.
+     *
+     * @param account       login (email) the attempt is made for.
+     * @param clientAddress remote address of the client, or {@code null} if unknown.
+     * @throws TooManyRequestsException if either bucket is exhausted.
+     */
+    public void acquire(String account, String clientAddress) {
+        if (clientAddress != null && !addressBuckets.tryConsume(clientAddress)) {
+            addressThrottledCounter.increment();
+            throw new TooManyRequestsException(THROTTLED_MESSAGE);
+        }
+
+        if (account != null && !accountBuckets.tryConsume(account.trim().toLowerCase(Locale.ROOT))) {
+            accountThrottledCounter.increment();
+            throw new TooManyRequestsException(THROTTLED_MESSAGE);
+        }
+    }
+
+    private static final class BucketStripes {
+
+        private final int capacity;
+        private final Map<String, TokenBucket>[] stripes;
+
+        @SuppressWarnings("unchecked")
+        private BucketStripes(int capacity) {
+            this.capacity = capacity;
+            this.stripes = new Map[STRIPE_COUNT];
+
+            for (int i = 0; i < STRIPE_COUNT; i++) {
+                stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                        return size() > MAX_BUCKETS_PER_STRIPE;
+                    }
+                };
+            }
+        }
+
+        private boolean tryConsume(String key) {
+            Map<String, TokenBucket> stripe = stripes[Math.floorMod(key.hashCode(), STRIPE_COUNT)];
+            long now = System.nanoTime();
+
+            synchronized (stripe) {
+                return stripe.computeIfAbsent(key, _ -> new TokenBucket(capacity, now))
+                        .tryConsume(capacity, now);
+            }
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        private boolean tryConsume(int capacity, long now) {
+            double refill = (double) (now - lastRefillNanos) * capacity / NANOS_PER_MINUTE;
+
+            tokens = Math.min(capacity, tokens + refill);
+            lastRefillNanos = now;
+
+            if (tokens < 1) {
+                return false;
+            }
+
+            tokens--;
+            return true;
+        }
+    }
+}
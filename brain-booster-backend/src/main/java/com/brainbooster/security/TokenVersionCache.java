@@ -0,0 +1,120 @@
+package com.brainbooster.security;
+
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small in-memory cache of per-user token versions used to revoke issued JWTs.
+ * <p>
+ * Every token carries the version that was current when it was issued. A token
+ * is accepted only while its version matches the one stored for the user, so
+ * bumping the version (email change, admin update, account deletion) revokes
+ * all previously issued tokens without loading the user on every request.
+ * <p>
+ * Entries expire after a short TTL, which also bounds how long another
+ * application instance may keep accepting a revoked token. At most
+ * {@code JWT_TOKEN_VERSION_CACHE_MAX_ENTRIES} versions are kept, the least
+ * recently used being evicted first.
+ */
+@Component
+public class TokenVersionCache {
+
+    private static final int MISSING_USER_VERSION = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    // bumped by every eviction, so a version loaded before a revocation committed is not cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    public TokenVersionCache(
+            UserRepository userRepository,
+            @Value("${JWT_TOKEN_VERSION_CACHE_MAX_ENTRIES:10000}") int maxEntries,
+            @Value("${JWT_TOKEN_VERSION_CACHE_TTL_SECONDS:60}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Checks whether a token issued with the given version is still valid for the user.
+     *
+     * @param userId       ID of the user the token was issued for.
+     * @param tokenVersion version embedded in the token.
+     * @return {@code true} if the user exists and the version is current.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        int currentVersion = getCurrentVersion(userId);
+
+        return currentVersion != MISSING_USER_VERSION && currentVersion == tokenVersion;
+    }
+
+    /**
+     * Bumps the token version of a managed user entity, revoking every token issued so far.
+     * The cached entry is evicted once the surrounding transaction commits.
+     *
+     * @param user managed user entity whose tokens should be revoked.
+     */
+    public void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        evictAfterCommit(user.getUserId());
+    }
+
+    /**
+     * Evicts the cached version of a user once the surrounding transaction commits,
+     * or immediately when no transaction is active.
+     *
+     * @param userId ID of the user to evict.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    private void evict(Long userId) {
+        versions.asMap().compute(userId, (_, _) -> {
+            generation.incrementAndGet();
+            return null;
+        });
+    }
+
+    private int getCurrentVersion(Long userId) {
+        Integer cached = versions.getIfPresent(userId);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedGeneration = generation.get();
+        int version = userRepository.findTokenVersionByUserId(userId)
+                .orElse(MISSING_USER_VERSION);
+
+        // skipped when a version was evicted while loading, the loaded one may predate a revocation
+        versions.asMap().compute(userId, (_, current) -> generation.get() == loadedGeneration
+                ? Integer.valueOf(version)
+                : current);
+
+        return version;
+    }
+}
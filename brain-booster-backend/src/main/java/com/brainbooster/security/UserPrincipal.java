@@ -14,15 +14,21 @@ public record UserPrincipal(
         Long userId,
         String email,
         String passwordHash,
-        Role role
+        Role role,
+        int tokenVersion
 ) implements UserDetails {
 
+    public UserPrincipal(Long userId, String email, String passwordHash, Role role) {
+        this(userId, email, passwordHash, role, 0);
+    }
+
     public static UserPrincipal from(User user) {
         return new UserPrincipal(
                 user.getUserId(),
                 user.getEmail(),
                 user.getPassword(),
-                user.getRole());
+                user.getRole(),
+                user.getTokenVersion());
     }
 
     @Override
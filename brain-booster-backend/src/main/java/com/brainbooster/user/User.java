@@ -2,6 +2,11 @@ package com.brainbooster.user;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.Instant;
 
@@ -12,15 +17,26 @@ import java.time.Instant;
 @Setter
 @Entity
 @Table(name = "\"user\"") // Using quotes around 'user' due to it being a reserved keyword in PostgreSQL.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.EMAIL_CACHE_REGION)
+@SQLRestriction("deleted_at IS NULL") // tombstoned users are hidden until TombstonePurger removes them
 public class User {
+
+    public static final String CACHE_REGION = "users";
+    public static final String EMAIL_CACHE_REGION = "user-ids-by-email";
+
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
     private Long userId;
     private String nickname;
+    @NaturalId(mutable = true)
     private String email;
     private String password;
     @Enumerated(EnumType.STRING)
     private Role role;
     @Column(name = "created_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private Instant createdAt;
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
 }
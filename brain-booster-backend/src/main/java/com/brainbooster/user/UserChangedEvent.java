@@ -0,0 +1,16 @@
+package com.brainbooster.user;
+
+/**
+ * Published when the public profile of a user changes (e.g. the nickname) or the user is deleted,
+ * so that modules caching data shown together with the user can evict it.
+ *
+ * @param userId   ID of the changed user.
+ * @param nickname nickname of the user before the change.
+ * @param deleted  whether the user was deleted, together with its flashcard sets and everything else it owns.
+ */
+public record UserChangedEvent(
+        Long userId,
+        String nickname,
+        boolean deleted
+) {
+}
@@ -5,6 +5,7 @@ import com.brainbooster.flashcardset.FlashcardSetService;
 import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
 import com.brainbooster.folder.FolderService;
 import com.brainbooster.folder.dto.FolderDTO;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.user.dto.UserCreationDTO;
 import com.brainbooster.user.dto.UserDTO;
 import com.brainbooster.user.dto.UserUpdateDTO;
@@ -64,14 +65,34 @@ public class UserController {
     }
 
     @Operation(
-            summary = "Get all users",
-            description = "Fetches all users from the database. This endpoint is intended for administrators.",
+            summary = "Get users page",
+            description = "Fetches a page of users using keyset pagination. "
+                    + "Pass the returned nextCursor to fetch the following page.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    @ApiResponse(responseCode = "200", description = "Users fetched successfully")
+    @ApiResponse(responseCode = "200", description = "Page fetched successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
     @ApiResponse(responseCode = "401", description = "User is not authenticated")
     @ApiResponse(responseCode = "403", description = "User does not have permission to access this resource")
     @GetMapping
+    public CursorPageDTO<UserDTO> getUsersPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        return userService.getUsersPage(cursor, size);
+    }
+
+    @Operation(
+            summary = "Get all users (unpaged)",
+            description = "Fetches all users from the database at once. Requires the unpaged=true flag.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Users fetched successfully")
+    @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    @ApiResponse(responseCode = "403", description = "User does not have permission to access this resource")
+    @GetMapping(params = "unpaged=true")
     public List<UserDTO> getAllUsers() {
         return userService.getAllUsers();
     }
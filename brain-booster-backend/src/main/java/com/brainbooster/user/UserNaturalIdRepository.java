@@ -0,0 +1,15 @@
+package com.brainbooster.user;
+
+import java.util.Optional;
+
+/**
+ * Lookups of users by their natural ID, the email address.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Finds a user by email. Resolved through the natural ID cache when the second-level cache
+     * is enabled, so repeated lookups of the same email skip the query.
+     */
+    Optional<User> findByEmail(String email);
+}
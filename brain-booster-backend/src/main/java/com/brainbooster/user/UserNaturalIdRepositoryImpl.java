@@ -0,0 +1,23 @@
+package com.brainbooster.user;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true) // the Session can only be unwrapped from a transactional EntityManager
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    // no EntityManager bean exists for constructor injection; the container injects a shared, transaction-bound one
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
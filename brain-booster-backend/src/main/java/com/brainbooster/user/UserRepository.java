@@ -1,14 +1,61 @@
 package com.brainbooster.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+
+    /**
+     * Tables touched by the native update below. Declaring them limits second-level cache invalidation
+     * to users and flashcard sets; without them Hibernate evicts every cached entity after a native update.
+     */
+    String USER_TABLE = "user";
+    String FLASHCARD_SET_TABLE = "flashcard_set";
 
     boolean existsByEmail(String email);
-    Optional<User> findByEmail(String email);
     boolean existsByNickname(String nickName);
+
+    @Query("SELECT u.userId FROM User u WHERE u.nickname = :nickname")
+    Optional<Long> findUserIdByNickname(@Param("nickname") String nickname);
+
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Long afterUserId, Pageable pageable);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.userId = :userId")
+    Optional<Integer> findTokenVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Tombstones a user together with all of their flashcard sets, which hides them from every query
+     * at once; the {@code TombstonePurger} deletes them later. Email and nickname are replaced by
+     * placeholders derived from the ID, so both can be registered again right away.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = USER_TABLE),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = FLASHCARD_SET_TABLE)
+    })
+    @Query(value = """
+            WITH deleted_user AS (
+                UPDATE "user"
+                SET deleted_at = now(), email = 'deleted:' || user_id, nickname = 'deleted:' || user_id
+                WHERE user_id = :userId AND deleted_at IS NULL
+                RETURNING user_id
+            )
+            UPDATE flashcard_set fs
+            SET deleted_at = now()
+            FROM deleted_user du
+            WHERE fs.user_id = du.user_id
+              AND fs.deleted_at IS NULL
+            """, nativeQuery = true)
+    void markDeleted(@Param("userId") Long userId);
 }
@@ -1,14 +1,19 @@
 package com.brainbooster.user;
 
 import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.pagination.KeysetCursor;
+import com.brainbooster.pagination.KeysetPagination;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
+import com.brainbooster.security.TokenVersionCache;
 import com.brainbooster.security.authorization.AdminPolicy;
 import com.brainbooster.security.authorization.UserDeletionPolicy;
 import com.brainbooster.user.dto.UserCreationDTO;
 import com.brainbooster.user.dto.UserDTO;
 import com.brainbooster.user.dto.UserUpdateDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -26,6 +31,8 @@ public class UserService {
     private final UserAccountCreator userAccountCreator;
     private final AdminPolicy adminPolicy;
     private final UserDeletionPolicy userDeletionPolicy;
+    private final TokenVersionCache tokenVersionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     public UserDTO addUser(UserCreationDTO userCreationDTO) {
@@ -52,6 +59,21 @@ public class UserService {
                 .toList();
     }
 
+    public CursorPageDTO<UserDTO> getUsersPage(String cursor, Integer size) {
+        int pageSize = KeysetPagination.resolvePageSize(size);
+        long afterUserId = KeysetPagination.afterId(KeysetCursor.decode(cursor));
+
+        List<User> users = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(
+                afterUserId,
+                KeysetPagination.fetchLimit(pageSize));
+
+        return KeysetPagination.toPage(
+                users,
+                pageSize,
+                userDTOMapper,
+                user -> KeysetCursor.ofId(user.getUserId()));
+    }
+
     public UserDTO getUserById(Long userId) {
         return userRepository.findById(userId).
                 map(userDTOMapper)
@@ -68,7 +90,10 @@ public class UserService {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User with id: " + userId + " not found"));
 
+        eventPublisher.publishEvent(new UserChangedEvent(userId, existingUser.getNickname(), false));
+
         updateUserFields(existingUser, updatedUser);
+        tokenVersionCache.revokeTokens(existingUser);
 
         userRepository.save(existingUser);
         return userDTOMapper.apply(existingUser);
@@ -82,11 +107,12 @@ public class UserService {
 
         userDeletionPolicy.verify(authenticatedUser, userId);
 
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User with id: " + userId + " not found");
-        }
+        User existingUser = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User with id: " + userId + " not found"));
 
-        userRepository.deleteById(userId);
+        userRepository.markDeleted(userId);
+        tokenVersionCache.evictAfterCommit(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, existingUser.getNickname(), true));
     }
 
     private void updateUserFields(User existingUser, UserUpdateDTO updatedUser) {
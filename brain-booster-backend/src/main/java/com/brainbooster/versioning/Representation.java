@@ -0,0 +1,98 @@
+package com.brainbooster.versioning;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Serialized JSON representation of a resource, optionally with a gzip-compressed variant.
+ * <p>
+ * Responses are written from the stored arrays as they are. The variant is chosen from the
+ * {@code Accept-Encoding} request header, and every response carries {@code Vary: Accept-Encoding}
+ * so shared caches keep the variants apart. Each variant is sent with its own entity tag.
+ * <p>
+ * gzip is the only coding prepared here: the JDK ships no brotli encoder, so a client asking for
+ * {@code br} alone gets the uncompressed JSON. Brotli is left to a proxy in front of the application.
+ *
+ * @param version validators of the state the JSON was written from.
+ * @param json    uncompressed JSON.
+ * @param gzip    gzip-compressed JSON, or {@code null} when the representation is too small to compress.
+ */
+public record Representation(ResourceVersion version, byte[] json, byte[] gzip) {
+
+    private static final String GZIP = "gzip";
+
+    long byteSize() {
+        return json.length + (gzip != null ? gzip.length : 0L);
+    }
+
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+        boolean compressed = gzip != null && acceptsGzip(acceptEncoding);
+
+        return responseBuilder(compressed).body(compressed ? gzip : json);
+    }
+
+    /**
+     * Returns the entity tag of the variant a client with the given {@code Accept-Encoding} is most
+     * likely to receive, for evaluating conditional requests before the representation is loaded.
+     */
+    public static String etagFor(ResourceVersion version, String acceptEncoding) {
+        return acceptsGzip(acceptEncoding) ? version.gzipEtag() : version.etag();
+    }
+
+    public ResponseEntity<StreamingResponseBody> toStreamingResponse(String acceptEncoding) {
+        boolean compressed = gzip != null && acceptsGzip(acceptEncoding);
+        byte[] body = compressed ? gzip : json;
+
+        return responseBuilder(compressed)
+                .contentLength(body.length)
+                .body(outputStream -> outputStream.write(body));
+    }
+
+    private ResponseEntity.BodyBuilder responseBuilder(boolean compressed) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(compressed ? version.gzipEtag() : version.etag())
+                .lastModified(version.lastModified())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        return compressed ? builder.header(HttpHeaders.CONTENT_ENCODING, GZIP) : builder;
+    }
+
+    /**
+     * Checks whether gzip, or any coding, is listed without {@code q=0}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+
+            if ((GZIP.equalsIgnoreCase(name) || "*".equals(name)) && !hasZeroQuality(parameters)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean hasZeroQuality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,207 @@
+package com.brainbooster.versioning;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of serialized JSON representations of public resources, with a gzip variant of each.
+ * <p>
+ * Entries are keyed by the entity tag of the representation. The tag is a hash of everything the
+ * representation depends on, so a request whose current tag is cached can be answered with the stored
+ * bytes without loading or serializing anything. Outdated entries are never hit again and leave in
+ * least-recently-used order once the stored bytes exceed {@code RESPONSE_CACHE_MAX_BYTES}.
+ * <p>
+ * Hits, misses, evictions and the bytes held are published as {@code response.cache.*} meters.
+ * With {@code RESPONSE_CACHE_ENABLED=false} every call serializes and nothing is compressed.
+ */
+@Component
+public class RepresentationCache {
+
+    static final String GETS_METRIC = "response.cache.gets";
+    static final String EVICTIONS_METRIC = "response.cache.evictions";
+    static final String BYTES_METRIC = "response.cache.bytes";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int minGzipBytes;
+
+    private final Map<String, Representation> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public RepresentationCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${RESPONSE_CACHE_ENABLED:true}") boolean enabled,
+            @Value("${RESPONSE_CACHE_MAX_BYTES:67108864}") long maxBytes,
+            @Value("${RESPONSE_CACHE_MIN_GZIP_BYTES:1024}") int minGzipBytes
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.minGzipBytes = minGzipBytes;
+
+        this.hits = Counter.builder(GETS_METRIC)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(GETS_METRIC)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder(EVICTIONS_METRIC)
+                .register(meterRegistry);
+
+        Gauge.builder(BYTES_METRIC, this, RepresentationCache::usedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the representation with the given version, serializing the loaded value on a miss.
+     * <p>
+     * The loaded value is stored under the version it was read at rather than the requested one,
+     * so a value read before or after a concurrent change never ends up under the tag of another state.
+     *
+     * @param loader loads the value serialized as the representation together with its version;
+     *               exceptions are propagated.
+     */
+    public Representation get(ResourceVersion version, Supplier<? extends Versioned<?>> loader) {
+        Representation cached = find(version);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        Versioned<?> loaded = loader.get();
+
+        return writeAndStore(loaded.version(), outputStream -> objectMapper.writeValue(outputStream, loaded.value()));
+    }
+
+    /**
+     * Returns the representation with the given version, writing it on a miss.
+     *
+     * @param writer writes the JSON of the representation in the state of {@code version};
+     *               exceptions are propagated.
+     */
+    public Representation getOrWrite(ResourceVersion version, JsonWriter writer) {
+        Representation cached = find(version);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        return writeAndStore(version, writer);
+    }
+
+    /**
+     * Looks up a stored representation without loading it.
+     *
+     * @return the representation, or {@code null} on a miss.
+     */
+    public Representation find(ResourceVersion version) {
+        if (!enabled) {
+            return null;
+        }
+
+        Representation cached;
+
+        synchronized (this) {
+            cached = entries.get(version.etag());
+        }
+
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+
+        return cached;
+    }
+
+    private Representation writeAndStore(ResourceVersion version, JsonWriter writer) {
+        byte[] json = write(writer);
+
+        if (!enabled) {
+            return new Representation(version, json, null);
+        }
+
+        Representation loaded = new Representation(version, json, json.length >= minGzipBytes ? gzip(json) : null);
+        store(version.etag(), loaded);
+
+        return loaded;
+    }
+
+    private synchronized void store(String etag, Representation representation) {
+        if (representation.byteSize() > maxBytes) {
+            return;
+        }
+
+        Representation previous = entries.put(etag, representation);
+        usedBytes += representation.byteSize() - (previous != null ? previous.byteSize() : 0);
+
+        Iterator<Representation> leastRecentlyUsed = entries.values().iterator();
+
+        while (usedBytes > maxBytes) {
+            usedBytes -= leastRecentlyUsed.next().byteSize();
+            leastRecentlyUsed.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private static byte[] write(JsonWriter writer) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+
+        try {
+            writer.writeTo(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return json.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+
+        // compressed once per cached version, so the slowest level pays off
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return compressed.toByteArray();
+    }
+
+    @FunctionalInterface
+    public interface JsonWriter {
+
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
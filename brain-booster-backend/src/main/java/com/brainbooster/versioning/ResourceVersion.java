@@ -0,0 +1,103 @@
+package com.brainbooster.versioning;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Validators of a resource representation: a strong entity tag and the last modification time.
+ * <p>
+ * The entity tag is a hash of everything the representation depends on (usually the entity ID,
+ * its version column and the versions of embedded resources), so it changes whenever the
+ * representation does and can be computed from a version-only query. A gzip-compressed body
+ * has different bytes, so it is sent with its own tag, see {@link #gzipEtag()}. A representation
+ * personalised for the current user is tagged as a variant of the shared version, see {@link #variant(long)}.
+ *
+ * @param etag         quoted strong entity tag, e.g. {@code "3f2a..."}.
+ * @param lastModified time of the last change.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    private static final int ETAG_BYTES = 16;
+    private static final String ANY = "*";
+    private static final String GZIP_SUFFIX = "-gzip";
+    private static final String VARIANT_SEPARATOR = ".";
+
+    /**
+     * Creates validators for a representation built from the given components.
+     *
+     * @param lastModified time of the last change.
+     * @param components   values the representation depends on, in a fixed order.
+     * @return validators of the representation.
+     */
+    public static ResourceVersion of(Instant lastModified, Object... components) {
+        MessageDigest digest = sha256();
+
+        for (Object component : components) {
+            digest.update(String.valueOf(component).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        byte[] hash = digest.digest();
+
+        return new ResourceVersion(
+                "\"" + HexFormat.of().formatHex(hash, 0, ETAG_BYTES) + "\"",
+                lastModified);
+    }
+
+    /**
+     * Returns validators of a variant of this representation, e.g. one with the starred flags of the
+     * current user. The tag of the variant extends the tag of this version, so it changes with either.
+     *
+     * @param fingerprint hash of what the variant adds to the representation.
+     */
+    public ResourceVersion variant(long fingerprint) {
+        return new ResourceVersion(
+                unquotedEtag() + VARIANT_SEPARATOR + HexFormat.of().toHexDigits(fingerprint) + "\"",
+                lastModified);
+    }
+
+    /**
+     * Returns the strong entity tag of the gzip-compressed body of this version.
+     */
+    public String gzipEtag() {
+        return unquotedEtag() + GZIP_SUFFIX + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against this version using strong comparison.
+     * The tags of the plain and the gzip-compressed body and of every {@link #variant(long)}
+     * identify this version, so a precondition depends on the shared representation only.
+     *
+     * @param ifMatch header value: {@code *} or a comma-separated list of entity tags.
+     * @return whether the header matches the current representation.
+     */
+    public boolean matches(String ifMatch) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+
+            if (ANY.equals(tag)
+                    || etag.equals(tag)
+                    || gzipEtag().equals(tag)
+                    || tag.startsWith(unquotedEtag() + VARIANT_SEPARATOR)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String unquotedEtag() {
+        return etag.substring(0, etag.length() - 1);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
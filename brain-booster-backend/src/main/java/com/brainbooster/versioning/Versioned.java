@@ -0,0 +1,10 @@
+package com.brainbooster.versioning;
+
+/**
+ * A value together with the validators of the state it was read from.
+ *
+ * @param value   loaded value.
+ * @param version validators computed from the same read as {@code value}.
+ */
+public record Versioned<T>(T value, ResourceVersion version) {
+}
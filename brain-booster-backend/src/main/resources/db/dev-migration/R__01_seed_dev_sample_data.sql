@@ -1347,6 +1347,9 @@ VALUES
     (1000, 100, 'completed task', 'A task that has been finished and no longer needs active work.');
 
 
+UPDATE flashcard_set fs
+SET term_count = (SELECT COUNT(*) FROM flashcard f WHERE f.set_id = fs.set_id);
+
 DO $$
 BEGIN
     PERFORM setval(pg_get_serial_sequence('"user"', 'user_id'), 10, true);
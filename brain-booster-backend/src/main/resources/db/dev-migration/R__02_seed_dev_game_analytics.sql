@@ -9,7 +9,7 @@ WHERE attempt_id IN (
 DELETE FROM game_attempts
 WHERE user_id = 2;
 
-DELETE FROM game_results
+DELETE FROM game_result_ids
 WHERE user_id = 2;
 
 DO $$
@@ -179,24 +179,21 @@ END LOOP;
 END LOOP;
 END $$;
 
--- 3. populate aggregated game results summary table
-INSERT INTO game_results (
-    user_id,
-    set_id,
-    mode,
-    score,
-    total_questions,
-    duration_seconds,
-    completed_at
-)
-SELECT
-    user_id,
-    set_id,
-    mode,
-    MAX(score),
-    10,
-    AVG(duration_seconds)::INT,
-    MAX(completed_at)
+-- every set and mode played gets one latest result, which keeps the id of its first attempt
+INSERT INTO game_result_ids (result_id, user_id, set_id, mode)
+SELECT MIN(attempt_id), user_id, set_id, mode
 FROM game_attempts
-WHERE user_id = 2 AND set_id IN (11, 12, 13)
-GROUP BY user_id, set_id, mode;
\ No newline at end of file
+WHERE user_id = 2
+GROUP BY user_id, set_id, mode;
+
+UPDATE game_attempts ga
+SET superseded = TRUE
+WHERE ga.user_id = 2
+  AND EXISTS (
+    SELECT 1
+    FROM game_attempts newer
+    WHERE newer.user_id = ga.user_id
+      AND newer.set_id = ga.set_id
+      AND newer.mode = ga.mode
+      AND (newer.completed_at, newer.attempt_id) > (ga.completed_at, ga.attempt_id)
+);
@@ -0,0 +1,15 @@
+/*
+ * Indexes backing keyset pagination of game results (admin listing),
+ * ordered by (completed_at DESC, result_id DESC), optionally filtered by set.
+ *
+ * Flashcard sets, flashcards, folders and users are paged by their primary key.
+ */
+
+CREATE INDEX idx_game_results_completed_at_result_id
+    ON game_results (completed_at DESC, result_id DESC);
+
+-- supersedes idx_game_results_set_id_completed_at (same leading columns)
+CREATE INDEX idx_game_results_set_completed_at_result_id
+    ON game_results (set_id, completed_at DESC, result_id DESC);
+
+DROP INDEX idx_game_results_set_id_completed_at;
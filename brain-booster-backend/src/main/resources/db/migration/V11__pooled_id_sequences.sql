@@ -0,0 +1,25 @@
+/*
+ * Switches flashcard, game_attempts and game_question_results to
+ * sequence-based ID generation with a pooled (pooled-lo) optimizer.
+ *
+ * Hibernate cannot batch inserts into IDENTITY columns, because it needs
+ * the generated key of every row right after its INSERT. With sequences
+ * incremented by 50, one nextval call reserves IDs for 50 rows, so inserts
+ * can be sent to the database in JDBC batches.
+ *
+ * The existing identity / serial sequences are reused, so the column defaults,
+ * RESTART IDENTITY and pg_get_serial_sequence keep working. A value returned by
+ * nextval is the first ID of the reserved block, so rows inserted directly in SQL
+ * never collide with IDs reserved by the application.
+ *
+ * The increment must match allocationSize of the entity mappings.
+ */
+
+ALTER TABLE flashcard
+    ALTER COLUMN flashcard_id SET INCREMENT BY 50;
+
+ALTER SEQUENCE game_attempts_attempt_id_seq
+    INCREMENT BY 50;
+
+ALTER SEQUENCE game_question_results_question_result_id_seq
+    INCREMENT BY 50;
@@ -0,0 +1,11 @@
+/*
+ * Index backing streamed set exports, which read the flashcards of a set
+ * ordered by flashcard_id. The rows come straight from the index in order,
+ * so the first rows reach the client without sorting the whole set first.
+ */
+
+-- supersedes idx_flashcards_set_id (same leading column)
+CREATE INDEX idx_flashcards_set_id_flashcard_id
+    ON flashcard (set_id, flashcard_id);
+
+DROP INDEX idx_flashcards_set_id;
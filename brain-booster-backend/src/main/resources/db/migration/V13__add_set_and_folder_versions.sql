@@ -0,0 +1,28 @@
+/*
+ * Version and modification time of flashcard sets and folders, used to build
+ * ETag / Last-Modified validators and for If-Match optimistic concurrency.
+ *
+ * flashcard_set.version is also incremented when a flashcard of the set changes.
+ */
+
+ALTER TABLE flashcard_set
+    ADD COLUMN version    BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMPTZ;
+
+UPDATE flashcard_set
+SET updated_at = COALESCE(created_at, now());
+
+ALTER TABLE flashcard_set
+    ALTER COLUMN updated_at SET DEFAULT now(),
+    ALTER COLUMN updated_at SET NOT NULL;
+
+ALTER TABLE folder
+    ADD COLUMN version    BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMPTZ;
+
+UPDATE folder
+SET updated_at = COALESCE(created_at, now());
+
+ALTER TABLE folder
+    ALTER COLUMN updated_at SET DEFAULT now(),
+    ALTER COLUMN updated_at SET NOT NULL;
@@ -0,0 +1,13 @@
+/*
+ * Covering index for keyset pagination of a user's starred flashcards,
+ * ordered by (created_at DESC, flashcard_id DESC).
+ *
+ * Holds every column the paged query reads from user_starred_flashcard,
+ * so it is answered by an index-only scan.
+ */
+
+-- supersedes idx_user_starred_flashcard_user_id (same leading column)
+CREATE INDEX idx_user_starred_flashcard_user_created_at_flashcard_id
+    ON user_starred_flashcard (user_id, created_at DESC, flashcard_id DESC);
+
+DROP INDEX idx_user_starred_flashcard_user_id;
@@ -0,0 +1,23 @@
+/*
+ * Tombstones of deleted flashcard sets and users.
+ *
+ * Deleting a set or a user only sets deleted_at, which hides the row from the application at once.
+ * A background job then deletes the rows referencing it in small batches and removes the tombstone
+ * last, so no single transaction cascades through the whole history of a set or a user.
+ *
+ * The partial indexes let the job find pending tombstones without scanning live rows.
+ */
+
+ALTER TABLE flashcard_set
+    ADD COLUMN deleted_at TIMESTAMPTZ;
+
+ALTER TABLE "user"
+    ADD COLUMN deleted_at TIMESTAMPTZ;
+
+CREATE INDEX idx_flashcard_set_deleted_at
+    ON flashcard_set (deleted_at)
+    WHERE deleted_at IS NOT NULL;
+
+CREATE INDEX idx_user_deleted_at
+    ON "user" (deleted_at)
+    WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,31 @@
+/*
+ * Queue of game results submitted for asynchronous saving.
+ *
+ * A submission is validated and inserted here, and the request returns at once. A background writer
+ * applies pending submissions in batches, in submission order, and deletes each one in the same
+ * transaction that saves its result and attempt, so every submission is applied exactly once.
+ * Submissions that cannot be applied stay behind as FAILED, with the reason in error.
+ */
+CREATE TABLE game_result_submission
+(
+    submission_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT      NOT NULL,
+    set_id        BIGINT      NOT NULL,
+    payload       TEXT        NOT NULL,
+    status        VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    error         TEXT,
+    submitted_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT fk_game_result_submission_user
+        FOREIGN KEY (user_id)
+            REFERENCES "user" (user_id)
+            ON DELETE CASCADE,
+    CONSTRAINT chk_game_result_submission_status
+        CHECK (status IN ('PENDING', 'FAILED'))
+);
+
+CREATE INDEX idx_game_result_submission_pending
+    ON game_result_submission (submission_id)
+    WHERE status = 'PENDING';
+
+CREATE INDEX idx_game_result_submission_user_id
+    ON game_result_submission (user_id, submission_id);
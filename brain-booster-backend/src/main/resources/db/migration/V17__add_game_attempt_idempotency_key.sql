@@ -0,0 +1,20 @@
+/*
+ * Idempotency keys of submitted game results.
+ *
+ * A client sends the same Idempotency-Key header with every retry of a submission. The attempt saved
+ * by the first request keeps the key, and the unique index lets only one attempt per user and key
+ * exist, so retries are answered with the saved result instead of recording the game again.
+ * Submissions without a key are not affected.
+ *
+ * Queued submissions carry the key until the writer applies them.
+ */
+
+ALTER TABLE game_attempts
+    ADD COLUMN idempotency_key VARCHAR(100);
+
+CREATE UNIQUE INDEX uq_game_attempts_user_idempotency_key
+    ON game_attempts (user_id, idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
+
+ALTER TABLE game_result_submission
+    ADD COLUMN idempotency_key VARCHAR(100);
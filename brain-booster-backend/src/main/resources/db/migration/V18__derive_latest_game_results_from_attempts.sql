@@ -0,0 +1,74 @@
+/*
+ * Derives the latest game result per user, set and mode from game_attempts.
+ *
+ * game_results held a copy of the newest attempt of every user, set and mode, so every saved game
+ * was written twice and the upsert of the copy locked its row against concurrent games. The table
+ * is replaced by the latest_game_results view, which picks the newest attempt of each group with
+ * DISTINCT ON over idx_game_attempts_user_set_mode_completed_at. The result id of a row in the view
+ * is the id of that attempt.
+ *
+ * Deleting a game result keeps the attempts for analytics and marks them with latest_result_deleted,
+ * which hides them from the view until the next game of the same set and mode is played.
+ *
+ * Existing data is carried over:
+ *   - attempts of a group without a game result, or completed after it, are marked as deleted,
+ *   - a game result without an attempt completed at the same time (results saved before game_attempts
+ *     existed) is copied into game_attempts.
+ */
+
+ALTER TABLE game_attempts
+    ADD COLUMN latest_result_deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE game_attempts ga
+SET latest_result_deleted = TRUE
+WHERE NOT EXISTS (
+    SELECT 1
+    FROM game_results gr
+    WHERE gr.user_id = ga.user_id
+      AND gr.set_id = ga.set_id
+      AND gr.mode = ga.mode
+      AND gr.completed_at >= ga.completed_at
+);
+
+INSERT INTO game_attempts (
+    user_id,
+    set_id,
+    mode,
+    score,
+    total_questions,
+    duration_seconds,
+    completed_at
+)
+SELECT gr.user_id,
+       gr.set_id,
+       gr.mode,
+       gr.score,
+       gr.total_questions,
+       gr.duration_seconds,
+       gr.completed_at
+FROM game_results gr
+WHERE NOT EXISTS (
+    SELECT 1
+    FROM game_attempts ga
+    WHERE ga.user_id = gr.user_id
+      AND ga.set_id = gr.set_id
+      AND ga.mode = gr.mode
+      AND ga.completed_at = gr.completed_at
+      AND NOT ga.latest_result_deleted
+);
+
+DROP TABLE game_results;
+
+CREATE VIEW latest_game_results AS
+SELECT DISTINCT ON (user_id, set_id, mode)
+       attempt_id AS result_id,
+       user_id,
+       set_id,
+       mode,
+       score,
+       total_questions,
+       duration_seconds,
+       completed_at
+FROM game_attempts
+WHERE NOT latest_result_deleted
+ORDER BY user_id, set_id, mode, completed_at DESC, attempt_id DESC;
@@ -0,0 +1,14 @@
+/*
+ * Indexes for the per-user backlog limit and the cleanup of failed submissions.
+ *
+ * A submission is rejected once its user has too many pending submissions, which is counted on every
+ * submit. FAILED submissions are deleted once their retention period has passed.
+ */
+
+CREATE INDEX idx_game_result_submission_pending_user_id
+    ON game_result_submission (user_id)
+    WHERE status = 'PENDING';
+
+CREATE INDEX idx_game_result_submission_failed_submitted_at
+    ON game_result_submission (submitted_at)
+    WHERE status = 'FAILED';
@@ -0,0 +1,23 @@
+/*
+ * One queued submission per user and idempotency key.
+ *
+ * A retried submission is answered with the queued one instead of being queued again; the unique index
+ * keeps two concurrent retries from both being queued. Duplicates queued before are removed first,
+ * keeping the oldest pending one, or the oldest failed one when none is pending. Applying the others
+ * would not have saved anything, as the key is taken by the game of the one kept.
+ */
+
+DELETE FROM game_result_submission s
+WHERE s.idempotency_key IS NOT NULL
+  AND s.submission_id <> (
+    SELECT kept.submission_id
+    FROM game_result_submission kept
+    WHERE kept.user_id = s.user_id
+      AND kept.idempotency_key = s.idempotency_key
+    ORDER BY kept.status = 'PENDING' DESC, kept.submission_id
+    LIMIT 1
+);
+
+CREATE UNIQUE INDEX uq_game_result_submission_user_idempotency_key
+    ON game_result_submission (user_id, idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
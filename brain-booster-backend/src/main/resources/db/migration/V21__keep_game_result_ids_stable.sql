@@ -0,0 +1,133 @@
+/*
+ * Gives the latest game result of every user, set and mode one id that does not change with every game.
+ *
+ * Since V18 the result id was the id of the newest attempt, so every game played gave the same result
+ * a new id. game_result_ids holds the id of each result instead; it is written once by the first game
+ * of a user, set and mode, which takes the id of its attempt, and removed when the result is deleted,
+ * so the next game starts a new result with a new id, as game_results did. The latest_game_results
+ * view takes the id from there and the rest of the row from the newest attempt.
+ *
+ * A result keeps the id it had before game results were derived from attempts, if the database still
+ * had game_results when this migration ran (see beforeEachMigrate__keep_game_result_ids.sql), and the
+ * id it had since V18 otherwise. The attempt sequence is moved past the kept ids, so a new attempt
+ * never takes an id already handed out as a result id.
+ *
+ * Also marks the attempts replaced by a newer attempt of the same user, set and mode as superseded,
+ * for the admin listing of latest game results. The listing reads game_attempts directly in order of
+ * completion, through an index that leaves out deleted and superseded attempts, so a page does not walk
+ * the history of earlier games. An attempt is marked by the write that saves the newer game; a game
+ * saved concurrently may leave an older attempt unmarked until the next game of the same set and mode,
+ * so the listing still checks for a newer attempt itself.
+ */
+
+CREATE TABLE game_result_ids
+(
+    result_id BIGINT PRIMARY KEY,
+    user_id   BIGINT      NOT NULL,
+    set_id    BIGINT      NOT NULL,
+    mode      VARCHAR(50) NOT NULL,
+
+    CONSTRAINT fk_game_result_ids_user
+        FOREIGN KEY (user_id)
+            REFERENCES "user" (user_id)
+            ON DELETE CASCADE,
+
+    CONSTRAINT fk_game_result_ids_flashcard_set
+        FOREIGN KEY (set_id)
+            REFERENCES flashcard_set (set_id)
+            ON DELETE CASCADE,
+
+    CONSTRAINT uq_game_result_ids_user_set_mode
+        UNIQUE (user_id, set_id, mode)
+);
+
+CREATE INDEX idx_game_result_ids_set_id
+    ON game_result_ids (set_id);
+
+-- created by the callback only on databases that still had game_results
+CREATE TABLE IF NOT EXISTS game_result_ids_before_attempts
+(
+    result_id BIGINT,
+    user_id   BIGINT,
+    set_id    BIGINT,
+    mode      VARCHAR(50)
+);
+
+INSERT INTO game_result_ids (result_id, user_id, set_id, mode)
+SELECT COALESCE(kept.result_id, latest.attempt_id),
+       latest.user_id,
+       latest.set_id,
+       latest.mode
+FROM (
+    SELECT DISTINCT ON (user_id, set_id, mode)
+           attempt_id,
+           user_id,
+           set_id,
+           mode
+    FROM game_attempts
+    WHERE NOT latest_result_deleted
+    ORDER BY user_id, set_id, mode, completed_at DESC, attempt_id DESC
+) latest
+LEFT JOIN game_result_ids_before_attempts kept
+       ON kept.user_id = latest.user_id
+      AND kept.set_id = latest.set_id
+      AND kept.mode = latest.mode;
+
+-- never moves the sequence back, as it may be ahead of the highest attempt id
+SELECT setval('game_attempts_attempt_id_seq',
+              GREATEST(seq.last_value, (SELECT MAX(result_id) FROM game_result_ids_before_attempts)))
+FROM game_attempts_attempt_id_seq seq
+WHERE EXISTS (SELECT 1 FROM game_result_ids_before_attempts);
+
+DROP TABLE game_result_ids_before_attempts;
+
+CREATE OR REPLACE VIEW latest_game_results AS
+SELECT ids.result_id,
+       ids.user_id,
+       ids.set_id,
+       ids.mode,
+       latest.score,
+       latest.total_questions,
+       latest.duration_seconds,
+       latest.completed_at
+FROM game_result_ids ids
+CROSS JOIN LATERAL (
+    SELECT ga.score,
+           ga.total_questions,
+           ga.duration_seconds,
+           ga.completed_at
+    FROM game_attempts ga
+    WHERE ga.user_id = ids.user_id
+      AND ga.set_id = ids.set_id
+      AND ga.mode = ids.mode
+      AND NOT ga.latest_result_deleted
+    ORDER BY ga.completed_at DESC, ga.attempt_id DESC
+    LIMIT 1
+) latest;
+
+ALTER TABLE game_attempts
+    ADD COLUMN superseded BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE game_attempts ga
+SET superseded = TRUE
+WHERE NOT ga.latest_result_deleted
+  AND EXISTS (
+    SELECT 1
+    FROM game_attempts newer
+    WHERE newer.user_id = ga.user_id
+      AND newer.set_id = ga.set_id
+      AND newer.mode = ga.mode
+      AND NOT newer.latest_result_deleted
+      AND (newer.completed_at, newer.attempt_id) > (ga.completed_at, ga.attempt_id)
+);
+
+CREATE INDEX idx_game_attempts_latest_completed_at
+    ON game_attempts (completed_at DESC)
+    WHERE NOT latest_result_deleted
+      AND NOT superseded;
+
+-- lets a write find the attempts it may supersede without reading the whole history of the set and mode
+CREATE INDEX idx_game_attempts_user_set_mode_not_superseded
+    ON game_attempts (user_id, set_id, mode)
+    WHERE NOT latest_result_deleted
+      AND NOT superseded;
@@ -0,0 +1,28 @@
+/*
+ * Fills flashcard_id from an ordinary sequence instead of an identity column.
+ *
+ * V11 kept flashcard_id an identity column and only raised the increment of its sequence. PostgreSQL
+ * does not list the sequence of an identity column in information_schema.sequences, where Hibernate
+ * looks for the sequence of Flashcard when it validates the schema, so validation failed with a
+ * missing flashcard_flashcard_id_seq. The column now gets its ids from a sequence of the same name,
+ * owned by the column like the serial columns of game_attempts and game_question_results, which
+ * continues where the identity sequence stopped.
+ */
+
+CREATE SEQUENCE flashcard_flashcard_id_seq_new
+    INCREMENT BY 50;
+
+SELECT setval('flashcard_flashcard_id_seq_new', last_value, is_called)
+FROM flashcard_flashcard_id_seq;
+
+ALTER TABLE flashcard
+    ALTER COLUMN flashcard_id DROP IDENTITY;
+
+ALTER SEQUENCE flashcard_flashcard_id_seq_new
+    RENAME TO flashcard_flashcard_id_seq;
+
+ALTER SEQUENCE flashcard_flashcard_id_seq
+    OWNED BY flashcard.flashcard_id;
+
+ALTER TABLE flashcard
+    ALTER COLUMN flashcard_id SET DEFAULT nextval('flashcard_flashcard_id_seq');
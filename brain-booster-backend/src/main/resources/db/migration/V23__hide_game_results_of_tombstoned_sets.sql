@@ -0,0 +1,34 @@
+/*
+ * Leaves the latest game results of tombstoned flashcard sets out of latest_game_results.
+ *
+ * Tombstoning a set hides the set itself at once, but its attempts stay until TombstonePurger reaches
+ * them, and the view kept listing their results in the meantime. Deleting a user tombstones their sets
+ * as well, so their results are hidden the same way.
+ */
+
+CREATE OR REPLACE VIEW latest_game_results AS
+SELECT ids.result_id,
+       ids.user_id,
+       ids.set_id,
+       ids.mode,
+       latest.score,
+       latest.total_questions,
+       latest.duration_seconds,
+       latest.completed_at
+FROM game_result_ids ids
+JOIN flashcard_set fs
+  ON fs.set_id = ids.set_id
+ AND fs.deleted_at IS NULL
+CROSS JOIN LATERAL (
+    SELECT ga.score,
+           ga.total_questions,
+           ga.duration_seconds,
+           ga.completed_at
+    FROM game_attempts ga
+    WHERE ga.user_id = ids.user_id
+      AND ga.set_id = ids.set_id
+      AND ga.mode = ids.mode
+      AND NOT ga.latest_result_deleted
+    ORDER BY ga.completed_at DESC, ga.attempt_id DESC
+    LIMIT 1
+) latest;
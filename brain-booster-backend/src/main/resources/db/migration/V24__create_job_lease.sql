@@ -0,0 +1,14 @@
+/*
+ * Leases of background jobs that must not run on several instances at once.
+ *
+ * An instance runs a job only while it holds the job's lease: it takes a free or expired lease, renews
+ * it between batches and gives it up when the run ends. Holding a lease takes no connection and no
+ * transaction, so a long run releases its connection between batches; a lease left behind by a crashed
+ * instance expires on its own.
+ */
+CREATE TABLE job_lease
+(
+    job_name   VARCHAR(100) PRIMARY KEY,
+    holder     VARCHAR(100) NOT NULL,
+    expires_at TIMESTAMPTZ  NOT NULL
+);
@@ -0,0 +1,9 @@
+/*
+ * Counts the failed attempts to apply a game result submission.
+ *
+ * A submission that fails with a transient error, e.g. a lock or statement timeout, stays pending and is
+ * retried by the next run of the writer; once it has failed GAME_RESULT_SUBMISSION_MAX_ATTEMPTS times it is
+ * marked as FAILED like a submission that cannot be applied at all, so it no longer holds up the queue.
+ */
+ALTER TABLE game_result_submission
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+/*
+ * Lets the admin listing of latest game results filtered by set read game_attempts one page at a time.
+ *
+ * The listing of all sets walks idx_game_attempts_latest_completed_at (see V21). Filtered by set it read
+ * the latest_game_results view, which picks the newest attempt of every user and mode of the set before it
+ * can order them; with this index it reads the attempts of the set that are neither deleted nor superseded
+ * straight in order of completion.
+ */
+CREATE INDEX idx_game_attempts_latest_set_id_completed_at
+    ON game_attempts (set_id, completed_at DESC)
+    WHERE NOT latest_result_deleted
+      AND NOT superseded;
@@ -0,0 +1,10 @@
+/*
+ * Adds a per-user token version (epoch) used to revoke issued JWTs.
+ *
+ * Every token carries the version that was current when it was issued.
+ * Bumping the column invalidates all tokens issued before the change
+ * without having to load the user on every authenticated request.
+ */
+
+ALTER TABLE "user"
+    ADD COLUMN token_version INT NOT NULL DEFAULT 0;
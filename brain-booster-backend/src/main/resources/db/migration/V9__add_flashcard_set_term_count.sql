@@ -0,0 +1,17 @@
+/*
+ * Replaces the correlated COUNT(*) subquery used for FlashcardSet.termCount
+ * with a real, denormalized column.
+ *
+ * The application keeps the column exact on every insert/delete path,
+ * and a scheduled reconciliation job repairs any drift.
+ */
+
+ALTER TABLE flashcard_set
+    ADD COLUMN term_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE flashcard_set fs
+SET term_count = counts.term_count
+FROM (SELECT set_id, COUNT(*) AS term_count
+      FROM flashcard
+      GROUP BY set_id) counts
+WHERE counts.set_id = fs.set_id;
@@ -0,0 +1,22 @@
+/*
+ * Keeps the ids of the rows in game_results before a migration is applied.
+ *
+ * V18 replaced game_results with the latest_game_results view and dropped the table, so the result ids
+ * handed out before would be lost on a database migrated past it. As long as the table exists, its ids
+ * are copied to game_result_ids_before_attempts ahead of every migration, which leaves the ids as they
+ * were right before V18. V21 makes them the ids of the latest results again and drops the copy.
+ *
+ * Does nothing once game_results is gone.
+ */
+
+DO $$
+BEGIN
+    IF to_regclass('game_results') IS NOT NULL THEN
+        DROP TABLE IF EXISTS game_result_ids_before_attempts;
+
+        CREATE TABLE game_result_ids_before_attempts AS
+        SELECT result_id, user_id, set_id, mode
+        FROM game_results;
+    END IF;
+END
+$$;
@@ -0,0 +1,173 @@
+package com.brainbooster.concurrency;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private static final String GROUP = "folder";
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 5000);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldRunOneLoad_ForConcurrentCallersOfSameKey() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        List<Future<String>> results = submitCallers(() -> {
+            loads.incrementAndGet();
+            await(release);
+            return "folder-1";
+        });
+
+        awaitCalls("coalesced", CALLERS - 1);
+        release.countDown();
+
+        // then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("folder-1");
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(calls("leading")).isEqualTo(1);
+        assertThat(calls("coalesced")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void execute_ShouldPropagateLeaderException_ToCoalescedCallers() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        List<Future<String>> results = submitCallers(() -> {
+            await(release);
+            throw new ResourceNotFoundException("Folder with id: 1 not found");
+        });
+
+        awaitCalls("coalesced", CALLERS - 1);
+        release.countDown();
+
+        // then
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Test
+    void execute_ShouldLoadAgain_OnceThePreviousLoadCompleted() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        coalescer.execute(GROUP, 1L, loads::incrementAndGet);
+        coalescer.execute(GROUP, 1L, loads::incrementAndGet);
+
+        // then
+        assertThat(loads).hasValue(2);
+        assertThat(calls("coalesced")).isZero();
+    }
+
+    @Test
+    void execute_ShouldLoadItself_WhenWaitingTimesOut() throws Exception {
+        // given
+        RequestCoalescer impatientCoalescer = new RequestCoalescer(meterRegistry, true, 50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> impatientCoalescer.execute(GROUP, 1L, () -> {
+            await(release);
+            return "slow";
+        }));
+
+        awaitCalls("leading", 1);
+
+        // when
+        String result = impatientCoalescer.execute(GROUP, 1L, () -> "fast");
+        release.countDown();
+
+        // then
+        assertThat(result).isEqualTo("fast");
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        assertThat(calls("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldAlwaysLoad_WhenCoalescingIsDisabled() {
+        // given
+        RequestCoalescer disabledCoalescer = new RequestCoalescer(new SimpleMeterRegistry(), false, 5000);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        disabledCoalescer.execute(GROUP, 1L, loads::incrementAndGet);
+        disabledCoalescer.execute(GROUP, 1L, loads::incrementAndGet);
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    private List<Future<String>> submitCallers(Supplier<String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescer.execute(GROUP, 1L, loader)));
+        }
+
+        return results;
+    }
+
+    private void awaitCalls(String result, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (calls(result) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(calls(result)).isEqualTo(expected);
+    }
+
+    private double calls(String result) {
+        // meters of a group are registered by its first call
+        Counter counter = meterRegistry.find(RequestCoalescer.CALLS_METRIC)
+                .tag("group", GROUP)
+                .tag("result", result)
+                .counter();
+
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.brainbooster.concurrency;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadTaskScopeTest {
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void join_ShouldRunSubtasksConcurrently_AndExposeTheirResults() {
+        // given
+        CountDownLatch allStarted = new CountDownLatch(3);
+
+        try (VirtualThreadTaskScope scope = VirtualThreadTaskScope.open("test")) {
+            // each subtask finishes only once all of them are running
+            Supplier<String> first = scope.fork(() -> awaitOthers(allStarted, "first"));
+            Supplier<String> second = scope.fork(() -> awaitOthers(allStarted, "second"));
+            Supplier<Integer> third = scope.fork(() -> awaitOthers(allStarted, 3));
+
+            // when
+            scope.join();
+
+            // then
+            assertThat(first.get()).isEqualTo("first");
+            assertThat(second.get()).isEqualTo("second");
+            assertThat(third.get()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void join_ShouldThrowFirstFailure_AndCancelRunningSubtasks() {
+        // given
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        // when, then
+        try (VirtualThreadTaskScope scope = VirtualThreadTaskScope.open("test")) {
+            scope.fork(() -> {
+                slowStarted.countDown();
+
+                try {
+                    never.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException _) {
+                    interrupted.set(true);
+                }
+
+                return null;
+            });
+            scope.fork(() -> {
+                await(slowStarted);
+                throw new ResourceNotFoundException("FlashcardSet with id: 1 not found");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessage("FlashcardSet with id: 1 not found");
+        }
+
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    void fork_ShouldRunAtMostAsManySubtasksAsThereArePermits() {
+        // given
+        Semaphore permits = new Semaphore(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        try (VirtualThreadTaskScope scope = VirtualThreadTaskScope.open("test", permits)) {
+            for (int i = 0; i < 6; i++) {
+                scope.fork(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep();
+                    running.decrementAndGet();
+
+                    return null;
+                });
+            }
+
+            // when
+            scope.join();
+        }
+
+        // then
+        assertThat(maxRunning).hasValueBetween(1, 2);
+        assertThat(permits.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void fork_ShouldRunSubtaskWithSecurityContextOfForkingThread() {
+        // given
+        Authentication authentication = new TestingAuthenticationToken("user", null, "USER");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        try (VirtualThreadTaskScope scope = VirtualThreadTaskScope.open("test")) {
+            Supplier<Authentication> seen = scope.fork(() -> SecurityContextHolder.getContext().getAuthentication());
+
+            // when
+            scope.join();
+
+            // then
+            assertThat(seen.get()).isSameAs(authentication);
+        }
+    }
+
+    private static <T> T awaitOthers(CountDownLatch allStarted, T result) {
+        allStarted.countDown();
+        await(allStarted);
+
+        return result;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
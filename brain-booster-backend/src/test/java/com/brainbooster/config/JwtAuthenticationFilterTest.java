@@ -0,0 +1,135 @@
+package com.brainbooster.config;
+
+import com.brainbooster.security.TokenVersionCache;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET_KEY =
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final JwtService jwtService = new JwtService(SECRET_KEY, 24, 100, 300);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final TokenVersionCache tokenVersionCache = mock(TokenVersionCache.class);
+
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(jwtService, userDetailsService, tokenVersionCache);
+
+    private final UserPrincipal principal = new UserPrincipal(
+            2L,
+            "johndoe@example.com",
+            "encoded_password",
+            Role.USER,
+            3
+    );
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "statelessAuthentication", true);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldAuthenticateFromClaims_WhenTokenVersionIsCurrent() throws Exception {
+        // given
+        MockHttpServletRequest request = requestWithToken(jwtService.generateToken(principal));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        when(tokenVersionCache.isCurrent(2L, 3)).thenReturn(true);
+
+        // when
+        filter.doFilter(request, response, filterChain);
+
+        // then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal())
+                .isInstanceOfSatisfying(UserPrincipal.class, authenticated -> {
+                    assertThat(authenticated.userId()).isEqualTo(2L);
+                    assertThat(authenticated.role()).isEqualTo(Role.USER);
+                    assertThat(authenticated.tokenVersion()).isEqualTo(3);
+                });
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_ShouldRespondUnauthorized_WhenTokenVersionWasRevoked() throws Exception {
+        // given
+        MockHttpServletRequest request = requestWithToken(jwtService.generateToken(principal));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        when(tokenVersionCache.isCurrent(2L, 3)).thenReturn(false);
+
+        // when
+        filter.doFilter(request, response, filterChain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getErrorMessage()).isEqualTo("JWT token has been revoked");
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_ShouldRespondUnauthorized_WhenTokenIsInvalid() throws Exception {
+        // given
+        MockHttpServletRequest request = requestWithToken("not-a-jwt");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(request, response, filterChain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getErrorMessage()).isEqualTo("Invalid JWT token");
+        assertThat(filterChain.getRequest()).isNull();
+        verifyNoInteractions(tokenVersionCache);
+    }
+
+    @Test
+    void doFilter_ShouldPassRequestThrough_WhenNoTokenIsSent() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/flashcard-sets");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(request, response, filterChain);
+
+        // then
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(tokenVersionCache, userDetailsService);
+    }
+
+    private static MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package com.brainbooster.config;
+
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET_KEY =
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final JwtService jwtService = new JwtService(SECRET_KEY, 24, 100, 300);
+
+    private final UserPrincipal principal = new UserPrincipal(
+            1L,
+            "johndoe@example.com",
+            "encoded_password",
+            Role.USER,
+            3
+    );
+
+    @Test
+    void verify_ShouldReturnCachedClaims_WhenSameTokenIsVerifiedAgain() {
+        // given
+        String token = jwtService.generateToken(principal);
+
+        // when
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+
+        // then
+        assertThat(first.getSubject()).isEqualTo("johndoe@example.com");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verify_ShouldVerifyTokenAgain_WhenCachedEntryHasExpired() {
+        // given
+        JwtService noCacheTtlService = new JwtService(SECRET_KEY, 24, 100, 0);
+        String token = noCacheTtlService.generateToken(principal);
+
+        // when
+        Claims first = noCacheTtlService.verify(token);
+        Claims second = noCacheTtlService.verify(token);
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getSubject()).isEqualTo(first.getSubject());
+    }
+
+    @Test
+    void verify_ShouldThrowJwtException_WhenSignatureIsTampered() {
+        // given
+        String token = jwtService.generateToken(principal);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        // when, then
+        assertThatThrownBy(() -> jwtService.verify(tampered))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void extractPrincipal_ShouldBuildPrincipalFromClaims() {
+        // given
+        String token = jwtService.generateToken(principal);
+
+        // when
+        UserPrincipal result = jwtService.extractPrincipal(token);
+
+        // then
+        assertThat(result.userId()).isEqualTo(1L);
+        assertThat(result.email()).isEqualTo("johndoe@example.com");
+        assertThat(result.role()).isEqualTo(Role.USER);
+        assertThat(result.tokenVersion()).isEqualTo(3);
+        assertThat(result.passwordHash()).isNull();
+    }
+
+    @Test
+    void isTokenValid_ShouldReturnFalse_WhenUsernameDoesNotMatch() {
+        // given
+        String token = jwtService.generateToken(principal);
+        UserPrincipal otherPrincipal = new UserPrincipal(
+                2L,
+                "other@example.com",
+                "encoded_password",
+                Role.USER
+        );
+
+        // when, then
+        assertThat(jwtService.isTokenValid(token, principal)).isTrue();
+        assertThat(jwtService.isTokenValid(token, otherPrincipal)).isFalse();
+    }
+}
@@ -0,0 +1,64 @@
+package com.brainbooster.config;
+
+import com.brainbooster.exception.ServiceUnavailableException;
+import com.brainbooster.exception.TooManyRequestsException;
+import com.brainbooster.security.LoginAttemptThrottle;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ThrottledAuthenticationProviderTest {
+
+    private final AuthenticationProvider delegate = mock(AuthenticationProvider.class);
+    private final LoginAttemptThrottle loginAttemptThrottle = mock(LoginAttemptThrottle.class);
+
+    private final ThrottledAuthenticationProvider provider =
+            new ThrottledAuthenticationProvider(delegate, loginAttemptThrottle);
+
+    private final Authentication authentication =
+            UsernamePasswordAuthenticationToken.unauthenticated("johndoe@example.com", "password");
+
+    @Test
+    void authenticate_ShouldUnwrapTooManyRequests_WhenHashingPoolIsFull() {
+        // given
+        TooManyRequestsException busy = new TooManyRequestsException("busy");
+
+        when(delegate.authenticate(authentication))
+                .thenThrow(new InternalAuthenticationServiceException("busy", busy));
+
+        // when & then
+        assertThatThrownBy(() -> provider.authenticate(authentication))
+                .isSameAs(busy);
+    }
+
+    @Test
+    void authenticate_ShouldUnwrapServiceUnavailable_WhenHashingTimesOut() {
+        // given
+        ServiceUnavailableException timedOut = new ServiceUnavailableException("timed out");
+
+        when(delegate.authenticate(authentication))
+                .thenThrow(new InternalAuthenticationServiceException("timed out", timedOut));
+
+        // when & then
+        assertThatThrownBy(() -> provider.authenticate(authentication))
+                .isSameAs(timedOut);
+    }
+
+    @Test
+    void authenticate_ShouldRethrowOtherInternalErrors() {
+        // given
+        InternalAuthenticationServiceException failure =
+                new InternalAuthenticationServiceException("failed", new IllegalStateException("failed"));
+
+        when(delegate.authenticate(authentication)).thenThrow(failure);
+
+        // when & then
+        assertThatThrownBy(() -> provider.authenticate(authentication))
+                .isSameAs(failure);
+    }
+}
@@ -2,6 +2,7 @@ package com.brainbooster.exception;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -10,6 +11,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -175,6 +177,86 @@ class GlobalExceptionHandlerTest {
                 ERROR_MESSAGE);
     }
 
+    @Test
+    void handleTooManyRequests_ShouldReturnTooManyRequests() {
+        // given
+        TooManyRequestsException exception = new TooManyRequestsException(ERROR_MESSAGE);
+
+        // when
+        ResponseEntity<ErrorDTO> response =
+                globalExceptionHandler.handleTooManyRequests(exception);
+
+        // then
+        assertErrorResponse(
+                response,
+                HttpStatus.TOO_MANY_REQUESTS,
+                ERROR_MESSAGE);
+    }
+
+    @Test
+    void handleServiceUnavailable_ShouldReturnServiceUnavailable() {
+        // given
+        ServiceUnavailableException exception = new ServiceUnavailableException(ERROR_MESSAGE);
+
+        // when
+        ResponseEntity<ErrorDTO> response =
+                globalExceptionHandler.handleServiceUnavailable(exception);
+
+        // then
+        assertErrorResponse(
+                response,
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ERROR_MESSAGE);
+    }
+
+    @Test
+    void handlePreconditionFailed_ShouldReturnPreconditionFailed() {
+        // given
+        PreconditionFailedException exception = new PreconditionFailedException(ERROR_MESSAGE);
+
+        // when
+        ResponseEntity<ErrorDTO> response =
+                globalExceptionHandler.handlePreconditionFailed(exception);
+
+        // then
+        assertErrorResponse(
+                response,
+                HttpStatus.PRECONDITION_FAILED,
+                ERROR_MESSAGE);
+    }
+
+    @Test
+    void handleConcurrentModification_ShouldReturnPreconditionFailed() {
+        // given
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException(ERROR_MESSAGE);
+
+        // when
+        ResponseEntity<ErrorDTO> response =
+                globalExceptionHandler.handleConcurrentModification(exception);
+
+        // then
+        assertErrorResponse(
+                response,
+                HttpStatus.PRECONDITION_FAILED,
+                "The resource was modified concurrently, fetch it again and retry");
+    }
+
+    @Test
+    void handleMaxUploadSizeExceeded_ShouldReturnContentTooLarge() {
+        // given
+        MaxUploadSizeExceededException exception = new MaxUploadSizeExceededException(1024L);
+
+        // when
+        ResponseEntity<ErrorDTO> response =
+                globalExceptionHandler.handleMaxUploadSizeExceeded(exception);
+
+        // then
+        assertErrorResponse(
+                response,
+                HttpStatus.CONTENT_TOO_LARGE,
+                "Uploaded file is too large");
+    }
+
     @Test
     void handleForbidden_ShouldReturnForbidden_ForAccessDeniedException() {
         // given
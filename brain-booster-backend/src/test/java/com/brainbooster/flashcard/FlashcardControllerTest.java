@@ -7,7 +7,10 @@ import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcard.dto.FlashcardCreationDTO;
 import com.brainbooster.flashcard.dto.FlashcardDTO;
 import com.brainbooster.flashcard.dto.FlashcardUpdateDTO;
+import com.brainbooster.flashcard.dto.StarredFlashcardBatchDTO;
+import com.brainbooster.flashcard.dto.StarredFlashcardsDTO;
 import com.brainbooster.flashcard.starred.StarredFlashcardService;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
@@ -84,7 +87,8 @@ class FlashcardControllerTest {
         when(flashcardService.getAllFlashcards()).thenReturn(List.of(flashcardDTO1, flashcardDTO2));
 
         // when
-        MvcResult result = mockMvc.perform(get("/flashcards"))
+        MvcResult result = mockMvc.perform(get("/flashcards")
+                        .param("unpaged", "true"))
                 .andReturn();
 
         // then
@@ -250,5 +254,87 @@ class FlashcardControllerTest {
         assertThat(errorResponse.timestamp()).isNotNull();
     }
 
+    @Test
+    void starFlashcards_ShouldReturnAllStarredFlashcards() throws Exception {
+        // given
+        when(starredFlashcardService.starFlashcards(List.of(1L, 2L)))
+                .thenReturn(new StarredFlashcardsDTO(List.of(1L, 2L, 5L)));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/flashcards/starred:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StarredFlashcardBatchDTO(List.of(1L, 2L)))))
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        StarredFlashcardsDTO response = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                StarredFlashcardsDTO.class);
+
+        assertThat(response.flashcardIds()).containsExactly(1L, 2L, 5L);
+    }
+
+    @Test
+    void unstarFlashcards_ShouldReturnRemainingStarredFlashcards() throws Exception {
+        // given
+        when(starredFlashcardService.unstarFlashcards(List.of(1L, 2L)))
+                .thenReturn(new StarredFlashcardsDTO(List.of(5L)));
+
+        // when
+        MvcResult result = mockMvc.perform(delete("/flashcards/starred:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StarredFlashcardBatchDTO(List.of(1L, 2L)))))
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        StarredFlashcardsDTO response = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                StarredFlashcardsDTO.class);
 
+        assertThat(response.flashcardIds()).containsExactly(5L);
+    }
+
+    @Test
+    void starFlashcards_ShouldReturnBadRequest_WhenNoFlashcardIdsAreGiven() throws Exception {
+        // when
+        MvcResult result = mockMvc.perform(post("/flashcards/starred:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StarredFlashcardBatchDTO(List.of()))))
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+
+        verify(starredFlashcardService, never()).starFlashcards(any());
+    }
+
+    @Test
+    void getMyStarredFlashcardsPage_ShouldPassFiltersAndReturnPage() throws Exception {
+        // given
+        when(starredFlashcardService.getStarredFlashcardsPage(2L, 42L, "abc", 10))
+                .thenReturn(new CursorPageDTO<>(List.of(starredFlashcardDTO), "next"));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/flashcards/starred/me")
+                        .param("setId", "2")
+                        .param("seed", "42")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        CursorPageDTO<FlashcardDTO> response = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+
+        assertThat(response.items()).containsExactly(starredFlashcardDTO);
+        assertThat(response.nextCursor()).isEqualTo("next");
+    }
 }
@@ -6,6 +6,7 @@ import com.brainbooster.flashcard.dto.FlashcardDTO;
 import com.brainbooster.flashcard.dto.FlashcardUpdateDTO;
 import com.brainbooster.flashcard.mapper.FlashcardDTOMapper;
 import com.brainbooster.flashcardset.FlashcardSet;
+import com.brainbooster.flashcardset.FlashcardSetCatalogCache;
 import com.brainbooster.flashcardset.FlashcardSetRepository;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
@@ -38,12 +39,15 @@ class FlashcardServiceTest {
 
     private final CurrentUserProvider currentUserProvider = mock(CurrentUserProvider.class);
 
+    private final FlashcardSetCatalogCache catalogCache = mock(FlashcardSetCatalogCache.class);
+
     private final FlashcardService flashcardService = new FlashcardService(
             flashcardRepository,
             flashcardSetRepository,
             flashcardDTOMapper,
             ownerOrAdminPolicy,
-            currentUserProvider);
+            currentUserProvider,
+            catalogCache);
 
     @Test
     void addFlashcard_ShouldCreateFlashcard_WhenUserIsSetOwner() {
@@ -91,6 +95,8 @@ class FlashcardServiceTest {
         assertThat(flashcardToSave.getFlashcardSet()).isEqualTo(flashcardSet);
         assertThat(flashcardToSave.getTerm()).isEqualTo("test_term");
         assertThat(flashcardToSave.getDefinition()).isEqualTo("test_definition");
+        verify(flashcardSetRepository).adjustTermCount(flashcardSet.getSetId(), 1);
+        verify(catalogCache).evictSetAfterCommit(flashcardSet.getSetId(), owner.getUserId());
     }
 
     @Test
@@ -218,7 +224,7 @@ class FlashcardServiceTest {
         Flashcard flashcard = createFlashcard();
         FlashcardDTO expectedDTO = createFlashcardDTO();
 
-        when(flashcardRepository.findById(1L))
+        when(flashcardRepository.findVisibleById(1L))
                 .thenReturn(Optional.of(flashcard));
 
         when(flashcardDTOMapper.apply(flashcard))
@@ -234,7 +240,7 @@ class FlashcardServiceTest {
     @Test
     void getFlashcardById_ShouldThrowResourceNotFoundException_WhenFlashcardDoesNotExist() {
         // given
-        when(flashcardRepository.findById(999L))
+        when(flashcardRepository.findVisibleById(999L))
                 .thenReturn(Optional.empty());
 
         // when, then
@@ -390,6 +396,8 @@ class FlashcardServiceTest {
 
         // then
         verify(flashcardRepository).delete(flashcard);
+        verify(flashcardSetRepository).adjustTermCount(flashcardSet.getSetId(), -1);
+        verify(catalogCache).evictSetAfterCommit(flashcardSet.getSetId(), owner.getUserId());
     }
 
     @Test
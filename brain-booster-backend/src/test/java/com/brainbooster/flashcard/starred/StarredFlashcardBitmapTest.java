@@ -0,0 +1,125 @@
+package com.brainbooster.flashcard.starred;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StarredFlashcardBitmapTest {
+
+    @Test
+    void of_ShouldContainExactlyGivenIds_AcrossContainers() {
+        // given
+        Set<Long> flashcardIds = Set.of(1L, 65_535L, 65_536L, 10_000_000_000L);
+
+        // when
+        StarredFlashcardBitmap bitmap = StarredFlashcardBitmap.of(flashcardIds);
+
+        // then
+        assertThat(bitmap.cardinality()).isEqualTo(4);
+        assertThat(flashcardIds).allMatch(bitmap::contains);
+        assertThat(bitmap.contains(2L)).isFalse();
+        assertThat(bitmap.contains(65_537L)).isFalse();
+        assertThat(bitmap.contains(10_000_000_001L)).isFalse();
+    }
+
+    @Test
+    void withAndWithout_ShouldLeaveOriginalBitmapUnchanged() {
+        // given
+        StarredFlashcardBitmap original = StarredFlashcardBitmap.of(List.of(5L));
+
+        // when
+        StarredFlashcardBitmap added = original.with(70_000L);
+        StarredFlashcardBitmap removed = added.without(5L);
+
+        // then
+        assertThat(original.contains(70_000L)).isFalse();
+        assertThat(added.contains(5L)).isTrue();
+        assertThat(added.contains(70_000L)).isTrue();
+        assertThat(removed.contains(5L)).isFalse();
+        assertThat(removed.cardinality()).isEqualTo(1);
+        assertThat(original.with(5L)).isSameAs(original);
+        assertThat(original.without(6L)).isSameAs(original);
+    }
+
+    @Test
+    void withAndWithout_ShouldSwitchBetweenArrayAndBitmapContainers() {
+        // given
+        StarredFlashcardBitmap bitmap = StarredFlashcardBitmap.of(LongStream.range(0, 4096)
+                .map(value -> value * 2)
+                .boxed()
+                .collect(Collectors.toSet()));
+        long arraySize = bitmap.byteSize();
+
+        // when
+        StarredFlashcardBitmap dense = bitmap.with(1L);
+        StarredFlashcardBitmap sparseAgain = dense.without(1L);
+
+        // then
+        assertThat(dense.cardinality()).isEqualTo(4097);
+        assertThat(dense.contains(1L)).isTrue();
+        assertThat(dense.contains(8190L)).isTrue();
+        assertThat(dense.contains(3L)).isFalse();
+        assertThat(sparseAgain.byteSize()).isEqualTo(arraySize);
+        assertThat(sparseAgain.contains(1L)).isFalse();
+    }
+
+    @Test
+    void fingerprint_ShouldDependOnlyOnContents() {
+        // given
+        StarredFlashcardBitmap built = StarredFlashcardBitmap.of(List.of(3L, 1L, 200_000L));
+        StarredFlashcardBitmap updated = StarredFlashcardBitmap.EMPTY
+                .with(200_000L)
+                .with(2L)
+                .with(1L)
+                .with(3L)
+                .without(2L);
+
+        // when, then
+        assertThat(updated.fingerprint()).isEqualTo(built.fingerprint());
+        assertThat(updated.with(4L).fingerprint()).isNotEqualTo(built.fingerprint());
+        assertThat(StarredFlashcardBitmap.of(List.of()).fingerprint())
+                .isEqualTo(StarredFlashcardBitmap.EMPTY.fingerprint());
+    }
+
+    @Test
+    void fingerprintWithin_ShouldIgnoreIdsOutsideTheGivenOnes() {
+        // given
+        StarredFlashcardBitmap starredInSet = StarredFlashcardBitmap.of(List.of(2L));
+        StarredFlashcardBitmap starredAlsoElsewhere = StarredFlashcardBitmap.of(List.of(2L, 500_000L));
+
+        // when, then
+        assertThat(starredAlsoElsewhere.fingerprintWithin(LongStream.of(1L, 2L, 3L)))
+                .isEqualTo(starredInSet.fingerprintWithin(LongStream.of(1L, 2L, 3L)));
+        assertThat(starredInSet.fingerprintWithin(LongStream.of(1L, 2L, 3L)))
+                .isNotEqualTo(StarredFlashcardBitmap.EMPTY.fingerprintWithin(LongStream.of(1L, 2L, 3L)));
+        assertThat(StarredFlashcardBitmap.of(List.of(500_000L)).fingerprintWithin(LongStream.of(1L, 2L)))
+                .isEqualTo(StarredFlashcardBitmap.EMPTY.fingerprintWithin(LongStream.empty()));
+    }
+
+    @Test
+    void toArray_ShouldReturnIdsInAscendingOrder_AcrossContainers() {
+        // given
+        StarredFlashcardBitmap bitmap = StarredFlashcardBitmap.of(LongStream.rangeClosed(0, 5000)
+                        .boxed()
+                        .collect(Collectors.toSet()))
+                .with(10_000_000_000L)
+                .with(70_000L);
+
+        // when
+        long[] result = bitmap.toArray();
+
+        // then
+        assertThat(result).hasSize(5003);
+        assertThat(result).isSorted();
+        assertThat(result[0]).isZero();
+        assertThat(result[5000]).isEqualTo(5000L);
+        assertThat(result[5001]).isEqualTo(70_000L);
+        assertThat(result[5002]).isEqualTo(10_000_000_000L);
+        assertThat(StarredFlashcardBitmap.EMPTY.toArray()).isEmpty();
+    }
+}
@@ -4,22 +4,32 @@ import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcard.Flashcard;
 import com.brainbooster.flashcard.FlashcardRepository;
 import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.flashcard.dto.StarredFlashcardsDTO;
 import com.brainbooster.flashcard.mapper.FlashcardDTOMapper;
+import com.brainbooster.pagination.KeysetCursor;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
-import com.brainbooster.user.User;
-import com.brainbooster.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static com.brainbooster.utils.TestEntities.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class StarredFlashcardServiceTest {
@@ -30,29 +40,28 @@ class StarredFlashcardServiceTest {
     private final UserStarredFlashcardRepository starredFlashcardRepository =
             mock(UserStarredFlashcardRepository.class);
 
-    private final UserRepository userRepository =
-            mock(UserRepository.class);
-
     private final FlashcardDTOMapper flashcardDTOMapper =
             mock(FlashcardDTOMapper.class);
 
     private final CurrentUserProvider currentUserProvider =
             mock(CurrentUserProvider.class);
 
+    private final StarredFlashcardBitmapCache starredFlashcardBitmapCache =
+            new StarredFlashcardBitmapCache(new SimpleMeterRegistry(), true, 1024 * 1024, 600);
+
     private final StarredFlashcardService starredFlashcardService =
             new StarredFlashcardService(
                     flashcardRepository,
                     starredFlashcardRepository,
-                    userRepository,
                     flashcardDTOMapper,
-                    currentUserProvider
+                    currentUserProvider,
+                    starredFlashcardBitmapCache
             );
 
 
     @Test
-    void starFlashcard_ShouldCreateStarredRelationAndReturnStarredFlashcard() {
+    void starFlashcard_ShouldUpsertStarredRelationAndReturnStarredFlashcard() {
         // given
-        User user = createUser();
         AuthenticatedUser authenticatedUser = createAuthenticatedUser();
         Flashcard flashcard = createFlashcard();
         FlashcardDTO expectedDTO = createFlashcardDTO(true);
@@ -60,16 +69,12 @@ class StarredFlashcardServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedUser);
 
+        when(starredFlashcardRepository.insertStarredFlashcards(eq(1L), any()))
+                .thenReturn(1);
+
         when(flashcardRepository.findById(1L))
                 .thenReturn(Optional.of(flashcard));
 
-        when(starredFlashcardRepository
-                .existsByUser_UserIdAndFlashcard_FlashcardId(1L, 1L))
-                .thenReturn(false);
-
-        when(userRepository.getReferenceById(1L))
-                .thenReturn(user);
-
         when(flashcardDTOMapper.toDto(flashcard, true))
                 .thenReturn(expectedDTO);
 
@@ -80,26 +85,15 @@ class StarredFlashcardServiceTest {
         assertThat(result).isEqualTo(expectedDTO);
         assertThat(result.starred()).isTrue();
 
-        ArgumentCaptor<UserStarredFlashcard> starredCaptor = ArgumentCaptor
-                .forClass(UserStarredFlashcard.class);
-
         verify(starredFlashcardRepository)
-                .save(starredCaptor.capture());
-
-        UserStarredFlashcard savedStarredFlashcard = starredCaptor.getValue();
-
-        assertThat(savedStarredFlashcard.getId())
-                .isEqualTo(new UserStarredFlashcardId(1L, 1L));
-
-        assertThat(savedStarredFlashcard.getUser())
-                .isEqualTo(user);
-
-        assertThat(savedStarredFlashcard.getFlashcard())
-                .isEqualTo(flashcard);
+                .insertStarredFlashcards(eq(1L), aryEq(new Long[]{1L}));
+        verify(starredFlashcardRepository, never())
+                .existsByUser_UserIdAndFlashcard_FlashcardId(anyLong(), anyLong());
+        verify(starredFlashcardRepository, never()).save(any());
     }
 
     @Test
-    void starFlashcard_ShouldNotCreateDuplicateRelation_WhenFlashcardIsAlreadyStarred() {
+    void starFlashcard_ShouldReturnStarredFlashcard_WhenFlashcardIsAlreadyStarred() {
         // given
         AuthenticatedUser authenticatedUser = createAuthenticatedUser();
         Flashcard flashcard = createFlashcard();
@@ -108,13 +102,12 @@ class StarredFlashcardServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedUser);
 
+        when(starredFlashcardRepository.insertStarredFlashcards(eq(1L), any()))
+                .thenReturn(0);
+
         when(flashcardRepository.findById(1L))
                 .thenReturn(Optional.of(flashcard));
 
-        when(starredFlashcardRepository
-                .existsByUser_UserIdAndFlashcard_FlashcardId(1L, 1L))
-                .thenReturn(true);
-
         when(flashcardDTOMapper.toDto(flashcard, true))
                 .thenReturn(expectedDTO);
 
@@ -126,7 +119,6 @@ class StarredFlashcardServiceTest {
         assertThat(result.starred()).isTrue();
 
         verify(starredFlashcardRepository, never()).save(any());
-        verify(userRepository, never()).getReferenceById(anyLong());
     }
 
     @Test
@@ -137,20 +129,15 @@ class StarredFlashcardServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedUser);
 
-        when(flashcardRepository.findById(999L))
-                .thenReturn(Optional.empty());
+        when(starredFlashcardRepository.insertStarredFlashcards(eq(1L), any()))
+                .thenThrow(new DataIntegrityViolationException("violates foreign key constraint"));
 
         // when, then
         assertThatThrownBy(() -> starredFlashcardService.starFlashcard(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Flashcard with id 999 not found");
 
-        verify(starredFlashcardRepository, never())
-                .existsByUser_UserIdAndFlashcard_FlashcardId(
-                        anyLong(),
-                        anyLong());
-
-        verify(starredFlashcardRepository, never()).save(any());
+        verify(flashcardRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -203,43 +190,239 @@ class StarredFlashcardServiceTest {
     }
 
     @Test
-    void getStarredFlashcardIdsForCurrentUserInSet_ShouldReturnEmptySet_WhenUserIsAnonymous() {
+    void getStarredFlashcardsForCurrentUser_ShouldReturnEmptyBitmap_WhenUserIsAnonymous() {
         // given
         when(currentUserProvider.getCurrentUserOrNull())
                 .thenReturn(null);
 
         // when
-        Set<Long> result = starredFlashcardService.getStarredFlashcardIdsForCurrentUserInSet(1L);
+        StarredFlashcardBitmap result = starredFlashcardService.getStarredFlashcardsForCurrentUser();
 
         // then
-        assertThat(result).isEmpty();
+        assertThat(result.cardinality()).isZero();
 
         verify(starredFlashcardRepository, never())
-                .findStarredFlashcardIdsByUserIdAndSetId(
-                        anyLong(),
-                        anyLong());
+                .findStarredFlashcardIdsByUserId(anyLong());
     }
 
     @Test
-    void getStarredFlashcardIdsForCurrentUserInSet_ShouldReturnStarredIds_WhenUserIsAuthenticated() {
+    void getStarredFlashcardsForCurrentUser_ShouldLoadStarredIdsOnce_WhenUserIsAuthenticated() {
         // given
         AuthenticatedUser authenticatedUser = createAuthenticatedUser();
 
         when(currentUserProvider.getCurrentUserOrNull())
                 .thenReturn(authenticatedUser);
 
-        when(starredFlashcardRepository
-                .findStarredFlashcardIdsByUserIdAndSetId(1L, 5L))
+        when(starredFlashcardRepository.findStarredFlashcardIdsByUserId(1L))
                 .thenReturn(Set.of(10L, 20L));
 
         // when
-        Set<Long> result = starredFlashcardService
-                .getStarredFlashcardIdsForCurrentUserInSet(5L);
+        starredFlashcardService.getStarredFlashcardsForCurrentUser();
+        StarredFlashcardBitmap result = starredFlashcardService.getStarredFlashcardsForCurrentUser();
+
+        // then
+        assertThat(result.contains(10L)).isTrue();
+        assertThat(result.contains(20L)).isTrue();
+        assertThat(result.contains(30L)).isFalse();
+
+        verify(starredFlashcardRepository, times(1))
+                .findStarredFlashcardIdsByUserId(1L);
+    }
+
+    @Test
+    void getStarredFlashcardsForCurrentUser_ShouldReflectStarAndUnstar_WithoutReloading() {
+        // given
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser();
+        Flashcard flashcard = createFlashcard();
+
+        when(currentUserProvider.getCurrentUserOrNull())
+                .thenReturn(authenticatedUser);
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+
+        when(starredFlashcardRepository.findStarredFlashcardIdsByUserId(1L))
+                .thenReturn(Set.of(20L));
+        when(flashcardRepository.findById(1L))
+                .thenReturn(Optional.of(flashcard));
+
+        starredFlashcardService.getStarredFlashcardsForCurrentUser();
+
+        // when
+        starredFlashcardService.starFlashcard(1L);
+        StarredFlashcardBitmap afterStar = starredFlashcardService.getStarredFlashcardsForCurrentUser();
+
+        starredFlashcardService.unstarFlashcard(1L);
+        StarredFlashcardBitmap afterUnstar = starredFlashcardService.getStarredFlashcardsForCurrentUser();
+
+        // then
+        assertThat(afterStar.contains(1L)).isTrue();
+        assertThat(afterUnstar.contains(1L)).isFalse();
+        assertThat(afterUnstar.contains(20L)).isTrue();
+
+        verify(starredFlashcardRepository, times(1))
+                .findStarredFlashcardIdsByUserId(1L);
+    }
+
+    @Test
+    void starFlashcards_ShouldUpsertDistinctIdsAndReturnAllStarredFlashcards() {
+        // given
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser();
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+        when(flashcardRepository.findExistingIds(List.of(2L, 3L)))
+                .thenReturn(List.of(3L, 2L));
+        when(starredFlashcardRepository.findStarredFlashcardIdsByUserId(1L))
+                .thenReturn(Set.of(1L, 2L));
+
+        // when
+        StarredFlashcardsDTO result = starredFlashcardService.starFlashcards(List.of(3L, 2L, 3L));
+
+        // then
+        assertThat(result.flashcardIds()).containsExactly(1L, 2L, 3L);
+
+        verify(starredFlashcardRepository)
+                .insertStarredFlashcards(1L, new Long[]{2L, 3L});
+    }
+
+    @Test
+    void starFlashcards_ShouldThrowResourceNotFoundException_WhenAnyFlashcardDoesNotExist() {
+        // given
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser();
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+        when(flashcardRepository.findExistingIds(List.of(1L, 998L, 999L)))
+                .thenReturn(List.of(1L));
+
+        // when, then
+        assertThatThrownBy(() -> starredFlashcardService.starFlashcards(List.of(999L, 1L, 998L)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Flashcards with ids [998, 999] not found");
+
+        verify(starredFlashcardRepository, never())
+                .insertStarredFlashcards(anyLong(), any());
+    }
+
+    @Test
+    void unstarFlashcards_ShouldDeleteIdsAndUpdateCachedStarredFlashcards() {
+        // given
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser();
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+        when(currentUserProvider.getCurrentUserOrNull())
+                .thenReturn(authenticatedUser);
+        when(flashcardRepository.findExistingIds(List.of(1L, 3L)))
+                .thenReturn(List.of(1L, 3L));
+        when(starredFlashcardRepository.findStarredFlashcardIdsByUserId(1L))
+                .thenReturn(Set.of(1L, 2L));
+
+        // when
+        StarredFlashcardsDTO result = starredFlashcardService.unstarFlashcards(List.of(1L, 3L));
+        StarredFlashcardBitmap cached = starredFlashcardService.getStarredFlashcardsForCurrentUser();
 
         // then
-        assertThat(result).containsExactlyInAnyOrder(10L, 20L);
+        assertThat(result.flashcardIds()).containsExactly(2L);
+        assertThat(cached.toArray()).containsExactly(2L);
 
         verify(starredFlashcardRepository)
-                .findStarredFlashcardIdsByUserIdAndSetId(1L, 5L);
+                .deleteStarredFlashcards(1L, new Long[]{1L, 3L});
+        verify(starredFlashcardRepository, times(1))
+                .findStarredFlashcardIdsByUserId(1L);
+    }
+
+    @Test
+    void getStarredFlashcardsPage_ShouldReturnMostRecentlyStarredFirst_WithCursorOfLastRow() {
+        // given
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser();
+        Instant starredAt = Instant.parse("2024-01-01T00:00:00Z");
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+        when(starredFlashcardRepository.findStarredPage(1L, PageRequest.ofSize(3)))
+                .thenReturn(List.of(
+                        new StarredFlashcardRow(7L, 1L, "Term 7", "Definition 7", starredAt.plusSeconds(2)),
+                        new StarredFlashcardRow(5L, 2L, "Term 5", "Definition 5", starredAt.plusSeconds(1)),
+                        new StarredFlashcardRow(6L, 1L, "Term 6", "Definition 6", starredAt)));
+
+        // when
+        CursorPageDTO<FlashcardDTO> result = starredFlashcardService.getStarredFlashcardsPage(null, null, null, 2);
+
+        // then
+        assertThat(result.items())
+                .extracting(FlashcardDTO::flashcardId)
+                .containsExactly(7L, 5L);
+        assertThat(result.items()).allMatch(FlashcardDTO::starred);
+        assertThat(KeysetCursor.decode(result.nextCursor()))
+                .isEqualTo(new KeysetCursor(starredAt.plusSeconds(1), 5L));
+    }
+
+    @Test
+    void getStarredFlashcardsPage_ShouldContinueBeforeCursor_WithinSelectedSet() {
+        // given
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser();
+        Instant starredAt = Instant.parse("2024-01-01T00:00:00Z");
+        String cursor = new KeysetCursor(starredAt, 5L).encode();
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+        when(starredFlashcardRepository.findStarredPageBeforeBySetId(1L, 2L, starredAt, 5L, PageRequest.ofSize(21)))
+                .thenReturn(List.of(
+                        new StarredFlashcardRow(3L, 2L, "Term 3", "Definition 3", starredAt)));
+
+        // when
+        CursorPageDTO<FlashcardDTO> result = starredFlashcardService.getStarredFlashcardsPage(2L, null, cursor, null);
+
+        // then
+        assertThat(result.items())
+                .extracting(FlashcardDTO::flashcardId)
+                .containsExactly(3L);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void getStarredFlashcardsPage_ShouldKeepShuffledOrderOfRepository_AndContinueAfterLastId() {
+        // given
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser();
+        String cursor = KeysetCursor.ofId(5L).encode();
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+        when(starredFlashcardRepository.findShuffledStarredFlashcardIds(1L, 42L, 5L, PageRequest.ofSize(3)))
+                .thenReturn(List.of(7L, 2L, 4L));
+        when(flashcardRepository.loadAllById(any()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0)
+                        .stream()
+                        .map(flashcardId -> new Flashcard(flashcardId, null, "Term", "Definition"))
+                        .toList());
+        when(flashcardDTOMapper.toDto(any(Flashcard.class), eq(true)))
+                .thenAnswer(invocation -> new FlashcardDTO(
+                        invocation.<Flashcard>getArgument(0).getFlashcardId(), null, "Term", "Definition", true));
+
+        // when
+        CursorPageDTO<FlashcardDTO> result = starredFlashcardService.getStarredFlashcardsPage(null, 42L, cursor, 2);
+
+        // then
+        assertThat(result.items())
+                .extracting(FlashcardDTO::flashcardId)
+                .containsExactly(7L, 2L);
+        assertThat(KeysetCursor.decode(result.nextCursor())).isEqualTo(KeysetCursor.ofId(2L));
+        verify(starredFlashcardRepository, never()).findStarredFlashcardIdsByUserId(anyLong());
+    }
+
+    @Test
+    void getStarredFlashcardsPage_ShouldThrowIllegalArgumentException_WhenCursorBelongsToOtherOrdering() {
+        // given
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser();
+        String shuffledCursor = KeysetCursor.ofId(5L).encode();
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+
+        // when, then
+        assertThatThrownBy(() -> starredFlashcardService.getStarredFlashcardsPage(null, null, shuffledCursor, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid pagination cursor");
     }
 }
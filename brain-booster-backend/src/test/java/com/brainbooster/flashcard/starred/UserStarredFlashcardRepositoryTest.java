@@ -10,8 +10,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -156,7 +159,107 @@ class UserStarredFlashcardRepositoryTest extends AbstractRepositoryTest {
         assertThat(result).containsExactly(savedFlashcard1.getFlashcardId());
     }
 
+    @Test
+    @DisplayName("findStarredPage - Should return starred flashcards with content, most recently starred first")
+    void findStarredPage_ShouldReturnMostRecentlyStarredFirst() {
+        // given
+        persistStarredFlashcard(savedUser, savedFlashcard1, CREATED_AT);
+        persistStarredFlashcard(savedUser, savedFlashcard2, CREATED_AT.plusSeconds(60));
+
+        // when
+        List<StarredFlashcardRow> result = starredFlashcardRepository
+                .findStarredPage(savedUser.getUserId(), PageRequest.ofSize(10));
+
+        // then
+        assertThat(result)
+                .containsExactly(
+                        new StarredFlashcardRow(
+                                savedFlashcard2.getFlashcardId(),
+                                savedFlashcardSet.getSetId(),
+                                "Term 2",
+                                "Definition 2",
+                                CREATED_AT.plusSeconds(60)),
+                        new StarredFlashcardRow(
+                                savedFlashcard1.getFlashcardId(),
+                                savedFlashcardSet.getSetId(),
+                                "Term 1",
+                                "Definition 1",
+                                CREATED_AT));
+    }
+
+    @Test
+    @DisplayName("findStarredPageBeforeBySetId - Should return flashcards after the cursor, breaking ties by ID")
+    void findStarredPageBeforeBySetId_ShouldReturnFlashcardsAfterCursor() {
+        // given
+        persistStarredFlashcard(savedUser, savedFlashcard1);
+        persistStarredFlashcard(savedUser, savedFlashcard2);
+
+        // when
+        List<StarredFlashcardRow> result = starredFlashcardRepository
+                .findStarredPageBeforeBySetId(
+                        savedUser.getUserId(),
+                        savedFlashcardSet.getSetId(),
+                        CREATED_AT,
+                        savedFlashcard2.getFlashcardId(),
+                        PageRequest.ofSize(10));
+
+        // then
+        assertThat(result)
+                .extracting(StarredFlashcardRow::flashcardId)
+                .containsExactly(savedFlashcard1.getFlashcardId());
+    }
+
+    @Test
+    @DisplayName("findShuffledStarredFlashcardIds - Should page through the same shuffled deck for the same seed")
+    void findShuffledStarredFlashcardIds_ShouldPageThroughSameDeck_ForSameSeed() {
+        // given
+        List<Long> starredIds = new ArrayList<>(List.of(
+                savedFlashcard1.getFlashcardId(),
+                savedFlashcard2.getFlashcardId()));
+
+        for (int i = 3; i <= 8; i++) {
+            starredIds.add(entityManager.persist(
+                    new Flashcard(null, savedFlashcardSet, "Term " + i, "Definition " + i)).getFlashcardId());
+        }
+
+        starredIds.forEach(flashcardId -> persistStarredFlashcard(
+                savedUser, entityManager.find(Flashcard.class, flashcardId)));
+
+        // when
+        List<Long> firstWalk = walkShuffledDeck(42L);
+        List<Long> secondWalk = walkShuffledDeck(42L);
+        List<Long> otherSeedWalk = walkShuffledDeck(7L);
+
+        // then
+        assertThat(firstWalk).containsExactlyInAnyOrderElementsOf(starredIds);
+        assertThat(secondWalk).isEqualTo(firstWalk);
+        assertThat(otherSeedWalk)
+                .containsExactlyInAnyOrderElementsOf(firstWalk)
+                .isNotEqualTo(firstWalk);
+        assertThat(starredFlashcardRepository.findShuffledStarredFlashcardIdsBySetId(
+                savedUser.getUserId(), savedFlashcardSet.getSetId(), 42L, null, PageRequest.ofSize(10)))
+                .isEqualTo(firstWalk);
+    }
+
+    private List<Long> walkShuffledDeck(long seed) {
+        List<Long> flashcardIds = new ArrayList<>();
+        List<Long> page;
+
+        do {
+            Long afterFlashcardId = flashcardIds.isEmpty() ? null : flashcardIds.getLast();
+            page = starredFlashcardRepository.findShuffledStarredFlashcardIds(
+                    savedUser.getUserId(), seed, afterFlashcardId, PageRequest.ofSize(3));
+            flashcardIds.addAll(page);
+        } while (!page.isEmpty());
+
+        return flashcardIds;
+    }
+
     private void persistStarredFlashcard(User user, Flashcard flashcard) {
+        persistStarredFlashcard(user, flashcard, CREATED_AT);
+    }
+
+    private void persistStarredFlashcard(User user, Flashcard flashcard, Instant createdAt) {
         UserStarredFlashcard starredFlashcard = UserStarredFlashcard.builder()
                 .id(new UserStarredFlashcardId(
                         user.getUserId(),
@@ -164,7 +267,7 @@ class UserStarredFlashcardRepositoryTest extends AbstractRepositoryTest {
                 ))
                 .user(user)
                 .flashcard(flashcard)
-                .createdAt(CREATED_AT)
+                .createdAt(createdAt)
                 .build();
 
         entityManager.persist(starredFlashcard);
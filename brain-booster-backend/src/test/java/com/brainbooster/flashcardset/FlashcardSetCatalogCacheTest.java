@@ -0,0 +1,204 @@
+package com.brainbooster.flashcardset;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
+import com.brainbooster.user.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.brainbooster.utils.TestEntities.createFlashcardSetDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlashcardSetCatalogCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final FlashcardSetCatalogCache catalogCache =
+            new FlashcardSetCatalogCache(meterRegistry, true, 2, 60);
+
+    private final FlashcardSetDTO flashcardSetDTO = createFlashcardSetDTO();
+
+    @Test
+    void getSet_ShouldLoadOnceAndCountHitsAndMisses() {
+        // given
+        CountingLoader<FlashcardSetDTO> loader = new CountingLoader<>(flashcardSetDTO);
+
+        // when
+        FlashcardSetDTO first = catalogCache.getSet(1L, loader);
+        FlashcardSetDTO second = catalogCache.getSet(1L, loader);
+
+        // then
+        assertThat(first).isEqualTo(flashcardSetDTO);
+        assertThat(second).isEqualTo(flashcardSetDTO);
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(gets("flashcard-sets", "hit")).isEqualTo(1);
+        assertThat(gets("flashcard-sets", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void getSet_ShouldNotCacheFailedLoad() {
+        // given
+        Supplier<FlashcardSetDTO> failingLoader = () -> {
+            throw new ResourceNotFoundException("FlashcardSet with id: 1 not found");
+        };
+        CountingLoader<FlashcardSetDTO> loader = new CountingLoader<>(flashcardSetDTO);
+
+        // when, then
+        assertThatThrownBy(() -> catalogCache.getSet(1L, failingLoader))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(catalogCache.getSet(1L, loader)).isEqualTo(flashcardSetDTO);
+        assertThat(loader.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void evictSetAfterCommit_ShouldEvictSetAndListingsOfItsOwner() {
+        // given
+        CountingLoader<FlashcardSetDTO> setLoader = new CountingLoader<>(flashcardSetDTO);
+        CountingLoader<List<FlashcardSetDTO>> userSetsLoader = new CountingLoader<>(List.of(flashcardSetDTO));
+        CountingLoader<List<FlashcardSetDTO>> allSetsLoader = new CountingLoader<>(List.of(flashcardSetDTO));
+
+        catalogCache.getSet(1L, setLoader);
+        catalogCache.getSetsByUserId(7L, userSetsLoader);
+        catalogCache.getAllSets(allSetsLoader);
+
+        // when
+        catalogCache.evictSetAfterCommit(1L, 7L);
+
+        catalogCache.getSet(1L, setLoader);
+        catalogCache.getSetsByUserId(7L, userSetsLoader);
+        catalogCache.getAllSets(allSetsLoader);
+
+        // then
+        assertThat(setLoader.calls()).isEqualTo(2);
+        assertThat(userSetsLoader.calls()).isEqualTo(2);
+        assertThat(allSetsLoader.calls()).isEqualTo(2);
+        assertThat(evictions("flashcard-sets", "invalidation")).isEqualTo(1);
+    }
+
+    @Test
+    void getSet_ShouldNotCacheValueLoadedDuringEviction() {
+        // given
+        CountingLoader<FlashcardSetDTO> loader = new CountingLoader<>(flashcardSetDTO);
+
+        // when
+        catalogCache.getSet(1L, () -> {
+            catalogCache.evictSetAfterCommit(1L, 7L);
+            return flashcardSetDTO;
+        });
+        catalogCache.getSet(1L, loader);
+
+        // then
+        assertThat(loader.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void generation_ShouldGrow_WhenEntriesAreEvicted() {
+        // given
+        long initial = catalogCache.generation();
+
+        // when
+        catalogCache.evictSetAfterCommit(1L, 7L);
+        long afterSetEviction = catalogCache.generation();
+        catalogCache.onUserChanged(new UserChangedEvent(7L, flashcardSetDTO.user().nickname(), false));
+
+        // then
+        assertThat(afterSetEviction).isGreaterThan(initial);
+        assertThat(catalogCache.generation()).isGreaterThan(afterSetEviction);
+    }
+
+    @Test
+    void onUserChanged_ShouldEvictNicknameAndSetsShowingIt() {
+        // given
+        String nickname = flashcardSetDTO.user().nickname();
+        CountingLoader<Long> userIdLoader = new CountingLoader<>(7L);
+        CountingLoader<FlashcardSetDTO> setLoader = new CountingLoader<>(flashcardSetDTO);
+
+        catalogCache.getUserIdByNickname(nickname, userIdLoader);
+        catalogCache.getSet(1L, setLoader);
+
+        // when
+        catalogCache.onUserChanged(new UserChangedEvent(7L, nickname, false));
+
+        catalogCache.getUserIdByNickname(nickname, userIdLoader);
+        catalogCache.getSet(1L, setLoader);
+
+        // then
+        assertThat(userIdLoader.calls()).isEqualTo(2);
+        assertThat(setLoader.calls()).isEqualTo(2);
+    }
+
+    @Test
+    void getSet_ShouldEvictOneEntry_WhenMaxEntriesIsReached() {
+        // given
+        CountingLoader<FlashcardSetDTO> loader = new CountingLoader<>(flashcardSetDTO);
+
+        // when
+        catalogCache.getSet(1L, loader);
+        catalogCache.getSet(2L, loader);
+        catalogCache.getSet(3L, loader);
+
+        // then
+        assertThat(evictions("flashcard-sets", "capacity")).isEqualTo(1);
+        assertThat(meterRegistry.get(FlashcardSetCatalogCache.SIZE_METRIC)
+                .tag("cache", "flashcard-sets")
+                .gauge()
+                .value()).isEqualTo(2);
+    }
+
+    @Test
+    void getSet_ShouldAlwaysLoad_WhenCacheIsDisabled() {
+        // given
+        FlashcardSetCatalogCache disabledCache =
+                new FlashcardSetCatalogCache(new SimpleMeterRegistry(), false, 2, 60);
+        CountingLoader<FlashcardSetDTO> loader = new CountingLoader<>(flashcardSetDTO);
+
+        // when
+        disabledCache.getSet(1L, loader);
+        disabledCache.getSet(1L, loader);
+
+        // then
+        assertThat(loader.calls()).isEqualTo(2);
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get(FlashcardSetCatalogCache.GETS_METRIC)
+                .tag("cache", cache)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private double evictions(String cache, String cause) {
+        return meterRegistry.get(FlashcardSetCatalogCache.EVICTIONS_METRIC)
+                .tag("cache", cache)
+                .tag("cause", cause)
+                .counter()
+                .count();
+    }
+
+    private static final class CountingLoader<T> implements Supplier<T> {
+
+        private final T value;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingLoader(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T get() {
+            calls.incrementAndGet();
+            return value;
+        }
+
+        private int calls() {
+            return calls.get();
+        }
+    }
+}
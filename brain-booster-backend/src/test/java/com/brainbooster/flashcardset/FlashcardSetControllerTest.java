@@ -3,20 +3,30 @@ package com.brainbooster.flashcardset;
 import com.brainbooster.config.JwtAuthenticationFilter;
 import com.brainbooster.config.SecurityConfiguration;
 import com.brainbooster.exception.ErrorDTO;
+import com.brainbooster.exception.PreconditionFailedException;
 import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcardset.dto.FlashcardBatchItemDTO;
+import com.brainbooster.flashcardset.dto.FlashcardBatchUpdateDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetStudyViewDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetUpdateDTO;
+import com.brainbooster.gameresult.analytics.dto.GameAnalyticsSummaryDTO;
 import com.brainbooster.user.dto.UserSummaryDTO;
 import com.brainbooster.utils.TestEntities;
+import com.brainbooster.utils.TestRepresentationCacheConfiguration;
 import com.brainbooster.utils.TestSecurityConfiguration;
+import com.brainbooster.versioning.ResourceVersion;
+import com.brainbooster.versioning.Versioned;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -31,7 +41,10 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(
@@ -47,7 +60,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 )
         }
 )
-@Import(TestSecurityConfiguration.class)
+@Import({TestSecurityConfiguration.class, TestRepresentationCacheConfiguration.class})
 class FlashcardSetControllerTest {
 
     @Autowired
@@ -56,6 +69,9 @@ class FlashcardSetControllerTest {
     @MockitoBean
     private FlashcardSetService flashcardSetService;
 
+    @MockitoBean
+    private FlashcardSetStudyViewService flashcardSetStudyViewService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -65,6 +81,9 @@ class FlashcardSetControllerTest {
     private final FlashcardSetDTO flashcardSetDTO =
             TestEntities.createFlashcardSetDTO();
 
+    private final ResourceVersion resourceVersion =
+            new ResourceVersion("\"5d41402abc4b2a76\"", Instant.parse("2025-06-02T00:28:05Z"));
+
     @Test
     void addFlashcardSetCreationDTO_ShouldReturnFlashcardSetDTO()
             throws Exception {
@@ -116,6 +135,7 @@ class FlashcardSetControllerTest {
         // when
         MvcResult result = mockMvc.perform(
                         MockMvcRequestBuilders.get("/flashcard-sets")
+                                .param("unpaged", "true")
                                 .accept(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
@@ -144,8 +164,10 @@ class FlashcardSetControllerTest {
             throws Exception {
 
         // given
-        when(flashcardSetService.getFlashcardSetById(1L))
-                .thenReturn(flashcardSetDTO);
+        when(flashcardSetService.getFlashcardSetVersion(1L))
+                .thenReturn(resourceVersion);
+        when(flashcardSetService.getVersionedFlashcardSetById(1L))
+                .thenReturn(new Versioned<>(flashcardSetDTO, resourceVersion));
 
         // when
         MvcResult result = mockMvc.perform(
@@ -153,6 +175,7 @@ class FlashcardSetControllerTest {
                                 .accept(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, resourceVersion.etag()))
                 .andExpect(content()
                         .contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andReturn();
@@ -167,7 +190,7 @@ class FlashcardSetControllerTest {
         assertThat(responseDTO.setName())
                 .isEqualTo(flashcardSetDTO.setName());
 
-        verify(flashcardSetService).getFlashcardSetById(1L);
+        verify(flashcardSetService).getVersionedFlashcardSetById(1L);
     }
 
     @Test
@@ -178,16 +201,23 @@ class FlashcardSetControllerTest {
         FlashcardDTO flashcardDTO =
                 TestEntities.createFlashcardDTO();
 
-        when(flashcardSetService.getAllFlashcardsInSet(1L))
-                .thenReturn(List.of(flashcardDTO));
+        when(flashcardSetService.getFlashcardsInSetVersion(1L))
+                .thenReturn(resourceVersion);
+        when(flashcardSetService.getAllFlashcardsInSetJson(1L))
+                .thenReturn(outputStream -> objectMapper.writeValue(outputStream, List.of(flashcardDTO)));
 
         // when
-        MvcResult result = mockMvc.perform(
+        MvcResult asyncResult = mockMvc.perform(
                         MockMvcRequestBuilders
                                 .get("/flashcard-sets/1/flashcards")
                                 .accept(MediaType.APPLICATION_JSON)
                 )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, resourceVersion.etag()))
                 .andExpect(content()
                         .contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andReturn();
@@ -205,7 +235,7 @@ class FlashcardSetControllerTest {
         assertThat(responseList.getFirst().term())
                 .isEqualTo("test_term");
 
-        verify(flashcardSetService).getAllFlashcardsInSet(1L);
+        verify(flashcardSetService).getAllFlashcardsInSetJson(1L);
     }
 
     @Test
@@ -231,7 +261,8 @@ class FlashcardSetControllerTest {
 
         when(flashcardSetService.updateFlashcardSet(
                 any(FlashcardSetUpdateDTO.class),
-                eq(1L)
+                eq(1L),
+                isNull()
         )).thenReturn(updatedResponseDTO);
 
         // when
@@ -260,8 +291,161 @@ class FlashcardSetControllerTest {
 
         verify(flashcardSetService).updateFlashcardSet(
                 any(FlashcardSetUpdateDTO.class),
-                eq(1L)
+                eq(1L),
+                isNull()
+        );
+    }
+
+    @Test
+    void updateFlashcardsInSet_ShouldReturnFlashcardsAfterChanges()
+            throws Exception {
+
+        // given
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                List.of(new FlashcardContentDTO("to do", "did - done")),
+                List.of(new FlashcardBatchItemDTO(1L, "to be", "was / were - been")),
+                List.of(2L)
+        );
+
+        List<FlashcardDTO> flashcardsAfterChanges = List.of(
+                new FlashcardDTO(1L, 1L, "to be", "was / were - been", false),
+                new FlashcardDTO(3L, 1L, "to do", "did - done", false)
         );
+
+        when(flashcardSetService.updateFlashcardsInSet(
+                eq(1L),
+                any(FlashcardBatchUpdateDTO.class),
+                isNull()
+        )).thenReturn(flashcardsAfterChanges);
+
+        // when
+        MvcResult result = mockMvc.perform(
+                        MockMvcRequestBuilders.patch("/flashcard-sets/1/flashcards")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(changesDTO))
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        List<FlashcardDTO> responseDTOs = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                }
+        );
+
+        assertThat(responseDTOs).isEqualTo(flashcardsAfterChanges);
+
+        verify(flashcardSetService).updateFlashcardsInSet(eq(1L), eq(changesDTO), isNull());
+    }
+
+    @Test
+    void updateFlashcardsInSet_ShouldReturnBadRequest_WhenUpdatedTermIsBlank()
+            throws Exception {
+
+        // given
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                null,
+                List.of(new FlashcardBatchItemDTO(1L, " ", "was / were - been")),
+                null
+        );
+
+        // when, then
+        mockMvc.perform(
+                        MockMvcRequestBuilders.patch("/flashcard-sets/1/flashcards")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(changesDTO))
+                )
+                .andExpect(status().isBadRequest());
+
+        verify(flashcardSetService, never()).updateFlashcardsInSet(anyLong(), any(), any());
+    }
+
+    @Test
+    void getFlashcardSetById_ShouldReturnNotModified_WhenETagMatches()
+            throws Exception {
+
+        // given
+        when(flashcardSetService.getFlashcardSetVersion(1L))
+                .thenReturn(resourceVersion);
+
+        // when, then
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/flashcard-sets/1")
+                                .header(HttpHeaders.IF_NONE_MATCH, resourceVersion.etag())
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, resourceVersion.etag()))
+                .andExpect(content().string(""));
+
+        verify(flashcardSetService, never()).getVersionedFlashcardSetById(anyLong());
+    }
+
+    @Test
+    void getFlashcardSetById_ShouldReturnNotModified_WhenGzipETagMatches()
+            throws Exception {
+
+        // given
+        when(flashcardSetService.getFlashcardSetVersion(1L))
+                .thenReturn(resourceVersion);
+
+        // when, then
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/flashcard-sets/1")
+                                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                                .header(HttpHeaders.IF_NONE_MATCH, resourceVersion.gzipEtag())
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, resourceVersion.gzipEtag()));
+
+        verify(flashcardSetService, never()).getVersionedFlashcardSetById(anyLong());
+    }
+
+    @Test
+    void getAllFlashcardsInSet_ShouldReturnNotModified_WhenETagMatches()
+            throws Exception {
+
+        // given
+        when(flashcardSetService.getFlashcardsInSetVersion(1L))
+                .thenReturn(resourceVersion);
+
+        // when, then
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/flashcard-sets/1/flashcards")
+                                .header(HttpHeaders.IF_NONE_MATCH, resourceVersion.etag())
+                )
+                .andExpect(status().isNotModified());
+
+        verify(flashcardSetService, never()).getAllFlashcardsInSetJson(anyLong());
+    }
+
+    @Test
+    void updateFlashcardSet_ShouldReturnPreconditionFailed_WhenIfMatchDoesNotMatch()
+            throws Exception {
+
+        // given
+        FlashcardSetUpdateDTO updateDTO =
+                new FlashcardSetUpdateDTO(
+                        "Updated Set",
+                        "Updated description"
+                );
+
+        when(flashcardSetService.updateFlashcardSet(
+                any(FlashcardSetUpdateDTO.class),
+                eq(1L),
+                eq("\"stale\"")
+        )).thenThrow(new PreconditionFailedException(
+                "FlashcardSet with id: 1 has been modified since it was fetched"));
+
+        // when, then
+        mockMvc.perform(
+                        MockMvcRequestBuilders.patch("/flashcard-sets/1")
+                                .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(updateDTO))
+                )
+                .andExpect(status().isPreconditionFailed());
     }
 
     @Test
@@ -282,7 +466,7 @@ class FlashcardSetControllerTest {
         // given
         long nonExistentId = 999L;
 
-        when(flashcardSetService.getFlashcardSetById(nonExistentId))
+        when(flashcardSetService.getFlashcardSetVersion(nonExistentId))
                 .thenThrow(new ResourceNotFoundException(
                         "FlashcardSet with id: "
                                 + nonExistentId
@@ -324,7 +508,7 @@ class FlashcardSetControllerTest {
         // given
         long nonExistentId = 123L;
 
-        when(flashcardSetService.getAllFlashcardsInSet(nonExistentId))
+        when(flashcardSetService.getFlashcardsInSetVersion(nonExistentId))
                 .thenThrow(
                         new ResourceNotFoundException("FlashcardSet not found")
                 );
@@ -368,7 +552,8 @@ class FlashcardSetControllerTest {
 
         when(flashcardSetService.updateFlashcardSet(
                 any(FlashcardSetUpdateDTO.class),
-                eq(nonExistentId)
+                eq(nonExistentId),
+                isNull()
         )).thenThrow(
                 new ResourceNotFoundException("FlashcardSet not found")
         );
@@ -432,4 +617,40 @@ class FlashcardSetControllerTest {
         assertThat(errorResponse.message())
                 .isEqualTo("FlashcardSet not found");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getStudyView_ShouldReturnAllPartsInOneDocument() throws Exception {
+        // given
+        FlashcardDTO flashcardDTO = new FlashcardDTO(1L, 1L, "Term", "Definition", true);
+        GameAnalyticsSummaryDTO summaryDTO = new GameAnalyticsSummaryDTO(0L, 0.0, 0, 0.0, null, 0.0);
+
+        when(flashcardSetStudyViewService.getStudyView(1L))
+                .thenReturn(new FlashcardSetStudyViewDTO(flashcardSetDTO, List.of(flashcardDTO), List.of(), summaryDTO));
+
+        // when
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/flashcard-sets/1/study-view"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        FlashcardSetStudyViewDTO responseDTO = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                FlashcardSetStudyViewDTO.class);
+
+        assertThat(responseDTO.flashcardSet().setId()).isEqualTo(1L);
+        assertThat(responseDTO.flashcards()).containsExactly(flashcardDTO);
+        assertThat(responseDTO.latestGameResults()).isEmpty();
+        assertThat(responseDTO.summary()).isEqualTo(summaryDTO);
+    }
+
+    @Test
+    void getStudyView_ShouldReturnNotFound_WhenSetDoesNotExist() throws Exception {
+        // given
+        when(flashcardSetStudyViewService.getStudyView(999L))
+                .thenThrow(new ResourceNotFoundException("FlashcardSet with id: 999 not found"));
+
+        // when, then
+        mockMvc.perform(MockMvcRequestBuilders.get("/flashcard-sets/999/study-view"))
+                .andExpect(status().isNotFound());
+    }
+}
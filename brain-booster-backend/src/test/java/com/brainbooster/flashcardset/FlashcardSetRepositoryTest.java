@@ -136,4 +136,45 @@ class FlashcardSetRepositoryTest extends AbstractRepositoryTest {
         // then
         assertThat(result).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("adjustTermCount - Should atomically change the stored term count")
+    void adjustTermCount_ShouldChangeTermCount() {
+        // when
+        flashcardSetRepository.adjustTermCount(savedSetId, 3);
+        flashcardSetRepository.adjustTermCount(savedSetId, -1);
+        entityManager.clear();
+
+        // then
+        assertThat(entityManager.find(FlashcardSet.class, savedSetId).getTermCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("repairTermCounts - Should recalculate term counts that drifted from the actual flashcard count")
+    void repairTermCounts_ShouldFixDriftedCounts() {
+        // given
+        FlashcardSet set = entityManager.find(FlashcardSet.class, savedSetId);
+
+        entityManager.persist(TestEntities.flashcardBuilder()
+                .flashcardId(null)
+                .flashcardSet(set)
+                .build());
+        entityManager.persist(TestEntities.flashcardBuilder()
+                .flashcardId(null)
+                .flashcardSet(set)
+                .term("second_term")
+                .build());
+        entityManager.flush();
+
+        // when
+        List<Long> driftedSetIds = flashcardSetRepository.lockSetIdsWithDriftedTermCounts();
+        int repairedSets = flashcardSetRepository.repairTermCounts(driftedSetIds);
+        entityManager.clear();
+
+        // then
+        assertThat(driftedSetIds).contains(savedSetId);
+        assertThat(repairedSets).isEqualTo(driftedSetIds.size());
+        assertThat(entityManager.find(FlashcardSet.class, savedSetId).getTermCount()).isEqualTo(2L);
+        assertThat(flashcardSetRepository.lockSetIdsWithDriftedTermCounts()).isEmpty();
+    }
+}
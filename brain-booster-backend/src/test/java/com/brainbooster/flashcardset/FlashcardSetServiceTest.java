@@ -1,11 +1,18 @@
 package com.brainbooster.flashcardset;
 
+import com.brainbooster.concurrency.RequestCoalescer;
+import com.brainbooster.exception.PreconditionFailedException;
 import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcard.Flashcard;
 import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
 import com.brainbooster.flashcard.dto.FlashcardDTO;
 import com.brainbooster.flashcard.mapper.FlashcardDTOMapper;
+import com.brainbooster.flashcard.starred.StarredFlashcardBitmap;
 import com.brainbooster.flashcard.starred.StarredFlashcardService;
+import com.brainbooster.flashcardset.content.OffHeapFlashcardStore;
+import com.brainbooster.flashcardset.dto.FlashcardBatchItemDTO;
+import com.brainbooster.flashcardset.dto.FlashcardBatchUpdateDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
 import com.brainbooster.flashcardset.dto.FlashcardSetUpdateDTO;
@@ -17,18 +24,29 @@ import com.brainbooster.user.Role;
 import com.brainbooster.user.User;
 import com.brainbooster.user.UserRepository;
 import com.brainbooster.utils.TestEntities;
+import com.brainbooster.versioning.ResourceVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -52,6 +70,13 @@ class FlashcardSetServiceTest {
     private OwnerOrAdminPolicy ownerOrAdminPolicy;
     @Mock
     private CurrentUserProvider currentUserProvider;
+    @Mock
+    private OffHeapFlashcardStore offHeapFlashcardStore;
+    @Spy
+    private FlashcardSetCatalogCache catalogCache =
+            new FlashcardSetCatalogCache(new SimpleMeterRegistry(), false, 100, 60);
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry(), true, 1000);
 
     @InjectMocks
     private FlashcardSetService flashcardSetService;
@@ -101,9 +126,14 @@ class FlashcardSetServiceTest {
 
         verify(currentUserProvider).getCurrentUser();
         verify(userRepository).findById(userId);
-        verify(flashcardSetRepository).save(any(FlashcardSet.class));
+        ArgumentCaptor<FlashcardSet> flashcardSetCaptor = ArgumentCaptor.forClass(FlashcardSet.class);
+
+        verify(flashcardSetRepository).save(flashcardSetCaptor.capture());
         verify(flashcardRepository).saveAll(anyList());
         verify(flashcardSetDTOMapper).apply(any(FlashcardSet.class));
+
+        Assertions.assertThat(flashcardSetCaptor.getValue().getTermCount())
+                .isEqualTo((long) inputDTO.flashcards().size());
     }
 
     @Test
@@ -192,133 +222,65 @@ class FlashcardSetServiceTest {
     }
 
     @Test
-    void getAllFlashcardsInSet_ReturnFlashcardsDTOsWithStarredFalse_WhenUserIsNotAuthenticated() {
+    void getAllFlashcardsInSetJson_ShouldWriteFromOffHeapStoreForCurrentVersion() throws IOException {
         // given
-        List<Flashcard> mockFlashcards = List.of(
-                new Flashcard(1L, flashcardSet, "Question 1", "Answer 1"),
-                new Flashcard(2L, flashcardSet, "Question 2", "Answer 2")
-        );
+        when(flashcardSetRepository.findVersionById(1L))
+                .thenReturn(Optional.of(new FlashcardSetVersion(4L, Instant.now(), "johndoe")));
+        when(starredFlashcardService.getStarredFlashcardsForCurrentUser())
+                .thenReturn(StarredFlashcardBitmap.of(Set.of(2L)));
 
-        FlashcardDTO dto1 = new FlashcardDTO(
-                1L,
-                1L,
-                "Question 1",
-                "Answer 1",
-                false
-        );
-
-        FlashcardDTO dto2 = new FlashcardDTO(
-                2L,
-                1L,
-                "Question 2",
-                "Answer 2",
-                false
-        );
-
-        when(starredFlashcardService
-                .getStarredFlashcardIdsForCurrentUserInSet(1L))
-                .thenReturn(Set.of());
-        when(flashcardSetRepository.existsById(1L)).thenReturn(true);
-        when(flashcardRepository.findAllByFlashcardSet_SetId(1L))
-                .thenReturn(mockFlashcards);
-
-        when(flashcardDTOMapper.toDto(mockFlashcards.get(0), false))
-                .thenReturn(dto1);
-
-        when(flashcardDTOMapper.toDto(mockFlashcards.get(1), false))
-                .thenReturn(dto2);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         // when
-        List<FlashcardDTO> result = flashcardSetService.getAllFlashcardsInSet(1L);
+        flashcardSetService.getAllFlashcardsInSetJson(1L).writeTo(outputStream);
 
         // then
-        Assertions.assertThat(result)
-                .hasSize(2)
-                .extracting(FlashcardDTO::term)
-                .containsExactly("Question 1", "Question 2");
-
-        Assertions.assertThat(result)
-                .extracting(FlashcardDTO::starred)
-                .containsExactly(false, false);
+        ArgumentCaptor<LongPredicate> starredCaptor = ArgumentCaptor.forClass(LongPredicate.class);
+        verify(offHeapFlashcardStore).writeJson(eq(1L), eq(4L), any(), starredCaptor.capture(), same(outputStream));
 
-        verify(starredFlashcardService)
-                .getStarredFlashcardIdsForCurrentUserInSet(1L);
+        Assertions.assertThat(starredCaptor.getValue().test(2L)).isTrue();
+        Assertions.assertThat(starredCaptor.getValue().test(3L)).isFalse();
     }
 
     @Test
-    void getAllFlashcardsInSet_ReturnFlashcardsDTOsWithUserStarredStatus_WhenUserIsAuthenticated() {
+    void getFlashcardsInSetVersion_ShouldDependOnlyOnStarsInThisSet() {
         // given
-        when(starredFlashcardService
-                .getStarredFlashcardIdsForCurrentUserInSet(1L))
-                .thenReturn(Set.of(2L));
-
-        List<Flashcard> mockFlashcards = List.of(
-                new Flashcard(1L, flashcardSet, "Question 1", "Answer 1"),
-                new Flashcard(2L, flashcardSet, "Question 2", "Answer 2")
-        );
-
-        FlashcardDTO dto1 = new FlashcardDTO(
-                1L,
-                1L,
-                "Question 1",
-                "Answer 1",
-                false);
-
-        FlashcardDTO dto2 = new FlashcardDTO(
-                2L,
-                1L,
-                "Question 2",
-                "Answer 2",
-                true);
-
-        when(flashcardSetRepository.existsById(1L)).thenReturn(true);
-
-        when(starredFlashcardService
-                .getStarredFlashcardIdsForCurrentUserInSet(1L))
-                .thenReturn(Set.of(2L));
-
-        when(flashcardRepository.findAllByFlashcardSet_SetId(1L))
-                .thenReturn(mockFlashcards);
-
-        when(flashcardDTOMapper.toDto(mockFlashcards.get(0), false))
-                .thenReturn(dto1);
-
-        when(flashcardDTOMapper.toDto(mockFlashcards.get(1), true))
-                .thenReturn(dto2);
+        when(flashcardSetRepository.findVersionById(1L))
+                .thenReturn(Optional.of(new FlashcardSetVersion(4L, Instant.now(), "johndoe")));
+        when(offHeapFlashcardStore.reduceFlashcardIds(eq(1L), eq(4L), any(), any()))
+                .thenAnswer(invocation -> invocation.<ToLongFunction<LongStream>>getArgument(3)
+                        .applyAsLong(LongStream.of(10L, 11L)));
+        when(starredFlashcardService.getStarredFlashcardsForCurrentUser())
+                .thenReturn(StarredFlashcardBitmap.EMPTY)
+                .thenReturn(StarredFlashcardBitmap.of(Set.of(99L)))
+                .thenReturn(StarredFlashcardBitmap.of(Set.of(10L, 99L)));
 
         // when
-        List<FlashcardDTO> result = flashcardSetService.getAllFlashcardsInSet(1L);
+        ResourceVersion withoutStars = flashcardSetService.getFlashcardsInSetVersion(1L);
+        ResourceVersion withStarsElsewhere = flashcardSetService.getFlashcardsInSetVersion(1L);
+        ResourceVersion withStarInSet = flashcardSetService.getFlashcardsInSetVersion(1L);
 
         // then
-        Assertions.assertThat(result)
-                .hasSize(2)
-                .extracting(FlashcardDTO::term)
-                .containsExactly("Question 1", "Question 2");
-
-        Assertions.assertThat(result)
-                .extracting(FlashcardDTO::starred)
-                .containsExactly(false, true);
-
-        verify(starredFlashcardService)
-                .getStarredFlashcardIdsForCurrentUserInSet(1L);
+        Assertions.assertThat(withStarsElsewhere).isEqualTo(withoutStars);
+        Assertions.assertThat(withStarInSet.etag()).isNotEqualTo(withoutStars.etag());
+        verify(offHeapFlashcardStore, times(2)).reduceFlashcardIds(eq(1L), eq(4L), any(), any());
     }
 
     @Test
-    void getAllFlashcardsInSet_ThrowsResourceNotFound_WhenFlashcardSetNotExists() {
+    void getAllFlashcardsInSetJson_ThrowsResourceNotFound_WhenFlashcardSetNotExists() {
         // given
-        when(flashcardSetRepository.existsById(1L)).thenReturn(false);
+        when(flashcardSetRepository.findVersionById(1L)).thenReturn(Optional.empty());
 
         // when + then
         ResourceNotFoundException exception = assertThrows(
                 ResourceNotFoundException.class,
-                () -> flashcardSetService.getAllFlashcardsInSet(1L)
+                () -> flashcardSetService.getAllFlashcardsInSetJson(1L)
         );
 
         Assertions.assertThat(exception.getMessage())
                 .isEqualTo("FlashcardSet with id: 1 not found");
 
-        verify(flashcardRepository, never()).findAllByFlashcardSet_SetId(anyLong());
-        verifyNoInteractions(starredFlashcardService);
+        verifyNoInteractions(starredFlashcardService, offHeapFlashcardStore);
     }
 
     @Test
@@ -373,10 +335,10 @@ class FlashcardSetServiceTest {
         // given
         String nickname = "johndoe";
 
-        when(userRepository.existsByNickname(nickname))
-                .thenReturn(true);
+        when(userRepository.findUserIdByNickname(nickname))
+                .thenReturn(Optional.of(1L));
 
-        when(flashcardSetRepository.findAllByUserNickname(nickname))
+        when(flashcardSetRepository.findByUserId(1L))
                 .thenReturn(List.of(flashcardSet));
 
         when(flashcardSetDTOMapper.apply(flashcardSet))
@@ -389,9 +351,9 @@ class FlashcardSetServiceTest {
         Assertions.assertThat(result)
                 .containsExactly(flashcardSetDTO);
 
-        verify(userRepository).existsByNickname(nickname);
+        verify(userRepository).findUserIdByNickname(nickname);
         verify(flashcardSetRepository)
-                .findAllByUserNickname(nickname);
+                .findByUserId(1L);
     }
 
     @Test
@@ -399,8 +361,8 @@ class FlashcardSetServiceTest {
         // given
         String nickname = "unknown";
 
-        when(userRepository.existsByNickname(nickname))
-                .thenReturn(false);
+        when(userRepository.findUserIdByNickname(nickname))
+                .thenReturn(Optional.empty());
 
         // when + then
         ResourceNotFoundException exception = assertThrows(
@@ -413,7 +375,7 @@ class FlashcardSetServiceTest {
                 .isEqualTo("User with nickname: unknown not found");
 
         verify(flashcardSetRepository, never())
-                .findAllByUserNickname(anyString());
+                .findByUserId(anyLong());
     }
 
     @Test
@@ -434,7 +396,7 @@ class FlashcardSetServiceTest {
                 .thenReturn(flashcardSetDTO);
 
         // when
-        FlashcardSetDTO result = flashcardSetService.updateFlashcardSet(updateDTO, 1L);
+        FlashcardSetDTO result = flashcardSetService.updateFlashcardSet(updateDTO, 1L, null);
 
         // then
         Assertions.assertThat(result)
@@ -447,6 +409,7 @@ class FlashcardSetServiceTest {
                 "You are not allowed to edit this flashcard set!"
         );
         verify(flashcardSetRepository, times(1)).save(flashcardSet);
+        verify(catalogCache).evictSetAfterCommit(1L, flashcardSet.getUser().getUserId());
     }
 
     @Test
@@ -460,13 +423,203 @@ class FlashcardSetServiceTest {
         // when + then
         ResourceNotFoundException exception = assertThrows(
                 ResourceNotFoundException.class,
-                () -> flashcardSetService.updateFlashcardSet(updateDTO, 1L)
+                () -> flashcardSetService.updateFlashcardSet(updateDTO, 1L, null)
         );
 
         Assertions.assertThat(exception.getMessage())
                 .isEqualTo("FlashcardSet with id: 1 not found");
     }
 
+    @Test
+    void updateFlashcardsInSet_ShouldApplyAllChangesAndReturnNewState() {
+        // given
+        AuthenticatedUser authUser = TestEntities.createAuthenticatedUser();
+        when(currentUserProvider.getCurrentUser()).thenReturn(authUser);
+
+        Flashcard updatedFlashcard = TestEntities.flashcardBuilder()
+                .flashcardId(10L)
+                .flashcardSet(flashcardSet)
+                .build();
+        Flashcard deletedFlashcard = TestEntities.flashcardBuilder()
+                .flashcardId(11L)
+                .flashcardSet(flashcardSet)
+                .build();
+        FlashcardDTO updatedFlashcardDTO = new FlashcardDTO(10L, 1L, "new term", "new definition", false);
+
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                List.of(
+                        new FlashcardContentDTO("created term 1", "created definition 1"),
+                        new FlashcardContentDTO("created term 2", "created definition 2")),
+                List.of(new FlashcardBatchItemDTO(10L, "new term", "new definition")),
+                List.of(11L));
+
+        flashcardSet.setVersion(3L);
+
+        when(flashcardSetRepository.findByIdWithUser(1L))
+                .thenReturn(Optional.of(flashcardSet));
+        when(flashcardRepository.findAllByFlashcardSet_SetIdAndFlashcardIdIn(1L, Set.of(10L, 11L)))
+                .thenReturn(List.of(updatedFlashcard, deletedFlashcard));
+        when(flashcardSetRepository.adjustTermCountIfCurrent(1L, 3L, 1L))
+                .thenReturn(1);
+        when(starredFlashcardService.getStarredFlashcardsForCurrentUser())
+                .thenReturn(StarredFlashcardBitmap.EMPTY);
+        when(flashcardRepository.findAllByFlashcardSet_SetId(1L))
+                .thenReturn(List.of(updatedFlashcard));
+        when(flashcardDTOMapper.toDto(updatedFlashcard, false))
+                .thenReturn(updatedFlashcardDTO);
+
+        // when
+        List<FlashcardDTO> result = flashcardSetService.updateFlashcardsInSet(1L, changesDTO, null);
+
+        // then
+        Assertions.assertThat(result).containsExactly(updatedFlashcardDTO);
+        Assertions.assertThat(updatedFlashcard.getTerm()).isEqualTo("new term");
+        Assertions.assertThat(updatedFlashcard.getDefinition()).isEqualTo("new definition");
+
+        verify(ownerOrAdminPolicy).verify(
+                authUser,
+                flashcardSet.getUser().getUserId(),
+                "You are not allowed to edit flashcards in this set!");
+        verify(flashcardRepository).saveAll(argThat((List<Flashcard> flashcards) -> flashcards.size() == 2
+                && flashcards.stream().allMatch(flashcard -> flashcard.getFlashcardSet() == flashcardSet)));
+        verify(flashcardRepository).deleteAllInSetByIds(1L, List.of(11L));
+        verify(flashcardSetRepository, never()).adjustTermCount(anyLong(), anyLong());
+    }
+
+    @Test
+    void updateFlashcardsInSet_ThrowsPreconditionFailed_WhenIfMatchIsStale() {
+        // given
+        AuthenticatedUser authUser = TestEntities.createAuthenticatedUser();
+        when(currentUserProvider.getCurrentUser()).thenReturn(authUser);
+
+        flashcardSet.setVersion(3L);
+        flashcardSet.setUpdatedAt(Instant.parse("2025-06-02T00:28:05Z"));
+
+        when(flashcardSetRepository.findByIdWithUser(1L))
+                .thenReturn(Optional.of(flashcardSet));
+
+        String staleETag = ResourceVersion.of(flashcardSet.getUpdatedAt(), "flashcards", 1L, 2L)
+                .variant(StarredFlashcardBitmap.EMPTY.fingerprintWithin(LongStream.empty()))
+                .etag();
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(null, null, List.of(10L));
+
+        // when + then
+        PreconditionFailedException exception = assertThrows(
+                PreconditionFailedException.class,
+                () -> flashcardSetService.updateFlashcardsInSet(1L, changesDTO, staleETag)
+        );
+
+        Assertions.assertThat(exception.getMessage())
+                .isEqualTo("FlashcardSet with id: 1 has been modified since it was fetched");
+
+        verify(flashcardRepository, never()).deleteAllInSetByIds(anyLong(), anyCollection());
+        verify(flashcardSetRepository, never()).adjustTermCountIfCurrent(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void updateFlashcardsInSet_ShouldAcceptETagOfAnyStarredVariantOfCurrentVersion() {
+        // given
+        AuthenticatedUser authUser = TestEntities.createAuthenticatedUser();
+        when(currentUserProvider.getCurrentUser()).thenReturn(authUser);
+
+        flashcardSet.setVersion(3L);
+        flashcardSet.setUpdatedAt(Instant.parse("2025-06-02T00:28:05Z"));
+
+        when(flashcardSetRepository.findByIdWithUser(1L))
+                .thenReturn(Optional.of(flashcardSet));
+        when(flashcardSetRepository.adjustTermCountIfCurrent(1L, 3L, 0L))
+                .thenReturn(1);
+
+        String ifMatch = ResourceVersion.of(flashcardSet.getUpdatedAt(), "flashcards", 1L, 3L)
+                .variant(StarredFlashcardBitmap.of(Set.of(10L)).fingerprintWithin(LongStream.of(10L, 11L)))
+                .etag();
+
+        // when
+        flashcardSetService.updateFlashcardsInSet(1L, new FlashcardBatchUpdateDTO(null, null, null), ifMatch);
+
+        // then
+        verify(flashcardSetRepository).adjustTermCountIfCurrent(1L, 3L, 0L);
+    }
+
+    @Test
+    void updateFlashcardsInSet_ThrowsOptimisticLockingFailure_WhenSetIsModifiedConcurrently() {
+        // given
+        AuthenticatedUser authUser = TestEntities.createAuthenticatedUser();
+        when(currentUserProvider.getCurrentUser()).thenReturn(authUser);
+
+        flashcardSet.setVersion(3L);
+
+        when(flashcardSetRepository.findByIdWithUser(1L))
+                .thenReturn(Optional.of(flashcardSet));
+        when(flashcardSetRepository.adjustTermCountIfCurrent(1L, 3L, 1L))
+                .thenReturn(0);
+
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                List.of(new FlashcardContentDTO("created term", "created definition")),
+                null,
+                null);
+
+        // when + then
+        assertThrows(
+                OptimisticLockingFailureException.class,
+                () -> flashcardSetService.updateFlashcardsInSet(1L, changesDTO, null)
+        );
+
+        verify(flashcardRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void updateFlashcardsInSet_ThrowsIllegalArgumentException_WhenFlashcardIsChangedTwice() {
+        // given
+        AuthenticatedUser authUser = TestEntities.createAuthenticatedUser();
+        when(currentUserProvider.getCurrentUser()).thenReturn(authUser);
+
+        when(flashcardSetRepository.findByIdWithUser(1L))
+                .thenReturn(Optional.of(flashcardSet));
+
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                null,
+                List.of(new FlashcardBatchItemDTO(10L, "new term", "new definition")),
+                List.of(10L));
+
+        // when + then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> flashcardSetService.updateFlashcardsInSet(1L, changesDTO, null)
+        );
+
+        Assertions.assertThat(exception.getMessage())
+                .isEqualTo("Flashcard with id 10 is changed more than once");
+
+        verify(flashcardRepository, never()).deleteAllInSetByIds(anyLong(), anyCollection());
+    }
+
+    @Test
+    void updateFlashcardsInSet_ThrowsResourceNotFound_WhenFlashcardIsNotInSet() {
+        // given
+        AuthenticatedUser authUser = TestEntities.createAuthenticatedUser();
+        when(currentUserProvider.getCurrentUser()).thenReturn(authUser);
+
+        when(flashcardSetRepository.findByIdWithUser(1L))
+                .thenReturn(Optional.of(flashcardSet));
+        when(flashcardRepository.findAllByFlashcardSet_SetIdAndFlashcardIdIn(1L, Set.of(99L)))
+                .thenReturn(List.of());
+
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(null, null, List.of(99L));
+
+        // when + then
+        ResourceNotFoundException exception = assertThrows(
+                ResourceNotFoundException.class,
+                () -> flashcardSetService.updateFlashcardsInSet(1L, changesDTO, null)
+        );
+
+        Assertions.assertThat(exception.getMessage())
+                .isEqualTo("Flashcards with ids [99] not found in set 1");
+
+        verify(flashcardRepository, never()).deleteAllInSetByIds(anyLong(), anyCollection());
+        verify(flashcardSetRepository, never()).adjustTermCountIfCurrent(anyLong(), anyLong(), anyLong());
+    }
+
     @Test
     void deleteFlashcardSetById_ShouldDeleteFlashcardSet_WhenFlashcardSetExists() {
         // given
@@ -484,7 +637,9 @@ class FlashcardSetServiceTest {
                 authUser,
                 flashcardSet.getUser().getUserId(),
                 "You are not allowed to delete this flashcard set!");
-        verify(flashcardSetRepository, times(1)).delete(flashcardSet);
+        verify(flashcardSetRepository).markDeleted(1L);
+        verify(catalogCache).evictSetAfterCommit(1L, flashcardSet.getUser().getUserId());
+        verify(offHeapFlashcardStore).evict(1L);
     }
 
     @Test
@@ -502,6 +657,6 @@ class FlashcardSetServiceTest {
         Assertions.assertThat(exception.getMessage())
                 .isEqualTo("FlashcardSet with id: 1 not found");
 
-        verify(flashcardSetRepository, never()).delete(any(FlashcardSet.class));
+        verify(flashcardSetRepository, never()).markDeleted(any());
     }
 }
\ No newline at end of file
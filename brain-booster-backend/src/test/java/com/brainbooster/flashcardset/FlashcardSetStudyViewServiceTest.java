@@ -0,0 +1,104 @@
+package com.brainbooster.flashcardset;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetStudyViewDTO;
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.analytics.GameAnalyticsService;
+import com.brainbooster.gameresult.analytics.dto.GameAnalyticsSummaryDTO;
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.brainbooster.security.CurrentUserProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.List;
+
+import static com.brainbooster.utils.TestEntities.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashcardSetStudyViewServiceTest {
+
+    @Mock
+    private FlashcardSetService flashcardSetService;
+    @Mock
+    private GameResultService gameResultService;
+    @Mock
+    private GameAnalyticsService gameAnalyticsService;
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    private FlashcardSetStudyViewService flashcardSetStudyViewService;
+
+    @BeforeEach
+    void setUp() {
+        flashcardSetStudyViewService = new FlashcardSetStudyViewService(
+                flashcardSetService,
+                gameResultService,
+                gameAnalyticsService,
+                currentUserProvider,
+                2);
+    }
+
+    @Test
+    void getStudyView_ShouldAssembleAllParts() {
+        // given
+        FlashcardSetDTO flashcardSetDTO = createFlashcardSetDTO();
+        List<FlashcardDTO> flashcardDTOs = List.of(new FlashcardDTO(1L, 1L, "Term", "Definition", true));
+        List<GameResultDTO> gameResultDTOs = List.of(createGameResultDTO());
+        GameAnalyticsSummaryDTO summaryDTO = new GameAnalyticsSummaryDTO(3L, 7.5, 9, 60.0, null, 75.0);
+
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser());
+        when(flashcardSetService.getFlashcardSetById(1L)).thenReturn(flashcardSetDTO);
+        when(flashcardSetService.getFlashcardDTOsInSet(1L)).thenReturn(flashcardDTOs);
+        when(gameResultService.getMyGameResults(1L)).thenReturn(gameResultDTOs);
+        when(gameAnalyticsService.getMySetSummary(1L)).thenReturn(summaryDTO);
+
+        // when
+        FlashcardSetStudyViewDTO result = flashcardSetStudyViewService.getStudyView(1L);
+
+        // then
+        assertThat(result).isEqualTo(new FlashcardSetStudyViewDTO(
+                flashcardSetDTO,
+                flashcardDTOs,
+                gameResultDTOs,
+                summaryDTO));
+    }
+
+    @Test
+    void getStudyView_ShouldThrowResourceNotFoundException_WhenSetDoesNotExist() {
+        // given
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser());
+        when(flashcardSetService.getFlashcardSetById(999L))
+                .thenThrow(new ResourceNotFoundException("FlashcardSet with id: 999 not found"));
+        lenient().when(flashcardSetService.getFlashcardDTOsInSet(999L)).thenReturn(List.of());
+        lenient().when(gameResultService.getMyGameResults(999L)).thenReturn(List.of());
+
+        // when, then
+        assertThatThrownBy(() -> flashcardSetStudyViewService.getStudyView(999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("FlashcardSet with id: 999 not found");
+    }
+
+    @Test
+    void getStudyView_ShouldNotLoadAnything_WhenUserIsNotAuthenticated() {
+        // given
+        when(currentUserProvider.getCurrentUser())
+                .thenThrow(new AccessDeniedException("User is not authenticated"));
+
+        // when, then
+        assertThatThrownBy(() -> flashcardSetStudyViewService.getStudyView(1L))
+                .isInstanceOf(AccessDeniedException.class);
+
+        verify(flashcardSetService, never()).getFlashcardSetById(anyLong());
+        verifyNoInteractions(gameResultService, gameAnalyticsService);
+    }
+}
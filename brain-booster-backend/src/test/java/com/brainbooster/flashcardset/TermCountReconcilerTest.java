@@ -0,0 +1,53 @@
+package com.brainbooster.flashcardset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TermCountReconcilerTest {
+
+    @Mock
+    private FlashcardSetRepository flashcardSetRepository;
+    @Mock
+    private FlashcardSetCatalogCache catalogCache;
+
+    @InjectMocks
+    private TermCountReconciler termCountReconciler;
+
+    @Test
+    void reconcileTermCounts_ShouldReturnNumberOfRepairedSets() {
+        // given
+        when(flashcardSetRepository.lockSetIdsWithDriftedTermCounts()).thenReturn(List.of(1L, 2L, 3L));
+        when(flashcardSetRepository.repairTermCounts(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        // when
+        int result = termCountReconciler.reconcileTermCounts();
+
+        // then
+        assertThat(result).isEqualTo(3);
+        verify(flashcardSetRepository).repairTermCounts(List.of(1L, 2L, 3L));
+        verify(catalogCache).evictAllAfterCommit();
+    }
+
+    @Test
+    void reconcileTermCounts_ShouldKeepCatalogCache_WhenNothingWasRepaired() {
+        // given
+        when(flashcardSetRepository.lockSetIdsWithDriftedTermCounts()).thenReturn(List.of());
+
+        // when
+        int result = termCountReconciler.reconcileTermCounts();
+
+        // then
+        assertThat(result).isZero();
+        verify(flashcardSetRepository, never()).repairTermCounts(any());
+        verifyNoInteractions(catalogCache);
+    }
+}
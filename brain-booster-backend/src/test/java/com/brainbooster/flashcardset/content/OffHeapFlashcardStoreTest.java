@@ -0,0 +1,184 @@
+package com.brainbooster.flashcardset.content;
+
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.flashcardset.FlashcardSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.brainbooster.utils.TestEntities.createFlashcard;
+import static com.brainbooster.utils.TestEntities.createFlashcardSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapFlashcardStoreTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OffHeapFlashcardStore store = new OffHeapFlashcardStore(meterRegistry, true, 1024 * 1024);
+
+    private final FlashcardSet flashcardSet = createFlashcardSet();
+    private final List<Flashcard> flashcards = List.of(
+            createFlashcard(1L, flashcardSet, "to go", "went - gone"),
+            createFlashcard(2L, flashcardSet, "quote \" and \\ backslash", "line\nbreak\tand \u0001 control"),
+            createFlashcard(3L, flashcardSet, "zażółć gęślą jaźń 日本語", null)
+    );
+
+    @Test
+    void writeJson_ShouldWriteSameJsonAsSerializedDTOs() throws IOException {
+        // when
+        String json = write(store, 1L, 0L, new CountingLoader(flashcards), Set.of(2L));
+
+        // then
+        List<FlashcardDTO> expected = List.of(
+                new FlashcardDTO(1L, 1L, "to go", "went - gone", false),
+                new FlashcardDTO(2L, 1L, "quote \" and \\ backslash", "line\nbreak\tand \u0001 control", true),
+                new FlashcardDTO(3L, 1L, "zażółć gęślą jaźń 日本語", null, false));
+
+        assertThat(objectMapper.readTree(json)).isEqualTo(objectMapper.valueToTree(expected));
+        assertThat(json).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+
+    @Test
+    void writeJson_ShouldWriteEmptyArray_WhenSetHasNoFlashcards() throws IOException {
+        // when
+        String json = write(store, 1L, 0L, new CountingLoader(List.of()), Set.of());
+
+        // then
+        assertThat(json).isEqualTo("[]");
+    }
+
+    @Test
+    void writeJson_ShouldLoadOnce_WhileVersionIsUnchanged() throws IOException {
+        // given
+        CountingLoader loader = new CountingLoader(flashcards);
+
+        // when
+        write(store, 1L, 0L, loader, Set.of());
+        write(store, 1L, 0L, loader, Set.of(1L));
+
+        // then
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(storedBytes()).isPositive();
+    }
+
+    @Test
+    void writeJson_ShouldReload_WhenVersionChanges() throws IOException {
+        // given
+        CountingLoader loader = new CountingLoader(flashcards);
+
+        // when
+        write(store, 1L, 0L, loader, Set.of());
+        write(store, 1L, 1L, loader, Set.of());
+        write(store, 1L, 1L, loader, Set.of());
+
+        // then
+        assertThat(loader.calls()).isEqualTo(2);
+    }
+
+    @Test
+    void writeJson_ShouldEvictLeastRecentlyUsedSet_WhenByteBudgetIsExceeded() throws IOException {
+        // given
+        CountingLoader firstLoader = new CountingLoader(flashcards);
+        CountingLoader secondLoader = new CountingLoader(flashcards);
+
+        write(store, 1L, 0L, firstLoader, Set.of());
+        long setSize = (long) storedBytes();
+
+        OffHeapFlashcardStore smallStore = new OffHeapFlashcardStore(new SimpleMeterRegistry(), true, setSize);
+
+        // when
+        write(smallStore, 1L, 0L, firstLoader, Set.of());
+        write(smallStore, 2L, 0L, secondLoader, Set.of());
+        write(smallStore, 2L, 0L, secondLoader, Set.of());
+        write(smallStore, 1L, 0L, firstLoader, Set.of());
+
+        // then
+        assertThat(firstLoader.calls()).isEqualTo(3);
+        assertThat(secondLoader.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_ShouldDropStoredSet() throws IOException {
+        // given
+        CountingLoader loader = new CountingLoader(flashcards);
+        write(store, 1L, 0L, loader, Set.of());
+
+        // when
+        store.evict(1L);
+        write(store, 1L, 0L, loader, Set.of());
+
+        // then
+        assertThat(loader.calls()).isEqualTo(2);
+    }
+
+    @Test
+    void writeJson_ShouldAlwaysLoad_WhenStoreIsDisabled() throws IOException {
+        // given
+        OffHeapFlashcardStore disabledStore = new OffHeapFlashcardStore(new SimpleMeterRegistry(), false, 1024);
+        CountingLoader loader = new CountingLoader(flashcards);
+
+        // when
+        write(disabledStore, 1L, 0L, loader, Set.of());
+        write(disabledStore, 1L, 0L, loader, Set.of());
+
+        // then
+        assertThat(loader.calls()).isEqualTo(2);
+    }
+
+    private static String write(
+            OffHeapFlashcardStore store,
+            Long setId,
+            long version,
+            Supplier<List<Flashcard>> loader,
+            Set<Long> starredFlashcardIds
+    ) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        store.writeJson(setId, version, loader, starredFlashcardIds::contains, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get(OffHeapFlashcardStore.GETS_METRIC)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private double storedBytes() {
+        return meterRegistry.get(OffHeapFlashcardStore.BYTES_METRIC)
+                .gauge()
+                .value();
+    }
+
+    private static final class CountingLoader implements Supplier<List<Flashcard>> {
+
+        private final List<Flashcard> flashcards;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingLoader(List<Flashcard> flashcards) {
+            this.flashcards = flashcards;
+        }
+
+        @Override
+        public List<Flashcard> get() {
+            calls.incrementAndGet();
+            return flashcards;
+        }
+
+        private int calls() {
+            return calls.get();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.brainbooster.flashcardset.exporting;
+
+import com.brainbooster.config.JwtAuthenticationFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.security.autoconfigure.SecurityAutoConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = FlashcardExportController.class,
+        excludeAutoConfiguration = SecurityAutoConfiguration.class
+)
+@AutoConfigureMockMvc(addFilters = false)
+class FlashcardExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FlashcardExportService flashcardExportService;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void exportFlashcardSet_shouldStreamExportAsAttachment() throws Exception {
+        when(flashcardExportService.exportFlashcardSet(1L, "csv"))
+                .thenReturn(new FlashcardExport(
+                        "flashcard-set-1.csv",
+                        FlashcardExportFormat.CSV.contentType(),
+                        outputStream -> outputStream.write(
+                                "term,definition\nto go,went\n".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(get("/flashcard-sets/1/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"flashcard-set-1.csv\""))
+                .andExpect(content().string("term,definition\nto go,went\n"));
+    }
+
+    @Test
+    void exportMyFlashcardSets_shouldPassFormatToService() throws Exception {
+        when(flashcardExportService.exportMyFlashcardSets("anki"))
+                .thenReturn(new FlashcardExport(
+                        "my-flashcard-sets.txt",
+                        FlashcardExportFormat.ANKI.contentType(),
+                        _ -> {
+                        }));
+
+        MvcResult result = mockMvc.perform(get("/flashcard-sets/me/export")
+                        .param("format", "anki"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"my-flashcard-sets.txt\""));
+
+        verify(flashcardExportService).exportMyFlashcardSets("anki");
+    }
+
+    @Test
+    void exportFlashcardSet_shouldReturnBadRequest_WhenFormatIsUnsupported() throws Exception {
+        when(flashcardExportService.exportFlashcardSet(1L, "xml"))
+                .thenThrow(new IllegalArgumentException("Unsupported export format: xml"));
+
+        mockMvc.perform(get("/flashcard-sets/1/export")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
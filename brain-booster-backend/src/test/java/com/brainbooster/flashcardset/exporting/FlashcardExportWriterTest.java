@@ -0,0 +1,89 @@
+package com.brainbooster.flashcardset.exporting;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlashcardExportWriterTest {
+
+    private static final FlashcardExportRow SIMPLE_ROW =
+            new FlashcardExportRow(1L, "Verbs", "to go", "went - gone");
+    private static final FlashcardExportRow QUOTED_ROW =
+            new FlashcardExportRow(1L, "Verbs", "say \"hi\"", "line one\nline two, tab\there");
+
+    @Test
+    void writeRow_ShouldWriteCsvWithHeaderAndRfc4180Quoting() throws IOException {
+        // when
+        String result = export(FlashcardExportFormat.CSV, false, SIMPLE_ROW, QUOTED_ROW);
+
+        // then
+        assertThat(result).isEqualTo("""
+                term,definition
+                to go,went - gone
+                "say ""hi\""","line one
+                line two, tab\there"
+                """);
+    }
+
+    @Test
+    void writeRow_ShouldPrependSetNameColumn_WhenSetIsIncluded() throws IOException {
+        // when
+        String result = export(FlashcardExportFormat.CSV, true, SIMPLE_ROW);
+
+        // then
+        assertThat(result).isEqualTo("""
+                set,term,definition
+                Verbs,to go,went - gone
+                """);
+    }
+
+    @Test
+    void writeRow_ShouldWriteAnkiHeadersAndQuoteOnlyFieldsWithTabsOrLineBreaks() throws IOException {
+        // when
+        String result = export(FlashcardExportFormat.ANKI, true, SIMPLE_ROW, QUOTED_ROW);
+
+        // then
+        assertThat(result).isEqualTo("""
+                #separator:tab
+                #html:false
+                #deck column:1
+                Verbs\tto go\twent - gone
+                Verbs\t"say ""hi""\"\t"line one
+                line two, tab\there"
+                """);
+    }
+
+    @Test
+    void writeRow_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        // when
+        String singleSet = export(FlashcardExportFormat.NDJSON, false, SIMPLE_ROW);
+        String allSets = export(FlashcardExportFormat.NDJSON, true, SIMPLE_ROW);
+
+        // then
+        assertThat(singleSet).isEqualTo("{\"term\":\"to go\",\"definition\":\"went - gone\"}\n");
+        assertThat(allSets).isEqualTo(
+                "{\"setId\":1,\"setName\":\"Verbs\",\"term\":\"to go\",\"definition\":\"went - gone\"}\n");
+    }
+
+    private static String export(
+            FlashcardExportFormat format,
+            boolean includeSet,
+            FlashcardExportRow... rows
+    ) throws IOException {
+        StringWriter output = new StringWriter();
+        FlashcardExportWriter writer = new FlashcardExportWriter(
+                output, format, includeSet, JsonMapper.builder().build());
+
+        writer.writeHeader();
+
+        for (FlashcardExportRow row : rows) {
+            writer.writeRow(row);
+        }
+
+        return output.toString();
+    }
+}
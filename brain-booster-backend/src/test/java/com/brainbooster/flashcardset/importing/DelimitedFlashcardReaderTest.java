@@ -0,0 +1,125 @@
+package com.brainbooster.flashcardset.importing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DelimitedFlashcardReaderTest {
+
+    @Test
+    void next_ShouldParseSimpleAndQuotedFields() throws IOException {
+        // given
+        String csv = """
+                to go,went - gone
+                "apple, red","a ""sweet"" fruit"
+                "multi
+                line",definition
+                """;
+
+        // when
+        List<ParsedFlashcard> records = readAll(csv, ',');
+
+        // then
+        assertThat(records).containsExactly(
+                ParsedFlashcard.of(1, "to go", "went - gone"),
+                ParsedFlashcard.of(2, "apple, red", "a \"sweet\" fruit"),
+                ParsedFlashcard.of(3, "multi\nline", "definition")
+        );
+    }
+
+    @Test
+    void next_ShouldUseGivenDelimiterAndSkipBlankLines() throws IOException {
+        // given
+        String tsv = "term 1\tdefinition 1\r\n\r\nterm 2\tdefinition 2";
+
+        // when
+        List<ParsedFlashcard> records = readAll(tsv, '\t');
+
+        // then
+        assertThat(records).containsExactly(
+                ParsedFlashcard.of(1, "term 1", "definition 1"),
+                ParsedFlashcard.of(3, "term 2", "definition 2")
+        );
+    }
+
+    @Test
+    void next_ShouldRejectRecordWithWrongColumnCountAndContinue() throws IOException {
+        // given
+        String csv = """
+                only term
+                a,b,c
+                term,definition
+                """;
+
+        // when
+        List<ParsedFlashcard> records = readAll(csv, ',');
+
+        // then
+        assertThat(records).containsExactly(
+                ParsedFlashcard.invalid(1, "Expected 2 columns (term, definition) but found 1"),
+                ParsedFlashcard.invalid(2, "Expected 2 columns (term, definition) but found 3"),
+                ParsedFlashcard.of(3, "term", "definition")
+        );
+    }
+
+    @Test
+    void next_ShouldRejectUnterminatedQuotedField() throws IOException {
+        // given
+        String csv = "term,\"definition without end\n";
+
+        // when
+        List<ParsedFlashcard> records = readAll(csv, ',');
+
+        // then
+        assertThat(records).containsExactly(
+                ParsedFlashcard.invalid(1, "Unterminated quoted field")
+        );
+    }
+
+    @Test
+    void next_ShouldRejectTooLongRecordAndResumeOnNextLine() throws IOException {
+        // given
+        String csv = "term," + "x".repeat(FlashcardRecordReader.MAX_RECORD_LENGTH) + "\nterm,definition\n";
+
+        // when
+        List<ParsedFlashcard> records = readAll(csv, ',');
+
+        // then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).error()).startsWith("Record exceeds the maximum length");
+        assertThat(records.get(1)).isEqualTo(ParsedFlashcard.of(2, "term", "definition"));
+    }
+
+    @Test
+    void next_ShouldResumeAfterClosingQuote_WhenTooLongRecordHasLineBreakInQuotedField() throws IOException {
+        // given
+        String csv = "term,\"" + "x".repeat(FlashcardRecordReader.MAX_RECORD_LENGTH)
+                + "\nnot,a record\"\nterm,definition\n";
+
+        // when
+        List<ParsedFlashcard> records = readAll(csv, ',');
+
+        // then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).isEqualTo(ParsedFlashcard.invalid(1,
+                "Record exceeds the maximum length of " + FlashcardRecordReader.MAX_RECORD_LENGTH + " characters"));
+        assertThat(records.get(1)).isEqualTo(ParsedFlashcard.of(3, "term", "definition"));
+    }
+
+    private static List<ParsedFlashcard> readAll(String content, char delimiter) throws IOException {
+        DelimitedFlashcardReader reader = new DelimitedFlashcardReader(new StringReader(content), delimiter);
+        List<ParsedFlashcard> records = new ArrayList<>();
+        ParsedFlashcard parsedFlashcard;
+
+        while ((parsedFlashcard = reader.next()) != null) {
+            records.add(parsedFlashcard);
+        }
+
+        return records;
+    }
+}
@@ -0,0 +1,72 @@
+package com.brainbooster.flashcardset.importing;
+
+import com.brainbooster.config.JwtAuthenticationFilter;
+import com.brainbooster.flashcardset.dto.FlashcardImportErrorDTO;
+import com.brainbooster.flashcardset.dto.FlashcardImportResultDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.security.autoconfigure.SecurityAutoConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = FlashcardImportController.class,
+        excludeAutoConfiguration = SecurityAutoConfiguration.class
+)
+@AutoConfigureMockMvc(addFilters = false)
+class FlashcardImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FlashcardImportService flashcardImportService;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void importFlashcards_shouldPassFileAndOptionsToService() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "vocabulary.tsv",
+                "text/tab-separated-values",
+                "term\tdefinition".getBytes(StandardCharsets.UTF_8));
+
+        when(flashcardImportService.importFlashcards(
+                eq(1L), any(InputStream.class), eq("tsv"), eq(";"), eq(true)))
+                .thenReturn(new FlashcardImportResultDTO(
+                        10,
+                        1,
+                        List.of(new FlashcardImportErrorDTO(4, "term cannot be empty"))));
+
+        mockMvc.perform(multipart("/flashcard-sets/1/import")
+                        .file(file)
+                        .param("format", "tsv")
+                        .param("delimiter", ";")
+                        .param("header", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(10))
+                .andExpect(jsonPath("$.rejectedCount").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("term cannot be empty"));
+
+        verify(flashcardImportService).importFlashcards(
+                eq(1L), any(InputStream.class), eq("tsv"), eq(";"), eq(true));
+    }
+}
@@ -0,0 +1,137 @@
+package com.brainbooster.flashcardset.importing;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcardset.FlashcardSet;
+import com.brainbooster.flashcardset.FlashcardSetCatalogCache;
+import com.brainbooster.flashcardset.FlashcardSetRepository;
+import com.brainbooster.flashcardset.dto.FlashcardImportErrorDTO;
+import com.brainbooster.flashcardset.dto.FlashcardImportResultDTO;
+import com.brainbooster.security.CurrentUserProvider;
+import com.brainbooster.security.authorization.OwnerOrAdminPolicy;
+import com.brainbooster.user.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static com.brainbooster.utils.TestEntities.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashcardImportServiceTest {
+
+    @Mock
+    private FlashcardSetRepository flashcardSetRepository;
+    @Mock
+    private FlashcardRepository flashcardRepository;
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private FlashcardSetCatalogCache catalogCache;
+
+    private FlashcardImportService flashcardImportService;
+
+    private final FlashcardSet flashcardSet = createFlashcardSet(1L);
+
+    @BeforeEach
+    void setUp() {
+        flashcardImportService = new FlashcardImportService(
+                flashcardSetRepository,
+                flashcardRepository,
+                new OwnerOrAdminPolicy(),
+                currentUserProvider,
+                new TransactionTemplate(transactionManager),
+                JsonMapper.builder().build(),
+                catalogCache,
+                2
+        );
+    }
+
+    @Test
+    void importFlashcards_ShouldWriteValidRecordsInChunksAndReportErrors() {
+        // given
+        when(flashcardSetRepository.findByIdWithUser(1L)).thenReturn(Optional.of(flashcardSet));
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(createAuthenticatedUser(flashcardSet.getUser().getUserId(), Role.USER));
+
+        InputStream content = utf8("""
+                term,definition
+                to go,went - gone
+                ,missing term
+                apple,fruit
+                house,building
+                """);
+
+        // when
+        FlashcardImportResultDTO result = flashcardImportService.importFlashcards(
+                1L, content, "csv", null, true);
+
+        // then
+        assertThat(result.importedCount()).isEqualTo(3);
+        assertThat(result.rejectedCount()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly(
+                new FlashcardImportErrorDTO(3, "term cannot be empty"));
+
+        verify(flashcardRepository, times(2)).saveAll(anyList());
+        verify(flashcardSetRepository).adjustTermCount(1L, 2);
+        verify(flashcardSetRepository).adjustTermCount(1L, 1);
+        verify(catalogCache, times(2)).evictSetAfterCommit(1L, flashcardSet.getUser().getUserId());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void importFlashcards_ShouldThrowAccessDenied_WhenUserIsNotOwner() {
+        // given
+        when(flashcardSetRepository.findByIdWithUser(1L)).thenReturn(Optional.of(flashcardSet));
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser(999L, Role.USER));
+
+        // when, then
+        assertThatThrownBy(() -> flashcardImportService.importFlashcards(
+                1L, utf8("term,definition"), "csv", null, false))
+                .isInstanceOf(AccessDeniedException.class);
+
+        verifyNoInteractions(flashcardRepository);
+    }
+
+    @Test
+    void importFlashcards_ShouldThrowResourceNotFound_WhenSetDoesNotExist() {
+        // given
+        when(flashcardSetRepository.findByIdWithUser(1L)).thenReturn(Optional.empty());
+
+        // when, then
+        assertThatThrownBy(() -> flashcardImportService.importFlashcards(
+                1L, utf8("term,definition"), "csv", null, false))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("FlashcardSet with id: 1 not found");
+    }
+
+    @Test
+    void importFlashcards_ShouldThrowIllegalArgument_WhenFormatIsNotSupported() {
+        // when, then
+        assertThatThrownBy(() -> flashcardImportService.importFlashcards(
+                1L, utf8("term,definition"), "xlsx", null, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Unsupported import format: xlsx");
+
+        verifyNoInteractions(flashcardSetRepository);
+    }
+
+    private static InputStream utf8(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
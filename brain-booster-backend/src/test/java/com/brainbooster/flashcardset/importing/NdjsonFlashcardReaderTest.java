@@ -0,0 +1,46 @@
+package com.brainbooster.flashcardset.importing;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonFlashcardReaderTest {
+
+    @Test
+    void next_ShouldParseOneObjectPerLineAndReportInvalidLines() throws IOException {
+        // given
+        String ndjson = """
+                {"term": "to go", "definition": "went - gone"}
+
+                {"term": "broken"
+                ["not", "an", "object"]
+                {"term": " apple ", "definition": "fruit"}
+                """;
+
+        NdjsonFlashcardReader reader = new NdjsonFlashcardReader(
+                new StringReader(ndjson),
+                JsonMapper.builder().build());
+
+        // when
+        List<ParsedFlashcard> records = new ArrayList<>();
+        ParsedFlashcard parsedFlashcard;
+
+        while ((parsedFlashcard = reader.next()) != null) {
+            records.add(parsedFlashcard);
+        }
+
+        // then
+        assertThat(records).containsExactly(
+                ParsedFlashcard.of(1, "to go", "went - gone"),
+                ParsedFlashcard.invalid(3, "Invalid JSON object"),
+                ParsedFlashcard.invalid(4, "Invalid JSON object"),
+                ParsedFlashcard.of(5, "apple", "fruit")
+        );
+    }
+}
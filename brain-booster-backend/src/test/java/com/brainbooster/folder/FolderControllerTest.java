@@ -4,20 +4,29 @@ import com.brainbooster.config.JwtAuthenticationFilter;
 import com.brainbooster.folder.dto.FolderCreationDTO;
 import com.brainbooster.folder.dto.FolderDTO;
 import com.brainbooster.folder.dto.FolderUpdateDTO;
+import com.brainbooster.pagination.dto.CursorPageDTO;
+import com.brainbooster.utils.TestRepresentationCacheConfiguration;
+import com.brainbooster.versioning.ResourceVersion;
+import com.brainbooster.versioning.Versioned;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.security.autoconfigure.SecurityAutoConfiguration;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import tools.jackson.databind.ObjectMapper;
 
+import java.time.Instant;
 import java.util.List;
 
 import static com.brainbooster.utils.TestEntities.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -28,8 +37,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         excludeAutoConfiguration = SecurityAutoConfiguration.class
 )
 @AutoConfigureMockMvc(addFilters = false)
+@Import(TestRepresentationCacheConfiguration.class)
 class FolderControllerTest {
 
+    private static final ResourceVersion FOLDER_VERSION =
+            new ResourceVersion("\"7b52009b64fd0a2a\"", Instant.parse("2025-06-02T00:28:05Z"));
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -69,7 +82,8 @@ class FolderControllerTest {
     void getAllFolders_shouldReturnFolderDTOs() throws Exception {
         when(folderService.getAllFolders()).thenReturn(List.of(createFolderDTO()));
 
-        mockMvc.perform(get("/folders"))
+        mockMvc.perform(get("/folders")
+                        .param("unpaged", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].folderId").value(1))
                 .andExpect(jsonPath("$[0].nickname").value("johndoe"))
@@ -79,6 +93,22 @@ class FolderControllerTest {
         verify(folderService).getAllFolders();
     }
 
+    @Test
+    void getFoldersPage_shouldReturnCursorPage() throws Exception {
+        when(folderService.getFoldersPage("MQ", 1))
+                .thenReturn(new CursorPageDTO<>(List.of(createFolderDTO()), "Mg"));
+
+        mockMvc.perform(get("/folders")
+                        .param("cursor", "MQ")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].folderId").value(1))
+                .andExpect(jsonPath("$.items[0].nickname").value("johndoe"))
+                .andExpect(jsonPath("$.nextCursor").value("Mg"));
+
+        verify(folderService).getFoldersPage("MQ", 1);
+    }
+
     @Test
     void getMyFolders_shouldReturnFolderDTOs() throws Exception {
         when(folderService.getMyFolders()).thenReturn(List.of(createFolderDTO()));
@@ -93,14 +123,27 @@ class FolderControllerTest {
 
     @Test
     void getFolderById_shouldReturnFolderDTO() throws Exception {
-        when(folderService.getFolderById(1L)).thenReturn(createFolderDTO());
+        when(folderService.getFolderVersion(1L)).thenReturn(FOLDER_VERSION);
+        when(folderService.getVersionedFolderById(1L)).thenReturn(new Versioned<>(createFolderDTO(), FOLDER_VERSION));
 
         mockMvc.perform(get("/folders/{folderId}", 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, FOLDER_VERSION.etag()))
                 .andExpect(jsonPath("$.folderId").value(1))
                 .andExpect(jsonPath("$.setCount").value(1));
 
-        verify(folderService).getFolderById(1L);
+        verify(folderService).getVersionedFolderById(1L);
+    }
+
+    @Test
+    void getFolderById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(folderService.getFolderVersion(1L)).thenReturn(FOLDER_VERSION);
+
+        mockMvc.perform(get("/folders/{folderId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, FOLDER_VERSION.etag()))
+                .andExpect(status().isNotModified());
+
+        verify(folderService, never()).getVersionedFolderById(1L);
     }
 
     @Test
@@ -115,7 +158,7 @@ class FolderControllerTest {
                 List.of()
         );
 
-        when(folderService.updateFolder(any(Long.class), any(FolderUpdateDTO.class))).thenReturn(updatedDTO);
+        when(folderService.updateFolder(any(Long.class), any(FolderUpdateDTO.class), isNull())).thenReturn(updatedDTO);
 
         mockMvc.perform(patch("/folders/{folderId}", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -124,7 +167,7 @@ class FolderControllerTest {
                 .andExpect(jsonPath("$.name").value("Updated Folder"))
                 .andExpect(jsonPath("$.description").value("Updated folder description"));
 
-        verify(folderService).updateFolder(any(Long.class), any(FolderUpdateDTO.class));
+        verify(folderService).updateFolder(any(Long.class), any(FolderUpdateDTO.class), isNull());
     }
 
     @Test
@@ -1,10 +1,12 @@
 package com.brainbooster.folder;
 
 import com.brainbooster.integration.AbstractRepositoryTest;
+import com.brainbooster.user.UserRepository;
 import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
@@ -17,6 +19,8 @@ class FolderRepositoryTest extends AbstractRepositoryTest {
 
     @Autowired
     private FolderRepository folderRepository;
+    @Autowired
+    private UserRepository userRepository;
 
     @Test
     @DisplayName("findAllWithSetsAndUser should return all folders with user and sets")
@@ -40,6 +44,23 @@ class FolderRepositoryTest extends AbstractRepositoryTest {
         assertThat(firstFolder.getFlashcardSetCount()).isEqualTo(2L);
     }
 
+    @Test
+    @DisplayName("findAllWithSetsAndUser and findIdPage should skip folders of tombstoned users")
+    void listings_shouldSkipFoldersOfTombstonedUsers() {
+        userRepository.markDeleted(2L);
+
+        assertThat(folderRepository.findAllWithSetsAndUser()).isEmpty();
+        assertThat(folderRepository.findIdPage(0L, PageRequest.ofSize(10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findIdPage should return IDs of folders after the cursor")
+    void findIdPage_shouldReturnIdsAfterCursor() {
+        List<Long> folderIds = folderRepository.findIdPage(1L, PageRequest.ofSize(10));
+
+        assertThat(folderIds).containsExactly(2L);
+    }
+
     @Test
     @DisplayName("findAllByUserId should return folders for selected user")
     void findAllByUserId_shouldReturnFoldersForUser() {
@@ -1,5 +1,6 @@
 package com.brainbooster.folder;
 
+import com.brainbooster.concurrency.RequestCoalescer;
 import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcardset.FlashcardSet;
 import com.brainbooster.flashcardset.FlashcardSetRepository;
@@ -12,12 +13,14 @@ import com.brainbooster.security.CurrentUserProvider;
 import com.brainbooster.security.authorization.OwnerOrAdminPolicy;
 import com.brainbooster.user.User;
 import com.brainbooster.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.HashSet;
@@ -44,6 +47,8 @@ class FolderServiceTest {
     private CurrentUserProvider currentUserProvider;
     @Mock
     private UserRepository userRepository;
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry(), true, 1000);
 
     @InjectMocks
     private FolderService folderService;
@@ -130,11 +135,11 @@ class FolderServiceTest {
     }
 
     @Test
-    @DisplayName("getFolderById should throw when folder does not exist")
-    void getFolderById_whenFolderDoesNotExist_shouldThrow() {
+    @DisplayName("getVersionedFolderById should throw when folder does not exist")
+    void getVersionedFolderById_whenFolderDoesNotExist_shouldThrow() {
         when(folderRepository.findByIdWithSetsAndUser(999L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> folderService.getFolderById(999L))
+        assertThatThrownBy(() -> folderService.getVersionedFolderById(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Folder with id: 999 not found");
     }
@@ -0,0 +1,89 @@
+package com.brainbooster.gameresult;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryCopyEncoderTest {
+
+    private static final int HEADER_LENGTH = 19;
+
+    @Test
+    void finish_ShouldWriteHeaderAndTrailer_WhenThereAreNoRows() {
+        // when
+        byte[] bytes = new BinaryCopyEncoder().finish();
+
+        // then
+        assertThat(Arrays.copyOf(bytes, 11))
+                .isEqualTo(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0});
+        assertThat(bytes).hasSize(HEADER_LENGTH + Short.BYTES);
+        assertThat(ByteBuffer.wrap(bytes, HEADER_LENGTH, Short.BYTES).getShort()).isEqualTo((short) -1);
+    }
+
+    @Test
+    void drain_ShouldSplitDataIntoChunksThatAddUpToWholeData() {
+        // given
+        BinaryCopyEncoder chunked = new BinaryCopyEncoder();
+        BinaryCopyEncoder whole = new BinaryCopyEncoder();
+
+        // when
+        byte[] header = chunked.drain();
+        byte[] firstRow = chunked.startRow(1).writeBigint(7L).drain();
+        int sizeAfterDrain = chunked.size();
+        byte[] rest = chunked.startRow(1).writeText("term").finish();
+
+        byte[] expected = whole.startRow(1).writeBigint(7L).startRow(1).writeText("term").finish();
+
+        // then
+        assertThat(header).hasSize(HEADER_LENGTH);
+        assertThat(sizeAfterDrain).isZero();
+
+        byte[] joined = new byte[header.length + firstRow.length + rest.length];
+        System.arraycopy(header, 0, joined, 0, header.length);
+        System.arraycopy(firstRow, 0, joined, header.length, firstRow.length);
+        System.arraycopy(rest, 0, joined, header.length + firstRow.length, rest.length);
+        assertThat(joined).isEqualTo(expected);
+    }
+
+    @Test
+    void startRow_ShouldEncodeEveryValueWithItsLength() {
+        // when
+        byte[] bytes = new BinaryCopyEncoder()
+                .startRow(6)
+                .writeBigint(7L)
+                .writeInteger(3)
+                .writeBoolean(true)
+                .writeText("zażółć")
+                .writeText(null)
+                .writeTimestamp(Instant.parse("2000-01-01T00:00:01.000002Z"))
+                .finish();
+
+        // then
+        ByteBuffer row = ByteBuffer.wrap(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+
+        assertThat(row.getShort()).isEqualTo((short) 6);
+        assertThat(row.getInt()).isEqualTo(Long.BYTES);
+        assertThat(row.getLong()).isEqualTo(7L);
+        assertThat(row.getInt()).isEqualTo(Integer.BYTES);
+        assertThat(row.getInt()).isEqualTo(3);
+        assertThat(row.getInt()).isEqualTo(1);
+        assertThat(row.get()).isEqualTo((byte) 1);
+
+        byte[] text = "zażółć".getBytes(StandardCharsets.UTF_8);
+        byte[] encodedText = new byte[text.length];
+        assertThat(row.getInt()).isEqualTo(text.length);
+        row.get(encodedText);
+        assertThat(encodedText).isEqualTo(text);
+
+        assertThat(row.getInt()).isEqualTo(-1);
+        assertThat(row.getInt()).isEqualTo(Long.BYTES);
+        assertThat(row.getLong()).isEqualTo(1_000_002L);
+        assertThat(row.getShort()).isEqualTo((short) -1);
+        assertThat(row.hasRemaining()).isFalse();
+    }
+}
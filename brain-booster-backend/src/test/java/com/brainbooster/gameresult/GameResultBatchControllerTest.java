@@ -0,0 +1,132 @@
+package com.brainbooster.gameresult;
+
+import com.brainbooster.config.JwtAuthenticationFilter;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchItemRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.security.autoconfigure.SecurityAutoConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static com.brainbooster.utils.TestEntities.createGameResultDTO;
+import static com.brainbooster.utils.TestEntities.createSaveGameResultRequest;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = GameResultBatchController.class,
+        excludeAutoConfiguration = SecurityAutoConfiguration.class)
+@AutoConfigureMockMvc(addFilters = false)
+class GameResultBatchControllerTest {
+
+    private static final Instant COMPLETED_AT = Instant.parse("2026-01-10T10:15:30Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private GameResultService gameResultService;
+
+    /* Required because JwtAuthenticationFilter is part of the application security configuration
+ and the MVC slice test does not load all of its dependencies */
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void shouldSaveGameResults() throws Exception {
+        SaveGameResultBatchRequest request = new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(
+                        COMPLETED_AT,
+                        "game-1",
+                        createSaveGameResultRequest(11L, GameMode.MATCHING, 8, 10, 120)),
+                new SaveGameResultBatchItemRequest(
+                        COMPLETED_AT.plusSeconds(60),
+                        null,
+                        createSaveGameResultRequest(12L, GameMode.WRITTEN, 5, 10, null))));
+
+        when(gameResultService.saveGameResults(request))
+                .thenReturn(List.of(
+                        createGameResultDTO(1L, 2L, 11L, GameMode.MATCHING, 8, 10, 120),
+                        createGameResultDTO(2L, 2L, 12L, GameMode.WRITTEN, 5, 10, null)));
+
+        mockMvc.perform(post("/game-results:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].resultId").value(1L))
+                .andExpect(jsonPath("$[0].mode").value("matching"))
+                .andExpect(jsonPath("$[1].resultId").value(2L))
+                .andExpect(jsonPath("$[1].setId").value(12L));
+
+        verify(gameResultService).saveGameResults(request);
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenBatchIsEmpty() throws Exception {
+        SaveGameResultBatchRequest request = new SaveGameResultBatchRequest(List.of());
+
+        mockMvc.perform(post("/game-results:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gameResultService);
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenBatchIsTooLarge() throws Exception {
+        SaveGameResultBatchRequest request = new SaveGameResultBatchRequest(Collections.nCopies(
+                501,
+                new SaveGameResultBatchItemRequest(COMPLETED_AT, null, createSaveGameResultRequest())));
+
+        mockMvc.perform(post("/game-results:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gameResultService);
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenGameHasNoCompletionTime() throws Exception {
+        SaveGameResultBatchRequest request = new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(null, null, createSaveGameResultRequest())));
+
+        mockMvc.perform(post("/game-results:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gameResultService);
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenGameIsInvalid() throws Exception {
+        SaveGameResultBatchRequest request = new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(
+                        COMPLETED_AT,
+                        null,
+                        createSaveGameResultRequest(11L, GameMode.MATCHING, -1, 10, null))));
+
+        mockMvc.perform(post("/game-results:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gameResultService);
+    }
+}
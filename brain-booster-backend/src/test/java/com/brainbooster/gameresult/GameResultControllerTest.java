@@ -20,6 +20,8 @@ import static com.brainbooster.utils.TestEntities.createGameResultDTO;
 import static com.brainbooster.utils.TestEntities.createSaveGameResultRequest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -64,7 +66,7 @@ class GameResultControllerTest {
                 120
         );
 
-        when(gameResultService.saveGameResult(any(SaveGameResultRequest.class)))
+        when(gameResultService.saveGameResult(any(SaveGameResultRequest.class), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(post("/game-results")
@@ -82,11 +84,44 @@ class GameResultControllerTest {
         ArgumentCaptor<SaveGameResultRequest> requestCaptor =
                 ArgumentCaptor.forClass(SaveGameResultRequest.class);
 
-        verify(gameResultService).saveGameResult(requestCaptor.capture());
+        verify(gameResultService).saveGameResult(requestCaptor.capture(), isNull());
 
         assertThat(requestCaptor.getValue()).isEqualTo(request);
     }
 
+    @Test
+    void shouldPassIdempotencyKeyWhenSavingGameResult() throws Exception {
+        SaveGameResultRequest request = createSaveGameResultRequest(
+                11L,
+                GameMode.MULTIPLE_CHOICE,
+                8,
+                10,
+                120
+        );
+
+        GameResultDTO response = createGameResultDTO(
+                1L,
+                2L,
+                11L,
+                GameMode.MULTIPLE_CHOICE,
+                8,
+                10,
+                120
+        );
+
+        when(gameResultService.saveGameResult(any(SaveGameResultRequest.class), eq("game-1")))
+                .thenReturn(response);
+
+        mockMvc.perform(post("/game-results")
+                        .header("Idempotency-Key", "game-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultId").value(1L));
+
+        verify(gameResultService).saveGameResult(request, "game-1");
+    }
+
     @Test
     void shouldReturnBadRequestWhenSavingGameResultWithInvalidScore() throws Exception {
         SaveGameResultRequest request = createSaveGameResultRequest(
@@ -193,7 +228,8 @@ class GameResultControllerTest {
         when(gameResultService.getAllGameResults(null))
                 .thenReturn(List.of(response));
 
-        mockMvc.perform(get("/game-results"))
+        mockMvc.perform(get("/game-results")
+                        .param("unpaged", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].resultId").value(1L))
                 .andExpect(jsonPath("$[0].userId").value(2L))
@@ -221,6 +257,7 @@ class GameResultControllerTest {
                 .thenReturn(List.of(response));
 
         mockMvc.perform(get("/game-results")
+                        .param("unpaged", "true")
                         .param("setId", "11"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].resultId").value(1L))
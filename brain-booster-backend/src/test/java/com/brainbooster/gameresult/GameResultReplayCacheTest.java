@@ -0,0 +1,146 @@
+package com.brainbooster.gameresult;
+
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameResultReplayCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void find_ShouldReturnStoredResult_ForSameUserAndKey() {
+        // given
+        GameResultReplayCache cache = new GameResultReplayCache(meterRegistry, true, 600, 10);
+        GameResultDTO result = result(1L);
+
+        cache.putAfterCommit(2L, "game-1", result);
+
+        // when
+        GameResultDTO cached = cache.find(2L, "game-1");
+        GameResultDTO otherUser = cache.find(3L, "game-1");
+
+        // then
+        assertThat(cached).isEqualTo(result);
+        assertThat(otherUser).isNull();
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void find_ShouldMiss_WhenResultHasExpired() {
+        // given
+        GameResultReplayCache cache = new GameResultReplayCache(meterRegistry, true, 0, 10);
+
+        cache.putAfterCommit(2L, "game-1", result(1L));
+
+        // when
+        GameResultDTO cached = cache.find(2L, "game-1");
+
+        // then
+        assertThat(cached).isNull();
+        assertThat(meterRegistry.get(GameResultReplayCache.SIZE_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    void putAfterCommit_ShouldEvictResult_WhenCacheIsFull() {
+        // given
+        GameResultReplayCache cache = new GameResultReplayCache(meterRegistry, true, 600, 2);
+
+        cache.putAfterCommit(2L, "game-1", result(1L));
+        cache.putAfterCommit(2L, "game-2", result(2L));
+
+        // when
+        cache.putAfterCommit(2L, "game-3", result(3L));
+
+        // then
+        assertThat(meterRegistry.get(GameResultReplayCache.SIZE_METRIC).gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get(GameResultReplayCache.EVICTIONS_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictAfterCommit_ShouldEvictResultsOfUserInSameSetAndMode() {
+        // given
+        GameResultReplayCache cache = new GameResultReplayCache(meterRegistry, true, 600, 10);
+        GameResultDTO otherMode = new GameResultDTO(
+                2L, 2L, 11L, GameMode.MULTIPLE_CHOICE, 8, 10, 120, Instant.parse("2026-01-10T10:15:30Z"));
+
+        cache.putAfterCommit(2L, "game-1", result(1L));
+        cache.putAfterCommit(2L, "game-2", otherMode);
+        cache.putAfterCommit(3L, "game-1", result(3L));
+
+        // when
+        cache.evictAfterCommit(2L, 11L, GameMode.WRITTEN);
+
+        // then
+        assertThat(cache.find(2L, "game-1")).isNull();
+        assertThat(cache.find(2L, "game-2")).isEqualTo(otherMode);
+        assertThat(cache.find(3L, "game-1")).isEqualTo(result(3L));
+    }
+
+    @Test
+    void putAfterCommit_ShouldNotStoreResult_WhenResultWasDeletedBeforeCommit() {
+        // given
+        GameResultReplayCache cache = new GameResultReplayCache(meterRegistry, true, 600, 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            cache.putAfterCommit(2L, "game-1", result(1L));
+            cache.evictAfterCommit(2L, 11L, GameMode.WRITTEN);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+            // when
+            // the deletion commits before the save
+            synchronizations.get(1).afterCommit();
+            synchronizations.get(0).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(cache.find(2L, "game-1")).isNull();
+    }
+
+    @Test
+    void find_ShouldAlwaysMiss_WhenCacheIsDisabled() {
+        // given
+        GameResultReplayCache cache = new GameResultReplayCache(meterRegistry, false, 600, 10);
+
+        cache.putAfterCommit(2L, "game-1", result(1L));
+
+        // when
+        GameResultDTO cached = cache.find(2L, "game-1");
+
+        // then
+        assertThat(cached).isNull();
+        assertThat(meterRegistry.get(GameResultReplayCache.SIZE_METRIC).gauge().value()).isZero();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get(GameResultReplayCache.GETS_METRIC)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static GameResultDTO result(Long resultId) {
+        return new GameResultDTO(
+                resultId,
+                2L,
+                11L,
+                GameMode.WRITTEN,
+                8,
+                10,
+                120,
+                Instant.parse("2026-01-10T10:15:30Z"));
+    }
+}
@@ -3,26 +3,32 @@ package com.brainbooster.gameresult;
 import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcardset.FlashcardSet;
 import com.brainbooster.flashcardset.FlashcardSetRepository;
-import com.brainbooster.gameresult.attempt.GameAttemptRecorder;
+import com.brainbooster.gameresult.attempt.GameAttemptRepository;
 import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.brainbooster.gameresult.dto.SaveGameQuestionResultRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchItemRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchRequest;
 import com.brainbooster.gameresult.dto.SaveGameResultRequest;
 import com.brainbooster.gameresult.mapper.GameResultMapper;
+import com.brainbooster.pagination.KeysetCursor;
+import com.brainbooster.pagination.dto.CursorPageDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
 import com.brainbooster.security.authorization.AdminPolicy;
 import com.brainbooster.security.authorization.OwnerOrAdminPolicy;
 import com.brainbooster.user.Role;
 import com.brainbooster.user.User;
-import com.brainbooster.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +36,8 @@ import static com.brainbooster.utils.TestEntities.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,15 +46,17 @@ class GameResultServiceTest {
     @Mock
     private GameResultRepository gameResultRepository;
     @Mock
+    private GameAttemptRepository gameAttemptRepository;
+    @Mock
     private FlashcardSetRepository flashcardSetRepository;
     @Mock
-    private GameAttemptRecorder gameAttemptRecorder;
+    private GameResultWriter gameResultWriter;
+    @Mock
+    private GameResultReplayCache gameResultReplayCache;
     @Mock
     private GameResultMapper gameResultMapper;
     @Mock
     private CurrentUserProvider currentUserProvider;
-    @Mock
-    private UserRepository userRepository;
 
     private final OwnerOrAdminPolicy ownerOrAdminPolicy = new OwnerOrAdminPolicy();
 
@@ -58,30 +68,24 @@ class GameResultServiceTest {
     void setUp() {
         gameResultService = new GameResultService(
                 gameResultRepository,
+                gameAttemptRepository,
                 flashcardSetRepository,
-                gameAttemptRecorder,
+                gameResultWriter,
+                gameResultReplayCache,
                 gameResultMapper,
                 currentUserProvider,
                 ownerOrAdminPolicy,
-                adminPolicy,
-                userRepository
+                adminPolicy
         );
     }
 
     @Test
-    void shouldCreateGameResultWhenResultDoesNotExist() {
-        User user = createUser(2L, Role.USER);
+    void shouldWriteGameResultForCurrentUser() {
         AuthenticatedUser authenticatedUser = createAuthenticatedUser(2L, Role.USER);
 
-        FlashcardSet flashcardSet =
-                createFlashcardSet(11L, user);
-
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedUser);
 
-        when(userRepository.getReferenceById(2L))
-                .thenReturn(user);
-
         SaveGameResultRequest request = createSaveGameResultRequest(
                 11L,
                 GameMode.MULTIPLE_CHOICE,
@@ -100,138 +104,254 @@ class GameResultServiceTest {
                 120
         );
 
-        when(flashcardSetRepository.findById(11L))
-                .thenReturn(Optional.of(flashcardSet));
-
-        when(gameResultRepository.findByUser_UserIdAndSet_SetIdAndMode(
-                2L,
-                11L,
-                GameMode.MULTIPLE_CHOICE
-        )).thenReturn(Optional.empty());
-
-        when(gameResultRepository.save(any(GameResult.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-
-        when(gameResultMapper.toDto(any(GameResult.class)))
+        when(gameResultWriter.write(eq(2L), eq(request), any(Instant.class), isNull()))
                 .thenReturn(expectedDto);
 
-        GameResultDTO result = gameResultService.saveGameResult(request);
+        GameResultDTO result = gameResultService.saveGameResult(request, null);
 
         assertThat(result).isEqualTo(expectedDto);
 
-        ArgumentCaptor<GameResult> gameResultCaptor = ArgumentCaptor.forClass(GameResult.class);
-
-        verify(gameResultRepository)
-                .save(gameResultCaptor.capture());
-
-        GameResult savedGameResult = gameResultCaptor.getValue();
+        verifyNoInteractions(gameResultRepository);
+        verifyNoInteractions(gameResultMapper);
+        verifyNoInteractions(gameResultReplayCache);
+    }
 
-        assertThat(savedGameResult.getUser())
-                .isEqualTo(user);
+    @Test
+    void shouldCacheGameResultWrittenWithIdempotencyKey() {
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser(2L, Role.USER);
 
-        assertThat(savedGameResult.getSet())
-                .isEqualTo(flashcardSet);
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
 
-        assertThat(savedGameResult.getMode())
-                .isEqualTo(GameMode.MULTIPLE_CHOICE);
+        SaveGameResultRequest request = createSaveGameResultRequest(
+                11L,
+                GameMode.MULTIPLE_CHOICE,
+                8,
+                10,
+                120
+        );
 
-        assertThat(savedGameResult.getScore())
-                .isEqualTo(8);
+        GameResultDTO expectedDto = createGameResultDTO(
+                1L,
+                2L,
+                11L,
+                GameMode.MULTIPLE_CHOICE,
+                8,
+                10,
+                120
+        );
 
-        assertThat(savedGameResult.getTotalQuestions())
-                .isEqualTo(10);
+        when(gameResultWriter.write(eq(2L), eq(request), any(Instant.class), eq("game-1")))
+                .thenReturn(expectedDto);
 
-        assertThat(savedGameResult.getDurationSeconds())
-                .isEqualTo(120);
+        GameResultDTO result = gameResultService.saveGameResult(request, "game-1");
 
-        assertThat(savedGameResult.getCompletedAt())
-                .isNotNull();
+        assertThat(result).isEqualTo(expectedDto);
 
-        verify(gameAttemptRecorder).recordAttempt(
-                eq(user),
-                eq(flashcardSet),
-                eq(request),
-                any(Instant.class)
-        );
+        verify(gameResultReplayCache).find(2L, "game-1");
+        verify(gameResultReplayCache).putAfterCommit(2L, "game-1", expectedDto);
     }
 
     @Test
-    void shouldUpdateGameResultWhenResultAlreadyExists() {
-        User user = createUser(2L, Role.USER);
-
+    void shouldReturnCachedGameResultWhenIdempotencyKeyIsReplayed() {
         AuthenticatedUser authenticatedUser = createAuthenticatedUser(2L, Role.USER);
-        FlashcardSet flashcardSet = createFlashcardSet(11L, user);
 
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedUser);
 
-        when(userRepository.getReferenceById(2L))
-                .thenReturn(user);
-
-        GameResult existingGameResult = createGameResult(
-                user,
-                flashcardSet,
-                GameMode.WRITTEN
-        );
-
         SaveGameResultRequest request = createSaveGameResultRequest(
                 11L,
-                GameMode.WRITTEN,
-                9,
+                GameMode.MULTIPLE_CHOICE,
+                8,
                 10,
                 120
         );
 
-        GameResultDTO expectedDto = createGameResultDTO(
+        GameResultDTO cachedDto = createGameResultDTO(
                 1L,
                 2L,
                 11L,
-                GameMode.WRITTEN,
-                9,
+                GameMode.MULTIPLE_CHOICE,
+                8,
                 10,
                 120
         );
 
-        when(flashcardSetRepository.findById(11L))
-                .thenReturn(Optional.of(flashcardSet));
+        when(gameResultReplayCache.find(2L, "game-1"))
+                .thenReturn(cachedDto);
+
+        GameResultDTO result = gameResultService.saveGameResult(request, "game-1");
+
+        assertThat(result).isEqualTo(cachedDto);
 
-        when(gameResultRepository.findByUser_UserIdAndSet_SetIdAndMode(
+        verifyNoInteractions(gameResultWriter);
+        verify(gameResultReplayCache, never()).putAfterCommit(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void shouldFindSavedGameResultInDatabaseWhenItIsNotCached() {
+        GameResultDTO savedDto = createGameResultDTO(
+                1L,
                 2L,
                 11L,
-                GameMode.WRITTEN
-        )).thenReturn(Optional.of(existingGameResult));
+                GameMode.MULTIPLE_CHOICE,
+                8,
+                10,
+                120
+        );
 
-        when(gameResultRepository.save(existingGameResult))
-                .thenReturn(existingGameResult);
+        when(gameResultWriter.findByIdempotencyKey(2L, "game-1"))
+                .thenReturn(Optional.of(savedDto));
 
-        when(gameResultMapper.toDto(existingGameResult))
-                .thenReturn(expectedDto);
+        Optional<GameResultDTO> result = gameResultService.findSavedGameResult(2L, "game-1");
 
-        GameResultDTO result = gameResultService.saveGameResult(request);
+        assertThat(result).contains(savedDto);
+        verify(gameResultReplayCache).find(2L, "game-1");
+    }
 
-        assertThat(result).isEqualTo(expectedDto);
+    @Test
+    void shouldThrowExceptionWhenIdempotencyKeyIsTooLong() {
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser(2L, Role.USER);
 
-        assertThat(existingGameResult.getScore())
-                .isEqualTo(9);
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
 
-        assertThat(existingGameResult.getTotalQuestions())
-                .isEqualTo(10);
+        SaveGameResultRequest request = createSaveGameResultRequest(
+                11L,
+                GameMode.MULTIPLE_CHOICE,
+                8,
+                10,
+                120
+        );
 
-        assertThat(existingGameResult.getDurationSeconds())
-                .isEqualTo(120);
+        assertThatThrownBy(
+                () -> gameResultService.saveGameResult(request, "k".repeat(101))
+        )
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(
+                        "Idempotency-Key must not be blank and at most 100 characters long."
+                );
 
-        assertThat(existingGameResult.getCompletedAt())
-                .isNotNull();
+        verifyNoInteractions(gameResultReplayCache);
+        verifyNoInteractions(gameResultWriter);
+    }
 
-        verify(gameResultRepository)
-                .save(existingGameResult);
+    @Test
+    void shouldWriteGameResultsWithTheirCompletionTimes() {
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser(2L, Role.USER);
 
-        verify(gameAttemptRecorder).recordAttempt(
-                eq(user),
-                eq(flashcardSet),
-                eq(request),
-                any(Instant.class)
-        );
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+
+        Instant completedAt = Instant.parse("2026-01-10T10:15:30Z");
+        Instant future = Instant.now().plusSeconds(3600);
+
+        SaveGameResultRequest first = createSaveGameResultRequest(11L, GameMode.MATCHING, 8, 10, 120);
+        SaveGameResultRequest second = createSaveGameResultRequest(12L, GameMode.WRITTEN, 5, 10, null);
+
+        GameResultDTO firstDto = createGameResultDTO(1L, 2L, 11L, GameMode.MATCHING, 8, 10, 120);
+        GameResultDTO secondDto = createGameResultDTO(2L, 2L, 12L, GameMode.WRITTEN, 5, 10, null);
+
+        when(gameResultWriter.writeAll(eq(2L), anyList()))
+                .thenReturn(List.of(firstDto, secondDto));
+
+        List<GameResultDTO> results = gameResultService.saveGameResults(new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(completedAt, "game-1", first),
+                new SaveGameResultBatchItemRequest(future, null, second))));
+
+        assertThat(results).containsExactly(firstDto, secondDto);
+
+        ArgumentCaptor<List<SaveGameResultBatchItemRequest>> gamesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(gameResultWriter).writeAll(eq(2L), gamesCaptor.capture());
+
+        List<SaveGameResultBatchItemRequest> games = gamesCaptor.getValue();
+        assertThat(games.get(0).completedAt()).isEqualTo(completedAt);
+        assertThat(games.get(1).completedAt()).isBefore(future);
+        assertThat(games.get(1).game()).isEqualTo(second);
+
+        verify(gameResultReplayCache).putAfterCommit(2L, "game-1", firstDto);
+        verifyNoMoreInteractions(gameResultReplayCache);
+    }
+
+    @Test
+    void shouldWriteGameResultsOfSeveralUsersAtOnce() {
+        Instant completedAt = Instant.parse("2026-01-10T10:15:30Z");
+
+        GameResultWriter.UserGame first = new GameResultWriter.UserGame(
+                2L, createSaveGameResultRequest(11L, GameMode.MATCHING, 8, 10, 120), completedAt, "game-1");
+        GameResultWriter.UserGame second = new GameResultWriter.UserGame(
+                3L, createSaveGameResultRequest(12L, GameMode.WRITTEN, 5, 10, null), completedAt, null);
+
+        GameResultDTO firstDto = createGameResultDTO(1L, 2L, 11L, GameMode.MATCHING, 8, 10, 120);
+        GameResultDTO secondDto = createGameResultDTO(2L, 3L, 12L, GameMode.WRITTEN, 5, 10, null);
+
+        when(gameResultWriter.writeAll(List.of(first, second)))
+                .thenReturn(List.of(firstDto, secondDto));
+
+        List<GameResultDTO> results = gameResultService.recordGameResults(List.of(first, second));
+
+        assertThat(results).containsExactly(firstDto, secondDto);
+        verify(gameResultReplayCache).putAfterCommit(2L, "game-1", firstDto);
+        verifyNoMoreInteractions(gameResultReplayCache);
+        verifyNoInteractions(currentUserProvider);
+    }
+
+    @Test
+    void shouldNotWriteAnyGameResultWhenOneOfThemIsInvalid() {
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser(2L, Role.USER);
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+
+        Instant completedAt = Instant.parse("2026-01-10T10:15:30Z");
+
+        SaveGameResultBatchRequest request = new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(
+                        completedAt,
+                        null,
+                        createSaveGameResultRequest(11L, GameMode.MATCHING, 8, 10, 120)),
+                new SaveGameResultBatchItemRequest(
+                        completedAt,
+                        null,
+                        createSaveGameResultRequest(11L, GameMode.MATCHING, 11, 10, 120))));
+
+        assertThatThrownBy(
+                () -> gameResultService.saveGameResults(request)
+        )
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(
+                        "Score cannot be greater than total questions."
+                );
+
+        verifyNoInteractions(gameResultWriter);
+        verifyNoInteractions(gameResultReplayCache);
+    }
+
+    @Test
+    void shouldNotWriteAnyGameResultWhenBatchHoldsTooManyQuestionResults() {
+        AuthenticatedUser authenticatedUser = createAuthenticatedUser(2L, Role.USER);
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(authenticatedUser);
+
+        List<SaveGameQuestionResultRequest> questionResults =
+                Collections.nCopies(5_001, createSaveGameQuestionResultRequest());
+        SaveGameResultRequest game = new SaveGameResultRequest(
+                11L, GameMode.MATCHING, 8, 10, 120, questionResults);
+
+        SaveGameResultBatchRequest request = new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(Instant.parse("2026-01-10T10:15:30Z"), null, game),
+                new SaveGameResultBatchItemRequest(Instant.parse("2026-01-10T10:20:30Z"), null, game)));
+
+        assertThatThrownBy(
+                () -> gameResultService.saveGameResults(request)
+        )
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(
+                        "At most 10000 question results can be saved at once."
+                );
+
+        verifyNoInteractions(gameResultWriter);
     }
 
     @Test
@@ -250,7 +370,7 @@ class GameResultServiceTest {
         );
 
         assertThatThrownBy(
-                () -> gameResultService.saveGameResult(request)
+                () -> gameResultService.saveGameResult(request, null)
         )
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage(
@@ -259,7 +379,7 @@ class GameResultServiceTest {
 
         verifyNoInteractions(flashcardSetRepository);
         verifyNoInteractions(gameResultRepository);
-        verifyNoInteractions(gameAttemptRecorder);
+        verifyNoInteractions(gameResultWriter);
         verifyNoInteractions(gameResultMapper);
     }
 
@@ -278,21 +398,17 @@ class GameResultServiceTest {
                 null
         );
 
-        when(flashcardSetRepository.findById(99L))
-                .thenReturn(Optional.empty());
+        when(gameResultWriter.write(eq(2L), eq(request), any(Instant.class), isNull()))
+                .thenThrow(new ResourceNotFoundException("FlashcardSet with id: 99 not found"));
 
         assertThatThrownBy(
-                () -> gameResultService.saveGameResult(request)
+                () -> gameResultService.saveGameResult(request, null)
         )
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage(
                         "FlashcardSet with id: 99 not found"
                 );
 
-        verify(gameResultRepository, never())
-                .save(any());
-
-        verifyNoInteractions(gameAttemptRecorder);
         verifyNoInteractions(gameResultMapper);
     }
 
@@ -471,6 +587,54 @@ class GameResultServiceTest {
         verifyNoInteractions(gameResultMapper);
     }
 
+    @Test
+    void shouldReturnGameResultsPageBeforeCursorForAdmin() {
+        AuthenticatedUser admin = createAuthenticatedUser(1L, Role.ADMIN);
+        Instant cursorCompletedAt = Instant.parse("2026-01-10T10:00:00Z");
+        KeysetCursor cursor = new KeysetCursor(cursorCompletedAt, 50L);
+
+        GameResult first = gameResultBuilder().resultId(40L).build();
+        GameResult second = gameResultBuilder().resultId(39L).build();
+        GameResultDTO firstDto = createGameResultDTO(first);
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(admin);
+
+        when(gameResultRepository
+                .findPageBefore(eq(cursorCompletedAt), eq(50L), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+
+        when(gameResultMapper.toDto(first))
+                .thenReturn(firstDto);
+
+        CursorPageDTO<GameResultDTO> page =
+                gameResultService.getGameResultsPage(null, cursor.encode(), 1);
+
+        assertThat(page.items())
+                .containsExactly(firstDto);
+        assertThat(KeysetCursor.decode(page.nextCursor()))
+                .isEqualTo(new KeysetCursor(first.getCompletedAt(), 40L));
+
+        verify(gameResultMapper, never()).toDto(second);
+    }
+
+    @Test
+    void shouldRejectGameResultsPageCursorWithoutCompletedAt() {
+        AuthenticatedUser admin = createAuthenticatedUser(1L, Role.ADMIN);
+        String cursor = KeysetCursor.ofId(50L).encode();
+
+        when(currentUserProvider.getCurrentUser())
+                .thenReturn(admin);
+
+        assertThatThrownBy(
+                () -> gameResultService.getGameResultsPage(null, cursor, 10)
+        )
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid pagination cursor");
+
+        verifyNoInteractions(gameResultRepository);
+    }
+
     @Test
     void shouldReturnGameResultByIdForOwner() {
         User owner = createUser(2L, Role.USER);
@@ -489,7 +653,7 @@ class GameResultServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedOwner);
 
-        when(gameResultRepository.findById(1L))
+        when(gameResultRepository.findLatestByResultId(1L))
                 .thenReturn(Optional.of(gameResult));
 
         when(gameResultMapper.toDto(gameResult))
@@ -519,7 +683,7 @@ class GameResultServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(admin);
 
-        when(gameResultRepository.findById(1L))
+        when(gameResultRepository.findLatestByResultId(1L))
                 .thenReturn(Optional.of(gameResult));
 
         when(gameResultMapper.toDto(gameResult))
@@ -539,7 +703,7 @@ class GameResultServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedUser);
 
-        when(gameResultRepository.findById(99L))
+        when(gameResultRepository.findLatestByResultId(99L))
                 .thenReturn(Optional.empty());
 
         assertThatThrownBy(
@@ -570,7 +734,7 @@ class GameResultServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedUser);
 
-        when(gameResultRepository.findById(1L))
+        when(gameResultRepository.findLatestByResultId(1L))
                 .thenReturn(Optional.of(gameResult));
 
         assertThatThrownBy(
@@ -602,13 +766,15 @@ class GameResultServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedOwner);
 
-        when(gameResultRepository.findById(1L))
+        when(gameResultRepository.findLatestByResultId(1L))
                 .thenReturn(Optional.of(gameResult));
 
         gameResultService.deleteGameResult(1L);
 
-        verify(gameResultRepository)
-                .delete(gameResult);
+        verify(gameAttemptRepository)
+                .markLatestResultDeleted(2L, 11L, "MATCHING");
+        verify(gameResultReplayCache)
+                .evictAfterCommit(2L, 11L, GameMode.MATCHING);
     }
 
     @Test
@@ -628,13 +794,13 @@ class GameResultServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(admin);
 
-        when(gameResultRepository.findById(1L))
+        when(gameResultRepository.findLatestByResultId(1L))
                 .thenReturn(Optional.of(gameResult));
 
         gameResultService.deleteGameResult(1L);
 
-        verify(gameResultRepository)
-                .delete(gameResult);
+        verify(gameAttemptRepository)
+                .markLatestResultDeleted(2L, 11L, "MATCHING");
     }
 
     @Test
@@ -653,7 +819,7 @@ class GameResultServiceTest {
         when(currentUserProvider.getCurrentUser())
                 .thenReturn(authenticatedUser);
 
-        when(gameResultRepository.findById(1L))
+        when(gameResultRepository.findLatestByResultId(1L))
                 .thenReturn(Optional.of(gameResult));
 
         assertThatThrownBy(
@@ -664,7 +830,9 @@ class GameResultServiceTest {
                         "You are not allowed to delete this game result."
                 );
 
-        verify(gameResultRepository, never())
-                .delete(any());
+        verify(gameAttemptRepository, never())
+                .markLatestResultDeleted(any(), any(), any());
+        verify(gameResultReplayCache, never())
+                .evictAfterCommit(any(), any(), any());
     }
 }
\ No newline at end of file
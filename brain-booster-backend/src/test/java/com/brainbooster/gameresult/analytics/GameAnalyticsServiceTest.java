@@ -1,5 +1,6 @@
 package com.brainbooster.gameresult.analytics;
 
+import com.brainbooster.concurrency.RequestCoalescer;
 import com.brainbooster.gameresult.GameQuestionType;
 import com.brainbooster.gameresult.WeakFlashcardDTO;
 import com.brainbooster.gameresult.analytics.dto.GameAnalyticsSummaryDTO;
@@ -13,10 +14,12 @@ import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
 import com.brainbooster.user.User;
 import com.brainbooster.utils.TestEntities;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
@@ -38,6 +41,8 @@ class GameAnalyticsServiceTest {
     private WeakFlashcardAnalyzer weakFlashcardAnalyzer;
     @Mock
     private QuestionTypeAnalyzer questionTypeAnalyzer;
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry(), true, 1000);
 
     @InjectMocks
     private GameAnalyticsService gameAnalyticsService;
@@ -0,0 +1,111 @@
+package com.brainbooster.gameresult.submission;
+
+import com.brainbooster.config.JwtAuthenticationFilter;
+import com.brainbooster.exception.TooManyRequestsException;
+import com.brainbooster.gameresult.GameMode;
+import com.brainbooster.gameresult.dto.GameResultSubmissionDTO;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.security.autoconfigure.SecurityAutoConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.brainbooster.utils.TestEntities.createSaveGameResultRequest;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = GameResultSubmissionController.class,
+        excludeAutoConfiguration = SecurityAutoConfiguration.class)
+@AutoConfigureMockMvc(addFilters = false)
+class GameResultSubmissionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private GameResultSubmissionService gameResultSubmissionService;
+
+    /* Required because JwtAuthenticationFilter is part of the application security configuration
+ and the MVC slice test does not load all of its dependencies */
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void shouldAcceptGameResultSubmission() throws Exception {
+        SaveGameResultRequest request = createSaveGameResultRequest(11L, GameMode.MATCHING, 8, 10, 120);
+
+        when(gameResultSubmissionService.submitGameResult(request, "game-1"))
+                .thenReturn(new GameResultSubmissionDTO(
+                        5L,
+                        11L,
+                        SubmissionStatus.PENDING,
+                        null,
+                        Instant.parse("2026-01-01T10:00:00Z")));
+
+        mockMvc.perform(post("/game-results/submissions")
+                        .header("Idempotency-Key", "game-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.submissionId").value(5L))
+                .andExpect(jsonPath("$.setId").value(11L))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void shouldReturnTooManyRequestsWhenSubmissionBacklogIsFull() throws Exception {
+        SaveGameResultRequest request = createSaveGameResultRequest(11L, GameMode.MATCHING, 8, 10, 120);
+
+        when(gameResultSubmissionService.submitGameResult(any(SaveGameResultRequest.class), any()))
+                .thenThrow(new TooManyRequestsException("Too many game results are waiting to be saved"));
+
+        mockMvc.perform(post("/game-results/submissions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenSubmittingInvalidGameResult() throws Exception {
+        SaveGameResultRequest request = createSaveGameResultRequest(11L, GameMode.MATCHING, -1, 10, null);
+
+        mockMvc.perform(post("/game-results/submissions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gameResultSubmissionService);
+    }
+
+    @Test
+    void shouldReturnMySubmissions() throws Exception {
+        when(gameResultSubmissionService.getMySubmissions())
+                .thenReturn(List.of(new GameResultSubmissionDTO(
+                        5L,
+                        11L,
+                        SubmissionStatus.FAILED,
+                        "FlashcardSet with id: 11 not found",
+                        Instant.parse("2026-01-01T10:00:00Z"))));
+
+        mockMvc.perform(get("/game-results/submissions/me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].submissionId").value(5L))
+                .andExpect(jsonPath("$[0].status").value("FAILED"))
+                .andExpect(jsonPath("$[0].error").value("FlashcardSet with id: 11 not found"));
+    }
+}
@@ -0,0 +1,198 @@
+package com.brainbooster.gameresult.submission;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.exception.ServiceUnavailableException;
+import com.brainbooster.exception.TooManyRequestsException;
+import com.brainbooster.gameresult.GameMode;
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.brainbooster.gameresult.dto.GameResultSubmissionDTO;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import com.brainbooster.security.CurrentUserProvider;
+import com.brainbooster.user.Role;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.brainbooster.utils.TestEntities.createAuthenticatedUser;
+import static com.brainbooster.utils.TestEntities.createSaveGameResultRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GameResultSubmissionServiceTest {
+
+    private static final long MAX_PENDING = 3;
+    private static final long MAX_PENDING_OF_ALL_USERS = 10;
+
+    private final GameResultSubmissionRepository submissionRepository = mock(GameResultSubmissionRepository.class);
+    private final GameResultService gameResultService = mock(GameResultService.class);
+    private final CurrentUserProvider currentUserProvider = mock(CurrentUserProvider.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private final GameResultSubmissionService submissionService = new GameResultSubmissionService(
+            submissionRepository,
+            gameResultService,
+            currentUserProvider,
+            objectMapper,
+            MAX_PENDING,
+            MAX_PENDING_OF_ALL_USERS);
+
+    @Test
+    void submitGameResult_ShouldQueueRequest() {
+        // given
+        SaveGameResultRequest request = createSaveGameResultRequest(11L, GameMode.WRITTEN, 8, 10, 120);
+
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser(2L, Role.USER));
+        when(submissionRepository.countPendingByUserIdUpTo(2L, MAX_PENDING)).thenReturn(MAX_PENDING - 1);
+        when(submissionRepository.save(any(GameResultSubmission.class))).thenAnswer(invocation -> {
+            GameResultSubmission submission = invocation.getArgument(0);
+            submission.setSubmissionId(5L);
+            return submission;
+        });
+
+        // when
+        GameResultSubmissionDTO result = submissionService.submitGameResult(request, "game-1");
+
+        // then
+        assertThat(result.submissionId()).isEqualTo(5L);
+        assertThat(result.setId()).isEqualTo(11L);
+        assertThat(result.status()).isEqualTo(SubmissionStatus.PENDING);
+
+        ArgumentCaptor<GameResultSubmission> captor = ArgumentCaptor.forClass(GameResultSubmission.class);
+        verify(submissionRepository).save(captor.capture());
+
+        GameResultSubmission saved = captor.getValue();
+        assertThat(saved.getUserId()).isEqualTo(2L);
+        assertThat(saved.getIdempotencyKey()).isEqualTo("game-1");
+        assertThat(objectMapper.readValue(saved.getPayload(), SaveGameResultRequest.class)).isEqualTo(request);
+        verify(gameResultService).validateGameResult(request, "game-1");
+    }
+
+    @Test
+    void submitGameResult_ShouldReturnQueuedSubmission_WhenRetriedWithSameKey() {
+        // given
+        SaveGameResultRequest request = createSaveGameResultRequest();
+        GameResultSubmission queued = GameResultSubmission.builder()
+                .submissionId(5L)
+                .userId(2L)
+                .setId(request.setId())
+                .payload(objectMapper.writeValueAsString(request))
+                .idempotencyKey("game-1")
+                .submittedAt(Instant.parse("2026-01-01T10:00:00Z"))
+                .build();
+
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser(2L, Role.USER));
+        when(submissionRepository.findByUserIdAndIdempotencyKey(2L, "game-1")).thenReturn(Optional.of(queued));
+
+        // when
+        GameResultSubmissionDTO result = submissionService.submitGameResult(request, "game-1");
+
+        // then
+        assertThat(result.submissionId()).isEqualTo(5L);
+        assertThat(result.status()).isEqualTo(SubmissionStatus.PENDING);
+        verify(submissionRepository, never()).save(any());
+        verify(gameResultService, never()).findSavedGameResult(any(), any());
+    }
+
+    @Test
+    void submitGameResult_ShouldReportApplied_WhenRetriedAfterGameWasSaved() {
+        // given
+        SaveGameResultRequest request = createSaveGameResultRequest(11L, GameMode.WRITTEN, 8, 10, 120);
+        Instant completedAt = Instant.parse("2026-01-01T10:00:00Z");
+
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser(2L, Role.USER));
+        when(submissionRepository.findByUserIdAndIdempotencyKey(2L, "game-1")).thenReturn(Optional.empty());
+        when(gameResultService.findSavedGameResult(2L, "game-1")).thenReturn(Optional.of(
+                new GameResultDTO(9L, 2L, 11L, GameMode.WRITTEN, 8, 10, 120, completedAt)));
+
+        // when
+        GameResultSubmissionDTO result = submissionService.submitGameResult(request, "game-1");
+
+        // then
+        assertThat(result.submissionId()).isNull();
+        assertThat(result.setId()).isEqualTo(11L);
+        assertThat(result.status()).isEqualTo(SubmissionStatus.APPLIED);
+        assertThat(result.submittedAt()).isEqualTo(completedAt);
+        verify(submissionRepository, never()).save(any());
+    }
+
+    @Test
+    void submitGameResult_ShouldReject_WhenUserHasTooManyPendingSubmissions() {
+        // given
+        SaveGameResultRequest request = createSaveGameResultRequest();
+
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser(2L, Role.USER));
+        when(submissionRepository.countPendingByUserIdUpTo(2L, MAX_PENDING)).thenReturn(MAX_PENDING);
+
+        // when & then
+        assertThatThrownBy(() -> submissionService.submitGameResult(request, null))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        verify(submissionRepository, never()).save(any());
+    }
+
+    @Test
+    void submitGameResult_ShouldReject_WhenQueueIsFull() {
+        // given
+        SaveGameResultRequest request = createSaveGameResultRequest();
+
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser(2L, Role.USER));
+        when(submissionRepository.countPendingByUserIdUpTo(2L, MAX_PENDING)).thenReturn(0L);
+        when(submissionRepository.countPendingUpTo(MAX_PENDING_OF_ALL_USERS)).thenReturn(MAX_PENDING_OF_ALL_USERS);
+
+        // when & then
+        assertThatThrownBy(() -> submissionService.submitGameResult(request, null))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        verify(submissionRepository, never()).save(any());
+    }
+
+    @Test
+    void submitGameResult_ShouldNotQueueInvalidRequest() {
+        // given
+        SaveGameResultRequest request = createSaveGameResultRequest();
+
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser(2L, Role.USER));
+        doThrow(new ResourceNotFoundException("FlashcardSet with id: 1 not found"))
+                .when(gameResultService).validateGameResult(request, null);
+
+        // when & then
+        assertThatThrownBy(() -> submissionService.submitGameResult(request, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verify(submissionRepository, never()).save(any());
+    }
+
+    @Test
+    void getMySubmissions_ShouldReturnSubmissionsOfCurrentUser() {
+        // given
+        when(currentUserProvider.getCurrentUser()).thenReturn(createAuthenticatedUser(2L, Role.USER));
+        when(submissionRepository.findByUserIdOrderBySubmissionIdAsc(2L)).thenReturn(List.of(
+                GameResultSubmission.builder()
+                        .submissionId(5L)
+                        .userId(2L)
+                        .setId(11L)
+                        .payload("{}")
+                        .status(SubmissionStatus.FAILED)
+                        .error("FlashcardSet with id: 11 not found")
+                        .submittedAt(Instant.parse("2026-01-01T10:00:00Z"))
+                        .build()));
+
+        // when
+        List<GameResultSubmissionDTO> result = submissionService.getMySubmissions();
+
+        // then
+        assertThat(result).singleElement().satisfies(submission -> {
+            assertThat(submission.submissionId()).isEqualTo(5L);
+            assertThat(submission.status()).isEqualTo(SubmissionStatus.FAILED);
+            assertThat(submission.error()).isEqualTo("FlashcardSet with id: 11 not found");
+        });
+    }
+}
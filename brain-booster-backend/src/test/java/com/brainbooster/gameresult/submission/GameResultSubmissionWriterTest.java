@@ -0,0 +1,272 @@
+package com.brainbooster.gameresult.submission;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.gameresult.GameMode;
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.GameResultWriter;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.brainbooster.utils.TestEntities.createSaveGameResultRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GameResultSubmissionWriterTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long FAILED_RETENTION_HOURS = 24;
+    private static final Instant SUBMITTED_AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final GameResultSubmissionRepository submissionRepository = mock(GameResultSubmissionRepository.class);
+    private final GameResultService gameResultService = mock(GameResultService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GameResultSubmissionWriter writer = createWriter(true);
+
+    @Test
+    void drain_ShouldApplyAndDeleteSubmissionsInBatchesUntilBatchIsNotFull() {
+        // given
+        GameResultSubmission first = submission(1L, 11L);
+        GameResultSubmission second = submission(2L, 12L);
+        GameResultSubmission third = submission(3L, 13L);
+
+        when(submissionRepository.tryLockWriter()).thenReturn(true);
+        when(submissionRepository.findPending(PageRequest.ofSize(BATCH_SIZE)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(submissionRepository.countPendingUpTo(GameResultSubmissionWriter.PENDING_GAUGE_LIMIT)).thenReturn(4L);
+
+        // when
+        long processed = writer.drain();
+
+        // then
+        assertThat(processed).isEqualTo(3);
+
+        var inOrder = inOrder(gameResultService, submissionRepository);
+        inOrder.verify(gameResultService).recordGameResults(List.of(game(11L), game(12L)));
+        inOrder.verify(submissionRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        inOrder.verify(gameResultService).recordGameResults(List.of(game(13L)));
+        inOrder.verify(submissionRepository).deleteAllByIdInBatch(List.of(3L));
+
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(submissions("applied")).isEqualTo(3);
+        assertThat(meterRegistry.get(GameResultSubmissionWriter.PENDING_METRIC).gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void drain_ShouldDoNothing_WhenAnotherInstanceHoldsWriterLock() {
+        // given
+        when(submissionRepository.tryLockWriter()).thenReturn(false);
+
+        // when
+        long processed = writer.drain();
+
+        // then
+        assertThat(processed).isZero();
+        verify(submissionRepository, never()).findPending(any());
+        verifyNoInteractions(gameResultService);
+    }
+
+    @Test
+    void drain_ShouldMarkSubmissionAsFailed_WhenItCannotBeApplied() {
+        // given
+        GameResultSubmission failing = submission(1L, 11L);
+        GameResultSubmission valid = submission(2L, 12L);
+
+        when(submissionRepository.tryLockWriter()).thenReturn(true);
+        when(submissionRepository.findPending(PageRequest.ofSize(BATCH_SIZE)))
+                .thenReturn(List.of(failing, valid))
+                .thenReturn(List.of());
+        when(submissionRepository.findPending(PageRequest.ofSize(1)))
+                .thenReturn(List.of(failing))
+                .thenReturn(List.of(valid));
+        when(gameResultService.recordGameResults(argThat(games -> games.contains(game(11L)))))
+                .thenThrow(new ResourceNotFoundException("FlashcardSet with id: 11 not found"));
+
+        // when
+        long processed = writer.drain();
+
+        // then
+        assertThat(processed).isEqualTo(2);
+        verify(submissionRepository).markFailed(1L, "FlashcardSet with id: 11 not found");
+        verify(submissionRepository, never()).deleteAllByIdInBatch(List.of(1L));
+        verify(submissionRepository).deleteAllByIdInBatch(List.of(2L));
+        assertThat(submissions("applied")).isEqualTo(1);
+        assertThat(submissions("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void drain_ShouldMarkSubmissionAsFailed_WhenUnexpectedErrorIsNotTransient() {
+        // given
+        GameResultSubmission submission = submission(1L, 11L);
+
+        when(submissionRepository.tryLockWriter()).thenReturn(true);
+        when(submissionRepository.findPending(any()))
+                .thenReturn(List.of(submission))
+                .thenReturn(List.of(submission))
+                .thenReturn(List.of());
+        when(gameResultService.recordGameResults(anyList()))
+                .thenThrow(new IllegalStateException("Unexpected payload"));
+
+        // when
+        long processed = writer.drain();
+
+        // then
+        assertThat(processed).isEqualTo(1);
+        verify(submissionRepository).markFailed(1L, "Unexpected payload");
+        verify(submissionRepository, never()).recordFailedAttempt(any(), anyString());
+        assertThat(submissions("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void drain_ShouldCountAttemptAndStop_WhenErrorIsTransient() {
+        // given
+        GameResultSubmission submission = submission(1L, 11L);
+
+        when(submissionRepository.tryLockWriter()).thenReturn(true);
+        when(submissionRepository.findPending(any())).thenReturn(List.of(submission));
+        when(gameResultService.recordGameResults(anyList()))
+                .thenThrow(new CannotAcquireLockException("Deadlock detected"));
+
+        // when
+        long processed = writer.drain();
+
+        // then
+        assertThat(processed).isZero();
+        verify(submissionRepository).recordFailedAttempt(1L, "Deadlock detected");
+        verify(submissionRepository, never()).markFailed(any(), anyString());
+        verify(submissionRepository, never()).deleteAllByIdInBatch(any());
+        assertThat(submissions("retried")).isEqualTo(1);
+    }
+
+    @Test
+    void drain_ShouldMarkSubmissionAsFailed_WhenTransientErrorExhaustsAttempts() {
+        // given
+        GameResultSubmission submission = submission(1L, 11L);
+        submission.setAttempts(MAX_ATTEMPTS - 1);
+
+        when(submissionRepository.tryLockWriter()).thenReturn(true);
+        when(submissionRepository.findPending(any()))
+                .thenReturn(List.of(submission))
+                .thenReturn(List.of(submission))
+                .thenReturn(List.of());
+        when(gameResultService.recordGameResults(anyList()))
+                .thenThrow(new CannotAcquireLockException("Deadlock detected"));
+
+        // when
+        long processed = writer.drain();
+
+        // then
+        assertThat(processed).isEqualTo(1);
+        verify(submissionRepository).markFailed(1L, "Deadlock detected");
+        verify(submissionRepository, never()).recordFailedAttempt(any(), anyString());
+        assertThat(submissions("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void drain_ShouldLeaveSubmissionsPending_WhenNoSubmissionCouldBeRead() {
+        // given
+        when(submissionRepository.tryLockWriter()).thenReturn(true);
+        when(submissionRepository.findPending(any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection lost"));
+
+        // when & then
+        assertThatThrownBy(writer::drain)
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(submissionRepository, never()).markFailed(any(), anyString());
+        verify(submissionRepository, never()).recordFailedAttempt(any(), anyString());
+        verifyNoInteractions(gameResultService);
+    }
+
+    @Test
+    void purgeFailed_ShouldDeleteFailedSubmissionsOlderThanRetentionInBatches() {
+        // given
+        Instant before = Instant.now().minus(Duration.ofHours(FAILED_RETENTION_HOURS));
+
+        when(submissionRepository.deleteFailedSubmittedBefore(any(), eq(BATCH_SIZE))).thenReturn(2, 1);
+
+        // when
+        long deleted = writer.purgeFailed();
+
+        // then
+        assertThat(deleted).isEqualTo(3);
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(submissionRepository, times(2)).deleteFailedSubmittedBefore(cutoff.capture(), eq(BATCH_SIZE));
+        assertThat(cutoff.getValue())
+                .isAfterOrEqualTo(before)
+                .isBefore(Instant.now().minus(Duration.ofHours(FAILED_RETENTION_HOURS - 1)));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void scheduledRuns_ShouldDoNothing_WhenDisabled() {
+        // given
+        GameResultSubmissionWriter disabledWriter = createWriter(false);
+
+        // when
+        disabledWriter.drainOnSchedule();
+        disabledWriter.purgeFailedOnSchedule();
+
+        // then
+        verifyNoInteractions(submissionRepository);
+    }
+
+    private GameResultSubmissionWriter createWriter(boolean enabled) {
+        return new GameResultSubmissionWriter(
+                submissionRepository,
+                gameResultService,
+                new TransactionTemplate(transactionManager),
+                objectMapper,
+                enabled ? meterRegistry : new SimpleMeterRegistry(),
+                enabled,
+                BATCH_SIZE,
+                MAX_ATTEMPTS,
+                FAILED_RETENTION_HOURS);
+    }
+
+    private GameResultSubmission submission(Long submissionId, Long setId) {
+        return GameResultSubmission.builder()
+                .submissionId(submissionId)
+                .userId(2L)
+                .setId(setId)
+                .payload(objectMapper.writeValueAsString(request(setId)))
+                .submittedAt(SUBMITTED_AT)
+                .build();
+    }
+
+    private static GameResultWriter.UserGame game(Long setId) {
+        return new GameResultWriter.UserGame(2L, request(setId), SUBMITTED_AT, null);
+    }
+
+    private static SaveGameResultRequest request(Long setId) {
+        return createSaveGameResultRequest(setId, GameMode.MULTIPLE_CHOICE, 8, 10, 120);
+    }
+
+    private double submissions(String result) {
+        return meterRegistry.get(GameResultSubmissionWriter.SUBMISSIONS_METRIC).tag("result", result).counter().count();
+    }
+}
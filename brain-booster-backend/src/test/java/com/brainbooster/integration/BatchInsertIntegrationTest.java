@@ -0,0 +1,283 @@
+package com.brainbooster.integration;
+
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcardset.FlashcardSetRepository;
+import com.brainbooster.flashcardset.FlashcardSetService;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetDTO;
+import com.brainbooster.gameresult.GameMode;
+import com.brainbooster.gameresult.GameQuestionType;
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.attempt.GameAttempt;
+import com.brainbooster.gameresult.attempt.GameAttemptRepository;
+import com.brainbooster.gameresult.dto.SaveGameQuestionResultRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import com.brainbooster.gameresult.questionresult.GameQuestionResult;
+import com.brainbooster.gameresult.questionresult.GameQuestionResultRepository;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the number of JDBC statements needed to insert large batches of rows.
+ * <p>
+ * With IDENTITY IDs every row costs its own INSERT round-trip (500 cards = 500+ statements).
+ * With pooled sequences and JDBC batching, the same work takes a handful of statements:
+ * one {@code nextval} and one batched INSERT per 50 rows. Game results skip Hibernate altogether:
+ * one statement saves the attempts and a single {@code COPY} loads their question results.
+ */
+@Sql(scripts = "/insert-it-test-users.sql")
+class BatchInsertIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchInsertIntegrationTest.class);
+
+    private static final int SET_SIZE = 500;
+    private static final int QUESTION_COUNT = 200;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 20;
+
+    @Autowired
+    private FlashcardSetService flashcardSetService;
+    @Autowired
+    private FlashcardSetRepository flashcardSetRepository;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameResultService gameResultService;
+    @Autowired
+    private GameAttemptRepository gameAttemptRepository;
+    @Autowired
+    private GameQuestionResultRepository gameQuestionResultRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("addFlashcardSet - Should insert 500 flashcards in a handful of batched statements")
+    void addFlashcardSet_ShouldBatchFlashcardInserts() {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        mockAuthenticatedUser(owner);
+
+        FlashcardSetCreationDTO creationDTO = new FlashcardSetCreationDTO(
+                "Large Set",
+                "Benchmark set",
+                flashcardContents(SET_SIZE));
+
+        statistics.clear();
+        long start = System.nanoTime();
+
+        // when
+        FlashcardSetDTO result = flashcardSetService.addFlashcardSet(creationDTO);
+
+        // then
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Created set with {} flashcards: {} statements prepared, {} ms",
+                SET_SIZE, statistics.getPrepareStatementCount(), elapsedMillis);
+
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(result.setId())).hasSize(SET_SIZE);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(SET_SIZE + 1L);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(40);
+    }
+
+    /**
+     * Compares writing a 200-question custom test through JPA, as game results were saved before,
+     * with {@link GameResultService#recordGameResult}, which inserts the attempt and loads
+     * the question results with a binary COPY. Each path is warmed up first and then timed over
+     * several runs, each in its own transaction; the median and slowest run are logged.
+     */
+    @Test
+    @DisplayName("recordGameResult - Should write a 200-question attempt through JDBC without Hibernate statements")
+    void recordGameResult_ShouldWriteQuestionResultsWithCopy() {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        mockAuthenticatedUser(owner);
+
+        Long setId = flashcardSetService.addFlashcardSet(new FlashcardSetCreationDTO(
+                "Test Set",
+                "Benchmark set",
+                flashcardContents(QUESTION_COUNT))).setId();
+
+        List<Long> flashcardIds = flashcardRepository.findAllByFlashcardSet_SetId(setId)
+                .stream()
+                .map(Flashcard::getFlashcardId)
+                .toList();
+
+        SaveGameResultRequest request = new SaveGameResultRequest(
+                setId,
+                GameMode.CUSTOM_TEST,
+                QUESTION_COUNT,
+                QUESTION_COUNT,
+                120,
+                IntStream.range(0, QUESTION_COUNT)
+                        .mapToObj(order -> new SaveGameQuestionResultRequest(
+                                flashcardIds.get(order),
+                                "custom-test-" + order,
+                                order,
+                                GameQuestionType.WRITTEN,
+                                null,
+                                "Term " + order,
+                                "Definition " + order,
+                                "Definition " + order,
+                                true,
+                                0))
+                        .toList());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        statistics.clear();
+        long[] jpaNanos = time(() -> transactionTemplate.executeWithoutResult(_ ->
+                saveAttemptWithJpa(owner.getUserId(), request)));
+        long jpaStatements = statistics.getPrepareStatementCount() / (WARMUP_RUNS + MEASURED_RUNS);
+
+        statistics.clear();
+
+        // when
+        long[] jdbcNanos = time(() -> transactionTemplate.executeWithoutResult(_ ->
+                gameResultService.recordGameResult(owner.getUserId(), request, Instant.now(), null)));
+
+        // then
+        log.info("Recorded attempt with {} question results over {} runs: "
+                        + "JPA {} statements per run, median {} ms, max {} ms; "
+                        + "JDBC with COPY median {} ms, max {} ms",
+                QUESTION_COUNT, MEASURED_RUNS, jpaStatements,
+                millis(jpaNanos[MEASURED_RUNS / 2]), millis(jpaNanos[MEASURED_RUNS - 1]),
+                millis(jdbcNanos[MEASURED_RUNS / 2]), millis(jdbcNanos[MEASURED_RUNS - 1]));
+
+        int runs = 2 * (WARMUP_RUNS + MEASURED_RUNS);
+
+        assertThat(jpaStatements).isLessThan(20);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(gameAttemptRepository.count()).isEqualTo(runs);
+        assertThat(gameQuestionResultRepository.count()).isEqualTo((long) runs * QUESTION_COUNT);
+    }
+
+    /**
+     * Runs the write {@link #WARMUP_RUNS} times untimed, then {@link #MEASURED_RUNS} times timed.
+     *
+     * @return the timed runs in nanoseconds, fastest first.
+     */
+    private static long[] time(Runnable write) {
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            write.run();
+        }
+
+        long[] nanos = new long[MEASURED_RUNS];
+
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            write.run();
+            nanos[run] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+
+        return nanos;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * Saves the attempt the way the JPA write path did: loads the answered flashcards,
+     * then persists the attempt with its question results in batched inserts.
+     */
+    private void saveAttemptWithJpa(Long userId, SaveGameResultRequest request) {
+        Map<Long, Flashcard> flashcardsById = flashcardRepository.loadAllById(request.questionResults()
+                        .stream()
+                        .map(SaveGameQuestionResultRequest::flashcardId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Flashcard::getFlashcardId, Function.identity()));
+
+        Instant completedAt = Instant.now();
+
+        GameAttempt attempt = GameAttempt.builder()
+                .user(userRepository.getReferenceById(userId))
+                .set(flashcardSetRepository.getReferenceById(request.setId()))
+                .mode(request.mode())
+                .score(request.score())
+                .totalQuestions(request.totalQuestions())
+                .durationSeconds(request.durationSeconds())
+                .completedAt(completedAt)
+                .build();
+
+        request.questionResults().forEach(questionResult -> attempt.addQuestionResult(GameQuestionResult.builder()
+                .flashcard(flashcardsById.get(questionResult.flashcardId()))
+                .questionKey(questionResult.questionKey())
+                .questionOrder(questionResult.questionOrder())
+                .questionType(questionResult.questionType())
+                .prompt(questionResult.prompt())
+                .userAnswer(questionResult.userAnswer())
+                .correctAnswer(questionResult.correctAnswer())
+                .wasCorrect(questionResult.wasCorrect())
+                .mistakesCount(questionResult.mistakesCount())
+                .answeredAt(completedAt)
+                .build()));
+
+        gameAttemptRepository.save(attempt);
+    }
+
+    private void mockAuthenticatedUser(User user) {
+        UserPrincipal principal = UserPrincipal.from(user);
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities());
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(authentication);
+    }
+
+    private static List<FlashcardContentDTO> flashcardContents(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new FlashcardContentDTO("Term " + i, "Definition " + i))
+                .toList();
+    }
+}
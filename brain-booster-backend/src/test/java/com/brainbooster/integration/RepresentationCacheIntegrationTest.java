@@ -0,0 +1,200 @@
+package com.brainbooster.integration;
+
+import com.brainbooster.config.JwtService;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetUpdateDTO;
+import com.brainbooster.folder.dto.FolderCreationDTO;
+import com.brainbooster.folder.dto.FolderUpdateDTO;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against a context with the representation cache enabled, which the test profile turns off
+ * because fixtures are written and truncated behind the cache's back. Every body is compressed so
+ * the gzip variant is exercised with the small fixtures used here.
+ */
+@Sql(scripts = "/insert-it-test-users.sql")
+@TestPropertySource(properties = {
+        "RESPONSE_CACHE_ENABLED=true",
+        "RESPONSE_CACHE_MIN_GZIP_BYTES=0"
+})
+class RepresentationCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("GET /flashcard-sets/{id} - Should serve the updated set in both encodings after PATCH")
+    void getFlashcardSetById_ShouldServeUpdatedSet_AfterPatch() throws Exception {
+        // given
+        String token = tokenOf(2L);
+        Long setId = createSet(token, "Original Name");
+        String setUrl = "/flashcard-sets/" + setId;
+
+        MockHttpServletResponse plainBefore = mockMvc.perform(get(setUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.setName").value("Original Name"))
+                .andReturn()
+                .getResponse();
+        MockHttpServletResponse gzipBefore = mockMvc.perform(get(setUrl)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(gzipBefore.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(gzipBefore).get("setName").asString()).isEqualTo("Original Name");
+
+        // when
+        mockMvc.perform(patch(setUrl)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FlashcardSetUpdateDTO("New Name", "Description"))))
+                .andExpect(status().isOk());
+
+        // then
+        MockHttpServletResponse plainAfter = mockMvc.perform(get(setUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.setName").value("New Name"))
+                .andReturn()
+                .getResponse();
+        MockHttpServletResponse gzipAfter = mockMvc.perform(get(setUrl)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(gunzip(gzipAfter).get("setName").asString()).isEqualTo("New Name");
+        assertThat(plainAfter.getHeader(HttpHeaders.ETAG))
+                .isNotEqualTo(plainBefore.getHeader(HttpHeaders.ETAG));
+        assertThat(gzipAfter.getHeader(HttpHeaders.ETAG))
+                .isNotEqualTo(gzipBefore.getHeader(HttpHeaders.ETAG));
+
+        mockMvc.perform(get(setUrl)
+                        .header(HttpHeaders.IF_NONE_MATCH, plainBefore.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.setName").value("New Name"));
+    }
+
+    @Test
+    @DisplayName("GET /folders/{id} - Should serve the updated folder after PATCH and after renaming a set in it")
+    void getFolderById_ShouldServeUpdatedFolder_AfterWrites() throws Exception {
+        // given
+        String token = tokenOf(3L);
+        Long setId = createSet(token, "Set In Folder");
+
+        String createdFolder = mockMvc.perform(post("/folders")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FolderCreationDTO("Original Folder", "Description"))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String folderUrl = "/folders/" + objectMapper.readTree(createdFolder).get("folderId").asLong();
+
+        mockMvc.perform(post(folderUrl + "/sets/" + setId)
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        String etagBefore = mockMvc.perform(get(folderUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Original Folder"))
+                .andExpect(jsonPath("$.flashcardSets[0].title").value("Set In Folder"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when
+        mockMvc.perform(patch(folderUrl)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_MATCH, etagBefore)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FolderUpdateDTO("New Folder", "Description"))))
+                .andExpect(status().isOk());
+
+        // then
+        String etagAfterFolderUpdate = mockMvc.perform(get(folderUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("New Folder"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(etagAfterFolderUpdate).isNotEqualTo(etagBefore);
+
+        mockMvc.perform(patch("/flashcard-sets/" + setId)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FlashcardSetUpdateDTO("Renamed Set", "Description"))))
+                .andExpect(status().isOk());
+
+        String etagAfterSetUpdate = mockMvc.perform(get(folderUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flashcardSets[0].title").value("Renamed Set"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(etagAfterSetUpdate).isNotEqualTo(etagAfterFolderUpdate);
+    }
+
+    private String tokenOf(Long userId) {
+        User user = userRepository.findById(userId).orElseThrow();
+        return "Bearer " + jwtService.generateToken(UserPrincipal.from(user));
+    }
+
+    private Long createSet(String token, String setName) throws Exception {
+        String createdSet = mockMvc.perform(post("/flashcard-sets")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FlashcardSetCreationDTO(
+                                setName,
+                                "Description",
+                                List.of(new FlashcardContentDTO("cat", "kot"))))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return objectMapper.readTree(createdSet).get("setId").asLong();
+    }
+
+    private JsonNode gunzip(MockHttpServletResponse response) throws IOException {
+        try (GZIPInputStream inputStream =
+                     new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            return objectMapper.readTree(inputStream.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.brainbooster.integration;
+
+import com.brainbooster.config.JwtService;
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcard.dto.FlashcardUpdateDTO;
+import com.brainbooster.flashcardset.FlashcardSetService;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetUpdateDTO;
+import com.brainbooster.purge.TombstonePurger;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against a context with the second-level cache enabled, which the test profile turns off
+ * because fixtures are written and truncated behind Hibernate's back.
+ */
+@Sql(scripts = "/insert-it-test-users.sql")
+@TestPropertySource(properties = "HIBERNATE_SECOND_LEVEL_CACHE_ENABLED=true")
+class SecondLevelCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+    @Autowired
+    private FlashcardSetService flashcardSetService;
+    @Autowired
+    private TombstonePurger tombstonePurger;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.getCache().evictAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("findById - Should load a user from the second-level cache on repeated lookups")
+    void findById_ShouldServeRepeatedLookupsFromCache() {
+        // when
+        User first = userRepository.findById(2L).orElseThrow();
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+        User second = userRepository.findById(2L).orElseThrow();
+
+        // then
+        assertThat(second.getEmail()).isEqualTo(first.getEmail());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLookup);
+        assertThat(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByEmail - Should resolve repeated lookups through the natural ID cache")
+    void findByEmail_ShouldServeRepeatedLookupsFromNaturalIdCache() {
+        // when
+        User first = userRepository.findByEmail("it-user1@test.com").orElseThrow();
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+        User second = userRepository.findByEmail("it-user1@test.com").orElseThrow();
+
+        // then
+        assertThat(second.getUserId()).isEqualTo(first.getUserId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLookup);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByEmail - Should return empty for an unknown email")
+    void findByEmail_ShouldReturnEmpty_WhenEmailIsUnknown() {
+        // when, then
+        assertThat(userRepository.findByEmail("nobody@test.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("purgeTombstones - Should not leave purged flashcards of a deleted set in the cache")
+    void purgeTombstones_ShouldEvictFlashcardsOfDeletedSet() {
+        // given
+        mockAuthenticatedUser(userRepository.findById(2L).orElseThrow());
+
+        Long setId = flashcardSetService.addFlashcardSet(new FlashcardSetCreationDTO(
+                "Cached Set",
+                "Cached set description",
+                List.of(new FlashcardContentDTO("cat", "kot"))
+        )).setId();
+
+        Long flashcardId = flashcardRepository.findAllByFlashcardSet_SetId(setId)
+                .getFirst()
+                .getFlashcardId();
+
+        assertThat(flashcardRepository.findById(flashcardId)).isPresent();
+        assertThat(entityManagerFactory.getCache().contains(Flashcard.class, flashcardId)).isTrue();
+
+        flashcardSetService.deleteFlashcardSetById(setId);
+
+        // when
+        tombstonePurger.purgeTombstones();
+
+        // then
+        assertThat(entityManagerFactory.getCache().contains(Flashcard.class, flashcardId)).isFalse();
+        assertThat(flashcardRepository.findById(flashcardId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("PATCH /flashcard-sets/{id} and /flashcards/{id} - Should return the updated entities on the next read")
+    void updates_ShouldBeVisibleOnNextRead() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        String token = "Bearer " + jwtService.generateToken(UserPrincipal.from(owner));
+        mockAuthenticatedUser(owner);
+
+        Long setId = flashcardSetService.addFlashcardSet(new FlashcardSetCreationDTO(
+                "Cached Set",
+                "Cached set description",
+                List.of(new FlashcardContentDTO("cat", "kot"))
+        )).setId();
+
+        Long flashcardId = flashcardRepository.findAllByFlashcardSet_SetId(setId)
+                .getFirst()
+                .getFlashcardId();
+
+        String etagBefore = mockMvc.perform(get("/flashcard-sets/" + setId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/flashcards/" + flashcardId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.term").value("cat"));
+
+        assertThat(entityManagerFactory.getCache().contains(Flashcard.class, flashcardId)).isTrue();
+
+        // when
+        mockMvc.perform(patch("/flashcard-sets/" + setId)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FlashcardSetUpdateDTO("Renamed Set", "Cached set description"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/flashcards/" + flashcardId)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FlashcardUpdateDTO("dog", "pies"))))
+                .andExpect(status().isOk());
+
+        // then
+        String etagAfter = mockMvc.perform(get("/flashcard-sets/" + setId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.setName").value("Renamed Set"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(etagAfter).isNotEqualTo(etagBefore);
+
+        mockMvc.perform(get("/flashcards/" + flashcardId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.term").value("dog"))
+                .andExpect(jsonPath("$.definition").value("pies"));
+    }
+
+    private void mockAuthenticatedUser(User user) {
+        UserPrincipal principal = UserPrincipal.from(user);
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities());
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(authentication);
+    }
+}
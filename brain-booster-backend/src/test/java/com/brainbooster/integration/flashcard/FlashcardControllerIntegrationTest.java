@@ -139,7 +139,7 @@ class FlashcardControllerIntegrationTest extends AbstractIntegrationTest {
     // -- READ TESTS --
 
     @Test
-    @DisplayName("GET /flashcards - Should return list of all flashcards (200 OK)")
+    @DisplayName("GET /flashcards - Should return first page of flashcards (200 OK)")
     void getAllFlashcards_ShouldReturnFlashcardList() throws Exception {
         // given
         User userFromDB = userRepository.findById(2L).orElseThrow();
@@ -161,8 +161,8 @@ class FlashcardControllerIntegrationTest extends AbstractIntegrationTest {
         mockMvc.perform(get("/flashcards")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].term").value("Test Term"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items[0].term").value("Test Term"));
     }
 
     @Test
@@ -0,0 +1,154 @@
+package com.brainbooster.integration.flashcard.starred;
+
+import com.brainbooster.config.JwtService;
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcard.dto.StarredFlashcardBatchDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs against a context with the starred bitmap cache enabled, which the test profile turns off
+ * because fixtures are written and truncated behind the cache's back. Stars are changed through
+ * the API only, so the cached bitmaps must be updated by the star and unstar paths themselves.
+ */
+@Sql(scripts = "/insert-it-test-users.sql")
+@TestPropertySource(properties = "STARRED_BITMAP_CACHE_ENABLED=true")
+class StarredFlashcardBitmapCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+
+    @Test
+    @DisplayName("GET /flashcard-sets/{id}/study-view - Should show star changes on the next read")
+    void getStudyView_ShouldReflectStarChanges() throws Exception {
+        // given
+        Long setId = createSet(tokenOf(2L));
+        List<Long> flashcardIds = flashcardIdsOf(setId);
+        Long firstId = flashcardIds.get(0);
+        Long secondId = flashcardIds.get(1);
+        String token = tokenOf(3L);
+        String studyViewUrl = "/flashcard-sets/" + setId + "/study-view";
+
+        mockMvc.perform(get(studyViewUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flashcards[?(@.flashcardId == %d)].starred", firstId).value(false))
+                .andExpect(jsonPath("$.flashcards[?(@.flashcardId == %d)].starred", secondId).value(false));
+
+        // when
+        mockMvc.perform(post("/flashcards/" + firstId + "/starred").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get(studyViewUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flashcards[?(@.flashcardId == %d)].starred", firstId).value(true))
+                .andExpect(jsonPath("$.flashcards[?(@.flashcardId == %d)].starred", secondId).value(false));
+
+        mockMvc.perform(post("/flashcards/starred:batch")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StarredFlashcardBatchDTO(List.of(secondId)))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/flashcards/" + firstId + "/starred").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(studyViewUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flashcards[?(@.flashcardId == %d)].starred", firstId).value(false))
+                .andExpect(jsonPath("$.flashcards[?(@.flashcardId == %d)].starred", secondId).value(true));
+    }
+
+    @Test
+    @DisplayName("GET /flashcard-sets/{id}/flashcards - Should return a new ETag and flags after starring")
+    void getAllFlashcardsInSet_ShouldReturnNewETag_AfterStarring() throws Exception {
+        // given
+        Long setId = createSet(tokenOf(2L));
+        Long flashcardId = flashcardIdsOf(setId).getFirst();
+        String token = tokenOf(3L);
+        String flashcardsUrl = "/flashcard-sets/" + setId + "/flashcards";
+
+        String etagBefore = mockMvc.perform(asyncDispatch(getFlashcards(flashcardsUrl, token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.flashcardId == %d)].starred", flashcardId).value(false))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when
+        mockMvc.perform(post("/flashcards/" + flashcardId + "/starred").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        // then
+        String etagAfter = mockMvc.perform(asyncDispatch(getFlashcards(flashcardsUrl, token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.flashcardId == %d)].starred", flashcardId).value(true))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(etagAfter).isNotEqualTo(etagBefore);
+    }
+
+    private MvcResult getFlashcards(String flashcardsUrl, String token) throws Exception {
+        return mockMvc.perform(get(flashcardsUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private String tokenOf(Long userId) {
+        User user = userRepository.findById(userId).orElseThrow();
+        return "Bearer " + jwtService.generateToken(UserPrincipal.from(user));
+    }
+
+    private Long createSet(String token) throws Exception {
+        String createdSet = mockMvc.perform(post("/flashcard-sets")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FlashcardSetCreationDTO(
+                                "Starred Set",
+                                "Description",
+                                List.of(new FlashcardContentDTO("cat", "kot"),
+                                        new FlashcardContentDTO("dog", "pies"))))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return objectMapper.readTree(createdSet).get("setId").asLong();
+    }
+
+    private List<Long> flashcardIdsOf(Long setId) {
+        return flashcardRepository.findAllByFlashcardSet_SetId(setId).stream()
+                .map(Flashcard::getFlashcardId)
+                .sorted()
+                .toList();
+    }
+}
@@ -1,8 +1,11 @@
 package com.brainbooster.integration.flashcard.starred;
 
+import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.flashcard.Flashcard;
 import com.brainbooster.flashcard.FlashcardRepository;
 import com.brainbooster.flashcard.dto.FlashcardDTO;
+import com.brainbooster.flashcard.dto.StarredFlashcardsDTO;
+import com.brainbooster.flashcard.starred.StarredFlashcardBitmap;
 import com.brainbooster.flashcard.starred.StarredFlashcardService;
 import com.brainbooster.flashcard.starred.UserStarredFlashcardRepository;
 import com.brainbooster.flashcardset.FlashcardSet;
@@ -20,9 +23,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.jdbc.Sql;
 
-import java.util.Set;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Sql(scripts = "/insert-it-test-users.sql")
 class StarredFlashcardServiceIntegrationTest extends AbstractIntegrationTest {
@@ -87,6 +91,21 @@ class StarredFlashcardServiceIntegrationTest extends AbstractIntegrationTest {
                 .isTrue();
     }
 
+    @Test
+    @DisplayName("starFlashcard - Should throw ResourceNotFoundException when flashcard does not exist")
+    void starFlashcard_ShouldThrowResourceNotFound_WhenFlashcardDoesNotExist() {
+        // given
+        User user = userRepository.findById(2L).orElseThrow();
+        mockAuthenticatedUser(user);
+
+        // when, then
+        assertThatThrownBy(() -> starredFlashcardService.starFlashcard(999_999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Flashcard with id 999999 not found");
+
+        assertThat(starredFlashcardRepository.findStarredFlashcardIdsByUserId(user.getUserId())).isEmpty();
+    }
+
     @Test
     @DisplayName("unstarFlashcard - Should remove star relation for authenticated user")
     void unstarFlashcard_ShouldRemoveStarRelation() {
@@ -123,8 +142,8 @@ class StarredFlashcardServiceIntegrationTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @DisplayName("getStarredFlashcardIdsForCurrentUserInSet - Should return only starred flashcards from requested set")
-    void getStarredFlashcardIdsForCurrentUserInSet_ShouldReturnStarredIdsFromSet() {
+    @DisplayName("getStarredFlashcardsForCurrentUser - Should contain only flashcards starred by the user")
+    void getStarredFlashcardsForCurrentUser_ShouldContainStarredFlashcards() {
         // given
         User user = userRepository.findById(2L).orElseThrow();
         mockAuthenticatedUser(user);
@@ -151,12 +170,84 @@ class StarredFlashcardServiceIntegrationTest extends AbstractIntegrationTest {
                 TestEntities.createUserStarredFlashcard(user, starredCard));
 
         // when
-        Set<Long> result = starredFlashcardService
-                        .getStarredFlashcardIdsForCurrentUserInSet(savedSet.getSetId());
+        StarredFlashcardBitmap result = starredFlashcardService.getStarredFlashcardsForCurrentUser();
 
         // then
-        assertThat(result)
-                .containsExactly(starredCard.getFlashcardId())
-                .doesNotContain(unstarredCard.getFlashcardId());
+        assertThat(result.cardinality()).isEqualTo(1);
+        assertThat(result.contains(starredCard.getFlashcardId())).isTrue();
+        assertThat(result.contains(unstarredCard.getFlashcardId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("starFlashcards and unstarFlashcards - Should apply batches idempotently")
+    void starAndUnstarFlashcards_ShouldApplyBatchesIdempotently() {
+        // given
+        User user = userRepository.findById(2L).orElseThrow();
+        mockAuthenticatedUser(user);
+
+        FlashcardSet savedSet = flashcardSetRepository.save(
+                TestEntities.flashcardSetBuilder()
+                        .setId(null)
+                        .user(user)
+                        .build());
+
+        Flashcard alreadyStarredCard = flashcardRepository.save(
+                TestEntities.flashcardBuilder()
+                        .flashcardId(null)
+                        .flashcardSet(savedSet)
+                        .build());
+
+        Flashcard newCard = flashcardRepository.save(
+                TestEntities.flashcardBuilder()
+                        .flashcardId(null)
+                        .flashcardSet(savedSet)
+                        .build());
+
+        starredFlashcardRepository.save(
+                TestEntities.createUserStarredFlashcard(user, alreadyStarredCard));
+
+        List<Long> flashcardIds = List.of(newCard.getFlashcardId(), alreadyStarredCard.getFlashcardId());
+
+        // when
+        StarredFlashcardsDTO starred = starredFlashcardService.starFlashcards(flashcardIds);
+        StarredFlashcardsDTO starredAgain = starredFlashcardService.starFlashcards(flashcardIds);
+        StarredFlashcardsDTO unstarred = starredFlashcardService.unstarFlashcards(flashcardIds);
+
+        // then
+        assertThat(starred.flashcardIds())
+                .containsExactly(alreadyStarredCard.getFlashcardId(), newCard.getFlashcardId());
+        assertThat(starredAgain).isEqualTo(starred);
+        assertThat(unstarred.flashcardIds()).isEmpty();
+
+        assertThat(starredFlashcardRepository.findStarredFlashcardIdsByUserId(user.getUserId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("starFlashcards - Should star nothing when any flashcard does not exist")
+    void starFlashcards_ShouldStarNothing_WhenAnyFlashcardDoesNotExist() {
+        // given
+        User user = userRepository.findById(2L).orElseThrow();
+        mockAuthenticatedUser(user);
+
+        FlashcardSet savedSet = flashcardSetRepository.save(
+                TestEntities.flashcardSetBuilder()
+                        .setId(null)
+                        .user(user)
+                        .build());
+
+        Flashcard savedCard = flashcardRepository.save(
+                TestEntities.flashcardBuilder()
+                        .flashcardId(null)
+                        .flashcardSet(savedSet)
+                        .build());
+
+        List<Long> flashcardIds = List.of(savedCard.getFlashcardId(), 999_999L);
+
+        // when, then
+        assertThatThrownBy(() -> starredFlashcardService.starFlashcards(flashcardIds))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Flashcards with ids [999999] not found");
+
+        assertThat(starredFlashcardRepository.findStarredFlashcardIdsByUserId(user.getUserId())).isEmpty();
     }
 }
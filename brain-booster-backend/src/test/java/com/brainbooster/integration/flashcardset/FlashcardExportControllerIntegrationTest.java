@@ -0,0 +1,140 @@
+package com.brainbooster.integration.flashcardset;
+
+import com.brainbooster.config.JwtService;
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcardset.FlashcardSet;
+import com.brainbooster.flashcardset.FlashcardSetRepository;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import com.brainbooster.utils.TestEntities;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Sql(scripts = "/insert-it-test-users.sql")
+class FlashcardExportControllerIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FlashcardSetRepository flashcardSetRepository;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+
+    @Test
+    @DisplayName("GET /flashcard-sets/{setId}/export - Should stream all flashcards as csv in creation order (200 OK)")
+    void exportFlashcardSet_ShouldStreamCsv() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        FlashcardSet savedSet = saveSetWithFlashcards(owner, "Large Set", 1200);
+
+        // when
+        MvcResult result = mockMvc.perform(get("/flashcard-sets/" + savedSet.getSetId() + "/export")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        // then
+        List<String> lines = body.lines().toList();
+
+        assertThat(lines).hasSize(1201);
+        assertThat(lines.getFirst()).isEqualTo("term,definition");
+        assertThat(lines.get(1)).isEqualTo("Term 0,Definition 0");
+        assertThat(lines.getLast()).isEqualTo("Term 1199,Definition 1199");
+    }
+
+    @Test
+    @DisplayName("GET /flashcard-sets/{setId}/export - Should return 404 Not Found for a missing set")
+    void exportFlashcardSet_ShouldReturn404_WhenSetDoesNotExist() throws Exception {
+        // when, then
+        mockMvc.perform(get("/flashcard-sets/999999/export"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /flashcard-sets/me/export - Should stream only the current user's sets as ndjson (200 OK)")
+    void exportMyFlashcardSets_ShouldStreamOwnSetsOnly() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        User otherUser = userRepository.findById(3L).orElseThrow();
+        String token = jwtService.generateToken(UserPrincipal.from(owner));
+
+        saveSetWithFlashcards(owner, "First", 2);
+        saveSetWithFlashcards(owner, "Second", 3);
+        saveSetWithFlashcards(otherUser, "Foreign", 4);
+
+        // when
+        MvcResult result = mockMvc.perform(get("/flashcard-sets/me/export")
+                        .param("format", "ndjson")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        // then
+        List<String> lines = body.lines().toList();
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines.getFirst()).contains("\"setName\":\"First\"", "\"term\":\"Term 0\"");
+        assertThat(lines.getLast()).contains("\"setName\":\"Second\"", "\"term\":\"Term 2\"");
+        assertThat(body).doesNotContain("Foreign");
+    }
+
+    @Test
+    @DisplayName("GET /flashcard-sets/me/export - Should return 401 Unauthorized without a token")
+    void exportMyFlashcardSets_ShouldReturn401_WhenNotAuthenticated() throws Exception {
+        // when, then
+        mockMvc.perform(get("/flashcard-sets/me/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private FlashcardSet saveSetWithFlashcards(User owner, String setName, int flashcardCount) {
+        FlashcardSet savedSet = flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(owner)
+                .setName(setName)
+                .termCount((long) flashcardCount)
+                .build());
+
+        flashcardRepository.saveAll(IntStream.range(0, flashcardCount)
+                .mapToObj(i -> Flashcard.builder()
+                        .flashcardSet(savedSet)
+                        .term("Term " + i)
+                        .definition("Definition " + i)
+                        .build())
+                .toList());
+
+        return savedSet;
+    }
+}
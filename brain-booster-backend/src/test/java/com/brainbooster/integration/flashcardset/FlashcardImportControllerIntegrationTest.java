@@ -0,0 +1,109 @@
+package com.brainbooster.integration.flashcardset;
+
+import com.brainbooster.config.JwtService;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcardset.FlashcardSet;
+import com.brainbooster.flashcardset.FlashcardSetRepository;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import com.brainbooster.utils.TestEntities;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Sql(scripts = "/insert-it-test-users.sql")
+class FlashcardImportControllerIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FlashcardSetRepository flashcardSetRepository;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+
+    @Test
+    @DisplayName("POST /flashcard-sets/{setId}/import - Should import csv file and update term count (200 OK)")
+    void importFlashcards_ShouldImportCsvAndUpdateTermCount() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        String token = jwtService.generateToken(UserPrincipal.from(owner));
+        FlashcardSet savedSet = flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(owner).build());
+
+        String csv = "term,definition\n"
+                + IntStream.rangeClosed(1, 2500)
+                .mapToObj(i -> "\"Term " + i + "\",Definition " + i)
+                .collect(Collectors.joining("\n"))
+                + "\nmissing definition,\n";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "vocabulary.csv",
+                "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        // when, then
+        mockMvc.perform(multipart("/flashcard-sets/" + savedSet.getSetId() + "/import")
+                        .file(file)
+                        .param("format", "csv")
+                        .param("header", "true")
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(2500))
+                .andExpect(jsonPath("$.rejectedCount").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2502))
+                .andExpect(jsonPath("$.errors[0].message").value("definition cannot be empty"));
+
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(savedSet.getSetId())).hasSize(2500);
+        assertThat(flashcardSetRepository.findById(savedSet.getSetId()).orElseThrow().getTermCount())
+                .isEqualTo(2500L);
+    }
+
+    @Test
+    @DisplayName("POST /flashcard-sets/{setId}/import - Should return 403 Forbidden for another user's set")
+    void importFlashcards_ShouldReturn403_WhenUserIsNotOwner() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        User otherUser = userRepository.findById(3L).orElseThrow();
+        String token = jwtService.generateToken(UserPrincipal.from(otherUser));
+        FlashcardSet savedSet = flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(owner).build());
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "vocabulary.ndjson",
+                "application/x-ndjson",
+                "{\"term\": \"a\", \"definition\": \"b\"}".getBytes(StandardCharsets.UTF_8));
+
+        // when, then
+        mockMvc.perform(multipart("/flashcard-sets/" + savedSet.getSetId() + "/import")
+                        .file(file)
+                        .param("format", "ndjson")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(savedSet.getSetId())).isEmpty();
+    }
+}
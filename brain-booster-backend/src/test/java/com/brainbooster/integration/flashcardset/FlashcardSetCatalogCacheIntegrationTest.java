@@ -0,0 +1,122 @@
+package com.brainbooster.integration.flashcardset;
+
+import com.brainbooster.config.JwtService;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcard.dto.FlashcardCreationDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetUpdateDTO;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against a context with the catalog cache enabled, which the test profile turns off
+ * because fixtures are written and truncated behind the cache's back. Every write here goes
+ * through the API, so the listings must be evicted by the write paths themselves.
+ */
+@Sql(scripts = "/insert-it-test-users.sql")
+@TestPropertySource(properties = "CATALOG_CACHE_ENABLED=true")
+class FlashcardSetCatalogCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Cached set listings - Should show every write on the next read")
+    void cachedListings_ShouldReflectWrites() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        String token = "Bearer " + jwtService.generateToken(UserPrincipal.from(owner));
+        String userSetsUrl = "/users/" + owner.getUserId() + "/flashcard-sets";
+        String nicknameSetsUrl = "/users/nickname/" + owner.getNickname() + "/flashcard-sets";
+
+        String createdSet = mockMvc.perform(post("/flashcard-sets")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FlashcardSetCreationDTO(
+                                "Original Name",
+                                "Description",
+                                List.of(new FlashcardContentDTO("cat", "kot"))))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long setId = objectMapper.readTree(createdSet).get("setId").asLong();
+        String setUrl = "/flashcard-sets/" + setId;
+
+        mockMvc.perform(get(userSetsUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].setName").value("Original Name"))
+                .andExpect(jsonPath("$[0].termCount").value(1));
+        mockMvc.perform(get(nicknameSetsUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].setName").value("Original Name"));
+        String etagBefore = mockMvc.perform(get(setUrl))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when
+        mockMvc.perform(patch(setUrl)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FlashcardSetUpdateDTO("New Name", "Description"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/flashcards")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FlashcardCreationDTO(setId, "dog", "pies"))))
+                .andExpect(status().isCreated());
+
+        // then
+        mockMvc.perform(get(userSetsUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].setName").value("New Name"))
+                .andExpect(jsonPath("$[0].termCount").value(2));
+        mockMvc.perform(get(nicknameSetsUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].setName").value("New Name"))
+                .andExpect(jsonPath("$[0].termCount").value(2));
+        String etagAfter = mockMvc.perform(get(setUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.setName").value("New Name"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(etagAfter).isNotEqualTo(etagBefore);
+
+        mockMvc.perform(delete(setUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(userSetsUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get(setUrl))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -4,6 +4,8 @@ import com.brainbooster.config.JwtService;
 import com.brainbooster.flashcard.Flashcard;
 import com.brainbooster.flashcard.FlashcardRepository;
 import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcardset.dto.FlashcardBatchItemDTO;
+import com.brainbooster.flashcardset.dto.FlashcardBatchUpdateDTO;
 import com.brainbooster.flashcardset.FlashcardSet;
 import com.brainbooster.flashcardset.FlashcardSetRepository;
 import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
@@ -16,16 +18,21 @@ import com.brainbooster.utils.TestEntities;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Sql(scripts = "/insert-it-test-users.sql")
@@ -114,7 +121,7 @@ class FlashcardSetControllerIntegrationTest extends AbstractIntegrationTest {
     // -- READ TESTS --
 
     @Test
-    @DisplayName("GET /flashcard-sets - Should return list of all flashcard sets (200 OK)")
+    @DisplayName("GET /flashcard-sets - Should return first page of flashcard sets (200 OK)")
     void getAllFlashcardSets_ShouldReturn200() throws Exception {
         // given
         User userFromDB = userRepository.findById(2L).orElseThrow();
@@ -129,9 +136,67 @@ class FlashcardSetControllerIntegrationTest extends AbstractIntegrationTest {
         mockMvc.perform(get("/flashcard-sets")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].setName").value("Set 1"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].setName").value("Set 1"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /flashcard-sets - Should continue from the returned cursor (200 OK)")
+    void getFlashcardSetsPage_ShouldFollowNextCursor() throws Exception {
+        // given
+        User userFromDB = userRepository.findById(2L).orElseThrow();
+        flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(userFromDB).setName("Set 1").build());
+        flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(userFromDB).setName("Set 2").build());
+
+        // when
+        String firstPage = mockMvc.perform(get("/flashcard-sets")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].setName").value("Set 1"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+
+        // then
+        mockMvc.perform(get("/flashcard-sets")
+                        .param("size", "1")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].setName").value("Set 2"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /flashcard-sets?unpaged=true - Should return 401 Unauthorized for anonymous user")
+    void getAllFlashcardSetsUnpaged_ShouldReturn401_WhenAnonymous() throws Exception {
+        // when, then
+        mockMvc.perform(get("/flashcard-sets")
+                        .param("unpaged", "true"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("GET /flashcard-sets?unpaged=true - Should return 403 Forbidden for non-admin user")
+    void getAllFlashcardSetsUnpaged_ShouldReturn403_WhenNotAdmin() throws Exception {
+        // given
+        User userFromDB = userRepository.findById(2L).orElseThrow();
+        String userToken = jwtService.generateToken(UserPrincipal.from(userFromDB));
+
+        // when, then
+        mockMvc.perform(get("/flashcard-sets")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("unpaged", "true"))
+                .andExpect(status().isForbidden());
     }
 
     @Test
@@ -179,12 +244,18 @@ class FlashcardSetControllerIntegrationTest extends AbstractIntegrationTest {
 
         flashcardRepository.save(flashcard);
 
-        // when, then
-        mockMvc.perform(get("/flashcard-sets/" + savedSet.getSetId() + "/flashcards")
+        // when
+        MvcResult asyncResult = mockMvc.perform(get("/flashcard-sets/" + savedSet.getSetId() + "/flashcards")
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].term").value("Term1"));
+                .andExpect(jsonPath("$[0].term").value("Term1"))
+                .andExpect(jsonPath("$[0].starred").value(false));
     }
 
     @Test
@@ -313,6 +384,195 @@ class FlashcardSetControllerIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    // -- CONDITIONAL REQUEST TESTS --
+
+    @Test
+    @DisplayName("GET /flashcard-sets/{setId}/flashcards - Should return 304 until the flashcards change")
+    void getAllFlashcardsInSet_ShouldReturn304UntilFlashcardsChange() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        String token = jwtService.generateToken(UserPrincipal.from(owner));
+
+        FlashcardSet savedSet = flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(owner)
+                .build());
+        String flashcardsUrl = "/flashcard-sets/" + savedSet.getSetId() + "/flashcards";
+
+        String etag = mockMvc.perform(get(flashcardsUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when, then
+        mockMvc.perform(get(flashcardsUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                List.of(new FlashcardContentDTO("New 1", "New Def 1")),
+                null,
+                null);
+
+        mockMvc.perform(patch(flashcardsUrl)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changesDTO)))
+                .andExpect(status().isOk());
+
+        MvcResult asyncResult = mockMvc.perform(get(flashcardsUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("PATCH /flashcard-sets/{setId} - Should return 412 and change nothing when If-Match is stale")
+    void updateFlashcardSet_ShouldReturn412_WhenIfMatchIsStale() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        String token = jwtService.generateToken(UserPrincipal.from(owner));
+
+        FlashcardSet savedSet = flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(owner)
+                .setName("Original Name")
+                .build());
+        String setUrl = "/flashcard-sets/" + savedSet.getSetId();
+
+        String staleETag = mockMvc.perform(get(setUrl))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch(setUrl)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FlashcardSetUpdateDTO("First Update", "Description"))))
+                .andExpect(status().isOk());
+
+        // when, then
+        mockMvc.perform(patch(setUrl)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FlashcardSetUpdateDTO("Lost Update", "Description"))))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(flashcardSetRepository.findById(savedSet.getSetId()).orElseThrow().getSetName())
+                .isEqualTo("First Update");
+    }
+
+    // -- BATCH FLASHCARD TESTS --
+
+    @Test
+    @DisplayName("PATCH /flashcard-sets/{setId}/flashcards - Should apply creates, updates and deletes (200 OK)")
+    void updateFlashcardsInSet_ShouldApplyChangesAndMaintainTermCount() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        String token = jwtService.generateToken(UserPrincipal.from(owner));
+
+        FlashcardSet savedSet = flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(owner)
+                .termCount(2L)
+                .build());
+
+        List<Flashcard> savedFlashcards = flashcardRepository.saveAll(List.of(
+                Flashcard.builder().flashcardSet(savedSet).term("Old 1").definition("Def 1").build(),
+                Flashcard.builder().flashcardSet(savedSet).term("Old 2").definition("Def 2").build()));
+
+        Long updatedId = savedFlashcards.get(0).getFlashcardId();
+        Long deletedId = savedFlashcards.get(1).getFlashcardId();
+
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                List.of(
+                        new FlashcardContentDTO("New 1", "New Def 1"),
+                        new FlashcardContentDTO("New 2", "New Def 2")),
+                List.of(new FlashcardBatchItemDTO(updatedId, "Updated", "Updated Def")),
+                List.of(deletedId));
+
+        // when, then
+        mockMvc.perform(patch("/flashcard-sets/" + savedSet.getSetId() + "/flashcards")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changesDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        List<Flashcard> flashcardsAfterChanges = flashcardRepository
+                .findAllByFlashcardSet_SetId(savedSet.getSetId());
+
+        assertThat(flashcardsAfterChanges)
+                .extracting(Flashcard::getTerm)
+                .containsExactlyInAnyOrder("Updated", "New 1", "New 2");
+        assertThat(flashcardRepository.existsById(deletedId)).isFalse();
+        assertThat(flashcardSetRepository.findById(savedSet.getSetId()).orElseThrow().getTermCount())
+                .isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("PATCH /flashcard-sets/{setId}/flashcards - Should roll back everything when a flashcard is not in the set")
+    void updateFlashcardsInSet_ShouldReturn404AndChangeNothing_WhenFlashcardIsNotInSet() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        String token = jwtService.generateToken(UserPrincipal.from(owner));
+
+        FlashcardSet savedSet = flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(owner)
+                .build());
+
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                List.of(new FlashcardContentDTO("New 1", "New Def 1")),
+                null,
+                List.of(99999L));
+
+        // when, then
+        mockMvc.perform(patch("/flashcard-sets/" + savedSet.getSetId() + "/flashcards")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changesDTO)))
+                .andExpect(status().isNotFound());
+
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(savedSet.getSetId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("PATCH /flashcard-sets/{setId}/flashcards - Should return 403 Forbidden for someone else's set")
+    void updateFlashcardsInSet_ShouldReturn403_WhenNotOwner() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        User anotherUser = userRepository.findById(3L).orElseThrow();
+        String anotherUserToken = jwtService.generateToken(UserPrincipal.from(anotherUser));
+
+        FlashcardSet savedSet = flashcardSetRepository.save(TestEntities
+                .flashcardSetBuilder().setId(null)
+                .user(owner)
+                .build());
+
+        FlashcardBatchUpdateDTO changesDTO = new FlashcardBatchUpdateDTO(
+                List.of(new FlashcardContentDTO("New 1", "New Def 1")), null, null);
+
+        // when, then
+        mockMvc.perform(patch("/flashcard-sets/" + savedSet.getSetId() + "/flashcards")
+                        .header("Authorization", "Bearer " + anotherUserToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changesDTO)))
+                .andExpect(status().isForbidden());
+    }
+
     // -- DELETE TESTS --
 
     @Test
@@ -25,7 +25,12 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.jdbc.Sql;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -44,11 +49,21 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private UserStarredFlashcardRepository starredFlashcardRepository;
 
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
     @AfterEach
     void clearSecurityContext() {
         SecurityContextHolder.clearContext();
     }
 
+    private List<FlashcardDTO> readFlashcardsInSet(Long setId) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        flashcardSetService.getAllFlashcardsInSetJson(setId).writeTo(outputStream);
+
+        return objectMapper.readValue(outputStream.toByteArray(), new TypeReference<>() {
+        });
+    }
+
     private void mockAuthenticatedUser(User user) {
         UserPrincipal principal = UserPrincipal.from(user);
 
@@ -169,8 +184,8 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @DisplayName("getAllFlashcardsInSet - Should return unstarred flashcards for unauthenticated user")
-    void getAllFlashcardsInSet_ShouldReturnFlashcards_WhenUnauthenticated() {
+    @DisplayName("getAllFlashcardsInSetJson - Should return unstarred flashcards for unauthenticated user")
+    void getAllFlashcardsInSetJson_ShouldReturnFlashcards_WhenUnauthenticated() throws IOException {
         // given
         User owner = userRepository.findById(2L).orElseThrow();
         FlashcardSet savedSet = flashcardSetRepository.save(
@@ -195,7 +210,7 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
         SecurityContextHolder.clearContext(); // explicitly no user
 
         // when
-        List<FlashcardDTO> results = flashcardSetService.getAllFlashcardsInSet(savedSet.getSetId());
+        List<FlashcardDTO> results = readFlashcardsInSet(savedSet.getSetId());
 
         // then
         assertThat(results).hasSize(2);
@@ -203,8 +218,8 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @DisplayName("getAllFlashcardsInSet - Should return mapped starred flags for authenticated user")
-    void getAllFlashcardsInSet_ShouldReturnFlashcards_WithStarredFlags_WhenAuthenticated() {
+    @DisplayName("getAllFlashcardsInSetJson - Should return mapped starred flags for authenticated user")
+    void getAllFlashcardsInSetJson_ShouldReturnFlashcards_WithStarredFlags_WhenAuthenticated() throws IOException {
         // given
         User owner = userRepository.findById(2L).orElseThrow();
         mockAuthenticatedUser(owner);
@@ -233,7 +248,7 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
         starredFlashcardRepository.save(TestEntities.createUserStarredFlashcard(owner, card1));
 
         // when
-        List<FlashcardDTO> results = flashcardSetService.getAllFlashcardsInSet(savedSet.getSetId());
+        List<FlashcardDTO> results = readFlashcardsInSet(savedSet.getSetId());
 
         // then
         assertThat(results).hasSize(2);
@@ -250,10 +265,10 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @DisplayName("getAllFlashcardsInSet - Should throw ResourceNotFoundException when set does not exist")
-    void getAllFlashcardsInSet_ShouldThrowResourceNotFoundException() {
+    @DisplayName("getAllFlashcardsInSetJson - Should throw ResourceNotFoundException when set does not exist")
+    void getAllFlashcardsInSetJson_ShouldThrowResourceNotFoundException() {
         // when, then
-        assertThatThrownBy(() -> flashcardSetService.getAllFlashcardsInSet(999L))
+        assertThatThrownBy(() -> flashcardSetService.getAllFlashcardsInSetJson(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("FlashcardSet with id: 999 not found");
     }
@@ -376,7 +391,7 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
                 "Updated Desc");
 
         // when
-        FlashcardSetDTO result = flashcardSetService.updateFlashcardSet(updateDTO, savedSet.getSetId());
+        FlashcardSetDTO result = flashcardSetService.updateFlashcardSet(updateDTO, savedSet.getSetId(), null);
 
         // then
         assertThat(result.setName()).isEqualTo("Updated Name");
@@ -406,7 +421,7 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
         Long setId = savedSet.getSetId();
 
         // when, then
-        assertThatThrownBy(() -> flashcardSetService.updateFlashcardSet(updateDTO, setId))
+        assertThatThrownBy(() -> flashcardSetService.updateFlashcardSet(updateDTO, setId, null))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("You are not allowed to edit this flashcard set!");
     }
@@ -420,7 +435,7 @@ class FlashcardSetServiceIntegrationTest extends AbstractIntegrationTest {
                 "New Desc");
 
         // when, then
-        assertThatThrownBy(() -> flashcardSetService.updateFlashcardSet(updateDTO, 999L))
+        assertThatThrownBy(() -> flashcardSetService.updateFlashcardSet(updateDTO, 999L, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("FlashcardSet with id: 999 not found");
     }
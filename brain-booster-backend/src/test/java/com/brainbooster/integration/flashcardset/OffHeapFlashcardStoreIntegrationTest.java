@@ -0,0 +1,111 @@
+package com.brainbooster.integration.flashcardset;
+
+import com.brainbooster.config.JwtService;
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcardset.dto.FlashcardBatchItemDTO;
+import com.brainbooster.flashcardset.dto.FlashcardBatchUpdateDTO;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs against a context with the off-heap flashcard store enabled, which the test profile turns
+ * off because fixtures are written and truncated behind the store's back. The set is changed through
+ * the API only, so a stored segment must be replaced once the set version moves on.
+ */
+@Sql(scripts = "/insert-it-test-users.sql")
+@TestPropertySource(properties = "OFFHEAP_FLASHCARD_STORE_ENABLED=true")
+class OffHeapFlashcardStoreIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+
+    @Test
+    @DisplayName("GET /flashcard-sets/{id}/flashcards - Should serve the changed flashcards after a batch update")
+    void getAllFlashcardsInSet_ShouldServeChangedFlashcards_AfterBatchUpdate() throws Exception {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        String token = "Bearer " + jwtService.generateToken(UserPrincipal.from(owner));
+
+        String createdSet = mockMvc.perform(post("/flashcard-sets")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FlashcardSetCreationDTO(
+                                "Stored Set",
+                                "Description",
+                                List.of(new FlashcardContentDTO("cat", "kot"),
+                                        new FlashcardContentDTO("dog", "pies"))))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long setId = objectMapper.readTree(createdSet).get("setId").asLong();
+        String flashcardsUrl = "/flashcard-sets/" + setId + "/flashcards";
+
+        List<Long> flashcardIds = flashcardRepository.findAllByFlashcardSet_SetId(setId).stream()
+                .map(Flashcard::getFlashcardId)
+                .sorted()
+                .toList();
+
+        String etagBefore = mockMvc.perform(asyncDispatch(getFlashcards(flashcardsUrl)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].term", containsInAnyOrder("cat", "dog")))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when
+        mockMvc.perform(patch(flashcardsUrl)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FlashcardBatchUpdateDTO(
+                                List.of(new FlashcardContentDTO("bird", "ptak")),
+                                List.of(new FlashcardBatchItemDTO(flashcardIds.get(0), "kitten", "kotek")),
+                                List.of(flashcardIds.get(1))))))
+                .andExpect(status().isOk());
+
+        // then
+        String etagAfter = mockMvc.perform(asyncDispatch(getFlashcards(flashcardsUrl)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].term", containsInAnyOrder("kitten", "bird")))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(etagAfter).isNotEqualTo(etagBefore);
+    }
+
+    private MvcResult getFlashcards(String flashcardsUrl) throws Exception {
+        return mockMvc.perform(get(flashcardsUrl))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
@@ -14,10 +14,12 @@ import com.brainbooster.security.UserPrincipal;
 import com.brainbooster.user.User;
 import com.brainbooster.user.UserRepository;
 import com.brainbooster.utils.TestEntities;
+import com.brainbooster.versioning.Versioned;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,6 +41,8 @@ class FolderServiceIntegrationTest extends AbstractIntegrationTest {
     private FlashcardSetRepository flashcardSetRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @AfterEach
     void clearSecurityContext() {
@@ -132,10 +136,67 @@ class FolderServiceIntegrationTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @DisplayName("getFolderById - Should throw ResourceNotFoundException when folder does not exist")
-    void getFolderById_ShouldThrowResourceNotFoundException() {
+    @DisplayName("getVersionedFolderById - Should return the same validators as the version-only query")
+    void getVersionedFolderById_ShouldMatchFolderVersion() {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+
+        Folder emptyFolder = folderRepository.save(
+                TestEntities.folderBuilder().folderId(null).user(owner).build());
+
+        Folder folder = TestEntities.folderBuilder().folderId(null).user(owner).build();
+        folder.getFlashcardSets().add(flashcardSetRepository.save(
+                TestEntities.flashcardSetBuilder().setId(null).user(owner).build()));
+        folder.getFlashcardSets().add(flashcardSetRepository.save(
+                TestEntities.flashcardSetBuilder().setId(null).user(owner).build()));
+        Folder folderWithSet = folderRepository.save(folder);
+
+        // when
+        Versioned<FolderDTO> emptyResult = folderService.getVersionedFolderById(emptyFolder.getFolderId());
+        Versioned<FolderDTO> resultWithSet = folderService.getVersionedFolderById(folderWithSet.getFolderId());
+
+        // then
+        assertThat(emptyResult.version().etag())
+                .isEqualTo(folderService.getFolderVersion(emptyFolder.getFolderId()).etag());
+        assertThat(resultWithSet.version().etag())
+                .isEqualTo(folderService.getFolderVersion(folderWithSet.getFolderId()).etag());
+        assertThat(resultWithSet.value().setCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("getFolderVersion - Should change when a listed set is replaced by another set of the same version")
+    void getFolderVersion_ShouldChange_WhenSetIsReplacedBySetOfSameVersion() {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+
+        FlashcardSet listedSet = flashcardSetRepository.save(
+                TestEntities.flashcardSetBuilder().setId(null).user(owner).build());
+        FlashcardSet otherSet = flashcardSetRepository.save(
+                TestEntities.flashcardSetBuilder().setId(null).user(owner).build());
+
+        Folder folder = TestEntities.folderBuilder().folderId(null).user(owner).build();
+        folder.getFlashcardSets().add(listedSet);
+        Long folderId = folderRepository.save(folder).getFolderId();
+
+        String etagBefore = folderService.getFolderVersion(folderId).etag();
+
+        // when
+        // changes the listed sets without touching the folder row or its version
+        jdbcTemplate.update(
+                "UPDATE folder_flashcard_set SET set_id = ? WHERE folder_id = ?",
+                otherSet.getSetId(),
+                folderId);
+
+        // then
+        assertThat(otherSet.getVersion()).isEqualTo(listedSet.getVersion());
+        assertThat(folderService.getFolderVersion(folderId).etag()).isNotEqualTo(etagBefore);
+    }
+
+    @Test
+    @DisplayName("getVersionedFolderById - Should throw ResourceNotFoundException when folder does not exist")
+    void getVersionedFolderById_ShouldThrowResourceNotFoundException() {
         // when, then
-        assertThatThrownBy(() -> folderService.getFolderById(999L))
+        assertThatThrownBy(() -> folderService.getVersionedFolderById(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Folder with id: 999 not found");
     }
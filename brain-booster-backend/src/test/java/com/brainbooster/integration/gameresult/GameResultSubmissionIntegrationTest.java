@@ -0,0 +1,138 @@
+package com.brainbooster.integration.gameresult;
+
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcardset.FlashcardSetService;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.gameresult.GameMode;
+import com.brainbooster.gameresult.GameResult;
+import com.brainbooster.gameresult.GameResultRepository;
+import com.brainbooster.gameresult.attempt.GameAttemptRepository;
+import com.brainbooster.gameresult.dto.GameResultSubmissionDTO;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import com.brainbooster.gameresult.submission.GameResultSubmissionRepository;
+import com.brainbooster.gameresult.submission.GameResultSubmissionService;
+import com.brainbooster.gameresult.submission.GameResultSubmissionWriter;
+import com.brainbooster.gameresult.submission.SubmissionStatus;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(scripts = "/insert-it-test-users.sql")
+class GameResultSubmissionIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private GameResultSubmissionService submissionService;
+    @Autowired
+    private GameResultSubmissionWriter submissionWriter;
+    @Autowired
+    private GameResultSubmissionRepository submissionRepository;
+    @Autowired
+    private FlashcardSetService flashcardSetService;
+    @Autowired
+    private GameResultRepository gameResultRepository;
+    @Autowired
+    private GameAttemptRepository gameAttemptRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long setId;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal principal = UserPrincipal.from(userRepository.findById(2L).orElseThrow());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()));
+
+        setId = flashcardSetService.addFlashcardSet(new FlashcardSetCreationDTO(
+                "Submitted Set",
+                "Set played asynchronously",
+                List.of(new FlashcardContentDTO("Term", "Definition"))
+        )).setId();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("drain - Should save queued results in submission order and empty the queue")
+    void drain_ShouldApplySubmissionsInOrder() {
+        // given
+        submissionService.submitGameResult(new SaveGameResultRequest(setId, GameMode.WRITTEN, 3, 10, 60), null);
+        submissionService.submitGameResult(new SaveGameResultRequest(setId, GameMode.WRITTEN, 7, 10, 50), null);
+
+        assertThat(submissionService.getMySubmissions()).hasSize(2);
+        assertThat(gameResultRepository.count()).isZero();
+
+        // when
+        long processed = submissionWriter.drain();
+
+        // then
+        assertThat(processed).isEqualTo(2);
+        assertThat(submissionRepository.count()).isZero();
+        assertThat(gameAttemptRepository.count()).isEqualTo(2);
+
+        GameResult latest = gameResultRepository.findByUser_UserIdAndSet_SetIdAndMode(2L, setId, GameMode.WRITTEN)
+                .orElseThrow();
+        assertThat(latest.getScore()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("drain - Should keep a submission that cannot be saved as failed")
+    void drain_ShouldMarkSubmissionAsFailed_WhenSetWasDeleted() {
+        // given
+        GameResultSubmissionDTO submission = submissionService.submitGameResult(
+                new SaveGameResultRequest(setId, GameMode.WRITTEN, 3, 10, 60), null);
+
+        flashcardSetService.deleteFlashcardSetById(setId);
+
+        // when
+        submissionWriter.drain();
+
+        // then
+        assertThat(submissionService.getMySubmissions()).singleElement().satisfies(failed -> {
+            assertThat(failed.submissionId()).isEqualTo(submission.submissionId());
+            assertThat(failed.status()).isEqualTo(SubmissionStatus.FAILED);
+            assertThat(failed.error()).contains(String.valueOf(setId));
+        });
+        assertThat(gameResultRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("submitGameResult - Should not queue a retry with the same Idempotency-Key again")
+    void submitGameResult_ShouldAnswerRetryWithEarlierSubmission() {
+        // given
+        SaveGameResultRequest request = new SaveGameResultRequest(setId, GameMode.WRITTEN, 3, 10, 60);
+        GameResultSubmissionDTO submission = submissionService.submitGameResult(request, "game-1");
+
+        // when
+        GameResultSubmissionDTO queuedRetry = submissionService.submitGameResult(request, "game-1");
+        submissionWriter.drain();
+        GameResultSubmissionDTO appliedRetry = submissionService.submitGameResult(request, "game-1");
+
+        // then
+        assertThat(queuedRetry.submissionId()).isEqualTo(submission.submissionId());
+        assertThat(queuedRetry.status()).isEqualTo(SubmissionStatus.PENDING);
+        assertThat(appliedRetry.submissionId()).isNull();
+        assertThat(appliedRetry.status()).isEqualTo(SubmissionStatus.APPLIED);
+        assertThat(appliedRetry.setId()).isEqualTo(setId);
+        assertThat(submissionRepository.count()).isZero();
+        assertThat(gameAttemptRepository.count()).isEqualTo(1);
+    }
+}
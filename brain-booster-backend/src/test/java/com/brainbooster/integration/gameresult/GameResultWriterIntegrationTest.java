@@ -0,0 +1,420 @@
+package com.brainbooster.integration.gameresult;
+
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcardset.FlashcardSetService;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.gameresult.GameMode;
+import com.brainbooster.gameresult.GameQuestionType;
+import com.brainbooster.gameresult.GameResult;
+import com.brainbooster.gameresult.GameResultRepository;
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.QuestionAnswerSide;
+import com.brainbooster.gameresult.attempt.GameAttemptRepository;
+import com.brainbooster.gameresult.dto.GameResultDTO;
+import com.brainbooster.gameresult.dto.SaveGameQuestionResultRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchItemRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultBatchRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import com.brainbooster.gameresult.questionresult.GameQuestionResult;
+import com.brainbooster.gameresult.questionresult.GameQuestionResultRepository;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@Sql(scripts = "/insert-it-test-users.sql")
+class GameResultWriterIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private GameResultService gameResultService;
+    @Autowired
+    private GameResultRepository gameResultRepository;
+    @Autowired
+    private GameAttemptRepository gameAttemptRepository;
+    @Autowired
+    private GameQuestionResultRepository gameQuestionResultRepository;
+    @Autowired
+    private FlashcardSetService flashcardSetService;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long setId;
+    private List<Long> flashcardIds;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal principal = UserPrincipal.from(userRepository.findById(2L).orElseThrow());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()));
+
+        setId = createSet();
+        flashcardIds = flashcardRepository.findAllByFlashcardSet_SetId(setId)
+                .stream()
+                .map(Flashcard::getFlashcardId)
+                .toList();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("saveGameResult - Should derive the latest result from the newest attempt and keep its id")
+    void saveGameResult_ShouldDeriveLatestResultFromNewestAttempt() {
+        // given
+        GameResultDTO first = gameResultService.saveGameResult(request(setId, 1, flashcardIds), null);
+
+        // when
+        GameResultDTO second = gameResultService.saveGameResult(request(setId, 2, flashcardIds), null);
+
+        // then
+        assertThat(gameResultRepository.count()).isEqualTo(1);
+        assertThat(gameAttemptRepository.count()).isEqualTo(2);
+
+        assertThat(second.resultId()).isEqualTo(first.resultId());
+
+        GameResult latest = gameResultRepository.findLatestByResultId(first.resultId()).orElseThrow();
+        assertThat(latest.getScore()).isEqualTo(2);
+        assertThat(latest.getCompletedAt()).isCloseTo(second.completedAt(), within(1, ChronoUnit.MILLIS));
+    }
+
+    @Test
+    @DisplayName("saveGameResult - Should record a game retried with the same idempotency key once")
+    void saveGameResult_ShouldRecordRetriedGameOnce() {
+        // given
+        GameResultDTO first = gameResultService.saveGameResult(request(setId, 1, flashcardIds), "game-1");
+
+        // when
+        GameResultDTO retried = gameResultService.saveGameResult(request(setId, 1, flashcardIds), "game-1");
+        GameResultDTO next = gameResultService.saveGameResult(request(setId, 2, flashcardIds), "game-2");
+
+        // then
+        assertThat(retried.resultId()).isEqualTo(first.resultId());
+        assertThat(retried.score()).isEqualTo(1);
+        assertThat(retried.completedAt()).isCloseTo(first.completedAt(), within(1, ChronoUnit.MILLIS));
+        assertThat(next.score()).isEqualTo(2);
+        assertThat(gameAttemptRepository.count()).isEqualTo(2);
+        assertThat(gameQuestionResultRepository.count()).isEqualTo(2L * flashcardIds.size());
+    }
+
+    @Test
+    @DisplayName("saveGameResult - Should copy every question result with all its columns")
+    void saveGameResult_ShouldCopyQuestionResults() {
+        // when
+        GameResultDTO result = gameResultService.saveGameResult(request(setId, 2, flashcardIds), null);
+
+        // then
+        List<GameQuestionResult> questionResults = gameQuestionResultRepository.findAll();
+
+        assertThat(questionResults).hasSize(flashcardIds.size());
+        assertThat(questionResults)
+                .filteredOn(questionResult -> questionResult.getQuestionOrder() == 0)
+                .singleElement()
+                .satisfies(questionResult -> {
+                    assertThat(questionResult.getQuestionKey()).isEqualTo("written-0");
+                    assertThat(questionResult.getQuestionType()).isEqualTo(GameQuestionType.WRITTEN);
+                    assertThat(questionResult.getAnswerWith()).isEqualTo(QuestionAnswerSide.DEFINITION);
+                    assertThat(questionResult.getPrompt()).isEqualTo("Term 0 – zażółć");
+                    assertThat(questionResult.getUserAnswer()).isNull();
+                    assertThat(questionResult.getWasCorrect()).isTrue();
+                    assertThat(questionResult.getMistakesCount()).isZero();
+                    assertThat(questionResult.getAnsweredAt())
+                            .isCloseTo(result.completedAt(), within(1, ChronoUnit.MILLIS));
+                });
+    }
+
+    @Test
+    @DisplayName("saveGameResult - Should reject a flashcard of another set and write nothing")
+    void saveGameResult_ShouldRejectFlashcardOfAnotherSet() {
+        // given
+        Long otherSetId = createSet();
+        Long foreignFlashcardId = flashcardRepository.findAllByFlashcardSet_SetId(otherSetId)
+                .getFirst()
+                .getFlashcardId();
+
+        // when & then
+        assertThatThrownBy(() -> gameResultService.saveGameResult(
+                request(setId, 1, List.of(flashcardIds.getFirst(), foreignFlashcardId)), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Flashcard with id: " + foreignFlashcardId + " does not belong to set: " + setId);
+
+        assertThat(gameResultRepository.count()).isZero();
+        assertThat(gameAttemptRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("saveGameResult - Should reject an unknown flashcard")
+    void saveGameResult_ShouldRejectUnknownFlashcard() {
+        // when & then
+        assertThatThrownBy(() -> gameResultService.saveGameResult(request(setId, 1, List.of(999_999L)), null))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Flashcard with id: 999999 not found");
+    }
+
+    @Test
+    @DisplayName("recordGameResult - Should reject a deleted set")
+    void recordGameResult_ShouldRejectDeletedSet() {
+        // given
+        flashcardSetService.deleteFlashcardSetById(setId);
+
+        // when & then
+        assertThatThrownBy(() -> gameResultService.recordGameResult(
+                2L, request(setId, 1, List.of()), Instant.now(), null))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("FlashcardSet with id: " + setId + " not found");
+    }
+
+    @Test
+    @DisplayName("saveGameResults - Should keep every game and update the latest result with the newest one")
+    void saveGameResults_ShouldUpdateLatestResultWithNewestGame() {
+        // given
+        Instant completedAt = Instant.parse("2026-01-10T10:15:30Z");
+
+        // when
+        List<GameResultDTO> results = gameResultService.saveGameResults(new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(completedAt.plusSeconds(60), null, request(setId, 2, flashcardIds)),
+                new SaveGameResultBatchItemRequest(completedAt, null, request(setId, 1, flashcardIds)))));
+
+        // then
+        assertThat(results).extracting(GameResultDTO::score).containsExactly(2, 1);
+        assertThat(results).extracting(GameResultDTO::resultId).containsOnly(results.getFirst().resultId());
+        assertThat(gameAttemptRepository.count()).isEqualTo(2);
+        assertThat(gameQuestionResultRepository.count()).isEqualTo(2L * flashcardIds.size());
+
+        GameResult latest = gameResultRepository.findLatestByResultId(results.getFirst().resultId()).orElseThrow();
+        assertThat(latest.getScore()).isEqualTo(2);
+        assertThat(latest.getCompletedAt()).isCloseTo(completedAt.plusSeconds(60), within(1, ChronoUnit.MILLIS));
+    }
+
+    @Test
+    @DisplayName("saveGameResults - Should not replace a result with a game completed before it")
+    void saveGameResults_ShouldNotReplaceNewerResult() {
+        // given
+        GameResultDTO saved = gameResultService.saveGameResult(request(setId, 2, flashcardIds), null);
+
+        // when
+        gameResultService.saveGameResults(new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(
+                        saved.completedAt().minusSeconds(3600),
+                        null,
+                        request(setId, 1, flashcardIds)))));
+
+        // then
+        assertThat(gameAttemptRepository.count()).isEqualTo(2);
+        assertThat(gameResultRepository.findLatestByResultId(saved.resultId()).orElseThrow().getScore()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("findFirstPage and findPageBefore - Should list the latest results from the attempts")
+    void adminPages_ShouldListLatestResultsFromAttempts() {
+        // given
+        Long otherSetId = createSet();
+        List<Long> otherFlashcardIds = flashcardRepository.findAllByFlashcardSet_SetId(otherSetId)
+                .stream()
+                .map(Flashcard::getFlashcardId)
+                .toList();
+
+        gameResultService.saveGameResult(request(setId, 1, flashcardIds), null);
+        GameResultDTO replacing = gameResultService.saveGameResult(request(setId, 2, flashcardIds), null);
+        GameResultDTO other = gameResultService.saveGameResult(request(otherSetId, 3, otherFlashcardIds), null);
+
+        // when
+        List<GameResult> firstPage = gameResultRepository.findFirstPage(PageRequest.ofSize(10));
+        List<GameResult> nextPage = gameResultRepository.findPageBefore(
+                firstPage.getFirst().getCompletedAt(),
+                firstPage.getFirst().getResultId(),
+                PageRequest.ofSize(10));
+
+        // then
+        assertThat(firstPage)
+                .extracting(GameResult::getResultId)
+                .containsExactly(other.resultId(), replacing.resultId())
+                .containsExactlyElementsOf(gameResultRepository.findAll(Sort.by(
+                                Sort.Order.desc("completedAt"),
+                                Sort.Order.desc("resultId")))
+                        .stream()
+                        .map(GameResult::getResultId)
+                        .toList());
+        assertThat(nextPage)
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getResultId()).isEqualTo(replacing.resultId());
+                    assertThat(result.getScore()).isEqualTo(2);
+                    assertThat(result.getSet().getSetId()).isEqualTo(setId);
+                });
+        assertThat(jdbcTemplate.queryForList("SELECT score FROM game_attempts WHERE superseded", Integer.class))
+                .containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("findFirstPageBySetId and findPageBeforeBySetId - Should list the latest results of one set")
+    void adminPagesBySet_ShouldListLatestResultsOfSet() {
+        // given
+        Long otherSetId = createSet();
+        List<Long> otherFlashcardIds = flashcardRepository.findAllByFlashcardSet_SetId(otherSetId)
+                .stream()
+                .map(Flashcard::getFlashcardId)
+                .toList();
+
+        GameResultDTO earlier = gameResultService.saveGameResult(request(setId, 1, flashcardIds), null);
+        gameResultService.saveGameResult(request(otherSetId, 3, otherFlashcardIds), null);
+
+        UserPrincipal otherPlayer = UserPrincipal.from(userRepository.findById(3L).orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                otherPlayer,
+                null,
+                otherPlayer.getAuthorities()));
+
+        GameResultDTO replacing = gameResultService.saveGameResult(request(setId, 2, flashcardIds), null);
+        gameResultService.saveGameResult(request(setId, 3, flashcardIds), null);
+
+        // when
+        List<GameResult> firstPage = gameResultRepository.findFirstPageBySetId(setId, PageRequest.ofSize(1));
+        List<GameResult> nextPage = gameResultRepository.findPageBeforeBySetId(
+                setId,
+                firstPage.getFirst().getCompletedAt(),
+                firstPage.getFirst().getResultId(),
+                PageRequest.ofSize(10));
+
+        // then
+        assertThat(firstPage)
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getResultId()).isEqualTo(replacing.resultId());
+                    assertThat(result.getScore()).isEqualTo(3);
+                });
+        assertThat(nextPage)
+                .extracting(GameResult::getResultId)
+                .containsExactly(earlier.resultId());
+    }
+
+    @Test
+    @DisplayName("deleteGameResult - Should hide the result until the next game and keep the attempts")
+    void deleteGameResult_ShouldHideResultAndKeepAttempts() {
+        // given
+        GameResultDTO first = gameResultService.saveGameResult(request(setId, 1, flashcardIds), null);
+        GameResultDTO second = gameResultService.saveGameResult(request(setId, 2, flashcardIds), null);
+
+        // when
+        gameResultService.deleteGameResult(first.resultId());
+
+        // then
+        assertThat(gameResultRepository.count()).isZero();
+        assertThat(gameResultRepository.findLatestByResultId(second.resultId())).isEmpty();
+        assertThat(gameAttemptRepository.count()).isEqualTo(2);
+
+        GameResultDTO next = gameResultService.saveGameResult(request(setId, 3, flashcardIds), null);
+
+        assertThat(next.resultId()).isNotEqualTo(first.resultId());
+
+        assertThat(gameResultService.getMyGameResults(setId))
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.resultId()).isEqualTo(next.resultId());
+                    assertThat(result.score()).isEqualTo(3);
+                });
+    }
+
+    @Test
+    @DisplayName("saveGameResults - Should record a game repeating an idempotency key once")
+    void saveGameResults_ShouldRecordRepeatedKeyOnce() {
+        // given
+        Instant completedAt = Instant.parse("2026-01-10T10:15:30Z");
+        GameResultDTO saved = gameResultService.saveGameResult(request(setId, 1, flashcardIds), "game-1");
+
+        // when
+        List<GameResultDTO> results = gameResultService.saveGameResults(new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(completedAt, "game-1", request(setId, 1, flashcardIds)),
+                new SaveGameResultBatchItemRequest(completedAt, "game-2", request(setId, 2, flashcardIds)),
+                new SaveGameResultBatchItemRequest(completedAt, "game-2", request(setId, 2, flashcardIds)))));
+
+        // then
+        assertThat(results.get(0).completedAt()).isCloseTo(saved.completedAt(), within(1, ChronoUnit.MILLIS));
+        assertThat(results.get(2)).isEqualTo(results.get(1));
+        assertThat(gameAttemptRepository.count()).isEqualTo(2);
+        assertThat(gameQuestionResultRepository.count()).isEqualTo(2L * flashcardIds.size());
+    }
+
+    @Test
+    @DisplayName("saveGameResults - Should reject a flashcard of another set and write nothing")
+    void saveGameResults_ShouldRejectFlashcardOfAnotherSet() {
+        // given
+        Long otherSetId = createSet();
+        Instant completedAt = Instant.parse("2026-01-10T10:15:30Z");
+
+        // when & then
+        assertThatThrownBy(() -> gameResultService.saveGameResults(new SaveGameResultBatchRequest(List.of(
+                new SaveGameResultBatchItemRequest(completedAt, null, request(setId, 1, flashcardIds)),
+                new SaveGameResultBatchItemRequest(completedAt, null, request(otherSetId, 1, flashcardIds))))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Flashcard with id: " + Collections.min(flashcardIds) + " does not belong to set: " + otherSetId);
+
+        assertThat(gameResultRepository.count()).isZero();
+        assertThat(gameAttemptRepository.count()).isZero();
+    }
+
+    private Long createSet() {
+        return flashcardSetService.addFlashcardSet(new FlashcardSetCreationDTO(
+                "Played Set",
+                "Set written through JDBC",
+                List.of(
+                        new FlashcardContentDTO("Term 0", "Definition 0"),
+                        new FlashcardContentDTO("Term 1", "Definition 1"))
+        )).setId();
+    }
+
+    private static SaveGameResultRequest request(Long setId, int score, List<Long> flashcardIds) {
+        return new SaveGameResultRequest(
+                setId,
+                GameMode.WRITTEN,
+                score,
+                flashcardIds.size() + 1,
+                30,
+                flashcardIds.stream()
+                        .map(flashcardId -> {
+                            int order = flashcardIds.indexOf(flashcardId);
+                            return new SaveGameQuestionResultRequest(
+                                    flashcardId,
+                                    "written-" + order,
+                                    order,
+                                    GameQuestionType.WRITTEN,
+                                    QuestionAnswerSide.DEFINITION,
+                                    "Term " + order + " – zażółć",
+                                    null,
+                                    "Definition " + order,
+                                    true,
+                                    null);
+                        })
+                        .toList());
+    }
+}
@@ -0,0 +1,118 @@
+package com.brainbooster.integration.gameresult;
+
+import com.brainbooster.gameresult.GameMode;
+import com.brainbooster.gameresult.GameResult;
+import com.brainbooster.gameresult.GameResultRepository;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a separate schema to the version that still had {@code game_results}, fills it with results
+ * saved back then and migrates it to the latest version, so the result ids handed out before results
+ * were derived from attempts can be checked against the current queries.
+ */
+class LegacyGameResultMigrationIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String SCHEMA = "legacy_game_results";
+    private static final String LAST_VERSION_WITH_GAME_RESULTS = "17";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private GameResultRepository gameResultRepository;
+
+    @AfterEach
+    void dropSchema() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+    @DisplayName("V21 - Should keep the result ids saved before results were derived from attempts")
+    void migration_ShouldKeepResolvingLegacyResultIds() {
+        // given
+        flyway(LAST_VERSION_WITH_GAME_RESULTS).migrate();
+
+        jdbcTemplate.update("""
+                INSERT INTO legacy_game_results."user" (user_id, nickname, email, role)
+                VALUES (1, 'legacy', 'legacy@example.com', 'USER')
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO legacy_game_results.flashcard_set (set_id, user_id, set_name, description)
+                VALUES (1, 1, 'Legacy Set', 'Played before results were derived from attempts')
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO legacy_game_results.game_attempts (user_id, set_id, mode, score, total_questions,
+                                                               completed_at)
+                VALUES (1, 1, 'WRITTEN', 1, 4, '2026-01-10T10:00:00Z'),
+                       (1, 1, 'WRITTEN', 2, 4, '2026-01-10T11:00:00Z')
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO legacy_game_results.game_results (result_id, user_id, set_id, mode, score, total_questions,
+                                                              completed_at)
+                VALUES (500, 1, 1, 'WRITTEN', 2, 4, '2026-01-10T11:00:00Z'),
+                       (501, 1, 1, 'MATCHING', 3, 4, '2026-01-09T09:00:00Z')
+                """);
+
+        // when
+        flyway("latest").migrate();
+
+        // then
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Long nextAttemptId = transactionTemplate.execute(_ -> {
+            jdbcTemplate.execute("SET LOCAL search_path TO " + SCHEMA);
+
+            GameResult written = gameResultRepository.findLatestByResultId(500L).orElseThrow();
+            assertThat(written.getResultId()).isEqualTo(500L);
+            assertThat(written.getMode()).isEqualTo(GameMode.WRITTEN);
+            assertThat(written.getScore()).isEqualTo(2);
+
+            GameResult copied = gameResultRepository.findLatestByResultId(501L).orElseThrow();
+            assertThat(copied.getResultId()).isEqualTo(501L);
+            assertThat(copied.getMode()).isEqualTo(GameMode.MATCHING);
+            assertThat(copied.getScore()).isEqualTo(3);
+
+            return jdbcTemplate.queryForObject("""
+                    INSERT INTO game_attempts (user_id, set_id, mode, score, total_questions, completed_at)
+                    VALUES (1, 1, 'WRITTEN', 4, 4, '2026-01-10T12:00:00Z')
+                    RETURNING attempt_id
+                    """, Long.class);
+        });
+
+        assertThat(nextAttemptId).isGreaterThan(501L);
+
+        transactionTemplate.executeWithoutResult(_ -> {
+            jdbcTemplate.execute("SET LOCAL search_path TO " + SCHEMA);
+
+            assertThat(gameResultRepository.findLatestByResultId(500L).orElseThrow())
+                    .satisfies(latest -> {
+                        assertThat(latest.getResultId()).isEqualTo(500L);
+                        assertThat(latest.getScore()).isEqualTo(4);
+                    });
+            assertThat(gameResultRepository.findLatestByResultId(nextAttemptId)).isEmpty();
+        });
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .target(target)
+                .load();
+    }
+}
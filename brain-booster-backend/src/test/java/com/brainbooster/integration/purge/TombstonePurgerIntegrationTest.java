@@ -0,0 +1,271 @@
+package com.brainbooster.integration.purge;
+
+import com.brainbooster.flashcard.Flashcard;
+import com.brainbooster.flashcard.FlashcardRepository;
+import com.brainbooster.flashcard.FlashcardService;
+import com.brainbooster.flashcard.dto.FlashcardContentDTO;
+import com.brainbooster.flashcard.starred.StarredFlashcardService;
+import com.brainbooster.flashcard.starred.UserStarredFlashcardRepository;
+import com.brainbooster.flashcardset.FlashcardSetRepository;
+import com.brainbooster.flashcardset.FlashcardSetService;
+import com.brainbooster.flashcardset.dto.FlashcardSetCreationDTO;
+import com.brainbooster.exception.ResourceNotFoundException;
+import com.brainbooster.gameresult.GameMode;
+import com.brainbooster.gameresult.GameQuestionType;
+import com.brainbooster.gameresult.GameResultRepository;
+import com.brainbooster.gameresult.GameResultService;
+import com.brainbooster.gameresult.attempt.GameAttemptRepository;
+import com.brainbooster.gameresult.dto.SaveGameQuestionResultRequest;
+import com.brainbooster.gameresult.dto.SaveGameResultRequest;
+import com.brainbooster.gameresult.questionresult.GameQuestionResultRepository;
+import com.brainbooster.integration.AbstractIntegrationTest;
+import com.brainbooster.purge.TombstonePurgeRepository;
+import com.brainbooster.purge.TombstonePurger;
+import com.brainbooster.security.UserPrincipal;
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import com.brainbooster.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs with a batch size smaller than the number of rows per table, so every table is purged
+ * in several batches.
+ */
+@Sql(scripts = "/insert-it-test-users.sql")
+@TestPropertySource(properties = {"TOMBSTONE_PURGE_BATCH_SIZE=2", "TOMBSTONE_PURGE_BATCH_PAUSE_MS=0"})
+class TombstonePurgerIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int SET_SIZE = 5;
+
+    @Autowired
+    private TombstonePurger tombstonePurger;
+    @Autowired
+    private TombstonePurgeRepository purgeRepository;
+    @Autowired
+    private FlashcardSetService flashcardSetService;
+    @Autowired
+    private FlashcardSetRepository flashcardSetRepository;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+    @Autowired
+    private FlashcardService flashcardService;
+    @Autowired
+    private StarredFlashcardService starredFlashcardService;
+    @Autowired
+    private UserStarredFlashcardRepository starredFlashcardRepository;
+    @Autowired
+    private GameResultService gameResultService;
+    @Autowired
+    private GameResultRepository gameResultRepository;
+    @Autowired
+    private GameAttemptRepository gameAttemptRepository;
+    @Autowired
+    private GameQuestionResultRepository gameQuestionResultRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("deleteFlashcardSetById - Should hide the set at once and leave its rows to the purger")
+    void deleteFlashcardSetById_ShouldOnlyTombstoneSet() {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        Long setId = createPlayedAndStarredSet(owner);
+
+        // when
+        mockAuthenticatedUser(owner);
+        flashcardSetService.deleteFlashcardSetById(setId);
+
+        // then
+        assertThat(flashcardSetRepository.findById(setId)).isEmpty();
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(setId)).hasSize(SET_SIZE);
+        assertThat(purgeRepository.countDeletedFlashcardSets()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deleteFlashcardSetById - Should hide the flashcards, stars and game results of the set")
+    void deleteFlashcardSetById_ShouldHideRowsOfTombstonedSet() {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        Long setId = createPlayedAndStarredSet(owner);
+        Long flashcardId = flashcardRepository.findAllByFlashcardSet_SetId(setId).getFirst().getFlashcardId();
+
+        mockAuthenticatedUser(owner);
+
+        // when
+        flashcardSetService.deleteFlashcardSetById(setId);
+
+        // then
+        assertThatThrownBy(() -> flashcardService.getFlashcardById(flashcardId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(starredFlashcardService.getStarredFlashcardsPage(null, null, null, null).items()).isEmpty();
+        assertThat(starredFlashcardService.getStarredFlashcardsPage(null, 7L, null, null).items()).isEmpty();
+        assertThat(gameResultService.getMyGameResults(null)).isEmpty();
+        assertThat(gameResultService.getMyGameResults(setId)).isEmpty();
+
+        mockAuthenticatedUser(userRepository.findById(1L).orElseThrow());
+
+        assertThat(gameResultService.getAllGameResults(null)).isEmpty();
+        assertThat(gameResultService.getGameResultsPage(null, null, null).items()).isEmpty();
+        assertThat(gameResultService.getGameResultsPage(setId, null, null).items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("purgeTombstones - Should delete a tombstoned set with everything referencing it")
+    void purgeTombstones_ShouldDeleteTombstonedSet() {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        Long setId = createPlayedAndStarredSet(owner);
+        Long otherSetId = createPlayedAndStarredSet(owner);
+
+        mockAuthenticatedUser(owner);
+        flashcardSetService.deleteFlashcardSetById(setId);
+
+        // when
+        long deleted = tombstonePurger.purgeTombstones();
+
+        // then
+        // 5 question results, 1 attempt, 5 stars, 5 flashcards and the set
+        assertThat(deleted).isEqualTo(17);
+        assertThat(purgeRepository.countDeletedFlashcardSets()).isZero();
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(setId)).isEmpty();
+
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(otherSetId)).hasSize(SET_SIZE);
+        assertThat(gameQuestionResultRepository.count()).isEqualTo(SET_SIZE);
+        assertThat(gameAttemptRepository.count()).isEqualTo(1);
+        assertThat(gameResultRepository.count()).isEqualTo(1);
+        assertThat(starredFlashcardRepository.count()).isEqualTo(SET_SIZE);
+    }
+
+    @Test
+    @DisplayName("purgeTombstones - Should skip the run while another instance holds the purger lease")
+    void purgeTombstones_ShouldSkipRun_WhenLeaseIsHeldElsewhere() {
+        // given
+        User owner = userRepository.findById(2L).orElseThrow();
+        Long setId = createPlayedAndStarredSet(owner);
+
+        mockAuthenticatedUser(owner);
+        flashcardSetService.deleteFlashcardSetById(setId);
+
+        transactionTemplate.executeWithoutResult(_ -> purgeRepository.acquirePurgerLease("other-instance", 60_000));
+
+        // when
+        long skipped = tombstonePurger.purgeTombstones();
+
+        transactionTemplate.executeWithoutResult(_ -> purgeRepository.releasePurgerLease("other-instance"));
+        long deleted = tombstonePurger.purgeTombstones();
+
+        // then
+        assertThat(skipped).isZero();
+        assertThat(deleted).isEqualTo(17);
+        assertThat(purgeRepository.countDeletedFlashcardSets()).isZero();
+    }
+
+    @Test
+    @DisplayName("purgeTombstones - Should delete a tombstoned user with their sets and activity")
+    void purgeTombstones_ShouldDeleteTombstonedUser() {
+        // given
+        User deletedUser = userRepository.findById(3L).orElseThrow();
+        Long setId = createPlayedAndStarredSet(deletedUser);
+        Long otherSetId = createPlayedAndStarredSet(userRepository.findById(2L).orElseThrow());
+
+        mockAuthenticatedUser(userRepository.findById(1L).orElseThrow());
+        userService.deleteUserById(3L);
+
+        assertThat(userRepository.findById(3L)).isEmpty();
+        assertThat(flashcardSetRepository.findById(setId)).isEmpty();
+        assertThat(purgeRepository.countDeletedUsers()).isEqualTo(1);
+
+        // when
+        tombstonePurger.purgeTombstones();
+
+        // then
+        assertThat(purgeRepository.countDeletedUsers()).isZero();
+        assertThat(purgeRepository.countDeletedFlashcardSets()).isZero();
+        assertThat(purgeRepository.findFlashcardSetIdsByUserId(3L)).isEmpty();
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(setId)).isEmpty();
+
+        assertThat(flashcardRepository.findAllByFlashcardSet_SetId(otherSetId)).hasSize(SET_SIZE);
+        assertThat(gameAttemptRepository.count()).isEqualTo(1);
+        assertThat(starredFlashcardRepository.count()).isEqualTo(SET_SIZE);
+    }
+
+    /**
+     * Creates a set owned by the given user, plays it once and stars all its flashcards as that user.
+     */
+    private Long createPlayedAndStarredSet(User owner) {
+        mockAuthenticatedUser(owner);
+
+        Long setId = flashcardSetService.addFlashcardSet(new FlashcardSetCreationDTO(
+                "Purged Set",
+                "Set deleted in the background",
+                IntStream.range(0, SET_SIZE)
+                        .mapToObj(i -> new FlashcardContentDTO("Term " + i, "Definition " + i))
+                        .toList()
+        )).setId();
+
+        List<Long> flashcardIds = flashcardRepository.findAllByFlashcardSet_SetId(setId)
+                .stream()
+                .map(Flashcard::getFlashcardId)
+                .toList();
+
+        starredFlashcardService.starFlashcards(flashcardIds);
+        gameResultService.saveGameResult(new SaveGameResultRequest(
+                setId,
+                GameMode.CUSTOM_TEST,
+                SET_SIZE,
+                SET_SIZE,
+                60,
+                IntStream.range(0, SET_SIZE)
+                        .mapToObj(order -> new SaveGameQuestionResultRequest(
+                                flashcardIds.get(order),
+                                "custom-test-" + order,
+                                order,
+                                GameQuestionType.WRITTEN,
+                                null,
+                                "Term " + order,
+                                "Definition " + order,
+                                "Definition " + order,
+                                true,
+                                0))
+                        .toList()), null);
+
+        SecurityContextHolder.clearContext();
+
+        return setId;
+    }
+
+    private void mockAuthenticatedUser(User user) {
+        UserPrincipal principal = UserPrincipal.from(user);
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities());
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(authentication);
+    }
+}
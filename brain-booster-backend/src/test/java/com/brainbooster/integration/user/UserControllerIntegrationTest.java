@@ -104,7 +104,7 @@ class UserControllerIntegrationTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @DisplayName("GET /users - Should return all users when called by Admin")
+    @DisplayName("GET /users - Should return first page of users when called by Admin")
     void getAllUsers_ShouldReturnUserListForAdmin() throws Exception {
         // given
         User existingAdmin = User.builder()
@@ -120,10 +120,11 @@ class UserControllerIntegrationTest extends AbstractIntegrationTest {
                         .header("Authorization", "Bearer " + realToken)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(3)) // it-admin and it-user1, it-user2
-                .andExpect(jsonPath("$[0].nickname").value("it-admin"))
-                .andExpect(jsonPath("$[1].nickname").value("it-user1"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(3)) // it-admin and it-user1, it-user2
+                .andExpect(jsonPath("$.items[0].nickname").value("it-admin"))
+                .andExpect(jsonPath("$.items[1].nickname").value("it-user1"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
     }
 
     @Test
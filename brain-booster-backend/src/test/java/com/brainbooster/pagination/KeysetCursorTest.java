@@ -0,0 +1,51 @@
+package com.brainbooster.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_ShouldReturnSameCursor_WhenCursorWithSortKeyIsEncoded() {
+        // given
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2026-01-10T10:15:30.123Z"), 42L);
+
+        // when
+        KeysetCursor result = KeysetCursor.decode(cursor.encode());
+
+        // then
+        assertThat(result).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_ShouldReturnIdOnlyCursor_WhenCursorWithoutSortKeyIsEncoded() {
+        // given
+        KeysetCursor cursor = KeysetCursor.ofId(7L);
+
+        // when
+        KeysetCursor result = KeysetCursor.decode(cursor.encode());
+
+        // then
+        assertThat(result.sortKey()).isNull();
+        assertThat(result.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void decode_ShouldReturnNull_WhenCursorIsBlank() {
+        // when, then
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_ShouldThrowIllegalArgumentException_WhenCursorIsMalformed() {
+        // when, then
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid pagination cursor");
+    }
+}
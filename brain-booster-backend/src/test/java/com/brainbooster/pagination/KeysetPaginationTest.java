@@ -0,0 +1,54 @@
+package com.brainbooster.pagination;
+
+import com.brainbooster.pagination.dto.CursorPageDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPaginationTest {
+
+    @Test
+    void resolvePageSize_ShouldApplyDefaultAndUpperBound() {
+        // when, then
+        assertThat(KeysetPagination.resolvePageSize(null)).isEqualTo(KeysetPagination.DEFAULT_PAGE_SIZE);
+        assertThat(KeysetPagination.resolvePageSize(5)).isEqualTo(5);
+        assertThat(KeysetPagination.resolvePageSize(1000)).isEqualTo(KeysetPagination.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void resolvePageSize_ShouldThrowIllegalArgumentException_WhenSizeIsNotPositive() {
+        // when, then
+        assertThatThrownBy(() -> KeysetPagination.resolvePageSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be greater than 0");
+    }
+
+    @Test
+    void toPage_ShouldTrimExtraRowAndReturnCursorOfLastItem_WhenMoreRowsExist() {
+        // given
+        List<Long> rows = List.of(1L, 2L, 3L);
+
+        // when
+        CursorPageDTO<String> page = KeysetPagination.toPage(rows, 2, String::valueOf, KeysetCursor::ofId);
+
+        // then
+        assertThat(page.items()).containsExactly("1", "2");
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(KeysetCursor.ofId(2L));
+    }
+
+    @Test
+    void toPage_ShouldReturnNullCursor_WhenLastPageIsReached() {
+        // given
+        List<Long> rows = List.of(1L, 2L);
+
+        // when
+        CursorPageDTO<String> page = KeysetPagination.toPage(rows, 2, String::valueOf, KeysetCursor::ofId);
+
+        // then
+        assertThat(page.items()).containsExactly("1", "2");
+        assertThat(page.nextCursor()).isNull();
+    }
+}
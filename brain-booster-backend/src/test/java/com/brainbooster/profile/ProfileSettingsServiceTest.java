@@ -9,8 +9,10 @@ import com.brainbooster.profile.dto.UserEmailUpdateResponseDTO;
 import com.brainbooster.profile.dto.UserNicknameUpdateDTO;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
+import com.brainbooster.security.TokenVersionCache;
 import com.brainbooster.security.UserPrincipal;
 import com.brainbooster.user.User;
+import com.brainbooster.user.UserChangedEvent;
 import com.brainbooster.user.UserDTOMapper;
 import com.brainbooster.user.UserRepository;
 import com.brainbooster.user.dto.UserDTO;
@@ -21,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -40,6 +43,10 @@ class ProfileSettingsServiceTest {
     private JwtService jwtService;
     @Mock
     private CurrentUserProvider currentUserProvider;
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ProfileSettingsService profileSettingsService;
@@ -61,6 +68,7 @@ class ProfileSettingsServiceTest {
     void updateNickname_ShouldUpdateNickname_WhenNicknameIsAvailable() {
         // given
         UserNicknameUpdateDTO request = new UserNicknameUpdateDTO("  newNickname  ");
+        String previousNickname = user.getNickname();
 
         UserDTO updatedUserDTO = new UserDTO(
                 user.getUserId(),
@@ -90,6 +98,7 @@ class ProfileSettingsServiceTest {
         verify(userRepository).findById(user.getUserId());
         verify(userRepository).existsByNickname("newNickname");
         verify(userDTOMapper).apply(user);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(user.getUserId(), previousNickname, false));
     }
 
     @Test
@@ -138,7 +147,7 @@ class ProfileSettingsServiceTest {
         assertThat(user.getNickname()).isEqualTo("johndoe");
 
         verify(userRepository).existsByNickname("takenNickname");
-        verifyNoInteractions(userDTOMapper);
+        verifyNoInteractions(userDTOMapper, eventPublisher);
     }
 
     @Test
@@ -164,6 +173,7 @@ class ProfileSettingsServiceTest {
         assertThat(user.getEmail()).isEqualTo("new.email@example.com");
 
         verify(userRepository).existsByEmail("new.email@example.com");
+        verify(tokenVersionCache).revokeTokens(user);
         verify(jwtService).generateToken(
                 argThat(principal ->
                         principal.userId().equals(user.getUserId())
@@ -194,6 +204,7 @@ class ProfileSettingsServiceTest {
                 .existsByEmail(anyString());
 
         verify(jwtService).generateToken(expectedPrincipal);
+        verifyNoInteractions(tokenVersionCache);
     }
 
     @Test
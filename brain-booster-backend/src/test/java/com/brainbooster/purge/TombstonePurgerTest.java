@@ -0,0 +1,148 @@
+package com.brainbooster.purge;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class TombstonePurgerTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final long LEASE_MILLIS = 60_000;
+
+    private final TombstonePurgeRepository purgeRepository = mock(TombstonePurgeRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TombstonePurger tombstonePurger = new TombstonePurger(
+            purgeRepository,
+            new TransactionTemplate(transactionManager),
+            meterRegistry,
+            true,
+            BATCH_SIZE,
+            0,
+            LEASE_MILLIS);
+
+    @BeforeEach
+    void setUp() {
+        when(purgeRepository.acquirePurgerLease(anyString(), eq(LEASE_MILLIS))).thenReturn(1);
+    }
+
+    @Test
+    void purgeTombstones_ShouldDeleteRowsInBatchesUntilBatchIsNotFull() {
+        // given
+        when(purgeRepository.countDeletedFlashcardSets()).thenReturn(1L);
+        when(purgeRepository.findDeletedFlashcardSetIds(anyInt()))
+                .thenReturn(List.of(7L))
+                .thenReturn(List.of());
+        when(purgeRepository.findDeletedUserIds(anyInt())).thenReturn(List.of());
+        when(purgeRepository.deleteFlashcardsBySetId(7L, BATCH_SIZE)).thenReturn(2, 2, 1);
+        when(purgeRepository.deleteFlashcardSet(7L)).thenReturn(1);
+
+        // when
+        long deleted = tombstonePurger.purgeTombstones();
+
+        // then
+        assertThat(deleted).isEqualTo(6);
+        verify(purgeRepository, times(3)).deleteFlashcardsBySetId(7L, BATCH_SIZE);
+        verify(purgeRepository).deleteQuestionResultsBySetId(7L, BATCH_SIZE);
+        verify(purgeRepository).deleteFlashcardSet(7L);
+        // one transaction per batch, plus the ones taking and giving up the purger lease
+        verify(transactionManager, times(10)).commit(any());
+        verify(purgeRepository, times(9)).acquirePurgerLease(anyString(), eq(LEASE_MILLIS));
+        verify(purgeRepository).releasePurgerLease(anyString());
+        assertThat(rows(TombstonePurgeRepository.FLASHCARD_TABLE)).isEqualTo(5);
+        assertThat(pending("flashcard-set")).isZero();
+    }
+
+    @Test
+    void purgeTombstones_ShouldDeleteSetsOfUserBeforeUser() {
+        // given
+        when(purgeRepository.countDeletedUsers()).thenReturn(1L);
+        when(purgeRepository.findDeletedFlashcardSetIds(anyInt())).thenReturn(List.of());
+        when(purgeRepository.findDeletedUserIds(anyInt()))
+                .thenReturn(List.of(3L))
+                .thenReturn(List.of());
+        when(purgeRepository.findFlashcardSetIdsByUserId(3L)).thenReturn(List.of(9L));
+        when(purgeRepository.deleteFlashcardSet(9L)).thenReturn(1);
+        when(purgeRepository.deleteUser(3L)).thenReturn(1);
+
+        // when
+        long deleted = tombstonePurger.purgeTombstones();
+
+        // then
+        assertThat(deleted).isEqualTo(2);
+
+        var inOrder = inOrder(purgeRepository);
+        inOrder.verify(purgeRepository).deleteFlashcardsBySetId(9L, BATCH_SIZE);
+        inOrder.verify(purgeRepository).deleteFlashcardSet(9L);
+        inOrder.verify(purgeRepository).deleteAttemptsByUserId(3L, BATCH_SIZE);
+        inOrder.verify(purgeRepository).deleteFoldersByUserId(3L, BATCH_SIZE);
+        inOrder.verify(purgeRepository).deleteUser(3L);
+        assertThat(pending("user")).isZero();
+    }
+
+    @Test
+    void purgeTombstones_ShouldSkipRun_WhenAnotherInstanceHoldsLease() {
+        // given
+        when(purgeRepository.acquirePurgerLease(anyString(), eq(LEASE_MILLIS))).thenReturn(0);
+
+        // when
+        long deleted = tombstonePurger.purgeTombstones();
+
+        // then
+        assertThat(deleted).isZero();
+        verify(purgeRepository).acquirePurgerLease(anyString(), eq(LEASE_MILLIS));
+        verifyNoMoreInteractions(purgeRepository);
+    }
+
+    @Test
+    void purgeTombstones_ShouldStopBeforeNextBatch_WhenLeaseIsTakenOver() {
+        // given
+        when(purgeRepository.acquirePurgerLease(anyString(), eq(LEASE_MILLIS))).thenReturn(1, 1, 0);
+        when(purgeRepository.findDeletedFlashcardSetIds(anyInt())).thenReturn(List.of(7L));
+        when(purgeRepository.deleteQuestionResultsBySetId(7L, BATCH_SIZE)).thenReturn(1);
+
+        // when & then
+        assertThatThrownBy(tombstonePurger::purgeTombstones)
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(purgeRepository).deleteQuestionResultsBySetId(7L, BATCH_SIZE);
+        verify(purgeRepository, never()).deleteAttemptsBySetId(anyLong(), anyInt());
+        verify(purgeRepository).releasePurgerLease(anyString());
+    }
+
+    @Test
+    void purgeOnSchedule_ShouldDoNothing_WhenDisabled() {
+        // given
+        TombstonePurger disabledPurger = new TombstonePurger(
+                purgeRepository,
+                new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry(),
+                false,
+                BATCH_SIZE,
+                0,
+                LEASE_MILLIS);
+
+        // when
+        disabledPurger.purgeOnSchedule();
+
+        // then
+        verifyNoInteractions(purgeRepository);
+    }
+
+    private double rows(String table) {
+        return meterRegistry.get(TombstonePurger.ROWS_METRIC).tag("table", table).counter().count();
+    }
+
+    private double pending(String entity) {
+        return meterRegistry.get(TombstonePurger.PENDING_METRIC).tag("entity", entity).gauge().value();
+    }
+}
@@ -0,0 +1,104 @@
+package com.brainbooster.security;
+
+import com.brainbooster.exception.ServiceUnavailableException;
+import com.brainbooster.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+    private final BoundedPasswordEncoder passwordEncoder =
+            new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.close();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldDelegateAndRecordLatency() {
+        // given
+        when(delegate.encode("password")).thenReturn("encoded_password");
+        when(delegate.matches("password", "encoded_password")).thenReturn(true);
+
+        // when
+        String encoded = passwordEncoder.encode("password");
+        boolean matches = passwordEncoder.matches("password", "encoded_password");
+
+        // then
+        assertThat(encoded).isEqualTo("encoded_password");
+        assertThat(matches).isTrue();
+        assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void encode_ShouldThrowTooManyRequests_WhenPoolAndQueueAreFull() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(delegate.encode(anyString())).thenAnswer(_ -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "encoded_password";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+
+        while (meterRegistry.get("auth.password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when, then
+        assertThatThrownBy(() -> passwordEncoder.encode("third"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("encoded_password");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("encoded_password");
+    }
+
+    @Test
+    void matches_ShouldThrowServiceUnavailableAndCancelHashing_WhenItTakesLongerThanTimeout() throws Exception {
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        BoundedPasswordEncoder slowEncoder =
+                new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        when(delegate.matches(anyString(), anyString())).thenAnswer(_ -> {
+            try {
+                new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException _) {
+                interrupted.countDown();
+            }
+            return true;
+        });
+
+        // when, then
+        try (slowEncoder) {
+            assertThatThrownBy(() -> slowEncoder.matches("password", "encoded_password"))
+                    .isInstanceOf(ServiceUnavailableException.class);
+
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(meterRegistry.get("auth.password.hashing.timed.out").counter().count()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.brainbooster.security;
+
+import com.brainbooster.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginAttemptThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LoginAttemptThrottle loginAttemptThrottle =
+            new LoginAttemptThrottle(2, 3, meterRegistry);
+
+    @Test
+    void acquire_ShouldThrowTooManyRequests_WhenAccountBucketIsExhausted() {
+        // given
+        loginAttemptThrottle.acquire("johndoe@example.com", "10.0.0.1");
+        loginAttemptThrottle.acquire("JohnDoe@Example.com", "10.0.0.2");
+
+        // when, then
+        assertThatThrownBy(() -> loginAttemptThrottle.acquire("johndoe@example.com", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessage("Too many login attempts, please try again later");
+
+        assertThat(meterRegistry.get("auth.login.throttled").tag("key", "account").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void acquire_ShouldThrowTooManyRequests_WhenAddressBucketIsExhausted() {
+        // given
+        loginAttemptThrottle.acquire("first@example.com", "10.0.0.1");
+        loginAttemptThrottle.acquire("second@example.com", "10.0.0.1");
+        loginAttemptThrottle.acquire("third@example.com", "10.0.0.1");
+
+        // when, then
+        assertThatThrownBy(() -> loginAttemptThrottle.acquire("fourth@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        assertThat(meterRegistry.get("auth.login.throttled").tag("key", "address").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void acquire_ShouldTrackAccountsIndependently() {
+        // given
+        loginAttemptThrottle.acquire("first@example.com", null);
+        loginAttemptThrottle.acquire("first@example.com", null);
+
+        // when, then
+        assertThatCode(() -> loginAttemptThrottle.acquire("second@example.com", null))
+                .doesNotThrowAnyException();
+    }
+}
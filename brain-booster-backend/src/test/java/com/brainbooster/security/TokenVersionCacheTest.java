@@ -0,0 +1,91 @@
+package com.brainbooster.security;
+
+import com.brainbooster.user.User;
+import com.brainbooster.user.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.brainbooster.utils.TestEntities.createUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TokenVersionCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final TokenVersionCache tokenVersionCache = new TokenVersionCache(userRepository, 100, 60);
+
+    @Test
+    void isCurrent_ShouldLoadVersionOnce_WhenCalledRepeatedly() {
+        // given
+        when(userRepository.findTokenVersionByUserId(1L)).thenReturn(Optional.of(0));
+
+        // when
+        boolean first = tokenVersionCache.isCurrent(1L, 0);
+        boolean second = tokenVersionCache.isCurrent(1L, 0);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(userRepository, times(1)).findTokenVersionByUserId(1L);
+    }
+
+    @Test
+    void isCurrent_ShouldReturnFalse_WhenTokenVersionIsOutdated() {
+        // given
+        when(userRepository.findTokenVersionByUserId(1L)).thenReturn(Optional.of(2));
+
+        // when, then
+        assertThat(tokenVersionCache.isCurrent(1L, 1)).isFalse();
+    }
+
+    @Test
+    void isCurrent_ShouldReturnFalse_WhenUserDoesNotExist() {
+        // given
+        when(userRepository.findTokenVersionByUserId(99L)).thenReturn(Optional.empty());
+
+        // when, then
+        assertThat(tokenVersionCache.isCurrent(99L, 0)).isFalse();
+    }
+
+    @Test
+    void revokeTokens_ShouldBumpVersionAndEvictCachedEntry() {
+        // given
+        User user = createUser();
+
+        when(userRepository.findTokenVersionByUserId(user.getUserId()))
+                .thenReturn(Optional.of(0), Optional.of(1));
+
+        assertThat(tokenVersionCache.isCurrent(user.getUserId(), 0)).isTrue();
+
+        // when
+        tokenVersionCache.revokeTokens(user);
+
+        // then
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+        assertThat(tokenVersionCache.isCurrent(user.getUserId(), 0)).isFalse();
+        assertThat(tokenVersionCache.isCurrent(user.getUserId(), 1)).isTrue();
+    }
+
+    @Test
+    void isCurrent_ShouldNotCacheVersion_WhenEvictedWhileLoading() {
+        // given
+        when(userRepository.findTokenVersionByUserId(1L))
+                .thenAnswer(_ -> {
+                    // a revocation commits after the version was read
+                    tokenVersionCache.evictAfterCommit(1L);
+                    return Optional.of(0);
+                })
+                .thenReturn(Optional.of(1));
+
+        assertThat(tokenVersionCache.isCurrent(1L, 0)).isTrue();
+
+        // when
+        boolean revoked = tokenVersionCache.isCurrent(1L, 0);
+
+        // then
+        assertThat(revoked).isFalse();
+        verify(userRepository, times(2)).findTokenVersionByUserId(1L);
+    }
+}
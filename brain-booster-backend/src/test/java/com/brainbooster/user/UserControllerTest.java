@@ -122,6 +122,7 @@ class UserControllerTest {
         when(userService.getAllUsers()).thenReturn(Collections.singletonList(userDTO));
         // when
         MvcResult result = mockMvc.perform(get("/users")
+                        .param("unpaged", "true")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andReturn();
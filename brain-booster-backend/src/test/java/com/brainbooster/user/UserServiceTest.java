@@ -4,6 +4,7 @@ import com.brainbooster.exception.EmailAlreadyExistsException;
 import com.brainbooster.exception.ResourceNotFoundException;
 import com.brainbooster.security.AuthenticatedUser;
 import com.brainbooster.security.CurrentUserProvider;
+import com.brainbooster.security.TokenVersionCache;
 import com.brainbooster.security.authorization.AdminPolicy;
 import com.brainbooster.security.authorization.UserDeletionPolicy;
 import com.brainbooster.user.dto.UserCreationDTO;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -46,6 +48,10 @@ class UserServiceTest {
     private AdminPolicy adminPolicy;
     @Mock
     private UserDeletionPolicy userDeletionPolicy;
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private UserService userService;
@@ -203,6 +209,8 @@ class UserServiceTest {
                 Role.USER
         );
 
+        String previousNickname = user.getNickname();
+
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(passwordEncoder.encode(anyString())).thenReturn("encoded_password");
         when(userRepository.save(any(User.class))).thenReturn(user);
@@ -225,6 +233,8 @@ class UserServiceTest {
 
         verify(userRepository).save(any(User.class));
         verify(adminPolicy).verify(adminUser);
+        verify(tokenVersionCache).revokeTokens(user);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, previousNickname, false));
     }
 
     @Test
@@ -262,14 +272,16 @@ class UserServiceTest {
         AuthenticatedUser adminUser = TestEntities.createAuthenticatedUser(2L, Role.ADMIN);
 
         when(currentUserProvider.getCurrentUser()).thenReturn(adminUser);
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         // when
         userService.deleteUserById(1L);
 
         // then
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).markDeleted(1L);
         verify(userDeletionPolicy).verify(adminUser, 1L);
+        verify(tokenVersionCache).evictAfterCommit(1L);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, user.getNickname(), true));
     }
 
     @Test
@@ -278,7 +290,7 @@ class UserServiceTest {
         AuthenticatedUser adminUser = TestEntities.createAuthenticatedUser(2L, Role.ADMIN);
 
         when(currentUserProvider.getCurrentUser()).thenReturn(adminUser);
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         // when, then
         ResourceNotFoundException exception = assertThrows(
@@ -290,7 +302,7 @@ class UserServiceTest {
                 .isEqualTo("User with id: 1 not found");
 
         verify(userDeletionPolicy).verify(adminUser, 1L);
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository, never()).markDeleted(anyLong());
     }
 
     @Test
@@ -336,7 +348,7 @@ class UserServiceTest {
         Assertions.assertThat(exception.getMessage())
                 .isEqualTo("You cannot delete yourself or other users");
 
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository, never()).markDeleted(anyLong());
         verify(userDeletionPolicy).verify(adminUser, 1L);
         verifyNoInteractions(userRepository);
     }
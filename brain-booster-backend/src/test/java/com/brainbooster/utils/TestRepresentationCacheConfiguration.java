@@ -0,0 +1,22 @@
+package com.brainbooster.utils;
+
+import com.brainbooster.versioning.RepresentationCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Provides a disabled {@link RepresentationCache} for controller tests.
+ * <p>
+ * Every request serializes the value returned by the mocked service, so responses
+ * reflect the stubbing of the running test rather than bytes stored by an earlier one.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestRepresentationCacheConfiguration {
+
+    @Bean
+    RepresentationCache representationCache(ObjectMapper objectMapper) {
+        return new RepresentationCache(objectMapper, new SimpleMeterRegistry(), false, 0, 0);
+    }
+}
@@ -0,0 +1,193 @@
+package com.brainbooster.versioning;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepresentationCacheTest {
+
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-10T10:15:30Z");
+    private static final ResourceVersion VERSION = ResourceVersion.of(LAST_MODIFIED, "folder", 1L, 0L);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RepresentationCache cache =
+            new RepresentationCache(objectMapper, meterRegistry, true, 1024 * 1024, 64);
+
+    @Test
+    void get_ShouldSerializeOnce_WhileVersionIsUnchanged() {
+        // given
+        CountingLoader loader = new CountingLoader(Map.of("name", "folder"));
+
+        // when
+        Representation first = cache.get(VERSION, loader);
+        Representation second = cache.get(VERSION, loader);
+
+        // then
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"folder\"}");
+        assertThat(second).isSameAs(first);
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldLoadAgain_WhenVersionChanges() {
+        // given
+        CountingLoader loader = new CountingLoader(Map.of("name", "folder"));
+        ResourceVersion newVersion = ResourceVersion.of(LAST_MODIFIED, "folder", 1L, 1L);
+
+        // when
+        cache.get(VERSION, loader);
+        cache.get(newVersion, () -> loader.load(newVersion));
+
+        // then
+        assertThat(loader.calls()).isEqualTo(2);
+    }
+
+    @Test
+    void get_ShouldStoreUnderLoadedVersion_WhenValueWasReadAtAnotherVersion() {
+        // given
+        ResourceVersion newVersion = ResourceVersion.of(LAST_MODIFIED, "folder", 1L, 1L);
+
+        // when
+        Representation representation =
+                cache.get(VERSION, () -> new Versioned<>(Map.of("name", "renamed"), newVersion));
+
+        // then
+        assertThat(representation.version()).isEqualTo(newVersion);
+        assertThat(representation.toResponse(null).getHeaders().getETag()).isEqualTo(newVersion.etag());
+        assertThat(cache.find(VERSION)).isNull();
+        assertThat(cache.find(newVersion)).isSameAs(representation);
+    }
+
+    @Test
+    void toResponse_ShouldSendGzipVariant_WhenClientAcceptsGzip() throws IOException {
+        // given
+        Representation representation =
+                cache.get(VERSION, () -> new Versioned<>(Map.of("name", "folder".repeat(20)), VERSION));
+
+        // when
+        ResponseEntity<byte[]> compressed = representation.toResponse("br;q=1.0, gzip;q=0.8");
+        ResponseEntity<byte[]> plain = representation.toResponse("gzip;q=0, identity");
+
+        // then
+        assertThat(compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(compressed.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(compressed.getHeaders().getETag()).isEqualTo(VERSION.gzipEtag());
+        assertThat(gunzip(compressed.getBody())).isEqualTo(representation.json());
+
+        assertThat(plain.getHeaders().containsHeader(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(plain.getHeaders().getETag()).isEqualTo(VERSION.etag());
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(plain.getBody()).isEqualTo(representation.json());
+    }
+
+    @Test
+    void toResponse_ShouldSendPlainJson_WhenRepresentationIsTooSmallToCompress() {
+        // given
+        Representation representation = cache.get(VERSION, () -> new Versioned<>(Map.of("a", 1), VERSION));
+
+        // when
+        ResponseEntity<byte[]> response = representation.toResponse("gzip");
+
+        // then
+        assertThat(representation.gzip()).isNull();
+        assertThat(response.getHeaders().containsHeader(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(response.getHeaders().getETag()).isEqualTo(VERSION.etag());
+        assertThat(response.getBody()).isEqualTo(representation.json());
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedEntry_WhenByteBudgetIsExceeded() {
+        // given
+        RepresentationCache smallCache = new RepresentationCache(objectMapper, new SimpleMeterRegistry(), true, 24, 1024);
+        ResourceVersion otherVersion = ResourceVersion.of(LAST_MODIFIED, "folder", 2L, 0L);
+        CountingLoader loader = new CountingLoader(Map.of("name", "folder"));
+
+        // when
+        smallCache.get(VERSION, loader);
+        smallCache.get(otherVersion, () -> loader.load(otherVersion));
+        smallCache.get(VERSION, loader);
+
+        // then
+        assertThat(loader.calls()).isEqualTo(3);
+    }
+
+    @Test
+    void get_ShouldAlwaysSerialize_WhenCacheIsDisabled() {
+        // given
+        RepresentationCache disabledCache = new RepresentationCache(objectMapper, new SimpleMeterRegistry(), false, 1024, 0);
+        CountingLoader loader = new CountingLoader(Map.of("name", "folder"));
+
+        // when
+        Representation representation = disabledCache.get(VERSION, loader);
+        disabledCache.get(VERSION, loader);
+
+        // then
+        assertThat(loader.calls()).isEqualTo(2);
+        assertThat(representation.gzip()).isNull();
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonorWildcardAndZeroQuality() {
+        // when, then
+        assertThat(Representation.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(Representation.acceptsGzip("*")).isTrue();
+        assertThat(Representation.acceptsGzip("GZIP;q=0.5")).isTrue();
+        assertThat(Representation.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(Representation.acceptsGzip("br")).isFalse();
+        assertThat(Representation.acceptsGzip(null)).isFalse();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get(RepresentationCache.GETS_METRIC)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    private static final class CountingLoader implements Supplier<Versioned<Object>> {
+
+        private final Object value;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingLoader(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Versioned<Object> get() {
+            return load(VERSION);
+        }
+
+        private Versioned<Object> load(ResourceVersion version) {
+            calls.incrementAndGet();
+            return new Versioned<>(value, version);
+        }
+
+        private int calls() {
+            return calls.get();
+        }
+    }
+}
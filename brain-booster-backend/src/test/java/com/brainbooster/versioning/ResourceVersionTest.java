@@ -0,0 +1,88 @@
+package com.brainbooster.versioning;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceVersionTest {
+
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-10T10:15:30Z");
+
+    @Test
+    void of_ShouldReturnSameETag_WhenComponentsAreEqual() {
+        // when
+        ResourceVersion first = ResourceVersion.of(LAST_MODIFIED, "flashcards", 1L, 3L, List.of(10L, 11L));
+        ResourceVersion second = ResourceVersion.of(LAST_MODIFIED, "flashcards", 1L, 3L, List.of(10L, 11L));
+
+        // then
+        assertThat(first).isEqualTo(second);
+        assertThat(first.etag()).matches("\"[0-9a-f]{32}\"");
+    }
+
+    @Test
+    void of_ShouldReturnDifferentETag_WhenAnyComponentChanges() {
+        // when
+        ResourceVersion version = ResourceVersion.of(LAST_MODIFIED, "flashcard-set", 1L, 3L, "johndoe");
+
+        // then
+        assertThat(version.etag())
+                .isNotEqualTo(ResourceVersion.of(LAST_MODIFIED, "flashcard-set", 1L, 4L, "johndoe").etag())
+                .isNotEqualTo(ResourceVersion.of(LAST_MODIFIED, "flashcard-set", 1L, 3L, "janedoe").etag())
+                .isNotEqualTo(ResourceVersion.of(LAST_MODIFIED, "flashcard-set", 13L, "johndoe").etag());
+    }
+
+    @Test
+    void matches_ShouldAcceptWildcardAndListedETags() {
+        // given
+        ResourceVersion version = ResourceVersion.of(LAST_MODIFIED, "folder", 1L, 0L);
+
+        // when, then
+        assertThat(version.matches("*")).isTrue();
+        assertThat(version.matches(version.etag())).isTrue();
+        assertThat(version.matches("\"stale\", " + version.etag())).isTrue();
+        assertThat(version.matches("\"stale\"")).isFalse();
+    }
+
+    @Test
+    void gzipEtag_ShouldDifferFromPlainETagAndMatchTheSameVersion() {
+        // given
+        ResourceVersion version = ResourceVersion.of(LAST_MODIFIED, "folder", 1L, 0L);
+
+        // when, then
+        assertThat(version.gzipEtag())
+                .isNotEqualTo(version.etag())
+                .matches("\"[0-9a-f]{32}-gzip\"");
+        assertThat(version.matches(version.gzipEtag())).isTrue();
+        assertThat(ResourceVersion.of(LAST_MODIFIED, "folder", 1L, 1L).matches(version.gzipEtag())).isFalse();
+    }
+
+    @Test
+    void variant_ShouldHaveOwnETagAndMatchTheSameVersion() {
+        // given
+        ResourceVersion version = ResourceVersion.of(LAST_MODIFIED, "flashcards", 1L, 0L);
+
+        // when
+        ResourceVersion variant = version.variant(42L);
+
+        // then
+        assertThat(variant.etag())
+                .isNotEqualTo(version.etag())
+                .isNotEqualTo(version.variant(43L).etag());
+        assertThat(variant.lastModified()).isEqualTo(LAST_MODIFIED);
+        assertThat(version.matches(variant.etag())).isTrue();
+        assertThat(version.matches(variant.gzipEtag())).isTrue();
+        assertThat(ResourceVersion.of(LAST_MODIFIED, "flashcards", 1L, 1L).matches(variant.etag())).isFalse();
+    }
+
+    @Test
+    void matches_ShouldRejectWeakETag() {
+        // given
+        ResourceVersion version = ResourceVersion.of(LAST_MODIFIED, "folder", 1L, 0L);
+
+        // when, then
+        assertThat(version.matches("W/" + version.etag())).isFalse();
+    }
+}
@@ -9,7 +9,16 @@ TRUNCATE TABLE
     folder,
     folder_flashcard_set,
     user_starred_flashcard,
-    game_results,
     game_attempts,
-    game_question_results
-RESTART IDENTITY CASCADE;
\ No newline at end of file
+    game_question_results,
+    game_result_ids,
+    game_result_submission,
+    job_lease
+CONTINUE IDENTITY CASCADE;
+
+-- the pooled sequences of flashcard, game_attempts and game_question_results keep going, as Hibernate
+-- still hands out IDs from blocks it reserved before, which a restarted sequence would reserve again
+ALTER TABLE "user" ALTER COLUMN user_id RESTART;
+ALTER TABLE flashcard_set ALTER COLUMN set_id RESTART;
+ALTER TABLE folder ALTER COLUMN folder_id RESTART;
+ALTER TABLE game_result_submission ALTER COLUMN submission_id RESTART;
@@ -1,4 +1,5 @@
-TRUNCATE TABLE "user" RESTART IDENTITY CASCADE;
+-- the pooled sequences of the tables cleared along with users keep going, see clear-database.sql
+TRUNCATE TABLE "user" CONTINUE IDENTITY CASCADE;
 -- add dedicated admin for integration tests
 INSERT INTO "user" (user_id, nickname, email, password, role, created_at)
 VALUES (1, 'it-admin', 'it-admin@test.com', '$2a$10$LV8wtoOAffLu7OuBIo/5EelC7B3xz2Du8v9nneLRWDYxOXalh1sPa', 'ADMIN', CURRENT_TIMESTAMP);
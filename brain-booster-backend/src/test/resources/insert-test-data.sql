@@ -6,7 +6,7 @@ TRUNCATE TABLE
     FOLDER_FLASHCARD_SET,
     FLASHCARD,
     USER_STARRED_FLASHCARD
-RESTART IDENTITY CASCADE;
+CONTINUE IDENTITY CASCADE;
 
 -- add users
 INSERT INTO "user" (user_id, nickname, email, password, role, created_at)
@@ -60,6 +60,10 @@ VALUES (11, 2, 'S2-Term 1', 'Definition 1'),
        (19, 2, 'S2-Term 9', 'Definition 9'),
        (20, 2, 'S2-Term 10', 'Definition 10');
 
+-- recalculate denormalized term counts
+UPDATE FLASHCARD_SET fs
+SET term_count = (SELECT COUNT(*) FROM FLASHCARD f WHERE f.set_id = fs.set_id);
+
 -- add stars
 INSERT INTO USER_STARRED_FLASHCARD (user_id, flashcard_id, created_at)
 VALUES (2, 1, CURRENT_TIMESTAMP);
@@ -67,5 +71,6 @@ VALUES (2, 1, CURRENT_TIMESTAMP);
 -- restarting id sequence
 ALTER TABLE "user" ALTER COLUMN user_id RESTART WITH 100;
 ALTER TABLE FLASHCARD_SET ALTER COLUMN set_id RESTART WITH 100;
-ALTER TABLE FLASHCARD ALTER COLUMN flashcard_id RESTART WITH 100;
+-- never moves the pooled flashcard sequence back, see clear-database.sql
+SELECT setval('flashcard_flashcard_id_seq', GREATEST(last_value, 100)) FROM flashcard_flashcard_id_seq;
 ALTER TABLE FOLDER ALTER COLUMN folder_id RESTART WITH 100;
\ No newline at end of file